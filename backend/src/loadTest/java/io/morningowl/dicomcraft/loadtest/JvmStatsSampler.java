@@ -0,0 +1,63 @@
+package io.morningowl.dicomcraft.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * 측정 구간 동안의 힙 최대 사용량과 GC 횟수/시간을 MXBean으로 집계한다.
+ */
+class JvmStatsSampler {
+
+    private final String scope;
+    private long gcCountAtStart;
+    private long gcTimeAtStart;
+
+    JvmStatsSampler(String scope) {
+        this.scope = scope;
+    }
+
+    void start() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+        gcCountAtStart = totalGcCount();
+        gcTimeAtStart = totalGcTime();
+    }
+
+    LoadTestReport.JvmStats stop() {
+        // 풀별 최대값의 합이므로 실제 동시 최대값보다 조금 크게 잡힐 수 있다
+        long heapPeak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                heapPeak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return LoadTestReport.JvmStats.builder()
+                .scope(scope)
+                .heapPeakBytes(heapPeak)
+                .heapMaxBytes(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax())
+                .gcCount(totalGcCount() - gcCountAtStart)
+                .gcTimeMillis(totalGcTime() - gcTimeAtStart)
+                .build();
+    }
+
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalGcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+}
@@ -0,0 +1,58 @@
+package io.morningowl.dicomcraft.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 요청별 지연 시간(나노초)과 성공/실패 수를 모은다. 측정 구간이 짧아 모든 샘플을 보관한 뒤 정렬해서 백분위수를 구한다.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[4096];
+    private int size;
+    private long errors;
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized LoadTestReport.LatencyStats summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+
+        return LoadTestReport.LatencyStats.builder()
+                .requests(size)
+                .errors(errors)
+                .errorRate(size == 0 ? 0 : (double) errors / size)
+                .throughputPerSecond(elapsedSeconds > 0 ? size / elapsedSeconds : 0)
+                .meanMillis(size == 0 ? 0 : toMillis(total / size))
+                .p50Millis(toMillis(percentile(sorted, 0.50)))
+                .p95Millis(toMillis(percentile(sorted, 0.95)))
+                .p99Millis(toMillis(percentile(sorted, 0.99)))
+                .maxMillis(size == 0 ? 0 : toMillis(sorted[size - 1]))
+                .build();
+    }
+
+    // nearest-rank 방식
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
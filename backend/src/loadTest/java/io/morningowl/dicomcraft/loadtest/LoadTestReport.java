@@ -0,0 +1,58 @@
+package io.morningowl.dicomcraft.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 한 번의 부하 테스트 결과. 베이스라인 파일과 결과 파일 모두 이 형식의 JSON으로 저장된다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+class LoadTestReport {
+    private String scenario; // analyze, generate, mixed
+    private String startedAt;
+    private int concurrency;
+    private double arrivalRatePerSecond; // 0이면 closed-loop
+    private int durationSeconds;
+    private int corpusSize;
+    private long corpusSeed;
+    private String javaVersion;
+    private int availableProcessors;
+    private LatencyStats overall;
+    private Map<String, LatencyStats> endpoints;
+    private JvmStats jvm;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class LatencyStats {
+        private long requests;
+        private long errors;
+        private double errorRate;
+        private double throughputPerSecond;
+        private double meanMillis;
+        private double p50Millis;
+        private double p95Millis;
+        private double p99Millis;
+        private double maxMillis;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class JvmStats {
+        private String scope; // in-process: 서버 포함, client-only: 외부 서버 대상이라 클라이언트 JVM만 측정
+        private long heapPeakBytes;
+        private long heapMaxBytes;
+        private long gcCount;
+        private long gcTimeMillis;
+    }
+}
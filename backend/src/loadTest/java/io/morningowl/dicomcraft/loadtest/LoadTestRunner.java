@@ -0,0 +1,337 @@
+package io.morningowl.dicomcraft.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.morningowl.dicomcraft.DicomcraftApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * /api/dicom/analyze, /api/dicom/generate 부하 테스트 실행기.
+ * <p>
+ * target-url을 지정하지 않으면 애플리케이션을 같은 JVM에서 임의 포트로 띄우므로 힙/GC 통계에 서버가 포함된다.
+ * rate가 0이면 concurrency만큼의 워커가 쉬지 않고 요청하는 closed-loop, 0보다 크면 초당 rate건을 일정 간격으로
+ * 보내는 open-loop이며, 이때 지연 시간은 예정된 전송 시각부터 계산해 밀린 대기 시간까지 포함한다.
+ * <p>
+ * 옵션(--name=value): scenario(analyze|generate|mixed), concurrency, rate, duration-seconds, warmup-seconds,
+ * corpus-size, seed, target-url, corpus-dir, results-dir, baseline-dir, update-baseline, max-regression-percent
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    private static final String ANALYZE = "analyze";
+    private static final String GENERATE = "generate";
+    private static final String MIXED = "mixed";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final String scenario;
+    private final int concurrency;
+    private final double arrivalRatePerSecond;
+    private final List<Path> corpusFiles;
+    private final List<byte[]> generationBodies = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private LoadTestRunner(URI baseUri, String scenario, int concurrency, double arrivalRatePerSecond,
+                           SyntheticCorpus corpus) throws IOException {
+        this.baseUri = baseUri;
+        this.scenario = scenario;
+        this.concurrency = concurrency;
+        this.arrivalRatePerSecond = arrivalRatePerSecond;
+        this.corpusFiles = corpus.getFiles();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (var request : corpus.getGenerationRequests()) {
+            generationBodies.add(objectMapper.writeValueAsBytes(request));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String scenario = options.getOrDefault("scenario", MIXED);
+        if (!List.of(ANALYZE, GENERATE, MIXED).contains(scenario)) {
+            throw new IllegalArgumentException("지원하지 않는 시나리오: " + scenario);
+        }
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration-seconds", "60"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "10"));
+        int corpusSize = Integer.parseInt(options.getOrDefault("corpus-size", "200"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String targetUrl = options.getOrDefault("target-url", "");
+        Path corpusDir = Paths.get(options.getOrDefault("corpus-dir", "build/loadtest/corpus"));
+        Path resultsDir = Paths.get(options.getOrDefault("results-dir", "build/loadtest/results"));
+        Path baselineDir = Paths.get(options.getOrDefault("baseline-dir", "src/loadTest/baselines"));
+        boolean updateBaseline = Boolean.parseBoolean(options.getOrDefault("update-baseline", "false"));
+        double maxRegressionPercent = Double.parseDouble(options.getOrDefault("max-regression-percent", "20"));
+
+        SyntheticCorpus corpus = SyntheticCorpus.prepare(corpusDir, corpusSize, seed);
+
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        if (targetUrl.isEmpty()) {
+            context = SpringApplication.run(DicomcraftApplication.class,
+                    "--server.port=0",
+                    "--logging.level.io.morningowl.dicomcraft=WARN");
+            baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        } else {
+            baseUri = URI.create(targetUrl);
+        }
+
+        int exitCode = 0;
+        try {
+            LoadTestRunner runner = new LoadTestRunner(baseUri, scenario, concurrency, rate, corpus);
+            log.info("워밍업 {}초: {}", warmupSeconds, baseUri);
+            runner.runPhase(warmupSeconds);
+
+            JvmStatsSampler sampler = new JvmStatsSampler(context != null ? "in-process" : "client-only");
+            String startedAt = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            log.info("측정 {}초: 시나리오 {}, 동시성 {}, 도착률 {}/s", durationSeconds, scenario, concurrency, rate);
+            sampler.start();
+            Map<String, LatencyRecorder> recorders = runner.runPhase(durationSeconds);
+            LoadTestReport.JvmStats jvmStats = sampler.stop();
+
+            Map<String, LoadTestReport.LatencyStats> endpoints = new LinkedHashMap<>();
+            recorders.forEach((name, recorder) -> endpoints.put(name, recorder.summarize(durationSeconds)));
+            LoadTestReport report = LoadTestReport.builder()
+                    .scenario(scenario)
+                    .startedAt(startedAt)
+                    .concurrency(concurrency)
+                    .arrivalRatePerSecond(rate)
+                    .durationSeconds(durationSeconds)
+                    .corpusSize(corpusSize)
+                    .corpusSeed(seed)
+                    .javaVersion(System.getProperty("java.version"))
+                    .availableProcessors(Runtime.getRuntime().availableProcessors())
+                    .overall(endpoints.remove("overall"))
+                    .endpoints(endpoints)
+                    .jvm(jvmStats)
+                    .build();
+
+            exitCode = runner.saveAndCompare(report, resultsDir, baselineDir, updateBaseline, maxRegressionPercent);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * 주어진 시간 동안 요청을 보내고 엔드포인트별 기록기를 반환한다. "overall" 키에 전체 합계가 들어 있다.
+     */
+    private Map<String, LatencyRecorder> runPhase(int seconds) throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        recorders.put("overall", new LatencyRecorder());
+        if (!GENERATE.equals(scenario)) {
+            recorders.put(ANALYZE, new LatencyRecorder());
+        }
+        if (!ANALYZE.equals(scenario)) {
+            recorders.put(GENERATE, new LatencyRecorder());
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        if (arrivalRatePerSecond > 0) {
+            Semaphore inFlight = new Semaphore(concurrency);
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / arrivalRatePerSecond);
+            for (long intendedStart = start; intendedStart < deadline; intendedStart += interval) {
+                long waitNanos = intendedStart - System.nanoTime();
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                inFlight.acquire();
+                long scheduled = intendedStart;
+                workers.execute(() -> {
+                    try {
+                        execute(scheduled, recorders);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } else {
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(System.nanoTime(), recorders);
+                    }
+                });
+            }
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.MINUTES);
+        return recorders;
+    }
+
+    private void execute(long intendedStart, Map<String, LatencyRecorder> recorders) {
+        long n = sequence.getAndIncrement();
+        // mixed는 분석 7 : 생성 3 비율
+        String endpoint = switch (scenario) {
+            case ANALYZE -> ANALYZE;
+            case GENERATE -> GENERATE;
+            default -> n % 10 < 7 ? ANALYZE : GENERATE;
+        };
+
+        boolean success;
+        try {
+            HttpRequest request = ANALYZE.equals(endpoint)
+                    ? analyzeRequest(corpusFiles.get((int) (n % corpusFiles.size())))
+                    : generateRequest(generationBodies.get((int) (n % generationBodies.size())));
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() / 100 == 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            success = false;
+        }
+
+        long latency = System.nanoTime() - intendedStart;
+        recorders.get("overall").record(latency, success);
+        recorders.get(endpoint).record(latency, success);
+    }
+
+    private HttpRequest analyzeRequest(Path file) throws IOException {
+        String boundary = "dicomcraft-loadtest-" + UUID.randomUUID();
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getFileName() + "\"\r\n"
+                + "Content-Type: application/dicom\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        return HttpRequest.newBuilder(baseUri.resolve("/api/dicom/analyze"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofByteArray(head),
+                        HttpRequest.BodyPublishers.ofFile(file),
+                        HttpRequest.BodyPublishers.ofByteArray(tail)))
+                .build();
+    }
+
+    private HttpRequest generateRequest(byte[] body) {
+        return HttpRequest.newBuilder(baseUri.resolve("/api/dicom/generate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    /**
+     * 결과를 저장하고 같은 조건의 베이스라인과 비교한다. 회귀가 허용 범위를 넘으면 1을 반환한다.
+     */
+    private int saveAndCompare(LoadTestReport report, Path resultsDir, Path baselineDir,
+                               boolean updateBaseline, double maxRegressionPercent) throws IOException {
+        ObjectMapper writer = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+        String key = String.format("%s-c%d-r%s", report.getScenario(), report.getConcurrency(),
+                formatRate(report.getArrivalRatePerSecond()));
+
+        Files.createDirectories(resultsDir);
+        Path resultFile = resultsDir.resolve(key + "-" + System.currentTimeMillis() + ".json");
+        writer.writeValue(resultFile.toFile(), report);
+        log.info("결과 저장: {}", resultFile);
+        printStats("overall", report.getOverall());
+        report.getEndpoints().forEach(LoadTestRunner::printStats);
+        log.info("힙 최대 {} MB / {} MB, GC {}회 {} ms ({})",
+                report.getJvm().getHeapPeakBytes() / (1024 * 1024),
+                report.getJvm().getHeapMaxBytes() / (1024 * 1024),
+                report.getJvm().getGcCount(), report.getJvm().getGcTimeMillis(), report.getJvm().getScope());
+
+        Path baselineFile = baselineDir.resolve(key + ".json");
+        if (updateBaseline) {
+            Files.createDirectories(baselineDir);
+            writer.writeValue(baselineFile.toFile(), report);
+            log.info("베이스라인 갱신: {}", baselineFile);
+            return 0;
+        }
+        if (!Files.exists(baselineFile)) {
+            log.info("비교할 베이스라인 없음: {} (update-baseline=true로 저장)", baselineFile);
+            return 0;
+        }
+
+        LoadTestReport baseline = objectMapper.readValue(baselineFile.toFile(), LoadTestReport.class);
+        List<String> regressions = new ArrayList<>();
+        compare("throughput", baseline.getOverall().getThroughputPerSecond(), report.getOverall().getThroughputPerSecond(), false, maxRegressionPercent, regressions);
+        compare("p50", baseline.getOverall().getP50Millis(), report.getOverall().getP50Millis(), true, maxRegressionPercent, regressions);
+        compare("p95", baseline.getOverall().getP95Millis(), report.getOverall().getP95Millis(), true, maxRegressionPercent, regressions);
+        compare("p99", baseline.getOverall().getP99Millis(), report.getOverall().getP99Millis(), true, maxRegressionPercent, regressions);
+        if (report.getOverall().getErrorRate() > baseline.getOverall().getErrorRate() + 0.01) {
+            regressions.add(String.format("errorRate %.4f -> %.4f", baseline.getOverall().getErrorRate(), report.getOverall().getErrorRate()));
+        }
+
+        if (regressions.isEmpty()) {
+            log.info("베이스라인 대비 회귀 없음 ({}% 이내)", maxRegressionPercent);
+            return 0;
+        }
+        regressions.forEach(regression -> log.warn("회귀 감지: {}", regression));
+        return 1;
+    }
+
+    private static void compare(String metric, double baseline, double current, boolean lowerIsBetter,
+                                double maxRegressionPercent, List<String> regressions) {
+        if (baseline <= 0) {
+            return;
+        }
+        double changePercent = (current - baseline) / baseline * 100;
+        log.info("{}: {} -> {} ({}{}%)", metric, String.format("%.2f", baseline), String.format("%.2f", current),
+                changePercent >= 0 ? "+" : "", String.format("%.1f", changePercent));
+        double regressionPercent = lowerIsBetter ? changePercent : -changePercent;
+        if (regressionPercent > maxRegressionPercent) {
+            regressions.add(String.format("%s %.2f -> %.2f", metric, baseline, current));
+        }
+    }
+
+    private static void printStats(String name, LoadTestReport.LatencyStats stats) {
+        log.info("[{}] 요청 {}, 오류율 {}, 처리량 {}/s, p50 {} ms, p95 {} ms, p99 {} ms, 최대 {} ms",
+                name, stats.getRequests(), String.format("%.4f", stats.getErrorRate()),
+                String.format("%.1f", stats.getThroughputPerSecond()),
+                String.format("%.1f", stats.getP50Millis()), String.format("%.1f", stats.getP95Millis()),
+                String.format("%.1f", stats.getP99Millis()), String.format("%.1f", stats.getMaxMillis()));
+    }
+
+    private static String formatRate(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.valueOf(rate);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션은 --name=value 형식이어야 합니다: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
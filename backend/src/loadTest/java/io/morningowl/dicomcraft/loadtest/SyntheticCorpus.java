@@ -0,0 +1,235 @@
+package io.morningowl.dicomcraft.loadtest;
+
+import io.morningowl.dicomcraft.dto.DicomGenerationRequest;
+import io.morningowl.dicomcraft.dto.DicomPixelDataRequest;
+import io.morningowl.dicomcraft.dto.DicomTagRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * 부하 테스트용 합성 DICOM 코퍼스. 같은 seed와 개수면 항상 같은 파일이 만들어지므로 실행 간 비교가 가능하다.
+ * 크기 분포는 실제 업로드 비율을 흉내 내어 소형 CR 50%, 단일 프레임 CT 35%, 멀티프레임 15%로 구성한다.
+ */
+@Slf4j
+class SyntheticCorpus {
+
+    private static final String MANIFEST = "corpus.properties";
+    private static final String UID_ROOT = "1.2.826.0.1.3680043.8.498.";
+
+    enum SizeClass {
+        SMALL(256, 256, 1, 50),
+        MEDIUM(512, 512, 1, 35),
+        LARGE(512, 512, 20, 15);
+
+        final int rows;
+        final int columns;
+        final int frames;
+        final int weight;
+
+        SizeClass(int rows, int columns, int frames, int weight) {
+            this.rows = rows;
+            this.columns = columns;
+            this.frames = frames;
+            this.weight = weight;
+        }
+
+        static SizeClass pick(Random random) {
+            int roll = random.nextInt(100);
+            for (SizeClass sizeClass : values()) {
+                roll -= sizeClass.weight;
+                if (roll < 0) {
+                    return sizeClass;
+                }
+            }
+            return SMALL;
+        }
+    }
+
+    private final List<Path> files;
+    private final List<DicomGenerationRequest> generationRequests;
+
+    private SyntheticCorpus(List<Path> files, List<DicomGenerationRequest> generationRequests) {
+        this.files = files;
+        this.generationRequests = generationRequests;
+    }
+
+    List<Path> getFiles() {
+        return files;
+    }
+
+    List<DicomGenerationRequest> getGenerationRequests() {
+        return generationRequests;
+    }
+
+    /**
+     * 디렉토리에 같은 설정으로 만든 코퍼스가 있으면 재사용하고, 없으면 새로 생성한다.
+     */
+    static SyntheticCorpus prepare(Path directory, int count, long seed) throws IOException {
+        Files.createDirectories(directory);
+        Path manifest = directory.resolve(MANIFEST);
+        String signature = count + ":" + seed;
+
+        if (!signature.equals(readSignature(manifest))) {
+            log.info("합성 코퍼스 생성: {}개, seed {}", count, seed);
+            try (Stream<Path> existing = Files.list(directory)) {
+                for (Path path : (Iterable<Path>) existing::iterator) {
+                    Files.delete(path);
+                }
+            }
+            Random random = new Random(seed);
+            for (int i = 0; i < count; i++) {
+                SizeClass sizeClass = SizeClass.pick(random);
+                writeInstance(directory.resolve(String.format("%05d-%s.dcm", i, sizeClass.name().toLowerCase())),
+                        createInstance(random, seed, i, sizeClass));
+            }
+            Properties properties = new Properties();
+            properties.setProperty("signature", signature);
+            try (OutputStream out = Files.newOutputStream(manifest)) {
+                properties.store(out, "synthetic load-test corpus");
+            }
+        } else {
+            log.info("기존 합성 코퍼스 재사용: {}", directory);
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(path -> path.toString().endsWith(".dcm")).sorted().forEach(files::add);
+        }
+
+        // 생성 요청은 파일과 같은 분포를 따르되 메모리에 두어야 하므로 소수만 만든다
+        Random random = new Random(seed ^ 0x5DEECE66DL);
+        List<DicomGenerationRequest> generationRequests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            generationRequests.add(createGenerationRequest(random, SizeClass.pick(random)));
+        }
+        return new SyntheticCorpus(files, generationRequests);
+    }
+
+    private static String readSignature(Path manifest) throws IOException {
+        if (!Files.exists(manifest)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(manifest)) {
+            properties.load(in);
+        }
+        return properties.getProperty("signature");
+    }
+
+    private static Attributes createInstance(Random random, long seed, int index, SizeClass sizeClass) {
+        // 10개 인스턴스마다 시리즈, 50개마다 스터디가 바뀌도록 UID를 구성
+        String studyUID = UID_ROOT + seed + "." + (index / 50);
+        String seriesUID = studyUID + "." + (index / 10);
+
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 100");
+        attributes.setString(Tag.SOPClassUID, VR.UI, sizeClass.frames > 1
+                ? UID.EnhancedCTImageStorage
+                : UID.CTImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, seriesUID + "." + index);
+        attributes.setString(Tag.StudyInstanceUID, VR.UI, studyUID);
+        attributes.setString(Tag.SeriesInstanceUID, VR.UI, seriesUID);
+        attributes.setString(Tag.Modality, VR.CS, "CT");
+        attributes.setString(Tag.PatientName, VR.PN, "LOAD^TEST^" + (index / 50));
+        attributes.setString(Tag.PatientID, VR.LO, "LT" + seed + "-" + (index / 50));
+        attributes.setString(Tag.StudyDate, VR.DA, String.format("2024%02d%02d", 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        attributes.setString(Tag.StudyDescription, VR.LO, "Synthetic load test study");
+        attributes.setString(Tag.SeriesDescription, VR.LO, sizeClass.name() + " series");
+        attributes.setInt(Tag.SeriesNumber, VR.IS, index / 10 + 1);
+        attributes.setInt(Tag.InstanceNumber, VR.IS, index % 10 + 1);
+        attributes.setDouble(Tag.SliceThickness, VR.DS, 1.25);
+        attributes.setDouble(Tag.PixelSpacing, VR.DS, 0.7, 0.7);
+        attributes.setDouble(Tag.ImagePositionPatient, VR.DS, -180.0, -180.0, index * 1.25);
+        attributes.setDouble(Tag.ImageOrientationPatient, VR.DS, 1, 0, 0, 0, 1, 0);
+        attributes.setInt(Tag.Rows, VR.US, sizeClass.rows);
+        attributes.setInt(Tag.Columns, VR.US, sizeClass.columns);
+        attributes.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attributes.setInt(Tag.BitsAllocated, VR.US, 16);
+        attributes.setInt(Tag.BitsStored, VR.US, 12);
+        attributes.setInt(Tag.HighBit, VR.US, 11);
+        attributes.setInt(Tag.PixelRepresentation, VR.US, 0);
+        if (sizeClass.frames > 1) {
+            attributes.setInt(Tag.NumberOfFrames, VR.IS, sizeClass.frames);
+        }
+        attributes.setBytes(Tag.PixelData, VR.OW, createPixels(random, sizeClass));
+        return attributes;
+    }
+
+    private static DicomGenerationRequest createGenerationRequest(Random random, SizeClass sizeClass) {
+        List<DicomTagRequest> tags = new ArrayList<>();
+        tags.add(tag("(0010,0010)", "PatientName", "PN", "LOAD^GENERATE"));
+        tags.add(tag("(0010,0020)", "PatientID", "LO", "LTGEN" + random.nextInt(1000)));
+        tags.add(tag("(0008,0060)", "Modality", "CS", "CT"));
+        tags.add(tag("(0008,1030)", "StudyDescription", "LO", "Synthetic load test generation"));
+        tags.add(tag("(0018,0050)", "SliceThickness", "DS", "1.25"));
+        tags.add(tag("(0028,0030)", "PixelSpacing", "DS", "0.7\\0.7"));
+
+        // 생성 API는 단일 프레임만 받으므로 멀티프레임은 한 프레임으로 줄인다
+        SizeClass frameClass = sizeClass.frames > 1 ? SizeClass.MEDIUM : sizeClass;
+        DicomPixelDataRequest pixelData = DicomPixelDataRequest.builder()
+                .width(frameClass.columns)
+                .height(frameClass.rows)
+                .bitsAllocated(16)
+                .bitsStored(12)
+                .samplesPerPixel(1)
+                .photometricInterpretation("MONOCHROME2")
+                .pixelRepresentation("0")
+                .pixelData(createPixels(random, frameClass))
+                .build();
+
+        return DicomGenerationRequest.builder()
+                .tags(tags)
+                .pixelData(pixelData)
+                .build();
+    }
+
+    private static DicomTagRequest tag(String tagNumber, String tagName, String vr, Object value) {
+        return DicomTagRequest.builder()
+                .tagNumber(tagNumber)
+                .tagName(tagName)
+                .vr(vr)
+                .value(value)
+                .build();
+    }
+
+    // 압축률이 현실적이도록 완만한 그라데이션에 잡음을 섞은 12비트 값
+    private static byte[] createPixels(Random random, SizeClass sizeClass) {
+        int pixelsPerFrame = sizeClass.rows * sizeClass.columns;
+        byte[] pixels = new byte[pixelsPerFrame * sizeClass.frames * 2];
+        int offset = 0;
+        for (int frame = 0; frame < sizeClass.frames; frame++) {
+            for (int y = 0; y < sizeClass.rows; y++) {
+                for (int x = 0; x < sizeClass.columns; x++) {
+                    int value = ((x + y + frame * 7) * 4095 / (sizeClass.rows + sizeClass.columns)) + random.nextInt(64);
+                    value = Math.min(value, 4095);
+                    pixels[offset++] = (byte) value;
+                    pixels[offset++] = (byte) (value >>> 8);
+                }
+            }
+        }
+        return pixels;
+    }
+
+    private static void writeInstance(Path path, Attributes attributes) throws IOException {
+        Attributes fmi = attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian);
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(fmi, attributes);
+        }
+    }
+}
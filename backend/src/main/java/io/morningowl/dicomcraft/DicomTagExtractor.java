@@ -0,0 +1,295 @@
+package io.morningowl.dicomcraft;
+
+import io.morningowl.dicomcraft.extract.DictionaryCsvReader;
+import io.morningowl.dicomcraft.extract.DictionaryCsvWriter;
+import io.morningowl.dicomcraft.service.DicomAnalysisService;
+import io.morningowl.dicomcraft.service.DicomPathQuery;
+import org.dcm4che3.data.Attributes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 서버 없이 디렉토리의 DICOM 파일에서 지정한 태그를 뽑아 사전 인코딩 CSV(gzip)로 저장하는 명령행 도구.
+ * <p>
+ * 디렉토리 탐색 스레드 → 헤더 파싱 워커 → 파일 쓰기(메인 스레드)가 크기 제한 큐로 이어져 있어
+ * 파일 수와 관계없이 메모리에는 큐 용량만큼의 경로/행과 열별 사전만 남는다. 헤더는 analyze와 같은
+ * DicomAnalysisService로 픽셀 데이터 직전까지만 읽는다.
+ * <p>
+ * 옵션(--name=value): input(쉼표로 구분한 디렉토리), output, tags(쉼표로 구분한 태그 또는 DicomPathQuery 경로), threads,
+ * queue-capacity, max-dictionary-size. --decode=파일 로 실행하면 저장한 파일을 일반 CSV로 풀어 output(생략 시 표준 출력)에 쓴다.
+ */
+public class DicomTagExtractor {
+
+    private static final String DEFAULT_TAGS = "PatientID,StudyInstanceUID,SeriesInstanceUID,SOPInstanceUID,"
+            + "Modality,StudyDate,Manufacturer,ManufacturerModelName,BodyPartExamined,Rows,Columns";
+    private static final Path END_OF_FILES = Paths.get("");
+    private static final String[] END_OF_ROWS = new String[0];
+    private static final long PROGRESS_INTERVAL = 10_000;
+
+    private final DicomAnalysisService dicomAnalysisService = new DicomAnalysisService();
+    private final List<Path> inputs;
+    private final List<String> tagNames;
+    private final List<DicomPathQuery> queries;
+    private final int threads;
+    private final BlockingQueue<Path> files;
+    private final BlockingQueue<String[]> rows;
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private volatile Throwable failure;
+
+    private DicomTagExtractor(List<Path> inputs, List<String> tagNames, int threads, int queueCapacity) {
+        this.inputs = inputs;
+        this.tagNames = tagNames;
+        this.queries = tagNames.stream().map(DicomPathQuery::compile).toList();
+        this.threads = threads;
+        this.files = new ArrayBlockingQueue<>(queueCapacity);
+        this.rows = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // 콘솔 도구에서는 Spring Boot 로그 설정 대신 표준 에러로 요약만 남긴다
+        if (System.getProperty("logback.configurationFile") == null) {
+            System.setProperty("logback.configurationFile", "extractor-logback.xml");
+        }
+        Logger log = LoggerFactory.getLogger(DicomTagExtractor.class);
+        Map<String, String> options = parseOptions(args);
+
+        if (options.containsKey("decode")) {
+            long decoded = decode(Paths.get(options.get("decode")), options.get("output"));
+            log.info("{}행 복원 완료", decoded);
+            return;
+        }
+
+        String input = options.get("input");
+        if (input == null || input.isBlank()) {
+            throw new IllegalArgumentException("--input 디렉토리를 지정해야 합니다.");
+        }
+        List<Path> inputs = Arrays.stream(input.split(",")).map(String::trim).map(Paths::get).toList();
+        for (Path directory : inputs) {
+            if (!Files.isDirectory(directory)) {
+                throw new IllegalArgumentException("디렉토리가 아닙니다: " + directory);
+            }
+        }
+        List<String> tagNames = splitTags(options.getOrDefault("tags", DEFAULT_TAGS));
+        Path output = Paths.get(options.getOrDefault("output", "tags.csv.gz"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int queueCapacity = Integer.parseInt(options.getOrDefault("queue-capacity", "1024"));
+        int maxDictionarySize = Integer.parseInt(options.getOrDefault("max-dictionary-size", "65536"));
+
+        DicomTagExtractor extractor = new DicomTagExtractor(inputs, tagNames, Math.max(1, threads), queueCapacity);
+        long started = System.nanoTime();
+        long written = extractor.run(output, maxDictionarySize, log);
+        log.info("추출 완료: {}개 파일 중 {}행 저장, {}개 건너뜀, {}ms → {}", extractor.scanned.get(), written,
+                extractor.skipped.get(), (System.nanoTime() - started) / 1_000_000, output);
+    }
+
+    private long run(Path output, int maxDictionarySize, Logger log) throws IOException, InterruptedException {
+        List<String> columns = new ArrayList<>(tagNames.size() + 1);
+        columns.add("path");
+        columns.addAll(tagNames);
+        boolean[] dictionaryColumns = new boolean[columns.size()];
+        Arrays.fill(dictionaryColumns, 1, dictionaryColumns.length, true);
+
+        Thread walker = Thread.ofPlatform().name("extract-walk").daemon().start(this::walk);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().name("extract-" + i).daemon().start(() -> parse(log)));
+        }
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(output)), 64 * 1024);
+             DictionaryCsvWriter writer = new DictionaryCsvWriter(out, columns, dictionaryColumns, maxDictionarySize)) {
+            int finishedWorkers = 0;
+            while (finishedWorkers < threads) {
+                String[] row = rows.take();
+                if (row == END_OF_ROWS) {
+                    finishedWorkers++;
+                    continue;
+                }
+                writer.writeRow(row);
+                if (writer.getRows() % PROGRESS_INTERVAL == 0) {
+                    log.info("{}행 저장 (탐색 {}개, 건너뜀 {}개)", writer.getRows(), scanned.get(), skipped.get());
+                }
+            }
+            walker.join();
+            if (failure != null) {
+                throw new IOException("디렉토리 탐색 실패: " + failure.getMessage(), failure);
+            }
+            return writer.getRows();
+        } finally {
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    private void walk() {
+        try {
+            for (Path directory : inputs) {
+                try (Stream<Path> paths = Files.walk(directory)) {
+                    for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                        files.put(path);
+                    }
+                }
+            }
+        } catch (IOException | UncheckedIOException | InterruptedException e) {
+            failure = e;
+        } finally {
+            // 워커마다 종료 표시를 하나씩 보낸다
+            for (int i = 0; i < threads; i++) {
+                try {
+                    files.put(END_OF_FILES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void parse(Logger log) {
+        try {
+            Path path;
+            while ((path = files.take()) != END_OF_FILES) {
+                scanned.incrementAndGet();
+                String[] row = readRow(path, log);
+                if (row != null) {
+                    rows.put(row);
+                } else {
+                    skipped.incrementAndGet();
+                }
+            }
+            rows.put(END_OF_ROWS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String[] readRow(Path path, Logger log) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024)) {
+            Attributes attributes = dicomAnalysisService.readHeader(in);
+            String[] row = new String[queries.size() + 1];
+            row[0] = path.toString();
+            for (int i = 0; i < queries.size(); i++) {
+                row[i + 1] = formatMatches(attributes, queries.get(i));
+            }
+            return row;
+        } catch (IOException | RuntimeException e) {
+            // DICOM이 아닌 파일이나 잘린 파일은 건너뛴다. 워커가 죽으면 종료 표시가 오지 않으므로 여기서 모두 받는다
+            log.debug("헤더 읽기 실패: {} - {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    // 경로가 여러 요소에 맞으면 다중 값처럼 '\'로 이어 붙인다
+    private String formatMatches(Attributes attributes, DicomPathQuery query) {
+        List<DicomPathQuery.Match> matches = query.evaluate(attributes);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        if (matches.size() == 1) {
+            return dicomAnalysisService.formatTagValue(matches.get(0).getAttributes(), matches.get(0).getTag());
+        }
+        StringBuilder joined = new StringBuilder();
+        for (DicomPathQuery.Match match : matches) {
+            String value = dicomAnalysisService.formatTagValue(match.getAttributes(), match.getTag());
+            if (value != null) {
+                if (!joined.isEmpty()) {
+                    joined.append('\\');
+                }
+                joined.append(value);
+            }
+        }
+        return joined.toString();
+    }
+
+    // 괄호와 대괄호 안의 쉼표는 태그 번호나 술어의 일부이므로 나누지 않는다
+    static List<String> splitTags(String tags) {
+        List<String> names = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= tags.length(); i++) {
+            char c = i < tags.length() ? tags.charAt(i) : ',';
+            if (c == '(' || c == '[') {
+                depth++;
+            } else if (c == ')' || c == ']') {
+                depth--;
+            } else if (c == ',' && depth <= 0) {
+                String name = tags.substring(start, i).trim();
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+                start = i + 1;
+            }
+        }
+        return names;
+    }
+
+    private static long decode(Path input, String output) throws IOException {
+        OutputStream target = output != null ? Files.newOutputStream(Paths.get(output)) : System.out;
+        try (DictionaryCsvReader reader = new DictionaryCsvReader(new GZIPInputStream(Files.newInputStream(input), 64 * 1024));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8))) {
+            StringBuilder line = new StringBuilder(256);
+            writeCsvLine(writer, line, reader.getColumns().toArray(String[]::new));
+            long count = 0;
+            String[] row;
+            while ((row = reader.readRow()) != null) {
+                writeCsvLine(writer, line, row);
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, StringBuilder line, String[] values) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            DictionaryCsvWriter.appendField(line, values[i]);
+        }
+        writer.append(line).append('\n');
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션은 --name=value 형식이어야 합니다: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,56 @@
+package io.morningowl.dicomcraft.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 기존 DTO에 대한 바이너리 인코딩(CBOR, Smile) 지원.
+ * Accept/Content-Type 헤더로 application/cbor 또는 application/x-jackson-smile을 지정하면 사용된다.
+ * byte[] 필드는 JSON에서는 Base64 문자열, 바이너리 인코딩에서는 원본 바이트로 직렬화된다.
+ */
+@Configuration
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring이 기본으로 등록한 CBOR/Smile 변환기가 먼저 선택되므로 같은 자리에서 교체한다.
+        // 기본 변환기가 없으면 끝에 추가해 Accept 헤더가 없는 요청은 기존처럼 JSON으로 응답
+        replaceOrAdd(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(cborObjectMapper()));
+        replaceOrAdd(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(smileObjectMapper()));
+    }
+
+    private static void replaceOrAdd(List<HttpMessageConverter<?>> converters,
+                                     Class<?> type, HttpMessageConverter<?> replacement) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, replacement);
+                return;
+            }
+        }
+        converters.add(replacement);
+    }
+
+    public static ObjectMapper cborObjectMapper() {
+        return Jackson2ObjectMapperBuilder.cbor().build();
+    }
+
+    public static ObjectMapper smileObjectMapper() {
+        // 반복되는 필드 이름과 짧은 문자열 값(vr, vrDescription 등)을 back-reference로 인코딩
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return Jackson2ObjectMapperBuilder.smile().factory(factory).build();
+    }
+}
@@ -0,0 +1,17 @@
+package io.morningowl.dicomcraft.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 업로드 파트를 힙에 올리지 않고 디스크 임시 파일이나 스트림으로만 다루는 엔드포인트.
+ * 이 표시가 있는 핸들러만 spring.servlet.multipart 상한까지 받고, 나머지는 dicomcraft.upload.max-buffered-size로 제한된다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StreamedUpload {
+}
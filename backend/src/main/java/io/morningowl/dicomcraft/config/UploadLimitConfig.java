@@ -0,0 +1,53 @@
+package io.morningowl.dicomcraft.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 엔드포인트별 업로드 크기 제한.
+ * 서블릿 multipart 상한은 스트리밍 엔드포인트(@StreamedUpload)에 맞춰 크게 두고, 업로드를 byte[]로 읽거나
+ * 결과를 메모리에서 만드는 나머지 엔드포인트는 더 작은 상한을 넘으면 핸들러 호출 전에 413으로 거절한다.
+ * 파트는 이미 디스크 임시 파일로 받아 둔 상태이므로 거절하기까지 힙을 쓰지 않는다.
+ */
+@Configuration
+public class UploadLimitConfig implements WebMvcConfigurer {
+
+    private final long maxBufferedBytes;
+
+    public UploadLimitConfig(@Value("${dicomcraft.upload.max-buffered-size:100MB}") DataSize maxBufferedSize) {
+        this.maxBufferedBytes = maxBufferedSize.toBytes();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (request instanceof MultipartHttpServletRequest multipart
+                        && handler instanceof HandlerMethod method
+                        && !method.hasMethodAnnotation(StreamedUpload.class)) {
+                    long size = multipart.getMultiFileMap().values().stream()
+                            .flatMap(List::stream)
+                            .mapToLong(MultipartFile::getSize)
+                            .sum();
+                    if (size > maxBufferedBytes) {
+                        throw new MaxUploadSizeExceededException(maxBufferedBytes);
+                    }
+                }
+                return true;
+            }
+        });
+    }
+}
@@ -1,16 +1,32 @@
 package io.morningowl.dicomcraft.controller;
 
+import io.morningowl.dicomcraft.config.StreamedUpload;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.morningowl.dicomcraft.dto.DicomAnalysisResponse;
 import io.morningowl.dicomcraft.dto.DicomGenerationRequest;
 import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomPixelOperation;
+import io.morningowl.dicomcraft.dto.DicomTagStreamLine;
 import io.morningowl.dicomcraft.service.DicomAnalysisService;
+import io.morningowl.dicomcraft.service.DicomDictionaryService;
 import io.morningowl.dicomcraft.service.DicomGenerationService;
+import io.morningowl.dicomcraft.service.DicomPixelTransformService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -18,12 +34,21 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class DicomController {
 
+    private static final MediaType DICOM = MediaType.parseMediaType("application/dicom");
+
     private final DicomAnalysisService dicomAnalysisService;
+    private final DicomDictionaryService dicomDictionaryService;
     private final DicomGenerationService dicomGenerationService;
+    private final DicomPixelTransformService dicomPixelTransformService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * slim=true이면 태그마다 id, vr, value만 반환하고 X-Dictionary-Version 헤더로 이름을 붙일 사전 버전을 알려준다.
+     */
     @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<DicomAnalysisResponse> analyzeDicomFile(
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean slim) {
         
         log.info("DICOM 파일 분석 요청: {}", file.getOriginalFilename());
         
@@ -47,13 +72,15 @@ public class DicomController {
         }
         
         try {
-            DicomAnalysisResponse response = dicomAnalysisService.analyzeDicomFile(file);
+            DicomAnalysisResponse response = dicomAnalysisService.analyzeDicomFile(file, slim);
             
             if ("SUCCESS".equals(response.getAnalysisStatus())) {
                 log.info("DICOM 파일 분석 완료: {}, 태그 수: {}", 
                         file.getOriginalFilename(), 
                         response.getTags() != null ? response.getTags().size() : 0);
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                        .header("X-Dictionary-Version", dicomDictionaryService.getVersion())
+                        .body(response);
             } else {
                 log.error("DICOM 파일 분석 실패: {}, 오류: {}", 
                         file.getOriginalFilename(), 
@@ -72,6 +99,71 @@ public class DicomController {
         }
     }
 
+    /**
+     * 파싱되는 순서대로 최상위 태그를 한 줄에 하나씩 NDJSON으로 내려준다. 줄마다 type 필드가 있으며
+     * 태그 줄은 TAG, 스트리밍 도중 오류가 나면 쓰는 마지막 줄은 ERROR이다.
+     */
+    @PostMapping(value = "/analyze/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDicomTags(@RequestParam("file") MultipartFile file,
+                                                                 @RequestParam(defaultValue = "false") boolean slim) {
+        log.info("DICOM 태그 스트리밍 요청: {}", file.getOriginalFilename());
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        InputStream inputStream;
+        try {
+            // 비동기 응답이 시작되기 전에 업로드 스트림을 열어 둔다
+            inputStream = file.getInputStream();
+        } catch (IOException e) {
+            log.error("파일 읽기 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+
+        String fileName = file.getOriginalFilename();
+        StreamingResponseBody body = outputStream -> {
+            int[] count = {0};
+            try {
+                dicomAnalysisService.streamDicomTags(inputStream, slim, tag -> {
+                    try {
+                        writeLine(outputStream, DicomTagStreamLine.builder()
+                                .type(DicomTagStreamLine.TYPE_TAG)
+                                .tag(tag)
+                                .build());
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                log.info("DICOM 태그 스트리밍 완료: {}, 태그 수: {}", fileName, count[0]);
+            } catch (UncheckedIOException e) {
+                // 클라이언트 연결 종료
+                log.warn("DICOM 태그 스트리밍 중단: {}, 오류: {}", fileName, e.getMessage());
+            } catch (Exception e) {
+                log.error("DICOM 태그 스트리밍 중 오류 발생: {}", e.getMessage(), e);
+                writeLine(outputStream, DicomTagStreamLine.builder()
+                        .type(DicomTagStreamLine.TYPE_ERROR)
+                        .fileName(fileName)
+                        .errorMessage("DICOM 파일 분석 실패: " + e.getMessage())
+                        .build());
+            } finally {
+                inputStream.close();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header("X-Dictionary-Version", dicomDictionaryService.getVersion())
+                .body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(value));
+        outputStream.write('\n');
+        outputStream.flush();
+    }
+
     @PostMapping("/generate")
     public ResponseEntity<DicomGenerationResponse> generateDicomFile(@RequestBody DicomGenerationRequest request) {
         log.info("DICOM 파일 생성 요청");
@@ -100,8 +192,108 @@ public class DicomController {
         }
     }
 
+    /**
+     * 큰 픽셀 데이터용 생성. metadata 파트는 pixelDataBase64를 뺀 DicomGenerationRequest JSON이고,
+     * pixelData 파트는 원시 픽셀 바이트다. 업로드된 파트를 응답의 DicomOutputStream 뒤로 그대로 흘려보내므로
+     * Base64 문자열이나 픽셀 배열을 힙에 만들지 않으며, 결과는 JSON 대신 application/dicom 파일로 내려준다.
+     */
+    @PostMapping(value = "/generate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @StreamedUpload
+    public ResponseEntity<StreamingResponseBody> generateDicomStream(@RequestParam("metadata") String metadata,
+                                                                     @RequestParam("pixelData") MultipartFile pixelData) {
+        log.info("DICOM 파일 스트리밍 생성 요청: 픽셀 데이터 {} bytes", pixelData.getSize());
+
+        DicomGenerationService.StreamedDicom dicom;
+        InputStream inputStream;
+        try {
+            DicomGenerationRequest request = objectMapper.readValue(metadata, DicomGenerationRequest.class);
+            dicom = dicomGenerationService.prepareStreamedDicom(request, pixelData.getSize());
+            // 비동기 응답이 시작되기 전에 업로드 스트림을 열어 둔다
+            inputStream = pixelData.getInputStream();
+        } catch (IllegalArgumentException | IOException e) {
+            throw new StreamRequestException("DICOM 파일 생성 실패: " + e.getMessage(), e);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream in = inputStream) {
+                dicom.writeTo(in, outputStream);
+                log.info("DICOM 파일 스트리밍 생성 완료: {}, 파일 크기: {} bytes", dicom.getFileName(), dicom.getContentLength());
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(DICOM)
+                .contentLength(dicom.getContentLength())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(dicom.getFileName())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * 스트리밍 응답을 시작하기 전에 발견한 요청 오류. 반환 타입을 ResponseEntity&lt;StreamingResponseBody&gt;로
+     * 두어야 Spring이 본문을 비동기로 흘려보내므로, JSON 오류 응답은 예외 처리기에서 만든다.
+     */
+    @ExceptionHandler(StreamRequestException.class)
+    public ResponseEntity<DicomGenerationResponse> handleStreamRequestException(StreamRequestException e) {
+        log.warn("DICOM 파일 스트리밍 생성 요청 오류: {}", e.getMessage());
+        return ResponseEntity.badRequest()
+                .body(DicomGenerationResponse.builder()
+                        .fileName("generated.dcm")
+                        .generationStatus("ERROR")
+                        .errorMessage(e.getMessage())
+                        .build());
+    }
+
+    /**
+     * 업로드한 파일에 자르기/리샘플/회전/뒤집기/비트 깊이 변경을 순서대로 적용한 새 파일을 만든다.
+     * operations는 DicomPixelOperation 배열 JSON 문자열이다.
+     * 예: [{"type":"CROP","x":10,"y":10,"width":256,"height":256},{"type":"ROTATE","angle":90}]
+     */
+    @PostMapping(value = "/transform", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DicomGenerationResponse> transformPixels(@RequestParam("file") MultipartFile file,
+                                                                   @RequestParam("operations") String operations) {
+        log.info("픽셀 변환 요청: {}", file.getOriginalFilename());
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(DicomGenerationResponse.builder()
+                            .fileName(file.getOriginalFilename())
+                            .generationStatus("ERROR")
+                            .errorMessage("업로드된 파일이 비어있습니다.")
+                            .build());
+        }
+
+        List<DicomPixelOperation> parsedOperations;
+        try {
+            parsedOperations = objectMapper.readValue(operations, new TypeReference<List<DicomPixelOperation>>() {});
+        } catch (IOException e) {
+            return ResponseEntity.badRequest()
+                    .body(DicomGenerationResponse.builder()
+                            .fileName(file.getOriginalFilename())
+                            .generationStatus("ERROR")
+                            .errorMessage("변환 작업 형식이 올바르지 않습니다: " + e.getMessage())
+                            .build());
+        }
+
+        DicomGenerationResponse response = dicomPixelTransformService.transform(file, parsedOperations);
+        if ("SUCCESS".equals(response.getGenerationStatus())) {
+            log.info("픽셀 변환 완료: {}, 파일 크기: {} bytes", response.getFileName(), response.getFileSize());
+            return ResponseEntity.ok(response);
+        }
+        log.error("픽셀 변환 실패: {}, 오류: {}", file.getOriginalFilename(), response.getErrorMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("DICOM Craft API is running");
     }
+
+    static final class StreamRequestException extends RuntimeException {
+        StreamRequestException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomDictionary;
+import io.morningowl.dicomcraft.service.DicomDictionaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * slim 분석 응답에 이름을 붙이기 위한 사전.
+ * 버전이 붙은 경로는 내용이 바뀌지 않으므로 1년 immutable 캐시와 ETag를 준다.
+ * Private 태그 (gggg,xxyy)의 Private Creator는 같은 응답의 (gggg,00xx) 값이고,
+ * 반복 그룹(50xx, 60xx) 태그는 그룹 하위 바이트를 00으로 바꿔 찾는다.
+ */
+@RestController
+@RequestMapping("/api/dicom/dictionary")
+@RequiredArgsConstructor
+public class DicomDictionaryController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final DicomDictionaryService dicomDictionaryService;
+
+    /**
+     * 현재 버전 경로로 보낸다. 이 응답 자체는 캐시하지 않는다.
+     */
+    @GetMapping
+    public ResponseEntity<Void> currentDictionary() {
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                        .path("/{version}")
+                        .buildAndExpand(dicomDictionaryService.getVersion())
+                        .toUri())
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    /**
+     * If-None-Match가 ETag와 같으면 본문 없이 304를 반환한다.
+     */
+    @GetMapping("/{version}")
+    public ResponseEntity<DicomDictionary> getDictionary(@PathVariable String version) {
+        if (!dicomDictionaryService.getVersion().equals(version)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(IMMUTABLE)
+                .eTag(version)
+                .body(dicomDictionaryService.getDictionary());
+    }
+}
@@ -0,0 +1,68 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomDiffResponse;
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.service.DicomDiffService;
+import io.morningowl.dicomcraft.service.DicomStoreService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Paths;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dicom/diff")
+@RequiredArgsConstructor
+public class DicomDiffController {
+
+    private final DicomDiffService dicomDiffService;
+    private final DicomStoreService dicomStoreService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DicomDiffResponse> diffUploads(@RequestParam("original") MultipartFile original,
+                                                         @RequestParam("modified") MultipartFile modified) {
+        log.info("DICOM 비교 요청: {} <-> {}", original.getOriginalFilename(), modified.getOriginalFilename());
+
+        if (original.isEmpty() || modified.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(DicomDiffResponse.builder()
+                            .originalFileName(original.getOriginalFilename())
+                            .modifiedFileName(modified.getOriginalFilename())
+                            .diffStatus("ERROR")
+                            .errorMessage("업로드된 파일이 비어있습니다.")
+                            .build());
+        }
+
+        return toResponse(dicomDiffService.diffUploads(original, modified));
+    }
+
+    /**
+     * DICOMweb 저장소에 있는 두 인스턴스를 업로드 없이 비교한다.
+     */
+    @GetMapping("/stored")
+    public ResponseEntity<DicomDiffResponse> diffStored(@RequestParam String original,
+                                                        @RequestParam String modified) {
+        try {
+            DicomIndexEntry originalEntry = dicomStoreService.findInstance(original);
+            DicomIndexEntry modifiedEntry = dicomStoreService.findInstance(modified);
+            return toResponse(dicomDiffService.diff(
+                    Paths.get(originalEntry.getPath()), original,
+                    Paths.get(modifiedEntry.getPath()), modified));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private ResponseEntity<DicomDiffResponse> toResponse(DicomDiffResponse response) {
+        if ("SUCCESS".equals(response.getDiffStatus())) {
+            log.info("DICOM 비교 완료: 차이 {}개, {} ms", response.getDifferences().size(), response.getTookMillis());
+            return ResponseEntity.ok(response);
+        }
+        log.error("DICOM 비교 실패: {}", response.getErrorMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+}
@@ -0,0 +1,153 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.config.StreamedUpload;
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.service.DicomFrameService;
+import io.morningowl.dicomcraft.service.DicomHeader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 멀티프레임 나누기/합치기. 나눈 프레임은 만들면서 바로 zip으로 흘려보내고, 합친 파일은 작업 디렉토리에 쓴 뒤 내려보내고 지운다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/dicom/frames")
+@RequiredArgsConstructor
+public class DicomFrameController {
+
+    private static final MediaType DICOM = MediaType.parseMediaType("application/dicom");
+    private static final MediaType ZIP = MediaType.parseMediaType("application/zip");
+
+    private final DicomFrameService dicomFrameService;
+
+    /**
+     * 멀티프레임 파일을 프레임마다 단일 프레임 인스턴스로 나눠 zip(frame-00001.dcm, ...)으로 내려준다.
+     */
+    @PostMapping(value = "/split", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @StreamedUpload
+    public ResponseEntity<StreamingResponseBody> split(@RequestParam("file") MultipartFile file) {
+        log.info("멀티프레임 나누기 요청: {}", file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw new FrameRequestException(file.getOriginalFilename(), new IllegalArgumentException("업로드된 파일이 비어있습니다."));
+        }
+
+        DicomHeader source;
+        try {
+            source = dicomFrameService.prepareSplit(file);
+        } catch (Exception e) {
+            throw new FrameRequestException(file.getOriginalFilename(), e);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                dicomFrameService.writeSplitZip(source, outputStream);
+            } finally {
+                dicomFrameService.deleteSplit(source);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(baseName(file.getOriginalFilename()) + "_frames.zip"))
+                .body(body);
+    }
+
+    /**
+     * 같은 크기의 CT/MR/PET 단일 프레임 파일들을 위치 순서대로 합친 Legacy Converted Enhanced 파일을 내려준다.
+     */
+    @PostMapping(value = "/merge", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @StreamedUpload
+    public ResponseEntity<StreamingResponseBody> merge(@RequestParam("files") List<MultipartFile> files) {
+        log.info("단일 프레임 합치기 요청: {}개 파일", files.size());
+        try {
+            return download(dicomFrameService.merge(files));
+        } catch (Exception e) {
+            throw new FrameRequestException("merged.dcm", e);
+        }
+    }
+
+    /**
+     * DICOMweb 저장소에 있는 시리즈를 업로드 없이 합친다.
+     */
+    @PostMapping("/merge/series/{seriesInstanceUID}")
+    public ResponseEntity<StreamingResponseBody> mergeSeries(@PathVariable String seriesInstanceUID) {
+        log.info("시리즈 합치기 요청: {}", seriesInstanceUID);
+        try {
+            return download(dicomFrameService.mergeSeries(seriesInstanceUID));
+        } catch (Exception e) {
+            throw new FrameRequestException(seriesInstanceUID, e);
+        }
+    }
+
+    /**
+     * 스트리밍 응답을 시작하기 전의 오류. 반환 타입을 ResponseEntity&lt;StreamingResponseBody&gt;로 두어야
+     * 본문이 비동기로 흘러가므로, JSON 오류 응답은 여기서 만든다. 잘못된 입력은 400, 나머지는 500이다.
+     */
+    @ExceptionHandler(FrameRequestException.class)
+    public ResponseEntity<DicomGenerationResponse> handleFrameRequestException(FrameRequestException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IllegalArgumentException) {
+            log.warn("프레임 처리 실패: {}, 오류: {}", e.fileName, cause.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse(e.fileName, cause.getMessage()));
+        }
+        log.error("프레임 처리 중 예상치 못한 오류 발생: {}", cause.getMessage(), cause);
+        return ResponseEntity.internalServerError().body(errorResponse(e.fileName, "서버 내부 오류: " + cause.getMessage()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(Path merged) throws IOException {
+        long size = Files.size(merged);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(merged, outputStream);
+            } finally {
+                dicomFrameService.delete(merged);
+            }
+        };
+        log.info("단일 프레임 합치기 완료: {} bytes", size);
+        return ResponseEntity.ok()
+                .contentType(DICOM)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment("merged.dcm"))
+                .body(body);
+    }
+
+    private static DicomGenerationResponse errorResponse(String fileName, String message) {
+        return DicomGenerationResponse.builder()
+                .fileName(fileName)
+                .generationStatus("ERROR")
+                .errorMessage(message)
+                .build();
+    }
+
+    private static String attachment(String fileName) {
+        return ContentDisposition.attachment().filename(fileName).build().toString();
+    }
+
+    private static String baseName(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return "dicom";
+        }
+        return fileName.toLowerCase().endsWith(".dcm") ? fileName.substring(0, fileName.length() - 4) : fileName;
+    }
+
+    static final class FrameRequestException extends RuntimeException {
+        private final String fileName;
+
+        FrameRequestException(String fileName, Exception cause) {
+            super(cause.getMessage(), cause);
+            this.fileName = fileName;
+        }
+    }
+}
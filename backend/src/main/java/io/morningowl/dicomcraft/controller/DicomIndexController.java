@@ -0,0 +1,58 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.dto.DicomIndexStatus;
+import io.morningowl.dicomcraft.dto.DicomPatientSummary;
+import io.morningowl.dicomcraft.dto.DicomSeriesSummary;
+import io.morningowl.dicomcraft.dto.DicomStudySummary;
+import io.morningowl.dicomcraft.service.DicomIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/index")
+@RequiredArgsConstructor
+public class DicomIndexController {
+
+    private final DicomIndexService dicomIndexService;
+
+    @GetMapping("/status")
+    public ResponseEntity<DicomIndexStatus> getStatus() {
+        return ResponseEntity.ok(dicomIndexService.getStatus());
+    }
+
+    @PostMapping("/rescan")
+    public ResponseEntity<DicomIndexStatus> rescan() {
+        if (!dicomIndexService.isEnabled()) {
+            return ResponseEntity.badRequest().body(dicomIndexService.getStatus());
+        }
+        log.info("로컬 DICOM 인덱스 재스캔 요청");
+        dicomIndexService.requestRescan();
+        return ResponseEntity.accepted().body(dicomIndexService.getStatus());
+    }
+
+    @GetMapping("/patients")
+    public ResponseEntity<List<DicomPatientSummary>> getPatients() {
+        return ResponseEntity.ok(dicomIndexService.findPatients());
+    }
+
+    @GetMapping("/patients/{patientId}/studies")
+    public ResponseEntity<List<DicomStudySummary>> getStudies(@PathVariable String patientId) {
+        return ResponseEntity.ok(dicomIndexService.findStudies(patientId));
+    }
+
+    @GetMapping("/studies/{studyInstanceUID}/series")
+    public ResponseEntity<List<DicomSeriesSummary>> getSeries(@PathVariable String studyInstanceUID) {
+        return ResponseEntity.ok(dicomIndexService.findSeries(studyInstanceUID));
+    }
+
+    @GetMapping("/series/{seriesInstanceUID}/instances")
+    public ResponseEntity<List<DicomIndexEntry>> getInstances(@PathVariable String seriesInstanceUID) {
+        return ResponseEntity.ok(dicomIndexService.findInstances(seriesInstanceUID));
+    }
+}
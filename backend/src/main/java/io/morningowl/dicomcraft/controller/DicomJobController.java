@@ -0,0 +1,107 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomGenerationRequest;
+import io.morningowl.dicomcraft.dto.DicomJobStatus;
+import io.morningowl.dicomcraft.service.DicomJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dicom/jobs")
+@RequiredArgsConstructor
+public class DicomJobController {
+
+    private final DicomJobService dicomJobService;
+
+    @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DicomJobStatus> submitAnalysis(@RequestParam("file") MultipartFile file) {
+        log.info("비동기 DICOM 분석 요청: {}", file.getOriginalFilename());
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(DicomJobStatus.builder()
+                            .jobType("ANALYZE")
+                            .jobStatus("ERROR")
+                            .errorMessage("업로드된 파일이 비어있습니다.")
+                            .build());
+        }
+
+        try {
+            return ResponseEntity.accepted().body(dicomJobService.submitAnalysis(file));
+        } catch (RejectedExecutionException e) {
+            log.warn("분석 작업 큐가 가득 참: {}", file.getOriginalFilename());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IOException e) {
+            log.error("분석 작업 입력 저장 실패: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(DicomJobStatus.builder()
+                            .jobType("ANALYZE")
+                            .jobStatus("ERROR")
+                            .errorMessage("서버 내부 오류: " + e.getMessage())
+                            .build());
+        }
+    }
+
+    @PostMapping("/generate")
+    public ResponseEntity<DicomJobStatus> submitGeneration(@RequestBody DicomGenerationRequest request) {
+        log.info("비동기 DICOM 생성 요청: {} 개의 태그", request.getTags() != null ? request.getTags().size() : 0);
+
+        try {
+            return ResponseEntity.accepted().body(dicomJobService.submitGeneration(request));
+        } catch (RejectedExecutionException e) {
+            log.warn("생성 작업 큐가 가득 참");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<DicomJobStatus> getStatus(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(dicomJobService.getStatus(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(dicomJobService.subscribe(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<Object> getResult(@PathVariable String jobId) {
+        try {
+            Object result = dicomJobService.takeResult(jobId);
+            if (result == null) {
+                // 아직 실행 중이면 현재 상태와 함께 409
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(dicomJobService.getStatus(jobId));
+            }
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<DicomJobStatus> cancel(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(dicomJobService.cancel(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
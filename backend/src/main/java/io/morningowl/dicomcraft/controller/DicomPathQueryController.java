@@ -0,0 +1,69 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.dto.DicomPathQueryResponse;
+import io.morningowl.dicomcraft.service.DicomPathQueryService;
+import io.morningowl.dicomcraft.service.DicomStoreService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 태그 경로 질의. path를 여러 번 지정하면 각각의 결과를 순서대로 돌려준다.
+ * 예: path=ContentSequence[ValueType=NUM].ConceptNameCodeSequence.CodeValue
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/dicom/query")
+@RequiredArgsConstructor
+public class DicomPathQueryController {
+
+    private final DicomPathQueryService dicomPathQueryService;
+    private final DicomStoreService dicomStoreService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DicomPathQueryResponse> queryUpload(@RequestParam("file") MultipartFile file,
+                                                              @RequestParam("path") List<String> paths) {
+        log.info("경로 질의 요청: {}, 경로 {}개", file.getOriginalFilename(), paths.size());
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(DicomPathQueryResponse.builder()
+                            .fileName(file.getOriginalFilename())
+                            .queryStatus("ERROR")
+                            .errorMessage("업로드된 파일이 비어있습니다.")
+                            .build());
+        }
+
+        return toResponse(dicomPathQueryService.query(file, paths));
+    }
+
+    /**
+     * DICOMweb 저장소에 있는 인스턴스를 업로드 없이 질의한다.
+     */
+    @GetMapping("/stored/{sopInstanceUID}")
+    public ResponseEntity<DicomPathQueryResponse> queryStored(@PathVariable String sopInstanceUID,
+                                                              @RequestParam("path") List<String> paths) {
+        DicomIndexEntry entry;
+        try {
+            entry = dicomStoreService.findInstance(sopInstanceUID);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return toResponse(dicomPathQueryService.query(Paths.get(entry.getPath()), sopInstanceUID, paths));
+    }
+
+    private ResponseEntity<DicomPathQueryResponse> toResponse(DicomPathQueryResponse response) {
+        if ("SUCCESS".equals(response.getQueryStatus())) {
+            return ResponseEntity.ok(response);
+        }
+        log.warn("경로 질의 실패: {}, 오류: {}", response.getFileName(), response.getErrorMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+}
@@ -0,0 +1,66 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.service.DicomPreviewService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 썸네일 PNG. 아이콘 이미지를 쓴 경우 X-Preview-Source가 ICON, 축소 디코딩한 경우 SUBSAMPLED이다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/dicom/preview")
+@RequiredArgsConstructor
+public class DicomPreviewController {
+
+    private final DicomPreviewService dicomPreviewService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<byte[]> preview(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return toPng(dicomPreviewService.preview(file));
+        } catch (IllegalArgumentException e) {
+            log.warn("미리보기 요청 오류: {}, 오류: {}", file.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("미리보기 생성 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * 로컬 인덱스 또는 DICOMweb 저장소에 있는 인스턴스의 썸네일. 한 번 만든 썸네일은 캐시에서 바로 반환한다.
+     */
+    @GetMapping("/{sopInstanceUID}")
+    public ResponseEntity<byte[]> previewStored(@PathVariable String sopInstanceUID) {
+        try {
+            DicomPreviewService.Preview preview = dicomPreviewService.previewStored(sopInstanceUID);
+            if (preview == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return toPng(preview);
+        } catch (IllegalArgumentException e) {
+            log.warn("미리보기 요청 오류: {}, 오류: {}", sopInstanceUID, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("미리보기 생성 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private ResponseEntity<byte[]> toPng(DicomPreviewService.Preview preview) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .header("X-Preview-Source", preview.getSource())
+                .header("X-Image-Width", String.valueOf(preview.getWidth()))
+                .header("X-Image-Height", String.valueOf(preview.getHeight()))
+                .body(preview.getPng());
+    }
+}
@@ -0,0 +1,105 @@
+package io.morningowl.dicomcraft.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomRedactionBatchRequest;
+import io.morningowl.dicomcraft.dto.DicomRedactionBatchResponse;
+import io.morningowl.dicomcraft.dto.DicomRedactionRegion;
+import io.morningowl.dicomcraft.dto.DicomRedactionRule;
+import io.morningowl.dicomcraft.service.DicomRedactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dicom/redaction")
+@RequiredArgsConstructor
+public class DicomRedactionController {
+
+    private final DicomRedactionService dicomRedactionService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/rules")
+    public ResponseEntity<List<DicomRedactionRule>> getRules() {
+        return ResponseEntity.ok(dicomRedactionService.getRules());
+    }
+
+    /**
+     * 업로드한 파일을 가린다. regions(DicomRedactionRegion 배열 JSON)를 생략하면 설정된 규칙을 적용한다.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DicomGenerationResponse> redactFile(@RequestParam("file") MultipartFile file,
+                                                              @RequestParam(value = "regions", required = false) String regions) {
+        log.info("픽셀 가림 요청: {}", file.getOriginalFilename());
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(DicomGenerationResponse.builder()
+                            .fileName(file.getOriginalFilename())
+                            .generationStatus("ERROR")
+                            .errorMessage("업로드된 파일이 비어있습니다.")
+                            .build());
+        }
+
+        List<DicomRedactionRegion> parsedRegions = null;
+        if (regions != null && !regions.isBlank()) {
+            try {
+                parsedRegions = objectMapper.readValue(regions, new TypeReference<List<DicomRedactionRegion>>() {});
+            } catch (IOException e) {
+                return ResponseEntity.badRequest()
+                        .body(DicomGenerationResponse.builder()
+                                .fileName(file.getOriginalFilename())
+                                .generationStatus("ERROR")
+                                .errorMessage("가림 영역 형식이 올바르지 않습니다: " + e.getMessage())
+                                .build());
+            }
+        }
+
+        DicomGenerationResponse response = dicomRedactionService.redactUpload(file, parsedRegions);
+        if ("SUCCESS".equals(response.getGenerationStatus())) {
+            log.info("픽셀 가림 완료: {}", file.getOriginalFilename());
+            return ResponseEntity.ok(response);
+        }
+        log.warn("픽셀 가림 실패: {}, 오류: {}", file.getOriginalFilename(), response.getErrorMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * 디렉토리 일괄 가림. 순회와 가림은 서비스의 백그라운드 스레드에서 진행되고 요청 스레드는 바로 반환된다.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<DicomRedactionBatchResponse>> redactDirectory(@RequestBody DicomRedactionBatchRequest request) {
+        log.info("일괄 픽셀 가림 요청: {}", request.getDirectory());
+        CompletableFuture<DicomRedactionBatchResponse> batch;
+        try {
+            batch = dicomRedactionService.redactDirectory(request);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(DicomRedactionBatchResponse.builder()
+                            .directory(request.getDirectory())
+                            .status("ERROR")
+                            .errorMessage(e.getMessage())
+                            .build()));
+        }
+        return batch.<ResponseEntity<DicomRedactionBatchResponse>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.error("일괄 픽셀 가림 중 예상치 못한 오류 발생: {}", cause.getMessage(), cause);
+                    return ResponseEntity.internalServerError()
+                            .body(DicomRedactionBatchResponse.builder()
+                                    .directory(request.getDirectory())
+                                    .status("ERROR")
+                                    .errorMessage("서버 내부 오류: " + cause.getMessage())
+                                    .build());
+                });
+    }
+}
@@ -0,0 +1,44 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomSearchQuery;
+import io.morningowl.dicomcraft.dto.DicomSearchResponse;
+import io.morningowl.dicomcraft.dto.DicomSearchStatus;
+import io.morningowl.dicomcraft.service.DicomSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class DicomSearchController {
+
+    private final DicomSearchService dicomSearchService;
+
+    @PostMapping
+    public ResponseEntity<DicomSearchResponse> search(@RequestBody DicomSearchQuery query,
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        DicomSearchResponse response = dicomSearchService.search(query, limit);
+
+        if ("SUCCESS".equals(response.getSearchStatus())) {
+            log.info("태그 검색 완료: {}건, {}ms", response.getTotalHits(), response.getTookMillis());
+            return ResponseEntity.ok(response);
+        }
+        log.warn("태그 검색 실패: {}", response.getErrorMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<DicomSearchStatus> getStatus() {
+        return ResponseEntity.ok(dicomSearchService.getStatus());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<DicomSearchStatus> rebuild() {
+        log.info("태그 검색 인덱스 재생성 요청");
+        dicomSearchService.requestRebuild();
+        return ResponseEntity.accepted().body(dicomSearchService.getStatus());
+    }
+}
@@ -0,0 +1,75 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomTemplateInfo;
+import io.morningowl.dicomcraft.dto.DicomTemplateInstanceRequest;
+import io.morningowl.dicomcraft.dto.DicomTemplateRequest;
+import io.morningowl.dicomcraft.service.DicomTemplateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dicom/templates")
+@RequiredArgsConstructor
+public class DicomTemplateController {
+
+    private final DicomTemplateService dicomTemplateService;
+
+    @PostMapping
+    public ResponseEntity<DicomTemplateInfo> registerTemplate(@RequestBody DicomTemplateRequest request) {
+        log.info("생성 템플릿 등록 요청: {}", request.getName());
+
+        try {
+            return ResponseEntity.ok(dicomTemplateService.registerTemplate(request));
+        } catch (Exception e) {
+            log.error("생성 템플릿 등록 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(DicomTemplateInfo.builder()
+                            .name(request.getName())
+                            .status("ERROR")
+                            .errorMessage("템플릿 등록 실패: " + e.getMessage())
+                            .build());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DicomTemplateInfo>> getTemplates() {
+        return ResponseEntity.ok(dicomTemplateService.getTemplates());
+    }
+
+    @GetMapping("/{templateId}")
+    public ResponseEntity<DicomTemplateInfo> getTemplate(@PathVariable String templateId) {
+        try {
+            return ResponseEntity.ok(dicomTemplateService.getTemplate(templateId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{templateId}")
+    public ResponseEntity<Void> removeTemplate(@PathVariable String templateId) {
+        return dicomTemplateService.removeTemplate(templateId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/{templateId}/generate")
+    public ResponseEntity<DicomGenerationResponse> generate(@PathVariable String templateId,
+                                                            @RequestBody(required = false) DicomTemplateInstanceRequest request) {
+        try {
+            DicomGenerationResponse response = dicomTemplateService.generate(templateId, request);
+            if ("SUCCESS".equals(response.getGenerationStatus())) {
+                return ResponseEntity.ok(response);
+            }
+            log.error("템플릿 기반 DICOM 파일 생성 실패: {}, 오류: {}", templateId, response.getErrorMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
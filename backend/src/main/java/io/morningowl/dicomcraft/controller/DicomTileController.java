@@ -0,0 +1,79 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomTileInfo;
+import io.morningowl.dicomcraft.service.DicomTileService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dicom/tiles")
+@RequiredArgsConstructor
+public class DicomTileController {
+
+    private final DicomTileService dicomTileService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DicomTileInfo> registerImage(@RequestParam("file") MultipartFile file) {
+        log.info("타일 이미지 등록 요청: {}", file.getOriginalFilename());
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(DicomTileInfo.builder()
+                            .fileName(file.getOriginalFilename())
+                            .status("ERROR")
+                            .errorMessage("업로드된 파일이 비어있습니다.")
+                            .build());
+        }
+
+        DicomTileInfo info = dicomTileService.registerImage(file);
+        if ("SUCCESS".equals(info.getStatus())) {
+            return ResponseEntity.ok(info);
+        }
+        log.error("타일 이미지 등록 실패: {}, 오류: {}", file.getOriginalFilename(), info.getErrorMessage());
+        return ResponseEntity.badRequest().body(info);
+    }
+
+    @GetMapping("/{imageId}")
+    public ResponseEntity<DicomTileInfo> getImageInfo(@PathVariable String imageId) {
+        try {
+            return ResponseEntity.ok(dicomTileService.getImageInfo(imageId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping(value = "/{imageId}/{level}/{x}/{y}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getTile(@PathVariable String imageId,
+                                          @PathVariable int level,
+                                          @PathVariable int x,
+                                          @PathVariable int y,
+                                          @RequestParam(defaultValue = "0") int frame) {
+        try {
+            byte[] tile = dicomTileService.getTile(imageId, frame, level, x, y);
+            // 등록된 이미지의 타일은 바뀌지 않으므로 브라우저 캐시를 허용
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePrivate())
+                    .body(tile);
+        } catch (IllegalArgumentException e) {
+            log.warn("타일 요청 오류: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("타일 생성 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @DeleteMapping("/{imageId}")
+    public ResponseEntity<Void> releaseImage(@PathVariable String imageId) {
+        dicomTileService.releaseImage(imageId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,84 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomMprRequest;
+import io.morningowl.dicomcraft.dto.DicomMprSlice;
+import io.morningowl.dicomcraft.dto.DicomVolumeInfo;
+import io.morningowl.dicomcraft.service.DicomVolumeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/volumes")
+@RequiredArgsConstructor
+public class DicomVolumeController {
+
+    private final DicomVolumeService dicomVolumeService;
+
+    @GetMapping("/{seriesInstanceUID}")
+    public ResponseEntity<DicomVolumeInfo> getVolumeInfo(@PathVariable String seriesInstanceUID) {
+        try {
+            return ResponseEntity.ok(dicomVolumeService.getVolumeInfo(seriesInstanceUID));
+        } catch (IllegalArgumentException e) {
+            log.warn("볼륨 생성 요청 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(errorInfo(seriesInstanceUID, e.getMessage()));
+        } catch (Exception e) {
+            log.error("볼륨 생성 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(errorInfo(seriesInstanceUID, "서버 내부 오류: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 재구성 평면을 PNG(기본) 또는 16비트 원시 픽셀(format=raw)로 반환한다.
+     * 예: /api/volumes/{uid}/mpr?orientation=SAGITTAL&offset=-20&thickness=10
+     */
+    @GetMapping("/{seriesInstanceUID}/mpr")
+    public ResponseEntity<byte[]> reslice(@PathVariable String seriesInstanceUID,
+                                          @ModelAttribute DicomMprRequest request,
+                                          @RequestParam(defaultValue = "png") String format) {
+        try {
+            DicomMprSlice slice = dicomVolumeService.reslice(seriesInstanceUID, request);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .header("X-Image-Width", String.valueOf(slice.getWidth()))
+                    .header("X-Image-Height", String.valueOf(slice.getHeight()))
+                    .header("X-Pixel-Spacing", String.valueOf(slice.getPixelSpacing()))
+                    .header("X-Image-Position", join(slice.getImagePosition()))
+                    .header("X-Image-Orientation", join(slice.getRowDirection()) + "," + join(slice.getColumnDirection()));
+            if ("raw".equalsIgnoreCase(format)) {
+                return builder.contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .body(dicomVolumeService.toRawBytes(slice));
+            }
+            return builder.contentType(MediaType.IMAGE_PNG).body(dicomVolumeService.renderPng(slice));
+        } catch (IllegalArgumentException e) {
+            log.warn("MPR 요청 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("MPR 생성 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @DeleteMapping("/{seriesInstanceUID}")
+    public ResponseEntity<Void> releaseVolume(@PathVariable String seriesInstanceUID) {
+        dicomVolumeService.releaseVolume(seriesInstanceUID);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String join(double[] values) {
+        return String.join(",", Arrays.stream(values).mapToObj(String::valueOf).toArray(String[]::new));
+    }
+
+    private static DicomVolumeInfo errorInfo(String seriesInstanceUID, String message) {
+        return DicomVolumeInfo.builder()
+                .seriesInstanceUID(seriesInstanceUID)
+                .status("ERROR")
+                .errorMessage(message)
+                .build();
+    }
+}
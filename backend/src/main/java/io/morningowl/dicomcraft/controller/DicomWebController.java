@@ -0,0 +1,215 @@
+package io.morningowl.dicomcraft.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.service.DicomHeader;
+import io.morningowl.dicomcraft.service.DicomJsonWriter;
+import io.morningowl.dicomcraft.service.DicomStoreService;
+import io.morningowl.dicomcraft.service.UnsupportedPixelDataException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * DICOMweb (STOW-RS / WADO-RS / QIDO-RS) 엔드포인트.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/dicomweb")
+@RequiredArgsConstructor
+public class DicomWebController {
+
+    private static final MediaType DICOM_JSON = MediaType.parseMediaType("application/dicom+json");
+
+    private final DicomStoreService dicomStoreService;
+    private final ObjectMapper objectMapper;
+
+    // ===== STOW-RS =====
+
+    @PostMapping(value = {"/studies", "/studies/{studyInstanceUID}"}, consumes = "multipart/related")
+    public ResponseEntity<byte[]> store(@PathVariable(required = false) String studyInstanceUID,
+                                        HttpServletRequest request) {
+        String boundary = boundaryOf(request.getContentType());
+        if (boundary == null) {
+            log.warn("STOW-RS 요청에 boundary가 없습니다: {}", request.getContentType());
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            Attributes response = dicomStoreService.storeInstances(request.getInputStream(), boundary,
+                    studyInstanceUID, baseUrl());
+            boolean anyStored = response.containsValue(Tag.ReferencedSOPSequence);
+            boolean anyFailed = response.containsValue(Tag.FailedSOPSequence);
+            HttpStatus status = !anyFailed ? HttpStatus.OK : anyStored ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).contentType(DICOM_JSON).body(toJson(List.of(response), false));
+        } catch (IOException e) {
+            log.error("STOW-RS 처리 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // ===== WADO-RS =====
+
+    @GetMapping({"/studies/{studyInstanceUID}",
+            "/studies/{studyInstanceUID}/series/{seriesInstanceUID}",
+            "/studies/{studyInstanceUID}/series/{seriesInstanceUID}/instances/{sopInstanceUID}"})
+    public ResponseEntity<StreamingResponseBody> retrieveInstances(@PathVariable String studyInstanceUID,
+                                                                   @PathVariable(required = false) String seriesInstanceUID,
+                                                                   @PathVariable(required = false) String sopInstanceUID) {
+        List<DicomIndexEntry> entries;
+        try {
+            entries = dicomStoreService.findInstances(studyInstanceUID, seriesInstanceUID, sopInstanceUID);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String boundary = newBoundary();
+        return ResponseEntity.ok()
+                .contentType(multipartRelated("application/dicom", boundary))
+                .body(out -> dicomStoreService.writeInstances(entries, out, boundary));
+    }
+
+    @GetMapping({"/studies/{studyInstanceUID}/metadata",
+            "/studies/{studyInstanceUID}/series/{seriesInstanceUID}/metadata",
+            "/studies/{studyInstanceUID}/series/{seriesInstanceUID}/instances/{sopInstanceUID}/metadata"})
+    public ResponseEntity<StreamingResponseBody> retrieveMetadata(@PathVariable String studyInstanceUID,
+                                                                  @PathVariable(required = false) String seriesInstanceUID,
+                                                                  @PathVariable(required = false) String sopInstanceUID) {
+        List<DicomIndexEntry> entries;
+        try {
+            entries = dicomStoreService.findInstances(studyInstanceUID, seriesInstanceUID, sopInstanceUID);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String baseUrl = baseUrl();
+        return ResponseEntity.ok()
+                .contentType(DICOM_JSON)
+                .body(out -> {
+                    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                        dicomStoreService.writeMetadata(entries, baseUrl, generator);
+                    }
+                });
+    }
+
+    @GetMapping("/studies/{studyInstanceUID}/series/{seriesInstanceUID}/instances/{sopInstanceUID}/frames/{frameList}")
+    public ResponseEntity<StreamingResponseBody> retrieveFrames(@PathVariable String studyInstanceUID,
+                                                                @PathVariable String seriesInstanceUID,
+                                                                @PathVariable String sopInstanceUID,
+                                                                @PathVariable String frameList) {
+        try {
+            int[] frames = DicomStoreService.parseFrameList(frameList);
+            DicomIndexEntry entry = dicomStoreService.findInstances(studyInstanceUID, seriesInstanceUID, sopInstanceUID).get(0);
+            DicomHeader header = dicomStoreService.prepareFrames(entry, frames);
+
+            String boundary = newBoundary();
+            return ResponseEntity.ok()
+                    .contentType(multipartRelated("application/octet-stream", boundary))
+                    .body(out -> dicomStoreService.writeFrames(header, frames, out, boundary));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnsupportedPixelDataException e) {
+            log.warn("프레임 조회 오류: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        } catch (IllegalArgumentException e) {
+            log.warn("프레임 조회 오류: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            log.error("프레임 조회 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // ===== QIDO-RS =====
+
+    @GetMapping("/studies")
+    public ResponseEntity<byte[]> searchStudies(@RequestParam Map<String, String> params) {
+        return searchResponse(() -> dicomStoreService.searchStudies(params, baseUrl()));
+    }
+
+    @GetMapping({"/series", "/studies/{studyInstanceUID}/series"})
+    public ResponseEntity<byte[]> searchSeries(@PathVariable(required = false) String studyInstanceUID,
+                                               @RequestParam Map<String, String> params) {
+        return searchResponse(() -> dicomStoreService.searchSeries(studyInstanceUID, params, baseUrl()));
+    }
+
+    @GetMapping({"/instances",
+            "/studies/{studyInstanceUID}/instances",
+            "/studies/{studyInstanceUID}/series/{seriesInstanceUID}/instances"})
+    public ResponseEntity<byte[]> searchInstances(@PathVariable(required = false) String studyInstanceUID,
+                                                  @PathVariable(required = false) String seriesInstanceUID,
+                                                  @RequestParam Map<String, String> params) {
+        return searchResponse(() -> dicomStoreService.searchInstances(studyInstanceUID, seriesInstanceUID, params, baseUrl()));
+    }
+
+    private ResponseEntity<byte[]> searchResponse(Supplier<List<Attributes>> search) {
+        try {
+            List<Attributes> results = search.get();
+            if (results.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok().contentType(DICOM_JSON).body(toJson(results, true));
+        } catch (IllegalArgumentException e) {
+            log.warn("QIDO-RS 검색 조건 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            log.error("QIDO-RS 응답 생성 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private byte[] toJson(List<Attributes> datasets, boolean asArray) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (asArray) {
+                generator.writeStartArray();
+            }
+            for (Attributes dataset : datasets) {
+                DicomJsonWriter.writeDataset(generator, dataset);
+            }
+            if (asArray) {
+                generator.writeEndArray();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static String baseUrl() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path("/dicomweb").toUriString();
+    }
+
+    private static String boundaryOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String boundary = MediaType.parseMediaType(contentType).getParameter("boundary");
+        if (boundary != null && boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        return boundary == null || boundary.isEmpty() ? null : boundary;
+    }
+
+    private static String newBoundary() {
+        return "dicomcraft-" + UUID.randomUUID();
+    }
+
+    private static MediaType multipartRelated(String type, String boundary) {
+        return MediaType.parseMediaType("multipart/related; type=\"" + type + "\"; boundary=" + boundary);
+    }
+}
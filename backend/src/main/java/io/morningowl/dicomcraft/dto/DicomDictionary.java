@@ -0,0 +1,21 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomDictionary {
+    private String version; // 내용 해시, 내용이 같으면 배포가 바뀌어도 같은 값
+    private Map<String, DicomDictionaryEntry> tags; // "(0010,0010)" 형식의 태그 ID → 키워드/VR
+    private Map<String, String> vrs; // VR → 설명
+    private List<String> privateCreators; // 클래스패스에 사전이 있는 Private Creator
+    private Map<String, Map<String, DicomDictionaryEntry>> privateTags; // Private Creator → "(0019,xx0A)" 형식의 태그 ID → 키워드/VR
+}
@@ -0,0 +1,15 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomDictionaryEntry {
+    private String keyword;
+    private String vr;
+}
@@ -0,0 +1,19 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomDiffEntry {
+    private String path; // 예: (0040,A730)[1].(0008,0100)
+    private String name;
+    private String vr;
+    private String changeType; // ADDED, REMOVED, CHANGED
+    private String originalValue;
+    private String modifiedValue;
+}
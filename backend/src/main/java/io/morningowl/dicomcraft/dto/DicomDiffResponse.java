@@ -0,0 +1,28 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomDiffResponse {
+    private String originalFileName;
+    private String modifiedFileName;
+    private String originalTransferSyntax;
+    private String modifiedTransferSyntax;
+    private boolean identical;
+    private List<DicomDiffEntry> differences;
+    private boolean truncated; // 차이가 최대 개수를 넘어 일부만 포함된 경우
+    private long comparedElements;
+    private long skippedByHash; // 해시가 같아 내부 비교를 생략한 시퀀스/바이너리 요소 수
+    private long hashedBytes;
+    private long tookMillis;
+    private String diffStatus;
+    private String errorMessage;
+}
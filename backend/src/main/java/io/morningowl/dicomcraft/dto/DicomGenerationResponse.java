@@ -1,5 +1,6 @@
 package io.morningowl.dicomcraft.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,7 +12,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class DicomGenerationResponse {
     private String fileName;
-    private String generatedDicomBase64; // 생성된 DICOM 파일의 Base64
+    @JsonProperty("generatedDicomBase64")
+    private byte[] generatedDicom; // 생성된 DICOM 파일 (JSON에서는 Base64 문자열, CBOR/Smile에서는 바이너리)
     private String generationStatus;
     private String errorMessage;
     private long fileSize;
@@ -0,0 +1,29 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomIndexEntry {
+    private String path;
+    private long fileSize;
+    private long lastModified;
+    private String patientId;
+    private String patientName;
+    private String studyInstanceUID;
+    private String studyDate;
+    private String studyDescription;
+    private String accessionNumber;
+    private String seriesInstanceUID;
+    private String seriesNumber;
+    private String modality;
+    private String seriesDescription;
+    private String sopInstanceUID;
+    private String sopClassUID;
+    private String instanceNumber;
+}
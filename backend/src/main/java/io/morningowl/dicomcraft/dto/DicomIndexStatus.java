@@ -0,0 +1,20 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomIndexStatus {
+    private boolean enabled;
+    private String rootDirectory;
+    private boolean scanning;
+    private int fileCount;
+    private int instanceCount;
+    private long lastScanDurationMillis;
+    private long lastScanParsedFiles;
+}
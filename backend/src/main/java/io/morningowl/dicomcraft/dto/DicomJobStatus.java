@@ -0,0 +1,22 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomJobStatus {
+    private String jobId;
+    private String jobType; // ANALYZE, GENERATE
+    private String jobStatus; // QUEUED, RUNNING, SUCCESS, ERROR, CANCELLED
+    private long totalBytes;
+    private long bytesProcessed;
+    private int tagsProcessed;
+    private long createdAt;
+    private Long finishedAt;
+    private String errorMessage;
+}
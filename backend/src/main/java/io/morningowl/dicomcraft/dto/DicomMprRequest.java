@@ -0,0 +1,24 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomMprRequest {
+    @Builder.Default
+    private String orientation = "AXIAL";        // AXIAL, CORONAL, SAGITTAL, OBLIQUE
+    private double offset;                       // 볼륨 중심에서 평면 법선 방향으로의 거리 (mm)
+    private double thickness;                    // 0보다 크면 이 두께의 슬랩에 대해 MIP
+    @Builder.Default
+    private String interpolation = "LINEAR";     // NEAREST, LINEAR
+    private Double spacing;                      // 출력 픽셀 간격 (mm), 없으면 가장 작은 복셀 간격
+    private double[] rowDirection;               // OBLIQUE 평면의 가로 방향 (환자 좌표계)
+    private double[] columnDirection;            // OBLIQUE 평면의 세로 방향 (환자 좌표계)
+    private Double windowCenter;
+    private Double windowWidth;
+}
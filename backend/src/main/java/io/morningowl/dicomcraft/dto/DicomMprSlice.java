@@ -0,0 +1,22 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomMprSlice {
+    private int width;
+    private int height;
+    private double pixelSpacing;
+    private double[] imagePosition;    // 첫 픽셀 중심의 환자 좌표 (mm)
+    private double[] rowDirection;
+    private double[] columnDirection;
+    private double windowCenter;
+    private double windowWidth;
+    private short[] pixels;            // 행 우선 모달리티 값, 볼륨 밖은 -32768
+}
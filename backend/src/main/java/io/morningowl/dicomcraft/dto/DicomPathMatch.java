@@ -0,0 +1,18 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomPathMatch {
+    private String path; // 실제 항목 번호가 들어간 경로, 예: (0040,A730)[3].(0040,A043)[1].(0008,0100)
+    private String tag;
+    private String name;
+    private String vr;
+    private String value; // 다중 값은 '\'로 이어 붙임
+}
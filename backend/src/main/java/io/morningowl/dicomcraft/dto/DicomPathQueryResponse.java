@@ -0,0 +1,20 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomPathQueryResponse {
+    private String fileName;
+    private List<DicomPathQueryResult> results;
+    private long tookMillis;
+    private String queryStatus;
+    private String errorMessage;
+}
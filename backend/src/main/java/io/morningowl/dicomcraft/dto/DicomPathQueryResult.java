@@ -0,0 +1,18 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomPathQueryResult {
+    private String query;
+    private List<DicomPathMatch> matches;
+    private boolean truncated; // 최대 개수를 넘어 일부만 포함된 경우
+}
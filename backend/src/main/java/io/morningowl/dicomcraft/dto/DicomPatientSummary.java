@@ -0,0 +1,17 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomPatientSummary {
+    private String patientId;
+    private String patientName;
+    private int studyCount;
+    private int instanceCount;
+}
@@ -1,5 +1,6 @@
 package io.morningowl.dicomcraft.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,5 +18,6 @@ public class DicomPixelDataRequest {
     private int samplesPerPixel;
     private String photometricInterpretation;
     private String pixelRepresentation;
-    private String pixelDataBase64; // Base64 encoded pixel data
+    @JsonProperty("pixelDataBase64")
+    private byte[] pixelData; // JSON에서는 Base64 문자열, CBOR/Smile에서는 바이너리
 }
@@ -0,0 +1,23 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomPixelOperation {
+    private String type;           // CROP, RESAMPLE, ROTATE, FLIP, BIT_DEPTH
+    private Integer x;             // CROP: 왼쪽 위 열
+    private Integer y;             // CROP: 왼쪽 위 행
+    private Integer width;         // CROP/RESAMPLE: 결과 가로 크기
+    private Integer height;        // CROP/RESAMPLE: 결과 세로 크기
+    private Double scale;          // RESAMPLE: width/height 대신 배율 지정
+    private String interpolation;  // RESAMPLE: NEAREST, LINEAR (기본 LINEAR)
+    private Integer angle;         // ROTATE: 시계 방향 90, 180, 270
+    private String axis;           // FLIP: HORIZONTAL, VERTICAL
+    private Integer bitsStored;    // BIT_DEPTH: 결과 BitsStored (8 이하이면 8비트 할당)
+}
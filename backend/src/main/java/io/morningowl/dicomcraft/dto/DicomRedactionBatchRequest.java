@@ -0,0 +1,19 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomRedactionBatchRequest {
+    private String directory;
+    @Builder.Default
+    private boolean recursive = true;
+    private List<DicomRedactionRegion> regions; // 지정하면 규칙 대신 모든 파일에 이 영역을 적용
+}
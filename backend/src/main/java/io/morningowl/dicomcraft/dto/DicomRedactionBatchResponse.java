@@ -0,0 +1,25 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomRedactionBatchResponse {
+    private String directory;
+    private int filesScanned;
+    private int filesRedacted;
+    private int filesSkipped;                   // NO_MATCH, OUTSIDE_IMAGE, SKIPPED
+    private int filesFailed;
+    private long tookMillis;
+    private List<DicomRedactionResult> results; // 건너뜀(SKIPPED, OUTSIDE_IMAGE)/실패 파일별 결과, 최대 1000개
+    private int resultsOmitted;                 // 상한을 넘어 results에서 빠진 건너뜀/실패 결과 수
+    private String status;
+    private String errorMessage;
+}
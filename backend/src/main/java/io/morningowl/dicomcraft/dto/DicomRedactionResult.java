@@ -0,0 +1,22 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomRedactionResult {
+    private String path;
+    private String status;                      // REDACTED, NO_MATCH, OUTSIDE_IMAGE, SKIPPED, ERROR
+    private List<String> matchedRules;
+    private int regions;
+    private int frames;
+    private String burnedInAnnotation;          // IN_PLACE, REWRITTEN, UNCHANGED
+    private String errorMessage;
+}
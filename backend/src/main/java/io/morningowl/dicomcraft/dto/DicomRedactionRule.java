@@ -0,0 +1,19 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomRedactionRule {
+    private String name;
+    private Map<String, String> match;          // 태그 키워드 또는 (gggg,eeee) -> 값 정규식, 모두 일치해야 적용
+    private List<DicomRedactionRegion> regions;
+}
@@ -0,0 +1,25 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomSearchQuery {
+    private String op; // AND, OR, NOT, TERM, PREFIX, CONTAINS, RANGE
+    private String tag; // "(0018,0050)" 형식 또는 키워드 (예: SliceThickness)
+    private String value; // TERM/PREFIX/CONTAINS 검색어 (대소문자 무시)
+    private Double min; // RANGE 하한
+    private Double max; // RANGE 상한
+    @Builder.Default
+    private boolean minInclusive = true;
+    @Builder.Default
+    private boolean maxInclusive = true;
+    private List<DicomSearchQuery> clauses; // AND/OR/NOT 하위 조건
+}
@@ -0,0 +1,20 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomSearchResponse {
+    private int totalHits;
+    private List<DicomIndexEntry> results;
+    private long tookMillis;
+    private String searchStatus;
+    private String errorMessage;
+}
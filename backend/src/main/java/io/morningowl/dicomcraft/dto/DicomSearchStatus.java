@@ -0,0 +1,18 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomSearchStatus {
+    private boolean building;
+    private int documentCount;
+    private int deletedDocumentCount;
+    private int indexedTagCount;
+    private long lastBuildDurationMillis;
+}
@@ -0,0 +1,19 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomSeriesSummary {
+    private String seriesInstanceUID;
+    private String studyInstanceUID;
+    private String seriesNumber;
+    private String modality;
+    private String seriesDescription;
+    private int instanceCount;
+}
@@ -0,0 +1,21 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomStudySummary {
+    private String studyInstanceUID;
+    private String patientId;
+    private String patientName;
+    private String studyDate;
+    private String studyDescription;
+    private String accessionNumber;
+    private int seriesCount;
+    private int instanceCount;
+}
@@ -1,5 +1,6 @@
 package io.morningowl.dicomcraft.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,10 +15,13 @@ import java.util.List;
 @AllArgsConstructor
 public class DicomTag {
     private String id;
+    @JsonInclude(JsonInclude.Include.NON_NULL) // slim 응답에서는 생략
     private String name;
     private String vr; // Value Representation
+    @JsonInclude(JsonInclude.Include.NON_NULL) // slim 응답에서는 생략
     private String vrDescription; // VR 설명. 클라이언트 구현 후 삭제예정
     private Object value;
     @Builder.Default
+    @JsonInclude(JsonInclude.Include.NON_NULL) // slim 응답에서는 Sequence 태그에만 포함
     private List<DicomSequenceItem> children = new ArrayList<>(); // Sequence 태그인 경우 하위 아이템들
 }
@@ -0,0 +1,28 @@
+package io.morningowl.dicomcraft.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 태그 스트리밍(NDJSON)의 한 줄. type이 TAG이면 DicomTag 필드가 같은 객체에 펼쳐지고,
+ * ERROR이면 스트리밍 도중 실패했다는 마지막 줄로 fileName과 errorMessage만 담긴다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DicomTagStreamLine {
+    public static final String TYPE_TAG = "TAG";
+    public static final String TYPE_ERROR = "ERROR";
+
+    private String type;
+    @JsonUnwrapped
+    private DicomTag tag;
+    private String fileName;
+    private String errorMessage;
+}
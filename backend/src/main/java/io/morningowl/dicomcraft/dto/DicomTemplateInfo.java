@@ -0,0 +1,20 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomTemplateInfo {
+    private String templateId;
+    private String name;
+    private int tagCount;
+    private long createdAt;
+    private long instanceCount;
+    private String status;
+    private String errorMessage;
+}
@@ -0,0 +1,17 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomTemplateInstanceRequest {
+    private List<DicomTagRequest> overrides; // 템플릿 값 대신 사용할 태그
+    private DicomPixelDataRequest pixelData;
+}
@@ -0,0 +1,17 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomTemplateRequest {
+    private String name;
+    private List<DicomTagRequest> tags; // 모든 인스턴스에 공통으로 들어갈 태그
+}
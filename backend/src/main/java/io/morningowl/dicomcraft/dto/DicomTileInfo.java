@@ -0,0 +1,27 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomTileInfo {
+    private String imageId;
+    private String fileName;
+    private int width;
+    private int height;
+    private int numberOfFrames;
+    private int tileSize;
+    private int levels; // 0 = 원본 해상도, 레벨이 하나 오를 때마다 가로/세로 1/2
+    private int bitsAllocated;
+    private int bitsStored;
+    private int samplesPerPixel;
+    private int pixelRepresentation;
+    private String photometricInterpretation;
+    private String status;
+    private String errorMessage;
+}
@@ -0,0 +1,29 @@
+package io.morningowl.dicomcraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DicomVolumeInfo {
+    private String seriesInstanceUID;
+    private int columns;
+    private int rows;
+    private int slices;
+    private double[] voxelSpacing;    // [열 간격, 행 간격, 슬라이스 간격] (mm)
+    private double[] origin;          // 첫 슬라이스 첫 픽셀의 환자 좌표 (mm)
+    private double[] rowDirection;
+    private double[] columnDirection;
+    private double[] sliceDirection;
+    private int minValue;
+    private int maxValue;
+    private double windowCenter;
+    private double windowWidth;
+    private long volumeBytes;
+    private String status;
+    private String errorMessage;
+}
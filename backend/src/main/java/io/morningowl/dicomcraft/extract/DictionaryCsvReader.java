@@ -0,0 +1,129 @@
+package io.morningowl.dicomcraft.extract;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DictionaryCsvWriter가 쓴 파일을 읽어 사전 코드를 원래 값으로 되돌린다.
+ */
+public class DictionaryCsvReader implements Closeable {
+
+    private final Reader reader;
+    private final List<String> columns;
+    private final List<Map<String, String>> dictionaries = new ArrayList<>();
+
+    public DictionaryCsvReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> magic = readRecord();
+        if (magic == null || magic.size() != 1 || !DictionaryCsvWriter.MAGIC.equals(magic.get(0))) {
+            throw new IOException("dicomcraft 태그 파일이 아닙니다.");
+        }
+        List<String> header = readRecord();
+        if (header == null || !"H".equals(header.get(0))) {
+            throw new IOException("열 이름 레코드가 없습니다.");
+        }
+        this.columns = List.copyOf(header.subList(1, header.size()));
+        for (int i = 0; i < columns.size(); i++) {
+            dictionaries.add(new HashMap<>());
+        }
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 다음 행을 원래 값으로 돌려준다. 값이 없는 열은 빈 문자열, 파일 끝이면 null.
+     */
+    public String[] readRow() throws IOException {
+        List<String> record;
+        while ((record = readRecord()) != null) {
+            String type = record.get(0);
+            if ("D".equals(type)) {
+                dictionaries.get(Integer.parseInt(record.get(1))).put(record.get(2), record.get(3));
+            } else if ("R".equals(type)) {
+                return decodeRow(record);
+            } else {
+                throw new IOException("알 수 없는 레코드 종류: " + type);
+            }
+        }
+        return null;
+    }
+
+    private String[] decodeRow(List<String> record) throws IOException {
+        if (record.size() != columns.size() + 1) {
+            throw new IOException("열 수가 맞지 않는 행입니다: " + record.size());
+        }
+        String[] values = new String[columns.size()];
+        for (int column = 0; column < values.length; column++) {
+            String field = record.get(column + 1);
+            if (field.startsWith("@@")) {
+                values[column] = field.substring(1);
+            } else if (field.startsWith("@")) {
+                String value = dictionaries.get(column).get(field.substring(1));
+                if (value == null) {
+                    throw new IOException("정의되지 않은 사전 코드: " + field);
+                }
+                values[column] = value;
+            } else {
+                values[column] = field;
+            }
+        }
+        return values;
+    }
+
+    // RFC 4180 규칙으로 레코드 하나를 읽는다 (따옴표 안의 줄바꿈 허용)
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("따옴표가 닫히지 않았습니다.");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
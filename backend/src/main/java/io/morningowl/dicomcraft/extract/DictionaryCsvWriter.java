@@ -0,0 +1,158 @@
+package io.morningowl.dicomcraft.extract;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 반복되는 값을 열별 사전 코드로 바꿔 쓰는 CSV 작성기. 출력은 한 줄에 레코드 하나이며 첫 필드가 레코드 종류다.
+ * <pre>
+ * #dicomcraft-tags v1
+ * H,path,PatientID,Modality          열 이름
+ * D,2,0,CT                           2번 열(0부터)의 사전 코드 0 = "CT", 처음 쓰이기 직전에 한 번만 나온다
+ * R,/data/a.dcm,P001,@0              행, "@코드"는 사전 참조 (코드는 36진수), '@'로 시작하는 값은 "@@"로 이스케이프
+ * </pre>
+ * 값이 없는 태그는 빈 필드로 쓴다. 처음 SAMPLE_ROWS 행에서 서로 다른 값이 절반을 넘는 열(UID 등)은
+ * 사전을 버리고 그대로 쓰며, 열마다 사전 크기에 상한이 있어 입력 크기와 관계없이 메모리 사용량이 일정하다.
+ */
+public class DictionaryCsvWriter implements Closeable {
+
+    public static final String MAGIC = "#dicomcraft-tags v1";
+    static final int SAMPLE_ROWS = 1000;
+
+    private final Writer writer;
+    private final int columnCount;
+    private final ColumnDictionary[] dictionaries;
+    private final StringBuilder line = new StringBuilder(256);
+    private long rows;
+
+    /**
+     * @param dictionaryColumns 열마다 사전 인코딩 대상 여부 (경로처럼 항상 고유한 열은 false)
+     */
+    public DictionaryCsvWriter(OutputStream out, List<String> columns, boolean[] dictionaryColumns,
+                               int maxDictionarySize) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.columnCount = columns.size();
+        this.dictionaries = new ColumnDictionary[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            if (dictionaryColumns[column]) {
+                dictionaries[column] = new ColumnDictionary(maxDictionarySize);
+            }
+        }
+
+        writer.write(MAGIC);
+        writer.write('\n');
+        line.setLength(0);
+        line.append('H');
+        for (String column : columns) {
+            line.append(',');
+            appendField(line, column);
+        }
+        writer.append(line).append('\n');
+    }
+
+    public void writeRow(String[] values) throws IOException {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException("열 수가 맞지 않습니다: " + values.length + " != " + columnCount);
+        }
+        line.setLength(0);
+        line.append('R');
+        for (int column = 0; column < columnCount; column++) {
+            line.append(',');
+            String value = values[column];
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            ColumnDictionary dictionary = dictionaries[column];
+            // 코드("@" + 1~3자)보다 짧은 값은 사전에 넣을 이득이 없다
+            Integer code = dictionary != null && value.length() > 2 ? dictionary.codeFor(value, column) : null;
+            if (code != null) {
+                appendField(line, "@" + Integer.toString(code, 36));
+            } else {
+                appendField(line, value.charAt(0) == '@' ? "@" + value : value);
+            }
+        }
+        writer.append(line).append('\n');
+        rows++;
+        for (ColumnDictionary dictionary : dictionaries) {
+            if (dictionary != null) {
+                dictionary.afterRow(rows);
+            }
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * RFC 4180 규칙으로 필드를 덧붙인다. 쉼표, 따옴표, 줄바꿈이 있을 때만 따옴표로 감싼다.
+     */
+    public static void appendField(StringBuilder target, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            target.append(value);
+            return;
+        }
+        target.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                target.append('"');
+            }
+            target.append(c);
+        }
+        target.append('"');
+    }
+
+    private class ColumnDictionary {
+        private final int maxSize;
+        private Map<String, Integer> codes = new HashMap<>();
+        private int nextCode;
+
+        private ColumnDictionary(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        // 사전에 있으면 코드, 새 값이면 정의 레코드를 먼저 쓰고 코드, 사전을 쓰지 않으면 null
+        private Integer codeFor(String value, int column) throws IOException {
+            if (codes == null) {
+                return null;
+            }
+            Integer code = codes.get(value);
+            if (code != null || codes.size() >= maxSize) {
+                return code;
+            }
+            code = nextCode++;
+            codes.put(value, code);
+            StringBuilder definition = new StringBuilder(value.length() + 16);
+            definition.append("D,").append(column).append(',').append(Integer.toString(code, 36)).append(',');
+            appendField(definition, value);
+            writer.append(definition).append('\n');
+            return code;
+        }
+
+        private void afterRow(long rows) {
+            if (codes != null && rows == SAMPLE_ROWS && codes.size() > SAMPLE_ROWS / 2) {
+                // 대부분 고유한 값이면 사전이 파일만 키우므로 이후로는 그대로 쓴다
+                codes = null;
+            }
+        }
+    }
+}
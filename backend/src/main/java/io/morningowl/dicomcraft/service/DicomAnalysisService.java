@@ -7,9 +7,11 @@ import io.morningowl.dicomcraft.dto.DicomTag;
 import lombok.extern.slf4j.Slf4j;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Fragments;
 import org.dcm4che3.data.Sequence;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputHandler;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.util.TagUtils;
 import org.springframework.stereotype.Service;
@@ -17,43 +19,27 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 public class DicomAnalysisService {
 
     public DicomAnalysisResponse analyzeDicomFile(MultipartFile file) {
+        return analyzeDicomFile(file, false);
+    }
+
+    /**
+     * slim이면 태그마다 id, vr, value만 채운다. 이름과 VR 설명은 /api/dicom/dictionary로 클라이언트가 직접 붙인다.
+     */
+    public DicomAnalysisResponse analyzeDicomFile(MultipartFile file, boolean slim) {
         try {
             byte[] fileBytes = file.getBytes();
-            
-            // DICOM 파일 파싱
-            try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(fileBytes))) {
-                Attributes attributes = dis.readDataset();
-                
-                // 태그 정보 추출
-                List<DicomTag> tags = extractDicomTags(attributes);
-                
-                // 픽셀 데이터 추출
-                DicomPixelData pixelData = extractPixelData(attributes);
-                
-                return DicomAnalysisResponse.builder()
-                        .fileName(file.getOriginalFilename())
-                        .tags(tags)
-                        .pixelData(pixelData)
-                        .analysisStatus("SUCCESS")
-                        .build();
-                        
-            } catch (Exception e) {
-                log.error("DICOM 파일 분석 중 오류 발생: {}", e.getMessage(), e);
-                return DicomAnalysisResponse.builder()
-                        .fileName(file.getOriginalFilename())
-                        .analysisStatus("ERROR")
-                        .errorMessage("DICOM 파일 분석 실패: " + e.getMessage())
-                        .build();
-            }
+            return analyzeDicomStream(file.getOriginalFilename(), new ByteArrayInputStream(fileBytes), DicomProgressListener.NONE, slim);
             
         } catch (IOException e) {
             log.error("파일 읽기 중 오류 발생: {}", e.getMessage(), e);
@@ -64,36 +50,97 @@ public class DicomAnalysisService {
                     .build();
         }
     }
+
+    /**
+     * 스트림을 분석하면서 읽은 바이트 수와 처리한 태그 수를 progressListener로 알린다.
+     */
+    public DicomAnalysisResponse analyzeDicomStream(String fileName, InputStream inputStream, DicomProgressListener progressListener) {
+        return analyzeDicomStream(fileName, inputStream, progressListener, false);
+    }
+
+    public DicomAnalysisResponse analyzeDicomStream(String fileName, InputStream inputStream, DicomProgressListener progressListener,
+                                                    boolean slim) {
+        // DICOM 파일 파싱
+        try (DicomInputStream dis = new DicomInputStream(new ProgressInputStream(inputStream, progressListener))) {
+            Attributes attributes = dis.readDataset();
+            
+            // 태그 정보 추출
+            List<DicomTag> tags = extractDicomTags(attributes, slim, progressListener);
+            
+            // 픽셀 데이터 추출
+            DicomPixelData pixelData = extractPixelData(attributes);
+            
+            return DicomAnalysisResponse.builder()
+                    .fileName(fileName)
+                    .tags(tags)
+                    .pixelData(pixelData)
+                    .analysisStatus("SUCCESS")
+                    .build();
+                    
+        } catch (Exception e) {
+            log.error("DICOM 파일 분석 중 오류 발생: {}", e.getMessage(), e);
+            return DicomAnalysisResponse.builder()
+                    .fileName(fileName)
+                    .analysisStatus("ERROR")
+                    .errorMessage("DICOM 파일 분석 실패: " + e.getMessage())
+                    .build();
+        }
+    }
     
-    private List<DicomTag> extractDicomTags(Attributes attributes) {
+    /**
+     * 최상위 태그를 파싱되는 즉시 tagConsumer로 넘긴다. 넘긴 태그는 데이터셋에서 제거하므로
+     * 파일 크기와 관계없이 메모리 사용량이 일정하다. 픽셀 데이터는 값을 읽지 않고 크기 정보만 전달한다.
+     */
+    public void streamDicomTags(InputStream inputStream, Consumer<DicomTag> tagConsumer) throws IOException {
+        streamDicomTags(inputStream, false, tagConsumer);
+    }
+
+    public void streamDicomTags(InputStream inputStream, boolean slim, Consumer<DicomTag> tagConsumer) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(inputStream)) {
+            dis.setIncludeBulkData(DicomInputStream.IncludeBulkData.NO);
+            dis.setDicomInputHandler(new TopLevelTagHandler(tagConsumer, slim));
+            dis.readDataset();
+        }
+    }
+
+    /**
+     * 픽셀 데이터 직전까지 헤더만 읽는다. 벌크 데이터는 값을 읽지 않고 건너뛴다.
+     */
+    public Attributes readHeader(InputStream inputStream) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(inputStream)) {
+            dis.setIncludeBulkData(DicomInputStream.IncludeBulkData.NO);
+            return dis.readDatasetUntilPixelData();
+        }
+    }
+
+    /**
+     * 표 형태로 내보낼 태그 값. analyze 응답과 같은 규칙을 따르되 문자열 다중 값은 '\'로 이어 붙인다.
+     */
+    public String formatTagValue(Attributes attributes, int tag) {
+        if (!attributes.contains(tag)) {
+            return null;
+        }
+        VR vr = attributes.getVR(tag);
+        if (vr.isStringType()) {
+            String[] values = attributes.getStrings(tag);
+            return values != null ? String.join("\\", values) : null;
+        }
+        Object value = getTagValue(attributes, tag, vr);
+        return value != null ? value.toString() : null;
+    }
+
+    private List<DicomTag> extractDicomTags(Attributes attributes, boolean slim) {
+        return extractDicomTags(attributes, slim, DicomProgressListener.NONE);
+    }
+
+    private List<DicomTag> extractDicomTags(Attributes attributes, boolean slim, DicomProgressListener progressListener) {
         List<DicomTag> tags = new ArrayList<>();
         
         // 모든 태그를 순회하면서 정보 추출
         for (int tag : attributes.tags()) {
             try {
-                VR vr = attributes.getVR(tag);
-                Object value = getTagValue(attributes, tag, vr);
-                String tagName = getTagName(attributes, tag);
-                String vrDescription = getVrDescription(vr); // 클라이언트 구현 후 삭제예정
-                
-                DicomTag.DicomTagBuilder builder = DicomTag.builder()
-                        .id(String.format("(%04X,%04X)", (tag >>> 16) & 0xFFFF, tag & 0xFFFF))
-                        .name(tagName)
-                        .vr(vr.toString())
-                        .vrDescription(vrDescription)
-                        .value(value);
-                
-                // Sequence 태그인 경우 하위 아이템들 처리
-                if (vr == VR.SQ) {
-                    List<DicomSequenceItem> sequenceItems = extractSequenceItems(attributes, tag);
-                    if (sequenceItems != null && !sequenceItems.isEmpty()) {
-                        builder.children(sequenceItems);
-                    }
-                }
-
-                DicomTag dicomTag = builder.build();
-
-                tags.add(dicomTag);
+                tags.add(toDicomTag(attributes, tag, slim));
+                progressListener.onTagsProcessed(tags.size());
 
             } catch (Exception e) {
                 log.warn("태그 {} 처리 중 오류: {}", String.format("(%04X,%04X)", (tag >>> 16) & 0xFFFF, tag & 0xFFFF), e.getMessage());
@@ -103,7 +150,33 @@ public class DicomAnalysisService {
         return tags;
     }
     
-    private List<DicomSequenceItem> extractSequenceItems(Attributes attributes, int tag) {
+    private DicomTag toDicomTag(Attributes attributes, int tag, boolean slim) {
+        VR vr = attributes.getVR(tag);
+        Object value = getTagValue(attributes, tag, vr);
+
+        DicomTag.DicomTagBuilder builder = DicomTag.builder()
+                .id(String.format("(%04X,%04X)", (tag >>> 16) & 0xFFFF, tag & 0xFFFF))
+                .vr(vr.toString())
+                .value(value);
+        if (slim) {
+            builder.children(null);
+        } else {
+            builder.name(getTagName(attributes, tag))
+                    .vrDescription(getVrDescription(vr)); // 클라이언트 구현 후 삭제예정
+        }
+
+        // Sequence 태그인 경우 하위 아이템들 처리
+        if (vr == VR.SQ) {
+            List<DicomSequenceItem> sequenceItems = extractSequenceItems(attributes, tag, slim);
+            if (sequenceItems != null && !sequenceItems.isEmpty()) {
+                builder.children(sequenceItems);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private List<DicomSequenceItem> extractSequenceItems(Attributes attributes, int tag, boolean slim) {
         try {
             Sequence sequence = attributes.getSequence(tag);
             if (sequence == null || sequence.isEmpty()) {
@@ -114,7 +187,7 @@ public class DicomAnalysisService {
             
             for (int i = 0; i < sequence.size(); i++) {
                 Attributes itemAttributes = sequence.get(i);
-                List<DicomTag> itemTags = extractDicomTags(itemAttributes); // 재귀 호출
+                List<DicomTag> itemTags = extractDicomTags(itemAttributes, slim); // 재귀 호출
 
                 DicomSequenceItem item = DicomSequenceItem.builder()
                         .itemNumber(i + 1)
@@ -236,7 +309,7 @@ public class DicomAnalysisService {
         }
     }
     
-    private String getVrDescription(VR vr) {
+    static String getVrDescription(VR vr) {
         switch (vr) {
             case AE: return "Application Entity - 애플리케이션 엔티티 이름 (최대 16자)";
             case AS: return "Age String - 나이 문자열 (형식: nnnD, nnnW, nnnM, nnnY)";
@@ -314,4 +387,80 @@ public class DicomAnalysisService {
                     .build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 최상위(level 0) 요소를 읽을 때마다 DicomTag로 변환해 내보내는 입력 핸들러.
+     * 문자셋과 Private Creator 요소만 남겨 이후 태그의 문자열 디코딩과 이름 조회에 사용한다.
+     */
+    private class TopLevelTagHandler implements DicomInputHandler {
+
+        private final Consumer<DicomTag> tagConsumer;
+        private final boolean slim;
+
+        private TopLevelTagHandler(Consumer<DicomTag> tagConsumer, boolean slim) {
+            this.tagConsumer = tagConsumer;
+            this.slim = slim;
+        }
+
+        @Override
+        public void readValue(DicomInputStream dis, Attributes attrs) throws IOException {
+            // 값을 읽는 동안 시퀀스 아이템이 tag()를 덮어쓰므로 미리 보관
+            int tag = dis.tag();
+            VR vr = dis.vr();
+            int length = dis.length();
+            dis.readValue(dis, attrs);
+
+            if (dis.level() > 0 || TagUtils.groupNumber(tag) == 0x0002) {
+                return;
+            }
+
+            DicomTag dicomTag = null;
+            try {
+                if (attrs.contains(tag)) {
+                    dicomTag = toDicomTag(attrs, tag, slim);
+                } else {
+                    // 벌크 데이터(픽셀 데이터 등)는 건너뛰었으므로 크기 정보만 전달
+                    dicomTag = DicomTag.builder()
+                            .id(String.format("(%04X,%04X)", (tag >>> 16) & 0xFFFF, tag & 0xFFFF))
+                            .name(slim ? null : getTagName(attrs, tag))
+                            .vr(vr.toString())
+                            .vrDescription(slim ? null : getVrDescription(vr))
+                            .value(length == -1
+                                    ? "Encapsulated data (not loaded)"
+                                    : "Binary data (" + (length & 0xFFFFFFFFL) + " bytes)")
+                            .children(slim ? null : new ArrayList<>())
+                            .build();
+                }
+            } catch (RuntimeException e) {
+                log.warn("태그 {} 처리 중 오류: {}", String.format("(%04X,%04X)", (tag >>> 16) & 0xFFFF, tag & 0xFFFF), e.getMessage());
+            }
+            if (dicomTag != null) {
+                tagConsumer.accept(dicomTag);
+            }
+
+            if (tag != Tag.SpecificCharacterSet && !TagUtils.isPrivateCreator(tag)) {
+                attrs.remove(tag);
+            }
+        }
+
+        @Override
+        public void readValue(DicomInputStream dis, Sequence seq) throws IOException {
+            dis.readValue(dis, seq);
+        }
+
+        @Override
+        public void readValue(DicomInputStream dis, Fragments frags) throws IOException {
+            dis.readValue(dis, frags);
+        }
+
+        @Override
+        public void startDataset(DicomInputStream dis) throws IOException {
+            dis.startDataset(dis);
+        }
+
+        @Override
+        public void endDataset(DicomInputStream dis) throws IOException {
+            dis.endDataset(dis);
+        }
+    }
+}
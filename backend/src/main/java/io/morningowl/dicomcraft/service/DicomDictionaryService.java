@@ -0,0 +1,139 @@
+package io.morningowl.dicomcraft.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.dto.DicomDictionary;
+import io.morningowl.dicomcraft.dto.DicomDictionaryEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+
+/**
+ * 표준 태그 사전, VR 설명, Private Creator별 Private 태그 사전. slim 분석 응답의 태그 ID에 클라이언트가 이름을 붙일 때 쓴다.
+ * 내용은 배포된 dcm4che 버전으로 정해지므로 시작할 때 한 번 만들고, 내용 해시를 버전으로 써서 변경 없이 캐시할 수 있게 한다.
+ */
+@Slf4j
+@Service
+public class DicomDictionaryService {
+
+    private final DicomDictionary dictionary;
+
+    public DicomDictionaryService() {
+        Map<String, Map<String, DicomDictionaryEntry>> privateTags = privateTags();
+        DicomDictionary built = DicomDictionary.builder()
+                .tags(standardTags())
+                .vrs(vrDescriptions())
+                .privateCreators(new ArrayList<>(privateTags.keySet()))
+                .privateTags(privateTags)
+                .build();
+        built.setVersion(hash(built));
+        this.dictionary = built;
+        log.info("DICOM 사전 준비 완료: 버전 {}, 태그 {}개, Private Creator {}개, Private 태그 {}개",
+                built.getVersion(), built.getTags().size(), built.getPrivateCreators().size(),
+                privateTags.values().stream().mapToInt(Map::size).sum());
+    }
+
+    public DicomDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public String getVersion() {
+        return dictionary.getVersion();
+    }
+
+    // Tag 클래스의 상수 중 이름이 사전 키워드와 같은 것만 (마스크 등 보조 상수 제외)
+    private static Map<String, DicomDictionaryEntry> standardTags() {
+        Map<String, DicomDictionaryEntry> tags = new TreeMap<>();
+        for (Field field : Tag.class.getFields()) {
+            if (field.getType() != int.class || !Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            int tag;
+            try {
+                tag = field.getInt(null);
+            } catch (IllegalAccessException e) {
+                continue;
+            }
+            String keyword = ElementDictionary.keywordOf(tag, null);
+            if (!field.getName().equals(keyword)) {
+                continue;
+            }
+            tags.put(String.format("(%04X,%04X)", (tag >>> 16) & 0xFFFF, tag & 0xFFFF), DicomDictionaryEntry.builder()
+                    .keyword(keyword)
+                    .vr(ElementDictionary.vrOf(tag, null).toString())
+                    .build());
+        }
+        return tags;
+    }
+
+    private static Map<String, String> vrDescriptions() {
+        Map<String, String> vrs = new LinkedHashMap<>();
+        for (VR vr : VR.values()) {
+            vrs.put(vr.toString(), DicomAnalysisService.getVrDescription(vr));
+        }
+        return vrs;
+    }
+
+    // dcm4che는 Private 사전(dcm4che-dict-priv)을 ServiceLoader로 찾으므로 같은 방법으로 등록된 사전을 모은다.
+    // Private 태그의 요소 번호 상위 바이트는 파일마다 예약된 블록에 따라 달라지므로 "(0019,xx0A)" 형식으로 둔다
+    private static Map<String, Map<String, DicomDictionaryEntry>> privateTags() {
+        Map<String, Map<String, DicomDictionaryEntry>> creators = new TreeMap<>();
+        try {
+            for (ElementDictionary privateDictionary : ServiceLoader.load(ElementDictionary.class)) {
+                String creator = privateDictionary.getPrivateCreator();
+                if (creator == null || privateDictionary.getTagClass() == null) {
+                    continue;
+                }
+                Map<String, DicomDictionaryEntry> tags = creators.computeIfAbsent(creator, key -> new TreeMap<>());
+                for (Field field : privateDictionary.getTagClass().getFields()) {
+                    if (field.getType() != int.class || !Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    int tag;
+                    try {
+                        tag = field.getInt(null);
+                    } catch (IllegalAccessException e) {
+                        continue;
+                    }
+                    String keyword = privateDictionary.keywordOf(tag);
+                    if (keyword == null || keyword.isEmpty()) {
+                        continue;
+                    }
+                    tags.put(String.format("(%04X,xx%02X)", (tag >>> 16) & 0xFFFF, tag & 0xFF), DicomDictionaryEntry.builder()
+                            .keyword(keyword)
+                            .vr(privateDictionary.vrOf(tag).toString())
+                            .build());
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("Private 사전 로드 실패: {}", e.getMessage());
+        }
+        return creators;
+    }
+
+    private static String hash(DicomDictionary dictionary) {
+        try {
+            byte[] json = new ObjectMapper().writeValueAsBytes(dictionary);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, 8));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DICOM 사전 버전 계산 실패: " + e.getMessage(), e);
+        }
+    }
+}
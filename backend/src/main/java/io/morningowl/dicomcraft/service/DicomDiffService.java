@@ -0,0 +1,438 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomDiffEntry;
+import io.morningowl.dicomcraft.dto.DicomDiffResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 두 DICOM 데이터셋의 구조적 차이를 계산한다.
+ * 벌크 데이터는 메모리에 올리지 않고 파일 위치 정보만 읽은 뒤 필요할 때 스트리밍으로 해시한다.
+ * 시퀀스와 벌크 값은 하위 트리 해시가 같으면 내부를 비교하지 않고 건너뛴다.
+ * 해시는 정규화된 값으로 계산하므로 전송 구문의 엔디언이나 문자열 패딩만 다른 값은 같은 값으로 본다.
+ */
+@Slf4j
+@Service
+public class DicomDiffService {
+
+    private static final int MAX_DISPLAY_LENGTH = 256;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final int maxDifferences;
+
+    public DicomDiffService(@Value("${dicomcraft.diff.max-differences:10000}") int maxDifferences) {
+        this.maxDifferences = maxDifferences;
+    }
+
+    public DicomDiffResponse diffUploads(MultipartFile original, MultipartFile modified) {
+        Path originalFile = null;
+        Path modifiedFile = null;
+        try {
+            originalFile = Files.createTempFile("dicom-diff-", ".dcm");
+            modifiedFile = Files.createTempFile("dicom-diff-", ".dcm");
+            original.transferTo(originalFile);
+            modified.transferTo(modifiedFile);
+            return diff(originalFile, original.getOriginalFilename(), modifiedFile, modified.getOriginalFilename());
+        } catch (IOException e) {
+            log.error("비교 파일 저장 중 오류 발생: {}", e.getMessage(), e);
+            return DicomDiffResponse.builder()
+                    .originalFileName(original.getOriginalFilename())
+                    .modifiedFileName(modified.getOriginalFilename())
+                    .diffStatus("ERROR")
+                    .errorMessage("파일 읽기 실패: " + e.getMessage())
+                    .build();
+        } finally {
+            deleteQuietly(originalFile);
+            deleteQuietly(modifiedFile);
+        }
+    }
+
+    public DicomDiffResponse diff(Path originalFile, String originalName, Path modifiedFile, String modifiedName) {
+        long startTime = System.currentTimeMillis();
+        try (ParsedFile original = ParsedFile.open(originalFile);
+             ParsedFile modified = ParsedFile.open(modifiedFile)) {
+
+            DiffContext context = new DiffContext(original, modified);
+            context.diffDatasets(original.dataset, modified.dataset, "");
+
+            return DicomDiffResponse.builder()
+                    .originalFileName(originalName)
+                    .modifiedFileName(modifiedName)
+                    .originalTransferSyntax(original.transferSyntax)
+                    .modifiedTransferSyntax(modified.transferSyntax)
+                    .identical(context.differences.isEmpty())
+                    .differences(context.differences)
+                    .truncated(context.truncated)
+                    .comparedElements(context.comparedElements)
+                    .skippedByHash(context.skippedByHash)
+                    .hashedBytes(original.hashedBytes + modified.hashedBytes)
+                    .tookMillis(System.currentTimeMillis() - startTime)
+                    .diffStatus("SUCCESS")
+                    .build();
+
+        } catch (Exception e) {
+            log.error("DICOM 비교 중 오류 발생: {}", e.getMessage(), e);
+            return DicomDiffResponse.builder()
+                    .originalFileName(originalName)
+                    .modifiedFileName(modifiedName)
+                    .diffStatus("ERROR")
+                    .errorMessage("DICOM 비교 실패: " + e.getMessage())
+                    .build();
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", path);
+        }
+    }
+
+    private class DiffContext {
+        private final ParsedFile original;
+        private final ParsedFile modified;
+        private final List<DicomDiffEntry> differences = new ArrayList<>();
+        private boolean truncated;
+        private long comparedElements;
+        private long skippedByHash;
+
+        private DiffContext(ParsedFile original, ParsedFile modified) {
+            this.original = original;
+            this.modified = modified;
+        }
+
+        private void diffDatasets(Attributes a, Attributes b, String prefix) throws IOException {
+            // 태그를 부호 없는 순서로 정렬해 병합 (그룹 8000 이상도 올바르게 정렬)
+            long[] tagsA = sortedTags(a);
+            long[] tagsB = sortedTags(b);
+            int i = 0;
+            int j = 0;
+            while ((i < tagsA.length || j < tagsB.length) && !truncated) {
+                long tagA = i < tagsA.length ? tagsA[i] : Long.MAX_VALUE;
+                long tagB = j < tagsB.length ? tagsB[j] : Long.MAX_VALUE;
+                if (tagA < tagB) {
+                    add(prefix, a, (int) tagA, "REMOVED", original.describe(a, (int) tagA), null);
+                    i++;
+                } else if (tagA > tagB) {
+                    add(prefix, b, (int) tagB, "ADDED", null, modified.describe(b, (int) tagB));
+                    j++;
+                } else {
+                    compareElement(a, b, (int) tagA, prefix);
+                    i++;
+                    j++;
+                }
+            }
+        }
+
+        private void compareElement(Attributes a, Attributes b, int tag, String prefix) throws IOException {
+            comparedElements++;
+            VR vrA = a.getVR(tag);
+            VR vrB = b.getVR(tag);
+            Object valueA = a.getValue(tag);
+            Object valueB = b.getValue(tag);
+
+            if (vrA != vrB) {
+                add(prefix, a, tag, "CHANGED", original.describe(a, tag), modified.describe(b, tag));
+                return;
+            }
+            // 길이가 다른 벌크 값은 해시하지 않고 바로 변경으로 판단
+            long lengthA = bulkLength(valueA);
+            long lengthB = bulkLength(valueB);
+            if (lengthA >= 0 && lengthB >= 0 && lengthA != lengthB) {
+                add(prefix, a, tag, "CHANGED", original.describe(a, tag), modified.describe(b, tag));
+                return;
+            }
+
+            boolean subtree = valueA instanceof Sequence || valueA instanceof BulkData || valueA instanceof Fragments;
+            if (Arrays.equals(original.elementHash(a, tag), modified.elementHash(b, tag))) {
+                if (subtree) {
+                    skippedByHash++;
+                }
+                return;
+            }
+
+            if (valueA instanceof Sequence seqA && valueB instanceof Sequence seqB) {
+                String path = prefix + tagId(tag);
+                int common = Math.min(seqA.size(), seqB.size());
+                for (int item = 0; item < common && !truncated; item++) {
+                    Attributes itemA = seqA.get(item);
+                    Attributes itemB = seqB.get(item);
+                    if (Arrays.equals(original.datasetHash(itemA), modified.datasetHash(itemB))) {
+                        skippedByHash++;
+                    } else {
+                        diffDatasets(itemA, itemB, path + "[" + (item + 1) + "].");
+                    }
+                }
+                for (int item = common; item < seqA.size(); item++) {
+                    addItem(path + "[" + (item + 1) + "]", a, tag, "REMOVED");
+                }
+                for (int item = common; item < seqB.size(); item++) {
+                    addItem(path + "[" + (item + 1) + "]", b, tag, "ADDED");
+                }
+                return;
+            }
+
+            add(prefix, a, tag, "CHANGED", original.describe(a, tag), modified.describe(b, tag));
+        }
+
+        private void add(String prefix, Attributes attributes, int tag, String changeType,
+                         String originalValue, String modifiedValue) {
+            if (differences.size() >= maxDifferences) {
+                truncated = true;
+                return;
+            }
+            differences.add(DicomDiffEntry.builder()
+                    .path(prefix + tagId(tag))
+                    .name(ElementDictionary.keywordOf(tag, attributes.getPrivateCreator(tag)))
+                    .vr(attributes.getVR(tag).toString())
+                    .changeType(changeType)
+                    .originalValue(originalValue)
+                    .modifiedValue(modifiedValue)
+                    .build());
+        }
+
+        private void addItem(String path, Attributes attributes, int tag, String changeType) {
+            if (differences.size() >= maxDifferences) {
+                truncated = true;
+                return;
+            }
+            differences.add(DicomDiffEntry.builder()
+                    .path(path)
+                    .name(ElementDictionary.keywordOf(tag, attributes.getPrivateCreator(tag)))
+                    .vr("SQ")
+                    .changeType(changeType)
+                    .originalValue("REMOVED".equals(changeType) ? "Sequence item" : null)
+                    .modifiedValue("ADDED".equals(changeType) ? "Sequence item" : null)
+                    .build());
+        }
+    }
+
+    /**
+     * 벌크 데이터를 파일 위치 정보로만 읽어 둔 데이터셋과, 요소/하위 트리 해시 캐시.
+     */
+    private static class ParsedFile implements AutoCloseable {
+        private final FileChannel channel;
+        private final Attributes dataset;
+        private final String transferSyntax;
+        private final Map<Attributes, Map<Integer, byte[]>> elementHashes = new IdentityHashMap<>();
+        private final Map<Attributes, byte[]> datasetHashes = new IdentityHashMap<>();
+        // 벌크 해시가 필요할 때만 만드는 힙 버퍼 (요청마다 다이렉트 메모리를 잡지 않음)
+        private ByteBuffer buffer;
+        private long hashedBytes;
+
+        private ParsedFile(FileChannel channel, Attributes dataset, String transferSyntax) {
+            this.channel = channel;
+            this.dataset = dataset;
+            this.transferSyntax = transferSyntax;
+        }
+
+        static ParsedFile open(Path path) throws IOException {
+            try (DicomInputStream dis = new DicomInputStream(path.toFile())) {
+                dis.setIncludeBulkData(IncludeBulkData.URI);
+                Attributes dataset = dis.readDataset();
+                return new ParsedFile(FileChannel.open(path, StandardOpenOption.READ), dataset, dis.getTransferSyntax());
+            }
+        }
+
+        byte[] datasetHash(Attributes attributes) throws IOException {
+            byte[] cached = datasetHashes.get(attributes);
+            if (cached != null) {
+                return cached;
+            }
+            MessageDigest digest = newDigest();
+            for (int tag : attributes.tags()) {
+                updateInt(digest, tag);
+                digest.update(elementHash(attributes, tag));
+            }
+            byte[] hash = digest.digest();
+            datasetHashes.put(attributes, hash);
+            return hash;
+        }
+
+        byte[] elementHash(Attributes attributes, int tag) throws IOException {
+            Map<Integer, byte[]> cache = elementHashes.computeIfAbsent(attributes, key -> new HashMap<>());
+            byte[] cached = cache.get(tag);
+            if (cached != null) {
+                return cached;
+            }
+
+            MessageDigest digest = newDigest();
+            digest.update(attributes.getVR(tag).name().getBytes(StandardCharsets.US_ASCII));
+            Object value = attributes.getValue(tag);
+            if (value instanceof Sequence sequence) {
+                updateInt(digest, sequence.size());
+                for (Attributes item : sequence) {
+                    digest.update(datasetHash(item));
+                }
+            } else if (value instanceof BulkData bulkData) {
+                updateBulk(digest, bulkData, attributes.getVR(tag));
+            } else if (value instanceof Fragments fragments) {
+                updateInt(digest, fragments.size());
+                for (Object fragment : fragments) {
+                    if (fragment instanceof BulkData bulkData) {
+                        // 캡슐화된 조각은 항상 리틀 엔디언 바이트 스트림
+                        updateBulk(digest, bulkData, VR.OB);
+                    } else if (fragment instanceof byte[] bytes) {
+                        updateInt(digest, bytes.length);
+                        digest.update(bytes);
+                    }
+                }
+            } else if (value != null && value != org.dcm4che3.data.Value.NULL) {
+                VR vr = attributes.getVR(tag);
+                if (vr.isStringType()) {
+                    // 문자열은 디코딩한 값으로 해시 (후행 공백/NUL 패딩 차이는 무시)
+                    String[] strings = attributes.getStrings(tag);
+                    updateInt(digest, strings.length);
+                    for (String string : strings) {
+                        byte[] bytes = string != null ? string.getBytes(StandardCharsets.UTF_8) : new byte[0];
+                        updateInt(digest, bytes.length);
+                        digest.update(bytes);
+                    }
+                } else {
+                    // 이진 값은 리틀 엔디언으로 맞춰서 해시
+                    byte[] bytes = attributes.getBytes(tag);
+                    if (bytes != null) {
+                        if (attributes.bigEndian()) {
+                            bytes = (byte[]) vr.toggleEndian(bytes, true);
+                        }
+                        digest.update(bytes);
+                    }
+                }
+            }
+
+            byte[] hash = digest.digest();
+            cache.put(tag, hash);
+            return hash;
+        }
+
+        // 파일의 해당 구간을 직접 읽어 해시 (메모리에 값 전체를 올리지 않음)
+        private void updateBulk(MessageDigest digest, BulkData bulkData, VR vr) throws IOException {
+            if (buffer == null) {
+                buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+            }
+            int swapWidth = bulkData.bigEndian() ? vr.numEndianBytes() : 1;
+            long position = bulkData.offset();
+            long remaining = bulkData.length() & 0xFFFFFFFFL;
+            updateInt(digest, (int) remaining);
+            while (remaining > 0) {
+                // 바이트 교환 단위가 청크 경계에 걸치지 않도록 버퍼를 가득 채운다
+                buffer.clear();
+                if (remaining < buffer.capacity()) {
+                    buffer.limit((int) remaining);
+                }
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, position + buffer.position());
+                    if (read < 0) {
+                        throw new IOException("벌크 데이터가 파일 끝을 넘어섭니다.");
+                    }
+                }
+                int length = buffer.position();
+                if (swapWidth > 1) {
+                    swapBytes(buffer.array(), length, swapWidth);
+                }
+                digest.update(buffer.array(), 0, length);
+                position += length;
+                remaining -= length;
+                hashedBytes += length;
+            }
+        }
+
+        String describe(Attributes attributes, int tag) {
+            Object value = attributes.getValue(tag);
+            if (value instanceof Sequence sequence) {
+                return "Sequence with " + sequence.size() + " items";
+            }
+            long bulkLength = bulkLength(value);
+            if (bulkLength >= 0) {
+                return "Binary data (" + bulkLength + " bytes)";
+            }
+            if (value instanceof Fragments fragments) {
+                return "Encapsulated data (" + fragments.size() + " fragments)";
+            }
+            VR vr = attributes.getVR(tag);
+            if (vr == VR.OB || vr == VR.OD || vr == VR.OF || vr == VR.OL || vr == VR.OV || vr == VR.OW || vr == VR.UN) {
+                byte[] bytes = attributes.getSafeBytes(tag);
+                return "Binary data (" + (bytes != null ? bytes.length : 0) + " bytes)";
+            }
+            String[] strings = attributes.getStrings(tag);
+            if (strings == null || strings.length == 0) {
+                return "";
+            }
+            String joined = String.join("\\", Arrays.stream(strings).map(s -> s == null ? "" : s).toArray(String[]::new));
+            return joined.length() > MAX_DISPLAY_LENGTH ? joined.substring(0, MAX_DISPLAY_LENGTH) + "..." : joined;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static long[] sortedTags(Attributes attributes) {
+        return Arrays.stream(attributes.tags()).mapToLong(tag -> tag & 0xFFFFFFFFL).sorted().toArray();
+    }
+
+    private static long bulkLength(Object value) {
+        return value instanceof BulkData bulkData ? bulkData.length() & 0xFFFFFFFFL : -1;
+    }
+
+    private static String tagId(int tag) {
+        return String.format("(%04X,%04X)", (tag >>> 16) & 0xFFFF, tag & 0xFFFF);
+    }
+
+    // 빅 엔디언 값을 리틀 엔디언으로 뒤집는다 (남는 꼬리 바이트는 그대로 둔다)
+    private static void swapBytes(byte[] bytes, int length, int width) {
+        for (int offset = 0; offset + width <= length; offset += width) {
+            for (int low = offset, high = offset + width - 1; low < high; low++, high--) {
+                byte swapped = bytes[low];
+                bytes[low] = bytes[high];
+                bytes[high] = swapped;
+            }
+        }
+    }
+
+    private static void updateInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,595 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 멀티프레임 객체를 단일 프레임 인스턴스로 나누거나 단일 프레임 시리즈를 하나의 멀티프레임 객체로 합친다.
+ * 픽셀은 디코딩하지 않고 파일 내 오프셋 기준으로 채널 간에 바로 복사하며, 프레임 단위로 병렬 처리한다.
+ * 메모리에는 헤더만 올라가므로 프레임 수나 크기와 관계없이 사용량이 일정하다.
+ * <p>
+ * 나눌 때는 공유/프레임별 기능 그룹(Functional Group)을 최상위 속성으로 펼치고,
+ * 합칠 때는 프레임마다 다른 속성만 Per-frame 그룹에, 같은 속성은 Shared 그룹에 넣어 Legacy Converted Enhanced 객체를 만든다.
+ */
+@Slf4j
+@Service
+public class DicomFrameService {
+
+    private static final Map<String, String> SINGLE_FRAME_CLASSES = Map.of(
+            UID.EnhancedCTImageStorage, UID.CTImageStorage,
+            UID.LegacyConvertedEnhancedCTImageStorage, UID.CTImageStorage,
+            UID.EnhancedMRImageStorage, UID.MRImageStorage,
+            UID.LegacyConvertedEnhancedMRImageStorage, UID.MRImageStorage,
+            UID.EnhancedPETImageStorage, UID.PositronEmissionTomographyImageStorage,
+            UID.LegacyConvertedEnhancedPETImageStorage, UID.PositronEmissionTomographyImageStorage,
+            UID.UltrasoundMultiFrameImageStorage, UID.UltrasoundImageStorage,
+            UID.MultiFrameGrayscaleByteSecondaryCaptureImageStorage, UID.SecondaryCaptureImageStorage,
+            UID.MultiFrameGrayscaleWordSecondaryCaptureImageStorage, UID.SecondaryCaptureImageStorage,
+            UID.MultiFrameTrueColorSecondaryCaptureImageStorage, UID.SecondaryCaptureImageStorage);
+
+    private static final Map<String, String> MULTI_FRAME_CLASSES = Map.of(
+            UID.CTImageStorage, UID.LegacyConvertedEnhancedCTImageStorage,
+            UID.MRImageStorage, UID.LegacyConvertedEnhancedMRImageStorage,
+            UID.PositronEmissionTomographyImageStorage, UID.LegacyConvertedEnhancedPETImageStorage);
+
+    // 합칠 때 기능 그룹으로 옮기는 속성: {매크로 시퀀스, 속성...}
+    private static final int[][] FUNCTIONAL_GROUPS = {
+            {Tag.PixelMeasuresSequence, Tag.PixelSpacing, Tag.SliceThickness},
+            {Tag.PlanePositionSequence, Tag.ImagePositionPatient},
+            {Tag.PlaneOrientationSequence, Tag.ImageOrientationPatient},
+            {Tag.PixelValueTransformationSequence, Tag.RescaleIntercept, Tag.RescaleSlope, Tag.RescaleType},
+            {Tag.FrameVOILUTSequence, Tag.WindowCenter, Tag.WindowWidth, Tag.WindowCenterWidthExplanation},
+    };
+
+    // 나눌 때 최상위로 펼치지 않는 매크로 (프레임 자체나 변환 원본을 설명하는 값)
+    private static final Set<Integer> NOT_FLATTENED = Set.of(
+            Tag.FrameContentSequence, Tag.ConversionSourceAttributesSequence, Tag.DerivationImageSequence);
+
+    // Enhanced General Equipment 모듈의 Type 1 속성
+    private static final int[] REQUIRED_EQUIPMENT = {
+            Tag.Manufacturer, Tag.ManufacturerModelName, Tag.DeviceSerialNumber, Tag.SoftwareVersions};
+
+    private final DicomHeaderReader headerReader;
+    private final DicomGenerationService dicomGenerationService;
+    private final DicomStoreService dicomStoreService;
+    private final Path workDirectory;
+    private final ForkJoinPool framePool;
+
+    public DicomFrameService(DicomHeaderReader headerReader,
+                             DicomGenerationService dicomGenerationService,
+                             DicomStoreService dicomStoreService,
+                             @Value("${dicomcraft.frames.work-dir:${java.io.tmpdir}/dicomcraft/frames}") String workDirectory,
+                             @Value("${dicomcraft.frames.threads:0}") int threads) throws IOException {
+        this.headerReader = headerReader;
+        this.dicomGenerationService = dicomGenerationService;
+        this.dicomStoreService = dicomStoreService;
+        this.workDirectory = Files.createDirectories(Paths.get(workDirectory));
+        this.framePool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        framePool.shutdownNow();
+    }
+
+    /**
+     * 업로드한 멀티프레임 파일을 요청 작업 디렉토리에 받아 나눌 수 있는지 확인한다.
+     * 프레임은 writeSplitZip에서 만들면서 바로 내려보내고, 다 쓴 뒤 deleteSplit으로 작업 디렉토리째 지운다.
+     */
+    public DicomHeader prepareSplit(MultipartFile file) throws IOException {
+        Path directory = Files.createDirectories(workDirectory.resolve(UUID.randomUUID().toString()));
+        try {
+            Path inputFile = directory.resolve("source.dcm");
+            file.transferTo(inputFile);
+            return readSplitSource(inputFile);
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(directory);
+            throw e;
+        }
+    }
+
+    public void deleteSplit(DicomHeader source) {
+        deleteRecursively(source.getPath().getParent());
+    }
+
+    /**
+     * 업로드한 단일 프레임 파일들을 합친 멀티프레임 파일. 다 쓴 뒤 delete로 지운다.
+     */
+    public Path merge(List<MultipartFile> files) throws IOException {
+        Path directory = Files.createDirectories(workDirectory.resolve(UUID.randomUUID().toString()));
+        try {
+            List<Path> inputs = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                Path input = directory.resolve("source-" + i + ".dcm");
+                files.get(i).transferTo(input);
+                inputs.add(input);
+            }
+            return mergeInto(inputs);
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * DICOMweb 저장소의 시리즈를 업로드 없이 합친다.
+     */
+    public Path mergeSeries(String seriesInstanceUID) throws IOException {
+        List<DicomIndexEntry> entries = dicomStoreService.findSeriesInstances(seriesInstanceUID);
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("저장된 시리즈가 없습니다: " + seriesInstanceUID);
+        }
+        return mergeInto(entries.stream().map(entry -> Paths.get(entry.getPath())).toList());
+    }
+
+    private Path mergeInto(List<Path> inputs) throws IOException {
+        Path output = workDirectory.resolve(UUID.randomUUID() + ".dcm");
+        try {
+            merge(inputs, output);
+            return output;
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(output);
+            throw e;
+        }
+    }
+
+    public void delete(Path path) {
+        deleteRecursively(path);
+    }
+
+    private void deleteRecursively(Path path) {
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    log.warn("작업 파일 삭제 실패: {}", p);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("작업 디렉토리 삭제 실패: {}", path);
+        }
+    }
+
+    DicomHeader readSplitSource(Path source) throws IOException {
+        DicomHeader header = headerReader.read(source);
+        PixelLayout layout = requireCopyable(header);
+        if (header.getPixelDataLength() < layout.frameLength() * layout.getNumberOfFrames()) {
+            throw new IllegalArgumentException("픽셀 데이터가 프레임 수보다 짧습니다: " + header.getPixelDataLength() + " bytes");
+        }
+        return header;
+    }
+
+    /**
+     * 프레임마다 단일 프레임 인스턴스를 만들어 압축하지 않은 zip 항목(frame-00001.dcm, ...)으로 바로 쓴다.
+     * 프레임 헤더 인코딩은 앞쪽 몇 프레임만 미리 병렬로 해 두고, 픽셀은 원본 파일에서 zip으로 순서대로 복사한다.
+     * 나눈 프레임을 디스크에 쌓지 않으므로 작업 공간은 원본 하나, 메모리는 미리 만든 헤더 몇 개로 일정하다.
+     */
+    public void writeSplitZip(DicomHeader header, OutputStream out) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Attributes attributes = header.getAttributes();
+        PixelLayout layout = PixelLayout.of(attributes);
+        int frames = layout.getNumberOfFrames();
+        long frameLength = layout.frameLength();
+
+        String sourceClass = attributes.getString(Tag.SOPClassUID);
+        Attributes shared = attributes.getNestedDataset(Tag.SharedFunctionalGroupsSequence);
+        Sequence perFrame = attributes.getSequence(Tag.PerFrameFunctionalGroupsSequence);
+
+        Attributes base = new Attributes(attributes);
+        base.remove(Tag.SharedFunctionalGroupsSequence);
+        base.remove(Tag.PerFrameFunctionalGroupsSequence);
+        base.remove(Tag.FrameIncrementPointer);
+        base.remove(Tag.PixelData);
+        base.setString(Tag.SOPClassUID, VR.UI, SINGLE_FRAME_CLASSES.getOrDefault(sourceClass, sourceClass));
+        base.setInt(Tag.NumberOfFrames, VR.IS, 1);
+        base.setString(Tag.SeriesInstanceUID, VR.UI, dicomGenerationService.generateUID());
+        if (shared != null) {
+            flattenFunctionalGroups(shared, base);
+        }
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        WritableByteChannel target = Channels.newChannel(zip);
+        Deque<Future<byte[]>> encoded = new ArrayDeque<>();
+        int lookahead = framePool.getParallelism() * 2;
+        int submitted = 0;
+        try (FileChannel input = FileChannel.open(header.getPath(), StandardOpenOption.READ)) {
+            for (int frame = 0; frame < frames; frame++) {
+                while (submitted < frames && encoded.size() < lookahead) {
+                    int next = submitted++;
+                    encoded.add(framePool.submit(() -> {
+                        Attributes frameAttributes = new Attributes(base);
+                        if (perFrame != null && next < perFrame.size()) {
+                            flattenFunctionalGroups(perFrame.get(next), frameAttributes);
+                        }
+                        frameAttributes.setString(Tag.SOPInstanceUID, VR.UI, dicomGenerationService.generateUID());
+                        frameAttributes.setInt(Tag.InstanceNumber, VR.IS, next + 1);
+                        Attributes reference = new Attributes(3);
+                        reference.setString(Tag.ReferencedSOPClassUID, VR.UI, sourceClass);
+                        reference.setString(Tag.ReferencedSOPInstanceUID, VR.UI, attributes.getString(Tag.SOPInstanceUID));
+                        reference.setInt(Tag.ReferencedFrameNumber, VR.IS, next + 1);
+                        frameAttributes.newSequence(Tag.SourceImageSequence, 1).add(reference);
+                        return encodeHeader(frameAttributes, header.getTransferSyntaxUID(), layout, frameLength);
+                    }));
+                }
+
+                zip.putNextEntry(new ZipEntry(String.format("frame-%05d.dcm", frame + 1)));
+                zip.write(await(encoded.poll()));
+                long position = header.getPixelDataOffset() + frame * frameLength;
+                long remaining = frameLength;
+                while (remaining > 0) {
+                    long transferred = input.transferTo(position, remaining, target);
+                    if (transferred <= 0) {
+                        throw new EOFException("프레임 데이터가 " + remaining + " bytes 부족합니다.");
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+                if ((frameLength & 1) != 0) {
+                    zip.write(0);
+                }
+                zip.closeEntry();
+            }
+        } finally {
+            encoded.forEach(future -> future.cancel(true));
+        }
+        zip.finish();
+        log.info("멀티프레임 나누기 완료: {}프레임, {} ms", frames, System.currentTimeMillis() - startedAt);
+    }
+
+    void merge(List<Path> sources, Path output) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        if (sources.size() < 2) {
+            throw new IllegalArgumentException("합치려면 2개 이상의 인스턴스가 필요합니다.");
+        }
+
+        DicomHeader[] read = new DicomHeader[sources.size()];
+        runParallel(() -> IntStream.range(0, read.length).parallel().forEach(i -> {
+            try {
+                read[i] = headerReader.read(sources.get(i));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        List<DicomHeader> headers = new ArrayList<>(Arrays.asList(read));
+
+        DicomHeader first = headers.get(0);
+        PixelLayout layout = requireCopyable(first);
+        String sourceClass = first.getAttributes().getString(Tag.SOPClassUID);
+        String targetClass = MULTI_FRAME_CLASSES.get(sourceClass);
+        if (targetClass == null) {
+            throw new IllegalArgumentException("CT/MR/PET 단일 프레임만 합칠 수 있습니다: " + sourceClass);
+        }
+        for (DicomHeader header : headers) {
+            checkMergeable(first, layout, header);
+        }
+        sortFrames(headers);
+
+        Attributes merged = new Attributes(headers.get(0).getAttributes());
+        merged.remove(Tag.PixelData);
+        merged.remove(Tag.SliceLocation);
+        merged.setString(Tag.SOPClassUID, VR.UI, targetClass);
+        merged.setString(Tag.SOPInstanceUID, VR.UI, dicomGenerationService.generateUID());
+        merged.setString(Tag.SeriesInstanceUID, VR.UI, dicomGenerationService.generateUID());
+        merged.setInt(Tag.InstanceNumber, VR.IS, 1);
+        merged.setInt(Tag.NumberOfFrames, VR.IS, headers.size());
+        buildFunctionalGroups(headers, merged);
+        addRequiredAttributes(merged);
+
+        List<FrameSource> frames = headers.stream()
+                .map(header -> new FrameSource(header.getPath(), header.getPixelDataOffset()))
+                .toList();
+        writeInstance(merged, UID.ExplicitVRLittleEndian, layout, layout.frameLength(), output, frames);
+        log.info("단일 프레임 합치기 완료: {}프레임, {} ms", headers.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 헤더를 인코딩해 쓴 뒤 프레임들을 오프셋 위치에 병렬로 복사한다. 프레임 순서대로 이어 붙인 것과 같은 결과다.
+     */
+    private void writeInstance(Attributes attributes, String transferSyntaxUID, PixelLayout layout, long frameLength,
+                               Path output, List<FrameSource> frames) throws IOException {
+        long pixelLength = frameLength * frames.size();
+        long paddedLength = (pixelLength + 1) & ~1L;
+        byte[] headerBytes = encodeHeader(attributes, transferSyntaxUID, layout, pixelLength);
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.wrap(headerBytes), 0);
+            // 마지막 바이트(패딩 또는 0)를 먼저 써서 파일 크기를 확정한다. transferFrom은 파일 끝 너머에는 쓰지 않는다
+            writeFully(channel, ByteBuffer.allocate(1), headerBytes.length + paddedLength - 1);
+            if (frames.size() == 1) {
+                copyFully(frames.get(0), channel, headerBytes.length, frameLength);
+            } else {
+                runParallel(() -> IntStream.range(0, frames.size()).parallel().forEach(frame -> {
+                    try {
+                        copyFully(frames.get(frame), channel, headerBytes.length + frame * frameLength, frameLength);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        }
+    }
+
+    // 파일 메타 정보와 데이터셋, 그리고 짝수 길이로 맞춘 PixelData 요소 헤더까지 인코딩한다
+    private static byte[] encodeHeader(Attributes attributes, String transferSyntaxUID, PixelLayout layout,
+                                       long pixelLength) throws IOException {
+        long paddedLength = (pixelLength + 1) & ~1L;
+        if (paddedLength >= 0xFFFFFFFEL) {
+            throw new IllegalArgumentException("픽셀 데이터가 너무 큽니다: " + pixelLength + " bytes");
+        }
+        ByteArrayOutputStream header = new ByteArrayOutputStream(8192);
+        try (DicomOutputStream dos = new DicomOutputStream(header, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(attributes.createFileMetaInformation(transferSyntaxUID), attributes);
+            dos.writeHeader(Tag.PixelData, layout.getBitsAllocated() <= 8 ? VR.OB : VR.OW, (int) paddedLength);
+        }
+        return header.toByteArray();
+    }
+
+    // 대상 위치를 지정하는 transferFrom이므로 같은 출력 채널에 여러 스레드가 함께 쓸 수 있다
+    private static void copyFully(FrameSource source, FileChannel target, long position, long length) throws IOException {
+        try (FileChannel input = FileChannel.open(source.path, StandardOpenOption.READ)) {
+            input.position(source.offset);
+            long copied = 0;
+            while (copied < length) {
+                long transferred = target.transferFrom(input, position + copied, length - copied);
+                if (transferred <= 0) {
+                    throw new EOFException("프레임 데이터가 " + (length - copied) + " bytes 부족합니다.");
+                }
+                copied += transferred;
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private PixelLayout requireCopyable(DicomHeader header) {
+        if (!header.isOffsetAddressable() || header.isBigEndian()) {
+            throw new IllegalArgumentException("압축되지 않은 Little Endian 픽셀 데이터만 처리할 수 있습니다: " + header.getPath().getFileName());
+        }
+        PixelLayout layout = PixelLayout.of(header.getAttributes());
+        if (!layout.isSupported()) {
+            throw new IllegalArgumentException("8/16비트 할당 픽셀 데이터만 처리할 수 있습니다: " + header.getPath().getFileName());
+        }
+        return layout;
+    }
+
+    private void checkMergeable(DicomHeader first, PixelLayout layout, DicomHeader header) {
+        Attributes attributes = header.getAttributes();
+        requireCopyable(header);
+        PixelLayout other = PixelLayout.of(attributes);
+        if (other.getNumberOfFrames() != 1) {
+            throw new IllegalArgumentException("이미 멀티프레임인 인스턴스입니다: " + header.getPath().getFileName());
+        }
+        if (other.getRows() != layout.getRows() || other.getColumns() != layout.getColumns()
+                || other.getSamplesPerPixel() != layout.getSamplesPerPixel()
+                || other.getBitsAllocated() != layout.getBitsAllocated()
+                || other.getBitsStored() != layout.getBitsStored()
+                || other.getPixelRepresentation() != layout.getPixelRepresentation()
+                || !layout.getPhotometricInterpretation().equals(other.getPhotometricInterpretation())) {
+            throw new IllegalArgumentException("픽셀 형식이 다른 인스턴스는 합칠 수 없습니다: " + header.getPath().getFileName());
+        }
+        if (!first.getAttributes().getString(Tag.SOPClassUID, "").equals(attributes.getString(Tag.SOPClassUID))) {
+            throw new IllegalArgumentException("SOP Class가 다른 인스턴스는 합칠 수 없습니다: " + header.getPath().getFileName());
+        }
+        if (header.getPixelDataLength() < layout.frameLength()) {
+            throw new IllegalArgumentException("픽셀 데이터가 이미지 크기보다 짧습니다: " + header.getPath().getFileName());
+        }
+    }
+
+    // 모든 인스턴스에 위치/방향이 있으면 슬라이스 법선 방향 위치로, 아니면 InstanceNumber로 정렬한다
+    private static void sortFrames(List<DicomHeader> headers) {
+        double[] orientation = headers.get(0).getAttributes().getDoubles(Tag.ImageOrientationPatient);
+        boolean positioned = orientation != null && orientation.length == 6 && headers.stream()
+                .allMatch(header -> {
+                    double[] position = header.getAttributes().getDoubles(Tag.ImagePositionPatient);
+                    return position != null && position.length == 3;
+                });
+        if (positioned) {
+            double[] normal = DicomVolume.cross(
+                    DicomVolume.normalize(new double[]{orientation[0], orientation[1], orientation[2]}),
+                    DicomVolume.normalize(new double[]{orientation[3], orientation[4], orientation[5]}));
+            headers.sort(Comparator.comparingDouble(header ->
+                    DicomVolume.dot(header.getAttributes().getDoubles(Tag.ImagePositionPatient), normal)));
+        } else {
+            headers.sort(Comparator.comparingInt(header -> header.getAttributes().getInt(Tag.InstanceNumber, 0)));
+        }
+    }
+
+    private static void buildFunctionalGroups(List<DicomHeader> headers, Attributes merged) {
+        Attributes shared = new Attributes();
+        List<Attributes> perFrame = new ArrayList<>(headers.size());
+        for (DicomHeader header : headers) {
+            Attributes frame = new Attributes();
+            Attributes source = header.getAttributes();
+            Attributes conversion = new Attributes(2);
+            conversion.setString(Tag.ReferencedSOPClassUID, VR.UI, source.getString(Tag.SOPClassUID));
+            conversion.setString(Tag.ReferencedSOPInstanceUID, VR.UI, source.getString(Tag.SOPInstanceUID));
+            frame.newSequence(Tag.ConversionSourceAttributesSequence, 1).add(conversion);
+            // Frame Content 매크로는 필수다. 정렬한 순서를 스택 위치이자 차원 인덱스로 쓴다
+            int position = perFrame.size() + 1;
+            Attributes content = new Attributes(4);
+            if (source.containsValue(Tag.AcquisitionNumber)) {
+                content.setInt(Tag.FrameAcquisitionNumber, VR.US, source.getInt(Tag.AcquisitionNumber, 0));
+            }
+            content.setString(Tag.StackID, VR.SH, "1");
+            content.setInt(Tag.InStackPositionNumber, VR.UL, position);
+            content.setInt(Tag.DimensionIndexValues, VR.UL, position);
+            frame.newSequence(Tag.FrameContentSequence, 1).add(content);
+            perFrame.add(frame);
+        }
+
+        for (int[] group : FUNCTIONAL_GROUPS) {
+            int[] tags = Arrays.copyOfRange(group, 1, group.length);
+            Arrays.sort(tags);
+            List<Attributes> items = new ArrayList<>(headers.size());
+            boolean identical = true;
+            for (DicomHeader header : headers) {
+                Attributes item = new Attributes(tags.length);
+                item.addSelected(header.getAttributes(), tags);
+                identical &= items.isEmpty() || items.get(0).equals(item);
+                items.add(item);
+            }
+            for (int tag : tags) {
+                merged.remove(tag);
+            }
+            if (items.stream().allMatch(Attributes::isEmpty)) {
+                // Pixel Value Transformation 매크로는 필수이므로 원본에 없으면 항등 변환을 넣는다
+                if (group[0] == Tag.PixelValueTransformationSequence) {
+                    Attributes identity = new Attributes(3);
+                    identity.setString(Tag.RescaleIntercept, VR.DS, "0");
+                    identity.setString(Tag.RescaleSlope, VR.DS, "1");
+                    identity.setString(Tag.RescaleType, VR.LO, "US");
+                    shared.newSequence(group[0], 1).add(identity);
+                }
+                continue;
+            }
+            if (identical) {
+                shared.newSequence(group[0], 1).add(items.get(0));
+            } else {
+                for (int frame = 0; frame < items.size(); frame++) {
+                    perFrame.get(frame).newSequence(group[0], 1).add(items.get(frame));
+                }
+            }
+        }
+
+        shared.newSequence(Tag.UnassignedSharedConvertedAttributesSequence, 1).add(new Attributes());
+        merged.newSequence(Tag.SharedFunctionalGroupsSequence, 1).add(shared);
+        Sequence sequence = merged.newSequence(Tag.PerFrameFunctionalGroupsSequence, perFrame.size());
+        for (Attributes frame : perFrame) {
+            sequence.add(frame);
+        }
+    }
+
+    /**
+     * Legacy Converted Enhanced IOD의 Type 1/2 속성 중 단일 프레임 원본에 없을 수 있는 것을 채운다.
+     * 원본 값이 있으면 그대로 두고, 장비 정보처럼 알 수 없는 값은 UNKNOWN으로 둔다.
+     */
+    private void addRequiredAttributes(Attributes merged) {
+        if (!merged.containsValue(Tag.ImageType)) {
+            merged.setString(Tag.ImageType, VR.CS, "DERIVED", "PRIMARY", "VOLUME", "NONE");
+        }
+        if (!merged.containsValue(Tag.ContentDate) || !merged.containsValue(Tag.ContentTime)) {
+            merged.setDate(Tag.ContentDateAndTime, new Date());
+        }
+        if (!merged.containsValue(Tag.FrameOfReferenceUID)) {
+            merged.setString(Tag.FrameOfReferenceUID, VR.UI, dicomGenerationService.generateUID());
+        }
+        for (int tag : REQUIRED_EQUIPMENT) {
+            if (!merged.containsValue(tag)) {
+                merged.setString(tag, ElementDictionary.vrOf(tag, null), "UNKNOWN");
+            }
+        }
+        if (!merged.contains(Tag.AcquisitionContextSequence)) {
+            merged.newSequence(Tag.AcquisitionContextSequence, 0);
+        }
+
+        String dimensionOrganizationUID = dicomGenerationService.generateUID();
+        Attributes organization = new Attributes(1);
+        organization.setString(Tag.DimensionOrganizationUID, VR.UI, dimensionOrganizationUID);
+        merged.newSequence(Tag.DimensionOrganizationSequence, 1).add(organization);
+        Attributes index = new Attributes(3);
+        index.setString(Tag.DimensionOrganizationUID, VR.UI, dimensionOrganizationUID);
+        index.setInt(Tag.DimensionIndexPointer, VR.AT, Tag.InStackPositionNumber);
+        index.setInt(Tag.FunctionalGroupPointer, VR.AT, Tag.FrameContentSequence);
+        merged.newSequence(Tag.DimensionIndexSequence, 1).add(index);
+    }
+
+    // 기능 그룹 항목의 매크로 시퀀스 첫 항목을 최상위 속성으로 옮긴다
+    private static void flattenFunctionalGroups(Attributes groupItem, Attributes target) {
+        for (int tag : groupItem.tags()) {
+            if (NOT_FLATTENED.contains(tag)) {
+                continue;
+            }
+            Attributes macro = groupItem.getNestedDataset(tag);
+            if (macro != null) {
+                target.addAll(macro);
+            }
+        }
+    }
+
+    private void runParallel(Runnable task) throws IOException {
+        await(framePool.submit(task));
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("프레임 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("프레임 처리 실패: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static final class FrameSource {
+        private final Path path;
+        private final long offset;
+
+        private FrameSource(Path path, long offset) {
+            this.path = path;
+            this.offset = offset;
+        }
+    }
+}
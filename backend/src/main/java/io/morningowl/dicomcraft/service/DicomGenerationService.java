@@ -5,50 +5,123 @@ import lombok.extern.slf4j.Slf4j;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Sequence;
 import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
 import org.dcm4che3.data.VR;
 import org.dcm4che3.io.DicomOutputStream;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 public class DicomGenerationService {
 
+    private final AtomicLong uidSequence = new AtomicLong();
+
     public DicomGenerationResponse generateDicomFile(DicomGenerationRequest request) {
         try {
-            // Attributes 객체 생성
-            Attributes attributes = new Attributes();
-            
-            // 기본 DICOM 메타데이터 설정
-            setDefaultDicomMetadata(attributes);
+            Attributes attributes = createAttributes(request);
             
-            // 요청된 태그들 추가
-            if (request.getTags() != null) {
-                for (DicomTagRequest tagRequest : request.getTags()) {
+            // DICOM 파일 생성
+            return createResponse(attributes);
+                    
+        } catch (Exception e) {
+            log.error("DICOM 파일 생성 중 오류 발생: {}", e.getMessage(), e);
+            return DicomGenerationResponse.builder()
+                    .fileName("generated.dcm")
+                    .generationStatus("ERROR")
+                    .errorMessage("DICOM 파일 생성 실패: " + e.getMessage())
+                    .build();
+        }
+    }
+
+    /**
+     * 픽셀 데이터를 메모리에 올리지 않고 생성하기 위한 준비 단계.
+     * File Meta, 데이터셋, PixelData 요소 헤더까지만 미리 인코딩하고, 픽셀 값은 writeTo에서 입력 스트림을 그대로 복사한다.
+     * metadata.pixelData에는 크기/비트 정보만 담고 pixelDataBase64는 비워 둔다.
+     *
+     * @throws IllegalArgumentException 픽셀 정보가 없거나 pixelDataLength가 이미지 크기와 맞지 않는 경우
+     */
+    public StreamedDicom prepareStreamedDicom(DicomGenerationRequest metadata, long pixelDataLength) throws IOException {
+        DicomPixelDataRequest pixelData = metadata.getPixelData();
+        if (pixelData == null) {
+            throw new IllegalArgumentException("픽셀 정보(pixelData)가 필요합니다.");
+        }
+        if (pixelData.getPixelData() != null && pixelData.getPixelData().length > 0) {
+            throw new IllegalArgumentException("pixelDataBase64 대신 픽셀 데이터 파트를 보내야 합니다.");
+        }
+
+        Attributes attributes = createAttributes(metadata);
+        long bits = (long) pixelData.getWidth() * pixelData.getHeight() * pixelData.getSamplesPerPixel()
+                * pixelData.getBitsAllocated() * attributes.getInt(Tag.NumberOfFrames, 1);
+        long expectedLength = (bits + 7) / 8;
+        if (expectedLength == 0 || pixelDataLength != expectedLength) {
+            throw new IllegalArgumentException("픽셀 데이터 크기가 맞지 않습니다: " + pixelDataLength
+                    + " bytes (예상 " + expectedLength + " bytes)");
+        }
+        // 요소 길이는 짝수여야 하고 UL 범위(미정의 길이 0xFFFFFFFF 제외) 안이어야 한다
+        long paddedLength = (pixelDataLength + 1) & ~1L;
+        if (paddedLength >= 0xFFFFFFFEL) {
+            throw new IllegalArgumentException("픽셀 데이터가 너무 큽니다: " + pixelDataLength + " bytes");
+        }
+
+        attributes.remove(Tag.PixelData);
+        ByteArrayOutputStream header = new ByteArrayOutputStream(4096);
+        try (DicomOutputStream dos = new DicomOutputStream(header, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(attributes.createFileMetaInformation("1.2.840.10008.1.2"), attributes);
+            dos.writeHeader(Tag.PixelData, VR.OW, (int) paddedLength);
+        }
+        return new StreamedDicom(generateFileName(), header.toByteArray(), pixelDataLength, paddedLength);
+    }
+
+    /**
+     * 템플릿 태그 목록을 기본 메타데이터와 함께 프로토타입 Attributes로 미리 변환한다.
+     * 태그 번호/VR 해석과 값 변환은 등록 시 한 번만 수행된다.
+     */
+    public Attributes compileTemplate(List<DicomTagRequest> tags) {
+        Attributes prototype = new Attributes();
+        setDefaultDicomMetadata(prototype);
+        if (tags != null) {
+            for (DicomTagRequest tagRequest : tags) {
+                addTagToAttributes(prototype, tagRequest);
+            }
+        }
+        return prototype;
+    }
+
+    /**
+     * 프로토타입을 복제한 뒤 UID를 새로 발급하고, 변경할 태그와 픽셀 데이터만 덮어써서 DICOM 파일을 생성한다.
+     */
+    public DicomGenerationResponse generateFromTemplate(Attributes prototype, List<DicomTagRequest> overrides,
+                                                        DicomPixelDataRequest pixelData) {
+        try {
+            Attributes attributes = new Attributes(prototype);
+
+            // 인스턴스마다 고유해야 하는 UID는 항상 새로 발급
+            String sopInstanceUID = generateUID();
+            attributes.setString(Tag.MediaStorageSOPInstanceUID, VR.UI, sopInstanceUID);
+            attributes.setString(Tag.SOPInstanceUID, VR.UI, sopInstanceUID);
+
+            if (overrides != null) {
+                for (DicomTagRequest tagRequest : overrides) {
                     addTagToAttributes(attributes, tagRequest);
                 }
             }
-            
-            // 픽셀 데이터 추가
-            if (request.getPixelData() != null) {
-                addPixelDataToAttributes(attributes, request.getPixelData());
+            if (pixelData != null) {
+                addPixelDataToAttributes(attributes, pixelData);
             }
-            
-            // DICOM 파일 생성
-            byte[] dicomBytes = createDicomFile(attributes);
-            
-            return DicomGenerationResponse.builder()
-                    .fileName(generateFileName())
-                    .generatedDicomBase64(Base64.getEncoder().encodeToString(dicomBytes))
-                    .generationStatus("SUCCESS")
-                    .fileSize(dicomBytes.length)
-                    .build();
-                    
+
+            return createResponse(attributes);
+
         } catch (Exception e) {
-            log.error("DICOM 파일 생성 중 오류 발생: {}", e.getMessage(), e);
+            log.error("템플릿 기반 DICOM 파일 생성 중 오류 발생: {}", e.getMessage(), e);
             return DicomGenerationResponse.builder()
                     .fileName("generated.dcm")
                     .generationStatus("ERROR")
@@ -57,6 +130,38 @@ public class DicomGenerationService {
         }
     }
 
+    private Attributes createAttributes(DicomGenerationRequest request) {
+        // Attributes 객체 생성
+        Attributes attributes = new Attributes();
+
+        // 기본 DICOM 메타데이터 설정
+        setDefaultDicomMetadata(attributes);
+
+        // 요청된 태그들 추가
+        if (request.getTags() != null) {
+            for (DicomTagRequest tagRequest : request.getTags()) {
+                addTagToAttributes(attributes, tagRequest);
+            }
+        }
+
+        // 픽셀 데이터 추가
+        if (request.getPixelData() != null) {
+            addPixelDataToAttributes(attributes, request.getPixelData());
+        }
+        return attributes;
+    }
+
+    private DicomGenerationResponse createResponse(Attributes attributes) throws IOException {
+        byte[] dicomBytes = createDicomFile(attributes);
+
+        return DicomGenerationResponse.builder()
+                .fileName(generateFileName())
+                .generatedDicom(dicomBytes)
+                .generationStatus("SUCCESS")
+                .fileSize(dicomBytes.length)
+                .build();
+    }
+
     private String generateFileName() {
         return "dicom_" + System.currentTimeMillis() + ".dcm";
     }
@@ -158,7 +263,10 @@ public class DicomGenerationService {
                 case OV:
                 case OW:
                 case UN:
-                    if (value instanceof String) {
+                    if (value instanceof byte[]) {
+                        // CBOR/Smile 요청은 바이너리 그대로 전달됨
+                        attributes.setBytes(tag, vr, (byte[]) value);
+                    } else if (value instanceof String) {
                         // Base64 디코딩
                         byte[] bytes = Base64.getDecoder().decode(value.toString());
                         attributes.setBytes(tag, vr, bytes);
@@ -203,10 +311,9 @@ public class DicomGenerationService {
             attributes.setString(Tag.PhotometricInterpretation, VR.CS, pixelDataRequest.getPhotometricInterpretation());
             attributes.setString(Tag.PixelRepresentation, VR.US, pixelDataRequest.getPixelRepresentation());
             
-            // 픽셀 데이터 설정
-            if (pixelDataRequest.getPixelDataBase64() != null && !pixelDataRequest.getPixelDataBase64().isEmpty()) {
-                byte[] pixelData = Base64.getDecoder().decode(pixelDataRequest.getPixelDataBase64());
-                attributes.setBytes(Tag.PixelData, VR.OW, pixelData);
+            // 픽셀 데이터 설정 (Base64 디코딩은 Jackson 역직렬화 시점에 처리됨)
+            if (pixelDataRequest.getPixelData() != null && pixelDataRequest.getPixelData().length > 0) {
+                attributes.setBytes(Tag.PixelData, VR.OW, pixelDataRequest.getPixelData());
             }
             
         } catch (Exception e) {
@@ -215,35 +322,96 @@ public class DicomGenerationService {
     }
     
     private byte[] createDicomFile(Attributes attributes) throws IOException {
-        // 임시 파일을 생성하여 DICOM 파일 작성
-        java.io.File tempFile = java.io.File.createTempFile("dicom", ".dcm");
-        try (DicomOutputStream dos = new DicomOutputStream(tempFile)) {
+        // 임시 파일 없이 메모리에서 바로 작성 (File Meta Information은 Explicit VR Little Endian으로 시작)
+        ByteArrayOutputStream out = new ByteArrayOutputStream(estimateSize(attributes));
+        try (DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
             dos.writeDataset(attributes.createFileMetaInformation("1.2.840.10008.1.2"), attributes);
         }
-        
-        // 파일을 바이트 배열로 읽기
-        byte[] fileBytes = java.nio.file.Files.readAllBytes(tempFile.toPath());
-        
-        // 임시 파일 삭제
-        tempFile.delete();
-        
-        return fileBytes;
+        return out.toByteArray();
+    }
+
+    // 픽셀 데이터 크기만큼 미리 확보해 버퍼 재할당을 줄인다
+    private int estimateSize(Attributes attributes) {
+        byte[] pixelData = attributes.getSafeBytes(Tag.PixelData);
+        return 4096 + (pixelData != null ? pixelData.length : 0);
     }
     
     private int parseTagNumber(String tagNumber) {
-        // "(0010,0010)" 형식을 정수로 변환
-        String cleanTag = tagNumber.replaceAll("[()\\s]", "");
-        String[] parts = cleanTag.split(",");
-        if (parts.length == 2) {
-            int group = Integer.parseInt(parts[0], 16);
-            int element = Integer.parseInt(parts[1], 16);
-            return (group << 16) | element;
+        // "(0010,0010)" 형식을 정수로 변환 (괄호와 공백은 무시)
+        int group = 0;
+        int element = 0;
+        int digits = 0;
+        boolean afterComma = false;
+        for (int i = 0; i < tagNumber.length(); i++) {
+            char c = tagNumber.charAt(i);
+            if (c == '(' || c == ')' || Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c == ',' && !afterComma && digits > 0) {
+                afterComma = true;
+                digits = 0;
+                continue;
+            }
+            int digit = Character.digit(c, 16);
+            if (digit < 0 || ++digits > 4) {
+                throw new IllegalArgumentException("Invalid tag number format: " + tagNumber);
+            }
+            if (afterComma) {
+                element = (element << 4) | digit;
+            } else {
+                group = (group << 4) | digit;
+            }
+        }
+        if (!afterComma || digits == 0) {
+            throw new IllegalArgumentException("Invalid tag number format: " + tagNumber);
         }
-        throw new IllegalArgumentException("Invalid tag number format: " + tagNumber);
+        return (group << 16) | element;
     }
     
-    private String generateUID() {
-        // 간단한 UID 생성 (실제로는 더 복잡한 로직 필요)
-        return "1.2.826.0.1.3680043.8.498." + System.currentTimeMillis();
+    public String generateUID() {
+        // 간단한 UID 생성 (실제로는 더 복잡한 로직 필요). 같은 밀리초에 여러 개를 만들어도 겹치지 않도록 순번을 붙인다
+        return "1.2.826.0.1.3680043.8.498." + System.currentTimeMillis() + "." + uidSequence.incrementAndGet();
+    }
+
+    /**
+     * prepareStreamedDicom 결과. 헤더는 수 KB이며 픽셀 데이터는 writeTo 호출 시 버퍼 크기만큼씩 복사된다.
+     */
+    public static final class StreamedDicom {
+        private final String fileName;
+        private final byte[] header;
+        private final long pixelDataLength;
+        private final long paddedLength;
+
+        private StreamedDicom(String fileName, byte[] header, long pixelDataLength, long paddedLength) {
+            this.fileName = fileName;
+            this.header = header;
+            this.pixelDataLength = pixelDataLength;
+            this.paddedLength = paddedLength;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public long getContentLength() {
+            return header.length + paddedLength;
+        }
+
+        public void writeTo(InputStream pixelData, OutputStream out) throws IOException {
+            out.write(header);
+            byte[] buffer = new byte[64 * 1024];
+            long remaining = pixelDataLength;
+            while (remaining > 0) {
+                int read = pixelData.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("픽셀 데이터가 " + remaining + " bytes 부족합니다.");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+            if (paddedLength > pixelDataLength) {
+                out.write(0);
+            }
+        }
     }
 }
@@ -0,0 +1,40 @@
+package io.morningowl.dicomcraft.service;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.UID;
+
+import java.nio.file.Path;
+
+/**
+ * PixelData 직전까지 읽은 DICOM 헤더와 픽셀 데이터의 파일 내 위치 정보.
+ */
+@Getter
+@Builder
+public class DicomHeader {
+    private final Path path;
+    private final Attributes fileMetaInformation;
+    private final Attributes attributes;
+    private final String transferSyntaxUID;
+    private final long pixelDataOffset; // PixelData 값의 시작 위치, 없으면 -1
+    private final long pixelDataLength; // 정의되지 않은 길이(encapsulated)이면 -1
+
+    public boolean hasPixelData() {
+        return pixelDataOffset >= 0;
+    }
+
+    // 압축되지 않은 픽셀 데이터인 경우에만 오프셋 기반 접근이 가능
+    public boolean isNativePixelData() {
+        return hasPixelData() && pixelDataLength >= 0;
+    }
+
+    // pixelDataOffset이 파일 안의 위치인 경우. Deflate 전송 구문은 inflate한 스트림 기준 위치라 파일에서 바로 읽을 수 없다
+    public boolean isOffsetAddressable() {
+        return isNativePixelData() && !UID.DeflatedExplicitVRLittleEndian.equals(transferSyntaxUID);
+    }
+
+    public boolean isBigEndian() {
+        return UID.ExplicitVRBigEndian.equals(transferSyntaxUID);
+    }
+}
@@ -0,0 +1,47 @@
+package io.morningowl.dicomcraft.service;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 픽셀 데이터를 읽지 않고 헤더만 파싱하는 리더.
+ * 픽셀 데이터는 파일 내 오프셋만 기록해 두고 필요한 곳에서 위치 기반으로 읽는다.
+ */
+@Component
+public class DicomHeaderReader {
+
+    public DicomHeader read(Path path) throws IOException {
+        return read(path, IncludeBulkData.YES);
+    }
+
+    public DicomHeader read(Path path, IncludeBulkData includeBulkData) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(path.toFile())) {
+            dis.setIncludeBulkData(includeBulkData);
+            Attributes fmi = dis.readFileMetaInformation();
+            Attributes attributes = dis.readDatasetUntilPixelData();
+
+            long pixelDataOffset = -1;
+            long pixelDataLength = -1;
+            if (dis.tag() == Tag.PixelData) {
+                // 헤더를 읽은 직후이므로 현재 위치가 값의 시작점
+                pixelDataOffset = dis.getPosition();
+                pixelDataLength = dis.length() == -1 ? -1 : dis.length() & 0xFFFFFFFFL;
+            }
+
+            return DicomHeader.builder()
+                    .path(path)
+                    .fileMetaInformation(fmi)
+                    .attributes(attributes)
+                    .transferSyntaxUID(dis.getTransferSyntax())
+                    .pixelDataOffset(pixelDataOffset)
+                    .pixelDataLength(pixelDataLength)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.morningowl.dicomcraft.service;
+
+import org.dcm4che3.data.Attributes;
+
+import java.nio.file.Path;
+
+/**
+ * 로컬 인덱스와 DICOMweb 저장소의 파일 변경 알림. 이미 파싱한 헤더를 그대로 넘겨받아 재파싱을 피한다.
+ */
+public interface DicomIndexListener {
+
+    void onIndexed(Path path, Attributes attributes);
+
+    void onRemoved(Path path);
+}
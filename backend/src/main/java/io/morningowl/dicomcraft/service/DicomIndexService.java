@@ -0,0 +1,690 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.dto.DicomIndexStatus;
+import io.morningowl.dicomcraft.dto.DicomPatientSummary;
+import io.morningowl.dicomcraft.dto.DicomSeriesSummary;
+import io.morningowl.dicomcraft.dto.DicomStudySummary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * 로컬 DICOM 디렉토리의 환자/스터디/시리즈/인스턴스 인덱스.
+ * 헤더만 파싱해 압축된 인덱스 파일로 저장하고, 재스캔 시에는 수정 시각과 크기가 바뀐 파일만 다시 파싱한다.
+ * 실행 중에는 WatchService 이벤트로 변경분만 반영한다.
+ */
+@Slf4j
+@Service
+public class DicomIndexService {
+
+    private static final int INDEX_MAGIC = 0x44434958; // "DCIX"
+    private static final int INDEX_VERSION = 1;
+
+    private final DicomHeaderReader headerReader;
+    private final Path rootDirectory;
+    private final Path indexStorePath;
+    private final boolean watchEnabled;
+    private final int scanThreads;
+    private final long saveIntervalSeconds;
+
+    // DICOM이 아닌 파일도 재파싱을 피하기 위해 sopInstanceUID 없는 항목으로 보관.
+    // 경로 순으로 정렬해 두어 디렉토리 삭제 시 하위 항목만 범위로 찾는다
+    private final NavigableMap<Path, DicomIndexEntry> entries = new ConcurrentSkipListMap<>();
+    // UID 조회용 보조 인덱스. entries와 함께 indexLock 안에서만 바꾼다
+    private final Map<String, Path> pathsBySopInstanceUID = new ConcurrentHashMap<>();
+    private final Map<String, Set<Path>> pathsBySeriesInstanceUID = new ConcurrentHashMap<>();
+    private final Object indexLock = new Object();
+    // 트리 순회에서 본 디렉토리. 삭제 이벤트가 디렉토리를 가리키는지 판단하는 데 쓴다
+    private final NavigableSet<Path> knownDirectories = new ConcurrentSkipListSet<>();
+    // 항목을 마지막으로 파싱한 순번. 재스캔 도중 감시 이벤트로 들어온 항목을 삭제 대상에서 빼는 데 쓴다
+    private final Map<Path, Long> indexedSequence = new ConcurrentHashMap<>();
+    private final AtomicLong indexSequence = new AtomicLong();
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private final List<DicomIndexListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean scanning = new AtomicBoolean();
+    private final AtomicLong lastScanDurationMillis = new AtomicLong();
+    private final AtomicLong lastScanParsedFiles = new AtomicLong();
+
+    private ExecutorService scanExecutor;
+    private ScheduledExecutorService maintenanceExecutor;
+    private ScheduledExecutorService saveExecutor;
+    private ScheduledFuture<?> saveTask;
+    private WatchService watchService;
+    private Thread watchThread;
+
+    public DicomIndexService(DicomHeaderReader headerReader,
+                             @Value("${dicomcraft.index.root:}") String rootDirectory,
+                             @Value("${dicomcraft.index.file:${user.home}/.dicomcraft/index.bin}") String indexFile,
+                             @Value("${dicomcraft.index.watch:true}") boolean watchEnabled,
+                             @Value("${dicomcraft.index.scan-threads:4}") int scanThreads,
+                             @Value("${dicomcraft.index.save-interval-seconds:30}") long saveIntervalSeconds) {
+        this.headerReader = headerReader;
+        this.rootDirectory = rootDirectory.isBlank() ? null : Paths.get(rootDirectory).toAbsolutePath().normalize();
+        this.indexStorePath = Paths.get(indexFile);
+        this.watchEnabled = watchEnabled;
+        this.scanThreads = scanThreads;
+        this.saveIntervalSeconds = saveIntervalSeconds;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (rootDirectory == null) {
+            log.info("로컬 DICOM 인덱스 비활성화 (dicomcraft.index.root 미설정)");
+            return;
+        }
+
+        scanExecutor = Executors.newFixedThreadPool(scanThreads, daemonThreadFactory("dicom-index-scan"));
+        maintenanceExecutor = Executors.newScheduledThreadPool(2, daemonThreadFactory("dicom-index-maintenance"));
+        // 종료 시 재스캔을 인터럽트해도 진행 중인 저장은 끝까지 마치도록 별도 스레드에서 저장
+        saveExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("dicom-index-save"));
+
+        loadIndex();
+
+        if (watchEnabled) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                watchThread = daemonThreadFactory("dicom-index-watch").newThread(this::watchLoop);
+                watchThread.start();
+            } catch (IOException e) {
+                log.warn("디렉토리 감시 시작 실패, 수동 재스캔만 사용합니다: {}", e.getMessage());
+            }
+        }
+
+        // 시작 시 재스캔은 백그라운드에서 수행 (변경된 파일만 파싱)
+        maintenanceExecutor.execute(this::rescan);
+        saveTask = saveExecutor.scheduleWithFixedDelay(this::saveIfDirty, saveIntervalSeconds, saveIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rootDirectory == null) {
+            return;
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("디렉토리 감시 종료 실패: {}", e.getMessage());
+            }
+        }
+        maintenanceExecutor.shutdownNow();
+        scanExecutor.shutdownNow();
+
+        // 예약된 저장을 취소하고, 이미 실행 중인 저장이 끝난 뒤 마지막으로 저장
+        saveTask.cancel(false);
+        saveExecutor.shutdown();
+        try {
+            if (!saveExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("진행 중인 인덱스 저장이 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveIfDirty();
+    }
+
+    public void addListener(DicomIndexListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isEnabled() {
+        return rootDirectory != null;
+    }
+
+    public void requestRescan() {
+        if (rootDirectory != null) {
+            maintenanceExecutor.execute(this::rescan);
+        }
+    }
+
+    /**
+     * 루트 디렉토리 전체를 훑어 인덱스와 비교한다. 파일 속성(크기/수정 시각)만 확인하고 바뀐 파일만 파싱한다.
+     */
+    public void rescan() {
+        if (rootDirectory == null || !scanning.compareAndSet(false, true)) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        long startSequence = indexSequence.get();
+        try {
+            Set<Path> seen = ConcurrentHashMap.newKeySet();
+            int parsed = scanTree(rootDirectory, seen);
+
+            // 사라진 파일 제거. 스캔 중 감시 이벤트로 새로 파싱된 항목은 트리 순회가 지나친 뒤 생겼을 수 있으므로 남긴다
+            for (Path path : new ArrayList<>(entries.keySet())) {
+                if (!seen.contains(path) && indexedSequence.getOrDefault(path, 0L) <= startSequence) {
+                    removeEntry(path);
+                }
+            }
+
+            lastScanParsedFiles.set(parsed);
+            lastScanDurationMillis.set(System.currentTimeMillis() - started);
+            log.info("로컬 DICOM 인덱스 스캔 완료: 파일 {}개 중 {}개 파싱, {}ms",
+                    seen.size(), parsed, lastScanDurationMillis.get());
+        } catch (Exception e) {
+            log.error("로컬 DICOM 인덱스 스캔 중 오류 발생: {}", e.getMessage(), e);
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    public DicomIndexStatus getStatus() {
+        return DicomIndexStatus.builder()
+                .enabled(isEnabled())
+                .rootDirectory(rootDirectory != null ? rootDirectory.toString() : null)
+                .scanning(scanning.get())
+                .fileCount(entries.size())
+                .instanceCount((int) instances().count())
+                .lastScanDurationMillis(lastScanDurationMillis.get())
+                .lastScanParsedFiles(lastScanParsedFiles.get())
+                .build();
+    }
+
+    public List<DicomPatientSummary> findPatients() {
+        Map<String, List<DicomIndexEntry>> byPatient = instances()
+                .collect(Collectors.groupingBy(entry -> nullToEmpty(entry.getPatientId())));
+
+        return byPatient.entrySet().stream()
+                .map(group -> {
+                    DicomIndexEntry first = group.getValue().get(0);
+                    return DicomPatientSummary.builder()
+                            .patientId(group.getKey())
+                            .patientName(first.getPatientName())
+                            .studyCount(countDistinct(group.getValue(), DicomIndexEntry::getStudyInstanceUID))
+                            .instanceCount(group.getValue().size())
+                            .build();
+                })
+                .sorted(Comparator.comparing(DicomPatientSummary::getPatientId))
+                .collect(Collectors.toList());
+    }
+
+    public List<DicomStudySummary> findStudies(String patientId) {
+        Map<String, List<DicomIndexEntry>> byStudy = instances()
+                .filter(entry -> nullToEmpty(entry.getPatientId()).equals(patientId))
+                .collect(Collectors.groupingBy(entry -> nullToEmpty(entry.getStudyInstanceUID())));
+
+        return byStudy.entrySet().stream()
+                .map(group -> {
+                    DicomIndexEntry first = group.getValue().get(0);
+                    return DicomStudySummary.builder()
+                            .studyInstanceUID(group.getKey())
+                            .patientId(first.getPatientId())
+                            .patientName(first.getPatientName())
+                            .studyDate(first.getStudyDate())
+                            .studyDescription(first.getStudyDescription())
+                            .accessionNumber(first.getAccessionNumber())
+                            .seriesCount(countDistinct(group.getValue(), DicomIndexEntry::getSeriesInstanceUID))
+                            .instanceCount(group.getValue().size())
+                            .build();
+                })
+                .sorted(Comparator.comparing(DicomStudySummary::getStudyDate, Comparator.nullsLast(Comparator.reverseOrder())))
+                .collect(Collectors.toList());
+    }
+
+    public List<DicomSeriesSummary> findSeries(String studyInstanceUID) {
+        Map<String, List<DicomIndexEntry>> bySeries = instances()
+                .filter(entry -> studyInstanceUID.equals(entry.getStudyInstanceUID()))
+                .collect(Collectors.groupingBy(entry -> nullToEmpty(entry.getSeriesInstanceUID())));
+
+        return bySeries.entrySet().stream()
+                .map(group -> {
+                    DicomIndexEntry first = group.getValue().get(0);
+                    return DicomSeriesSummary.builder()
+                            .seriesInstanceUID(group.getKey())
+                            .studyInstanceUID(studyInstanceUID)
+                            .seriesNumber(first.getSeriesNumber())
+                            .modality(first.getModality())
+                            .seriesDescription(first.getSeriesDescription())
+                            .instanceCount(group.getValue().size())
+                            .build();
+                })
+                .sorted(Comparator.comparingInt(series -> parseNumber(series.getSeriesNumber())))
+                .collect(Collectors.toList());
+    }
+
+    public List<DicomIndexEntry> findInstances(String seriesInstanceUID) {
+        return pathsBySeriesInstanceUID.getOrDefault(seriesInstanceUID, Set.of()).stream()
+                .map(entries::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt(entry -> parseNumber(entry.getInstanceNumber())))
+                .collect(Collectors.toList());
+    }
+
+    public DicomIndexEntry getEntry(Path path) {
+        return entries.get(path);
+    }
+
+    // SOP Instance UID로 인스턴스 조회, 없으면 null
+    public DicomIndexEntry findInstance(String sopInstanceUID) {
+        Path path = pathsBySopInstanceUID.get(sopInstanceUID);
+        return path != null ? entries.get(path) : null;
+    }
+
+    // 현재 인덱스에 있는 DICOM 인스턴스 파일 목록
+    public List<Path> getInstancePaths() {
+        return entries.entrySet().stream()
+                .filter(entry -> entry.getValue().getSopInstanceUID() != null)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private Stream<DicomIndexEntry> instances() {
+        return entries.values().stream().filter(entry -> entry.getSopInstanceUID() != null);
+    }
+
+    // start 아래의 트리를 훑어 변경된 파일을 병렬로 파싱하고, 파싱한 파일 수를 반환
+    private int scanTree(Path start, Set<Path> seen) throws IOException, InterruptedException, ExecutionException {
+        List<Future<?>> pending = new ArrayList<>();
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                knownDirectories.add(dir);
+                registerWatch(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (!attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                seen.add(file);
+                long lastModified = attrs.lastModifiedTime().toMillis();
+                if (isChanged(file, attrs.size(), lastModified)) {
+                    pending.add(scanExecutor.submit(() -> updateEntry(file, attrs.size(), lastModified)));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                log.warn("파일 접근 실패: {}, 오류: {}", file, exc.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        for (Future<?> future : pending) {
+            future.get();
+        }
+        return pending.size();
+    }
+
+    private boolean isChanged(Path file, long size, long lastModified) {
+        DicomIndexEntry entry = entries.get(file);
+        return entry == null || entry.getFileSize() != size || entry.getLastModified() != lastModified;
+    }
+
+    private void updateEntry(Path file, long size, long lastModified) {
+        DicomIndexEntry.DicomIndexEntryBuilder builder = DicomIndexEntry.builder()
+                .path(file.toString())
+                .fileSize(size)
+                .lastModified(lastModified);
+
+        Attributes attributes = null;
+        try {
+            attributes = headerReader.read(file, IncludeBulkData.NO).getAttributes();
+            builder.patientId(attributes.getString(Tag.PatientID))
+                    .patientName(attributes.getString(Tag.PatientName))
+                    .studyInstanceUID(attributes.getString(Tag.StudyInstanceUID))
+                    .studyDate(attributes.getString(Tag.StudyDate))
+                    .studyDescription(attributes.getString(Tag.StudyDescription))
+                    .accessionNumber(attributes.getString(Tag.AccessionNumber))
+                    .seriesInstanceUID(attributes.getString(Tag.SeriesInstanceUID))
+                    .seriesNumber(attributes.getString(Tag.SeriesNumber))
+                    .modality(attributes.getString(Tag.Modality))
+                    .seriesDescription(attributes.getString(Tag.SeriesDescription))
+                    .sopInstanceUID(attributes.getString(Tag.SOPInstanceUID))
+                    .sopClassUID(attributes.getString(Tag.SOPClassUID))
+                    .instanceNumber(attributes.getString(Tag.InstanceNumber));
+        } catch (Exception e) {
+            log.debug("DICOM 헤더 파싱 실패 (인덱스에서 제외): {}, 오류: {}", file, e.getMessage());
+        }
+
+        DicomIndexEntry entry = builder.build();
+        putEntry(file, entry);
+        indexedSequence.put(file, indexSequence.incrementAndGet());
+        dirty.set(true);
+
+        for (DicomIndexListener listener : listeners) {
+            if (entry.getSopInstanceUID() != null) {
+                listener.onIndexed(file, attributes);
+            } else {
+                listener.onRemoved(file);
+            }
+        }
+    }
+
+    private void removeEntry(Path path) {
+        indexedSequence.remove(path);
+        DicomIndexEntry removed;
+        synchronized (indexLock) {
+            removed = entries.remove(path);
+            unlinkUIDs(path, removed);
+        }
+        if (removed != null) {
+            dirty.set(true);
+            listeners.forEach(listener -> listener.onRemoved(path));
+        }
+    }
+
+    private void putEntry(Path path, DicomIndexEntry entry) {
+        synchronized (indexLock) {
+            unlinkUIDs(path, entries.put(path, entry));
+            if (entry.getSopInstanceUID() != null) {
+                pathsBySopInstanceUID.put(entry.getSopInstanceUID(), path);
+            }
+            if (entry.getSeriesInstanceUID() != null) {
+                pathsBySeriesInstanceUID.computeIfAbsent(entry.getSeriesInstanceUID(), uid -> ConcurrentHashMap.newKeySet())
+                        .add(path);
+            }
+        }
+    }
+
+    private void unlinkUIDs(Path path, DicomIndexEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        if (entry.getSopInstanceUID() != null) {
+            pathsBySopInstanceUID.remove(entry.getSopInstanceUID(), path);
+        }
+        if (entry.getSeriesInstanceUID() != null) {
+            Set<Path> paths = pathsBySeriesInstanceUID.get(entry.getSeriesInstanceUID());
+            if (paths != null) {
+                paths.remove(path);
+                if (paths.isEmpty()) {
+                    pathsBySeriesInstanceUID.remove(entry.getSeriesInstanceUID());
+                }
+            }
+        }
+    }
+
+    // ---------- 디렉토리 감시 ----------
+
+    private void registerWatch(Path dir) {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            watchedDirectories.put(key, dir);
+        } catch (IOException e) {
+            log.warn("디렉토리 감시 등록 실패: {}, 오류: {}", dir, e.getMessage());
+        }
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path dir = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    // 이벤트 유실 시 전체 비교로 보정 (변경분만 파싱하므로 비용은 작다)
+                    maintenanceExecutor.execute(this::rescan);
+                    continue;
+                }
+                if (dir == null) {
+                    continue;
+                }
+                handleEvent(event.kind(), dir.resolve((Path) event.context()));
+            }
+
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+    }
+
+    void handleEvent(WatchEvent.Kind<?> kind, Path path) {
+        if (kind == ENTRY_DELETE) {
+            removeEntry(path);
+            if (knownDirectories.contains(path)) {
+                removeTree(path);
+            }
+            return;
+        }
+
+        if (Files.isDirectory(path)) {
+            // 하위 파일 파싱을 scanExecutor에 맡기고 기다리므로 별도 스레드에서 실행
+            maintenanceExecutor.execute(() -> {
+                try {
+                    scanTree(path, ConcurrentHashMap.newKeySet());
+                } catch (Exception e) {
+                    log.warn("새 디렉토리 인덱싱 실패: {}, 오류: {}", path, e.getMessage());
+                }
+            });
+            return;
+        }
+
+        scanExecutor.execute(() -> {
+            try {
+                indexChangedFile(path);
+            } catch (Exception e) {
+                log.warn("변경 파일 인덱싱 실패: {}, 오류: {}", path, e.getMessage());
+            }
+        });
+    }
+
+    // 삭제된 디렉토리 아래 항목 제거. 정렬된 키에서 경로 문자열이 path로 시작하는 범위만 훑는다
+    private void removeTree(Path dir) {
+        Path upper = dir.resolveSibling(dir.getFileName() + "\uffff");
+        for (Path indexed : new ArrayList<>(entries.subMap(dir, false, upper, false).keySet())) {
+            if (indexed.startsWith(dir)) {
+                removeEntry(indexed);
+            }
+        }
+        knownDirectories.subSet(dir, true, upper, false).removeIf(known -> known.startsWith(dir));
+    }
+
+    // 감시 이벤트로 알려진 파일 하나를 바뀐 경우에만 다시 파싱
+    void indexChangedFile(Path path) throws IOException {
+        if (Files.isRegularFile(path)) {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            long lastModified = attrs.lastModifiedTime().toMillis();
+            if (isChanged(path, attrs.size(), lastModified)) {
+                updateEntry(path, attrs.size(), lastModified);
+            }
+        }
+    }
+
+    // ---------- 인덱스 파일 저장/로드 ----------
+
+    private synchronized void saveIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Files.createDirectories(indexStorePath.toAbsolutePath().getParent());
+            Path tempFile = indexStorePath.resolveSibling(indexStorePath.getFileName() + ".tmp");
+            List<DicomIndexEntry> snapshot = new ArrayList<>(entries.values());
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(INDEX_VERSION);
+                out.writeUTF(rootDirectory.toString());
+                out.writeInt(snapshot.size());
+                for (DicomIndexEntry entry : snapshot) {
+                    writeEntry(out, entry);
+                }
+            }
+            Files.move(tempFile, indexStorePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("로컬 DICOM 인덱스 저장: {}개 항목", snapshot.size());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("로컬 DICOM 인덱스 저장 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void loadIndex() {
+        if (!Files.exists(indexStorePath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(indexStorePath))))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                log.warn("인덱스 파일 형식이 맞지 않아 새로 생성합니다: {}", indexStorePath);
+                return;
+            }
+            if (!rootDirectory.toString().equals(in.readUTF())) {
+                log.info("인덱스 루트 디렉토리가 변경되어 새로 생성합니다: {}", rootDirectory);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                DicomIndexEntry entry = readEntry(in);
+                putEntry(Paths.get(entry.getPath()), entry);
+            }
+            log.info("로컬 DICOM 인덱스 로드: {}개 항목", count);
+        } catch (IOException e) {
+            synchronized (indexLock) {
+                entries.clear();
+                pathsBySopInstanceUID.clear();
+                pathsBySeriesInstanceUID.clear();
+            }
+            log.warn("인덱스 파일 로드 실패, 새로 생성합니다: {}", e.getMessage());
+        }
+    }
+
+    private void writeEntry(DataOutputStream out, DicomIndexEntry entry) throws IOException {
+        // 경로는 루트 기준 상대 경로로 저장
+        out.writeUTF(rootDirectory.relativize(Paths.get(entry.getPath())).toString());
+        out.writeLong(entry.getFileSize());
+        out.writeLong(entry.getLastModified());
+        writeString(out, entry.getPatientId());
+        writeString(out, entry.getPatientName());
+        writeString(out, entry.getStudyInstanceUID());
+        writeString(out, entry.getStudyDate());
+        writeString(out, entry.getStudyDescription());
+        writeString(out, entry.getAccessionNumber());
+        writeString(out, entry.getSeriesInstanceUID());
+        writeString(out, entry.getSeriesNumber());
+        writeString(out, entry.getModality());
+        writeString(out, entry.getSeriesDescription());
+        writeString(out, entry.getSopInstanceUID());
+        writeString(out, entry.getSopClassUID());
+        writeString(out, entry.getInstanceNumber());
+    }
+
+    private DicomIndexEntry readEntry(DataInputStream in) throws IOException {
+        return DicomIndexEntry.builder()
+                .path(rootDirectory.resolve(in.readUTF()).toString())
+                .fileSize(in.readLong())
+                .lastModified(in.readLong())
+                .patientId(readString(in))
+                .patientName(readString(in))
+                .studyInstanceUID(readString(in))
+                .studyDate(readString(in))
+                .studyDescription(readString(in))
+                .accessionNumber(readString(in))
+                .seriesInstanceUID(readString(in))
+                .seriesNumber(readString(in))
+                .modality(readString(in))
+                .seriesDescription(readString(in))
+                .sopInstanceUID(readString(in))
+                .sopClassUID(readString(in))
+                .instanceNumber(readString(in))
+                .build();
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // ---------- 유틸리티 ----------
+
+    private static int countDistinct(List<DicomIndexEntry> group, Function<DicomIndexEntry, String> key) {
+        return (int) group.stream().map(key).distinct().count();
+    }
+
+    private static int parseNumber(String value) {
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : Integer.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
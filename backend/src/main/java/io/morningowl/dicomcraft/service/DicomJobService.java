@@ -0,0 +1,341 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomAnalysisResponse;
+import io.morningowl.dicomcraft.dto.DicomGenerationRequest;
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomJobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 분석/생성 작업을 서블릿 스레드 밖에서 실행하는 비동기 작업 관리자.
+ * 작은 작업과 큰 작업은 별도의 제한된 스레드 풀에서 실행되어 큰 작업 뒤에 작은 작업이 밀리지 않는다.
+ * 결과는 한 번만 조회할 수 있으며, 조회되지 않은 결과는 TTL이 지나면 정리된다.
+ */
+@Slf4j
+@Service
+public class DicomJobService {
+
+    private static final long PUBLISH_INTERVAL_MILLIS = 200;
+
+    private final DicomAnalysisService dicomAnalysisService;
+    private final DicomGenerationService dicomGenerationService;
+    private final Path workDirectory;
+    private final long largeJobThresholdBytes;
+    private final long resultTtlMillis;
+    private final long eventTimeoutMillis;
+
+    private final ThreadPoolExecutor smallJobExecutor;
+    private final ThreadPoolExecutor largeJobExecutor;
+    private final ScheduledExecutorService cleanupExecutor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public DicomJobService(DicomAnalysisService dicomAnalysisService,
+                           DicomGenerationService dicomGenerationService,
+                           @Value("${dicomcraft.job.small-threads:4}") int smallThreads,
+                           @Value("${dicomcraft.job.large-threads:2}") int largeThreads,
+                           @Value("${dicomcraft.job.queue-capacity:50}") int queueCapacity,
+                           @Value("${dicomcraft.job.large-threshold-bytes:10485760}") long largeJobThresholdBytes,
+                           @Value("${dicomcraft.job.result-ttl-seconds:600}") long resultTtlSeconds,
+                           @Value("${dicomcraft.job.event-timeout-seconds:1800}") long eventTimeoutSeconds,
+                           @Value("${dicomcraft.job.work-dir:${java.io.tmpdir}/dicomcraft/jobs}") String workDirectory) throws IOException {
+        this.dicomAnalysisService = dicomAnalysisService;
+        this.dicomGenerationService = dicomGenerationService;
+        this.workDirectory = Files.createDirectories(Paths.get(workDirectory));
+        this.largeJobThresholdBytes = largeJobThresholdBytes;
+        this.resultTtlMillis = TimeUnit.SECONDS.toMillis(resultTtlSeconds);
+        this.eventTimeoutMillis = TimeUnit.SECONDS.toMillis(eventTimeoutSeconds);
+
+        this.smallJobExecutor = newExecutor("dicom-job-small", smallThreads, queueCapacity);
+        this.largeJobExecutor = newExecutor("dicom-job-large", largeThreads, queueCapacity);
+        this.cleanupExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dicom-job-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cleanupExecutor.scheduleWithFixedDelay(this::removeExpiredJobs, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupExecutor.shutdownNow();
+        smallJobExecutor.shutdownNow();
+        largeJobExecutor.shutdownNow();
+    }
+
+    /**
+     * 업로드 파일을 작업 디렉토리로 옮긴 뒤 분석 작업을 등록한다. 큐가 가득 차면 RejectedExecutionException.
+     */
+    public DicomJobStatus submitAnalysis(MultipartFile file) throws IOException {
+        Job job = new Job("ANALYZE", file.getSize());
+        Path inputFile = workDirectory.resolve(job.id + ".dcm");
+        file.transferTo(inputFile);
+        job.inputFile = inputFile;
+
+        String fileName = file.getOriginalFilename();
+        return submit(job, () -> {
+            try (InputStream inputStream = Files.newInputStream(inputFile)) {
+                return dicomAnalysisService.analyzeDicomStream(fileName, inputStream, job);
+            }
+        });
+    }
+
+    public DicomJobStatus submitGeneration(DicomGenerationRequest request) {
+        long pixelBytes = request.getPixelData() != null && request.getPixelData().getPixelData() != null
+                ? request.getPixelData().getPixelData().length
+                : 0;
+        Job job = new Job("GENERATE", pixelBytes);
+        return submit(job, () -> {
+            DicomGenerationResponse response = dicomGenerationService.generateDicomFile(request);
+            job.bytesProcessed = response.getFileSize();
+            return response;
+        });
+    }
+
+    public DicomJobStatus getStatus(String jobId) {
+        return getJob(jobId).toStatus();
+    }
+
+    public SseEmitter subscribe(String jobId) {
+        Job job = getJob(jobId);
+        SseEmitter emitter = new SseEmitter(eventTimeoutMillis);
+        job.emitters.add(emitter);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(error -> job.emitters.remove(emitter));
+
+        // 구독 즉시 현재 상태를 보내고, 이미 끝난 작업이면 바로 종료
+        send(emitter, job);
+        if (job.isFinished()) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * 완료된 작업의 결과를 반환하고 작업을 제거한다. 아직 끝나지 않았으면 null.
+     * 동시에 여러 번 요청되면 작업을 제거한 한 요청만 결과를 받고, 나머지는 없는 작업으로 처리한다.
+     */
+    public Object takeResult(String jobId) {
+        Job job = getJob(jobId);
+        if (!job.isFinished()) {
+            return null;
+        }
+        if (!jobs.remove(jobId, job)) {
+            throw new IllegalArgumentException("존재하지 않는 작업: " + jobId);
+        }
+        return job.result != null ? job.result : job.toStatus();
+    }
+
+    public DicomJobStatus cancel(String jobId) {
+        Job job = getJob(jobId);
+        if (job.status.compareAndSet("QUEUED", "CANCELLED")) {
+            // 아직 시작 전이면 run()이 호출되지 않으므로 입력 파일을 여기서 지운다
+            job.finish("CANCELLED", null, "사용자 요청으로 취소됨");
+            if (job.future != null) {
+                job.future.cancel(false);
+            }
+            job.deleteInputFile();
+        } else if (!job.isFinished()) {
+            // 실행 중이면 먼저 상태를 확정한 뒤 인터럽트한다. 입력 파일은 run()의 finally에서 지운다
+            job.finish("CANCELLED", null, "사용자 요청으로 취소됨");
+            if (job.future != null) {
+                job.future.cancel(true);
+            }
+        }
+        return job.toStatus();
+    }
+
+    private DicomJobStatus submit(Job job, Callable<Object> work) {
+        jobs.put(job.id, job);
+        ThreadPoolExecutor executor = job.totalBytes >= largeJobThresholdBytes ? largeJobExecutor : smallJobExecutor;
+        try {
+            job.future = executor.submit(() -> run(job, work));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            job.deleteInputFile();
+            throw e;
+        }
+        log.info("{} 작업 등록: {} ({} bytes)", job.type, job.id, job.totalBytes);
+        return job.toStatus();
+    }
+
+    private void run(Job job, Callable<Object> work) {
+        try {
+            if (!job.status.compareAndSet("QUEUED", "RUNNING")) {
+                return;
+            }
+            job.publish(true);
+            Object result = work.call();
+            String errorMessage = errorMessageOf(result);
+            job.finish(errorMessage == null ? "SUCCESS" : "ERROR", result, errorMessage);
+            log.info("{} 작업 완료: {}, 상태: {}", job.type, job.id, job.status.get());
+        } catch (Exception e) {
+            log.error("{} 작업 중 오류 발생: {}", job.type, e.getMessage(), e);
+            job.finish("ERROR", null, "작업 실패: " + e.getMessage());
+        } finally {
+            job.deleteInputFile();
+        }
+    }
+
+    private String errorMessageOf(Object result) {
+        if (result instanceof DicomAnalysisResponse response && !"SUCCESS".equals(response.getAnalysisStatus())) {
+            return response.getErrorMessage();
+        }
+        if (result instanceof DicomGenerationResponse response && !"SUCCESS".equals(response.getGenerationStatus())) {
+            return response.getErrorMessage();
+        }
+        return null;
+    }
+
+    private void removeExpiredJobs() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && now - job.finishedAt > resultTtlMillis;
+            if (expired) {
+                log.info("조회되지 않은 작업 결과 정리: {}", job.id);
+            }
+            return expired;
+        });
+    }
+
+    private Job getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("존재하지 않는 작업: " + jobId);
+        }
+        return job;
+    }
+
+    private void send(SseEmitter emitter, Job job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(job.isFinished() ? "complete" : "progress")
+                    .data(job.toStatus()));
+        } catch (Exception e) {
+            job.emitters.remove(emitter);
+        }
+    }
+
+    private static ThreadPoolExecutor newExecutor(String name, int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private class Job implements DicomProgressListener {
+        private final String id = UUID.randomUUID().toString();
+        private final String type;
+        private final long totalBytes;
+        private final long createdAt = System.currentTimeMillis();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        private final AtomicReference<String> status = new AtomicReference<>("QUEUED");
+        private volatile long bytesProcessed;
+        private volatile int tagsProcessed;
+        private volatile Long finishedAt;
+        private volatile Object result;
+        private volatile String errorMessage;
+        private volatile long lastPublishedAt;
+        private volatile Future<?> future;
+        private volatile Path inputFile;
+
+        private Job(String type, long totalBytes) {
+            this.type = type;
+            this.totalBytes = totalBytes;
+        }
+
+        @Override
+        public void onBytesRead(long bytesRead) {
+            bytesProcessed = bytesRead;
+            publish(false);
+        }
+
+        @Override
+        public void onTagsProcessed(int count) {
+            tagsProcessed = count;
+            publish(false);
+        }
+
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private synchronized void finish(String finalStatus, Object finalResult, String finalErrorMessage) {
+            if (isFinished()) {
+                return;
+            }
+            status.set(finalStatus);
+            result = finalResult;
+            errorMessage = finalErrorMessage;
+            finishedAt = System.currentTimeMillis();
+            publish(true);
+            emitters.forEach(SseEmitter::complete);
+        }
+
+        // 진행 이벤트는 일정 간격으로만 전송
+        private void publish(boolean force) {
+            long now = System.currentTimeMillis();
+            if (emitters.isEmpty() || (!force && now - lastPublishedAt < PUBLISH_INTERVAL_MILLIS)) {
+                return;
+            }
+            lastPublishedAt = now;
+            emitters.forEach(emitter -> send(emitter, this));
+        }
+
+        private void deleteInputFile() {
+            if (inputFile == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(inputFile);
+            } catch (IOException e) {
+                log.warn("작업 입력 파일 삭제 실패: {}", inputFile);
+            }
+        }
+
+        private DicomJobStatus toStatus() {
+            return DicomJobStatus.builder()
+                    .jobId(id)
+                    .jobType(type)
+                    .jobStatus(status.get())
+                    .totalBytes(totalBytes)
+                    .bytesProcessed(bytesProcessed)
+                    .tagsProcessed(tagsProcessed)
+                    .createdAt(createdAt)
+                    .finishedAt(finishedAt)
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+    }
+}
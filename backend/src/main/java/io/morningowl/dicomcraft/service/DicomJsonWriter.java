@@ -0,0 +1,160 @@
+package io.morningowl.dicomcraft.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.VR;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Attributes를 DICOM JSON 모델(PS3.18 F.2)로 쓰는 변환기. Jackson 스트리밍 API로 바로 출력하므로 중간 트리를 만들지 않는다.
+ */
+public final class DicomJsonWriter {
+
+    private DicomJsonWriter() {
+    }
+
+    public static void writeDataset(JsonGenerator generator, Attributes attributes) throws IOException {
+        generator.writeStartObject();
+        writeElements(generator, attributes);
+        generator.writeEndObject();
+    }
+
+    /**
+     * 현재 열려 있는 JSON 객체 안에 요소들을 쓴다. 호출한 쪽에서 BulkDataURI 같은 요소를 덧붙일 수 있다.
+     */
+    public static void writeElements(JsonGenerator generator, Attributes attributes) throws IOException {
+        for (int tag : attributes.tags()) {
+            VR vr = attributes.getVR(tag);
+            generator.writeObjectFieldStart(String.format("%08X", tag));
+            generator.writeStringField("vr", vr.name());
+            writeValue(generator, attributes, tag, vr);
+            generator.writeEndObject();
+        }
+    }
+
+    public static void writeBulkDataElement(JsonGenerator generator, int tag, VR vr, String bulkDataUri) throws IOException {
+        generator.writeObjectFieldStart(String.format("%08X", tag));
+        generator.writeStringField("vr", vr.name());
+        generator.writeStringField("BulkDataURI", bulkDataUri);
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator generator, Attributes attributes, int tag, VR vr) throws IOException {
+        switch (vr) {
+            case SQ:
+                Sequence sequence = attributes.getSequence(tag);
+                if (sequence != null && !sequence.isEmpty()) {
+                    generator.writeArrayFieldStart("Value");
+                    for (Attributes item : sequence) {
+                        writeDataset(generator, item);
+                    }
+                    generator.writeEndArray();
+                }
+                return;
+            case OB:
+            case OD:
+            case OF:
+            case OL:
+            case OV:
+            case OW:
+            case UN:
+                byte[] bytes = attributes.getBytes(tag);
+                if (bytes != null && bytes.length > 0) {
+                    generator.writeStringField("InlineBinary", Base64.getEncoder().encodeToString(bytes));
+                }
+                return;
+            default:
+                break;
+        }
+
+        String[] strings = attributes.getStrings(tag);
+        if (strings == null || strings.length == 0) {
+            return;
+        }
+        generator.writeArrayFieldStart("Value");
+        switch (vr) {
+            case FL:
+            case FD:
+                for (double value : attributes.getDoubles(tag)) {
+                    generator.writeNumber(value);
+                }
+                break;
+            case SL:
+            case SS:
+            case US:
+                for (int value : attributes.getInts(tag)) {
+                    generator.writeNumber(value);
+                }
+                break;
+            case UL:
+            case SV:
+            case UV:
+                for (long value : attributes.getLongs(tag)) {
+                    generator.writeNumber(value);
+                }
+                break;
+            case AT:
+                for (int value : attributes.getInts(tag)) {
+                    generator.writeString(String.format("%08X", value));
+                }
+                break;
+            case DS:
+            case IS:
+                for (String value : strings) {
+                    writeNumberString(generator, value);
+                }
+                break;
+            case PN:
+                for (String value : strings) {
+                    writePersonName(generator, value);
+                }
+                break;
+            default:
+                for (String value : strings) {
+                    if (value == null || value.isEmpty()) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeString(value);
+                    }
+                }
+        }
+        generator.writeEndArray();
+    }
+
+    // DS/IS는 숫자로 쓰되, 형식이 잘못된 값은 버리지 않고 문자열로 남긴다
+    private static void writeNumberString(JsonGenerator generator, String value) throws IOException {
+        if (value == null || value.isBlank()) {
+            generator.writeNull();
+            return;
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.indexOf('.') < 0 && trimmed.indexOf('e') < 0 && trimmed.indexOf('E') < 0) {
+                generator.writeNumber(Long.parseLong(trimmed.startsWith("+") ? trimmed.substring(1) : trimmed));
+            } else {
+                generator.writeNumber(Double.parseDouble(trimmed));
+            }
+        } catch (NumberFormatException e) {
+            generator.writeString(trimmed);
+        }
+    }
+
+    private static void writePersonName(JsonGenerator generator, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            generator.writeNull();
+            return;
+        }
+        String[] groups = value.split("=", -1);
+        String[] names = {"Alphabetic", "Ideographic", "Phonetic"};
+        generator.writeStartObject();
+        for (int i = 0; i < groups.length && i < names.length; i++) {
+            if (!groups[i].isEmpty()) {
+                generator.writeStringField(names[i], groups[i]);
+            }
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,311 @@
+package io.morningowl.dicomcraft.service;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 중첩 시퀀스를 따라 내려가는 태그 경로 질의. 태그 트리를 펼치지 않고 Attributes에서 바로 평가한다.
+ * <pre>
+ * ContentSequence.ConceptNameCodeSequence.CodeValue          모든 항목 (선택자를 생략하면 [*])
+ * ContentSequence[2].TextValue                               두 번째 항목 (1부터, diff 경로와 같음)
+ * ContentSequence[ValueType=NUM].MeasuredValueSequence.NumericValue
+ * ContentSequence[ConceptNameCodeSequence.CodeValue='121071'].TextValue
+ * ContentSequence[!ConceptCodeSequence].ValueType             하위 경로가 없는 항목
+ * **.MeasuredValueSequence.NumericValue                      모든 깊이의 항목에서
+ * (0040,A730)[*].0040A043.(0008,0100)                        태그 번호도 사용 가능
+ * </pre>
+ * 술어의 값 비교는 다중 값 중 하나라도 같으면 참이다. 마지막 단계에는 선택자를 쓸 수 없다.
+ */
+public final class DicomPathQuery {
+
+    private final String expression;
+    private final List<Step> steps;
+
+    private DicomPathQuery(String expression, List<Step> steps) {
+        this.expression = expression;
+        this.steps = steps;
+    }
+
+    /**
+     * @throws IllegalArgumentException 문법 오류나 알 수 없는 태그
+     */
+    public static DicomPathQuery compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("경로가 지정되지 않았습니다.");
+        }
+        Parser parser = new Parser(expression.trim());
+        List<Step> steps = parser.parsePath();
+        if (!parser.atEnd()) {
+            throw parser.error("예상하지 못한 문자 '" + parser.peek() + "'");
+        }
+        return new DicomPathQuery(expression.trim(), validate(steps, expression));
+    }
+
+    private static List<Step> validate(List<Step> steps, String expression) {
+        Step last = steps.get(steps.size() - 1);
+        if (last.descendants) {
+            throw new IllegalArgumentException("경로는 태그로 끝나야 합니다: " + expression);
+        }
+        if (last.selector != null) {
+            throw new IllegalArgumentException("마지막 단계에는 항목 선택자를 쓸 수 없습니다: " + expression);
+        }
+        return steps;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * 경로 끝에 있는 요소를 데이터셋 순서대로 돌려준다.
+     */
+    public List<Match> evaluate(Attributes attributes) {
+        return evaluate(attributes, Integer.MAX_VALUE);
+    }
+
+    public List<Match> evaluate(Attributes attributes, int maxMatches) {
+        List<Match> matches = new ArrayList<>();
+        evaluate(attributes, 0, "", matches, maxMatches);
+        return matches;
+    }
+
+    private void evaluate(Attributes attributes, int stepIndex, String prefix, List<Match> matches, int maxMatches) {
+        if (matches.size() >= maxMatches) {
+            return;
+        }
+        Step step = steps.get(stepIndex);
+        if (step.descendants) {
+            descend(attributes, stepIndex + 1, prefix, matches, maxMatches);
+            return;
+        }
+        if (stepIndex == steps.size() - 1) {
+            if (attributes.contains(step.tag)) {
+                matches.add(new Match(prefix + tagId(step.tag), attributes, step.tag));
+            }
+            return;
+        }
+
+        Sequence sequence = attributes.getSequence(step.tag);
+        if (sequence == null) {
+            return;
+        }
+        String path = prefix + tagId(step.tag);
+        for (int i = 0; i < sequence.size(); i++) {
+            Attributes item = sequence.get(i);
+            if (step.selector == null || step.selector.test(item, i)) {
+                evaluate(item, stepIndex + 1, path + "[" + (i + 1) + "].", matches, maxMatches);
+            }
+        }
+    }
+
+    // "**": 현재 데이터셋과 그 아래 모든 시퀀스 항목에서 나머지 경로를 평가한다
+    private void descend(Attributes attributes, int nextStep, String prefix, List<Match> matches, int maxMatches) {
+        evaluate(attributes, nextStep, prefix, matches, maxMatches);
+        for (int tag : attributes.tags()) {
+            Sequence sequence = attributes.getSequence(tag);
+            if (sequence == null) {
+                continue;
+            }
+            String path = prefix + tagId(tag);
+            for (int i = 0; i < sequence.size() && matches.size() < maxMatches; i++) {
+                descend(sequence.get(i), nextStep, path + "[" + (i + 1) + "].", matches, maxMatches);
+            }
+        }
+    }
+
+    private boolean anyValueEquals(Attributes attributes, String expected) {
+        for (Match match : evaluate(attributes)) {
+            String[] values = match.getAttributes().getStrings(match.getTag());
+            if (values == null) {
+                continue;
+            }
+            for (String value : values) {
+                if (value != null && value.trim().equals(expected)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static String tagId(int tag) {
+        return String.format("(%04X,%04X)", (tag >>> 16) & 0xFFFF, tag & 0xFFFF);
+    }
+
+    /**
+     * 경로에 맞은 요소. attributes는 요소가 들어 있는 (중첩) 데이터셋이다.
+     */
+    public static final class Match {
+        private final String path;
+        private final Attributes attributes;
+        private final int tag;
+
+        private Match(String path, Attributes attributes, int tag) {
+            this.path = path;
+            this.attributes = attributes;
+            this.tag = tag;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public Attributes getAttributes() {
+            return attributes;
+        }
+
+        public int getTag() {
+            return tag;
+        }
+    }
+
+    private interface Selector {
+        boolean test(Attributes item, int index);
+    }
+
+    private static final class Step {
+        private final int tag;
+        private final boolean descendants;
+        private final Selector selector;
+
+        private Step(int tag, boolean descendants, Selector selector) {
+            this.tag = tag;
+            this.descendants = descendants;
+            this.selector = selector;
+        }
+    }
+
+    private static final class Parser {
+        private final String input;
+        private int position;
+
+        private Parser(String input) {
+            this.input = input;
+        }
+
+        private List<Step> parsePath() {
+            List<Step> steps = new ArrayList<>();
+            do {
+                steps.add(parseStep());
+            } while (consume('.'));
+            return steps;
+        }
+
+        private Step parseStep() {
+            if (input.startsWith("**", position)) {
+                position += 2;
+                return new Step(0, true, null);
+            }
+            int tag = parseTag();
+            Selector selector = null;
+            if (consume('[')) {
+                selector = parseSelector();
+                expect(']');
+            }
+            return new Step(tag, false, selector);
+        }
+
+        private int parseTag() {
+            int start = position;
+            if (consume('(')) {
+                while (!atEnd() && peek() != ')') {
+                    position++;
+                }
+                expect(')');
+            } else {
+                while (!atEnd() && Character.isLetterOrDigit(peek())) {
+                    position++;
+                }
+            }
+            if (start == position) {
+                throw error("태그가 필요합니다");
+            }
+            return DicomSearchService.resolveTag(input.substring(start, position));
+        }
+
+        private Selector parseSelector() {
+            skipSpaces();
+            if (consume('*')) {
+                skipSpaces();
+                return null;
+            }
+            if (!atEnd() && Character.isDigit(peek())) {
+                int start = position;
+                while (!atEnd() && Character.isDigit(peek())) {
+                    position++;
+                }
+                int index = Integer.parseInt(input.substring(start, position)) - 1;
+                if (index < 0) {
+                    throw error("항목 번호는 1부터 시작합니다");
+                }
+                skipSpaces();
+                return (item, i) -> i == index;
+            }
+
+            boolean negate = consume('!');
+            DicomPathQuery relative = new DicomPathQuery(input, validate(parsePath(), input));
+            skipSpaces();
+            if (negate || !consume('=')) {
+                return negate
+                        ? (item, i) -> relative.evaluate(item, 1).isEmpty()
+                        : (item, i) -> !relative.evaluate(item, 1).isEmpty();
+            }
+            String expected = parseValue();
+            return (item, i) -> relative.anyValueEquals(item, expected);
+        }
+
+        private String parseValue() {
+            skipSpaces();
+            if (consume('\'')) {
+                int start = position;
+                while (!atEnd() && peek() != '\'') {
+                    position++;
+                }
+                String value = input.substring(start, position);
+                expect('\'');
+                skipSpaces();
+                return value;
+            }
+            int start = position;
+            while (!atEnd() && peek() != ']') {
+                position++;
+            }
+            return input.substring(start, position).trim();
+        }
+
+        private void skipSpaces() {
+            while (!atEnd() && peek() == ' ') {
+                position++;
+            }
+        }
+
+        private boolean consume(char c) {
+            if (!atEnd() && peek() == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("'" + c + "'가 필요합니다");
+            }
+        }
+
+        private char peek() {
+            return input.charAt(position);
+        }
+
+        private boolean atEnd() {
+            return position >= input.length();
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " (위치 " + position + "): " + input);
+        }
+    }
+}
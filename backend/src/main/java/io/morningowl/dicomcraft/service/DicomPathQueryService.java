@@ -0,0 +1,127 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomPathMatch;
+import io.morningowl.dicomcraft.dto.DicomPathQueryResponse;
+import io.morningowl.dicomcraft.dto.DicomPathQueryResult;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.ElementDictionary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 태그 경로 질의(DicomPathQuery)를 파일에 적용해 맞은 값만 돌려준다.
+ * 헤더는 픽셀 데이터 직전까지만 읽고 DicomTag 트리를 만들지 않는다.
+ */
+@Slf4j
+@Service
+public class DicomPathQueryService {
+
+    private final DicomAnalysisService dicomAnalysisService;
+    private final int maxMatches;
+
+    public DicomPathQueryService(DicomAnalysisService dicomAnalysisService,
+                                 @Value("${dicomcraft.query.max-matches:10000}") int maxMatches) {
+        this.dicomAnalysisService = dicomAnalysisService;
+        this.maxMatches = maxMatches;
+    }
+
+    public DicomPathQueryResponse query(MultipartFile file, List<String> paths) {
+        try (InputStream in = file.getInputStream()) {
+            return query(file.getOriginalFilename(), in, paths);
+        } catch (IOException e) {
+            return error(file.getOriginalFilename(), "파일 읽기 실패: " + e.getMessage());
+        }
+    }
+
+    public DicomPathQueryResponse query(Path path, String fileName, List<String> paths) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return query(fileName, in, paths);
+        } catch (IOException e) {
+            return error(fileName, "파일 읽기 실패: " + e.getMessage());
+        }
+    }
+
+    private DicomPathQueryResponse query(String fileName, InputStream in, List<String> paths) {
+        long startTime = System.currentTimeMillis();
+        List<DicomPathQuery> queries;
+        try {
+            queries = compile(paths);
+        } catch (IllegalArgumentException e) {
+            return error(fileName, e.getMessage());
+        }
+
+        Attributes attributes;
+        try {
+            attributes = dicomAnalysisService.readHeader(new BufferedInputStream(in, 64 * 1024));
+        } catch (IOException e) {
+            log.error("경로 질의 대상 파일 파싱 실패: {}", e.getMessage());
+            return error(fileName, "DICOM 파일 파싱 실패: " + e.getMessage());
+        }
+
+        return DicomPathQueryResponse.builder()
+                .fileName(fileName)
+                .results(evaluate(attributes, queries))
+                .tookMillis(System.currentTimeMillis() - startTime)
+                .queryStatus("SUCCESS")
+                .build();
+    }
+
+    /**
+     * @throws IllegalArgumentException 경로가 없거나 문법이 틀린 경우
+     */
+    public static List<DicomPathQuery> compile(List<String> paths) {
+        if (paths == null || paths.isEmpty()) {
+            throw new IllegalArgumentException("질의할 경로가 없습니다.");
+        }
+        List<DicomPathQuery> queries = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            queries.add(DicomPathQuery.compile(path));
+        }
+        return queries;
+    }
+
+    public List<DicomPathQueryResult> evaluate(Attributes attributes, List<DicomPathQuery> queries) {
+        List<DicomPathQueryResult> results = new ArrayList<>(queries.size());
+        for (DicomPathQuery query : queries) {
+            // 한 개 더 찾아서 잘렸는지 판단한다
+            List<DicomPathQuery.Match> matches = query.evaluate(attributes, maxMatches + 1);
+            boolean truncated = matches.size() > maxMatches;
+            List<DicomPathMatch> values = new ArrayList<>(Math.min(matches.size(), maxMatches));
+            for (DicomPathQuery.Match match : matches.subList(0, Math.min(matches.size(), maxMatches))) {
+                Attributes item = match.getAttributes();
+                int tag = match.getTag();
+                values.add(DicomPathMatch.builder()
+                        .path(match.getPath())
+                        .tag(DicomPathQuery.tagId(tag))
+                        .name(ElementDictionary.keywordOf(tag, item.getPrivateCreator(tag)))
+                        .vr(item.getVR(tag).name())
+                        .value(dicomAnalysisService.formatTagValue(item, tag))
+                        .build());
+            }
+            results.add(DicomPathQueryResult.builder()
+                    .query(query.getExpression())
+                    .matches(values)
+                    .truncated(truncated)
+                    .build());
+        }
+        return results;
+    }
+
+    private DicomPathQueryResponse error(String fileName, String message) {
+        return DicomPathQueryResponse.builder()
+                .fileName(fileName)
+                .queryStatus("ERROR")
+                .errorMessage(message)
+                .build();
+    }
+}
@@ -0,0 +1,638 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomPixelOperation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * 자르기/리샘플/회전/뒤집기/비트 깊이 변경을 서버에서 적용하는 픽셀 변환 파이프라인.
+ * 기하 변환은 출력 좌표 -> 원본 좌표의 아핀 역변환 하나로 합성되어 프레임당 한 번만 샘플링하며,
+ * 멀티프레임은 프레임 단위로 병렬 처리한다. Rows/Columns, PixelSpacing, ImagePositionPatient 등
+ * 기하/픽셀 모듈 태그도 같은 변환으로 갱신한다.
+ */
+@Slf4j
+@Service
+public class DicomPixelTransformService {
+
+    private final DicomHeaderReader headerReader;
+    private final Path workDirectory;
+    private final ForkJoinPool transformPool;
+    private final AtomicLong uidSequence = new AtomicLong();
+
+    public DicomPixelTransformService(DicomHeaderReader headerReader,
+                                      @Value("${dicomcraft.transform.work-dir:${java.io.tmpdir}/dicomcraft/transform}") String workDirectory,
+                                      @Value("${dicomcraft.transform.threads:0}") int threads) throws IOException {
+        this.headerReader = headerReader;
+        this.workDirectory = Files.createDirectories(Paths.get(workDirectory));
+        this.transformPool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transformPool.shutdownNow();
+    }
+
+    public DicomGenerationResponse transform(MultipartFile file, List<DicomPixelOperation> operations) {
+        String fileName = transformedFileName(file.getOriginalFilename());
+        Path inputFile = workDirectory.resolve(UUID.randomUUID() + ".dcm");
+        try {
+            file.transferTo(inputFile);
+            byte[] dicomBytes = transform(inputFile, operations);
+            return DicomGenerationResponse.builder()
+                    .fileName(fileName)
+                    .generatedDicom(dicomBytes)
+                    .generationStatus("SUCCESS")
+                    .fileSize(dicomBytes.length)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return DicomGenerationResponse.builder()
+                    .fileName(fileName)
+                    .generationStatus("ERROR")
+                    .errorMessage(e.getMessage())
+                    .build();
+        } catch (Exception e) {
+            log.error("픽셀 변환 중 오류 발생: {}", e.getMessage(), e);
+            return DicomGenerationResponse.builder()
+                    .fileName(fileName)
+                    .generationStatus("ERROR")
+                    .errorMessage("픽셀 변환 실패: " + e.getMessage())
+                    .build();
+        } finally {
+            try {
+                Files.deleteIfExists(inputFile);
+            } catch (IOException e) {
+                log.warn("변환 입력 파일 삭제 실패: {}", inputFile);
+            }
+        }
+    }
+
+    byte[] transform(Path inputFile, List<DicomPixelOperation> operations) throws IOException {
+        DicomHeader header = headerReader.read(inputFile);
+        Attributes attributes = header.getAttributes();
+        PixelLayout source = PixelLayout.of(attributes);
+        if (!header.isOffsetAddressable() || header.isBigEndian()) {
+            throw new IllegalArgumentException("압축되지 않은 Little Endian 픽셀 데이터만 변환할 수 있습니다.");
+        }
+        if (!source.isSupported()) {
+            throw new IllegalArgumentException("8/16비트 할당 픽셀 데이터만 변환할 수 있습니다.");
+        }
+        if (source.getSamplesPerPixel() == 3 && !"RGB".equals(source.getPhotometricInterpretation())
+                && !"YBR_FULL".equals(source.getPhotometricInterpretation())) {
+            throw new IllegalArgumentException("색상 이미지는 RGB/YBR_FULL만 변환할 수 있습니다: " + source.getPhotometricInterpretation());
+        }
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("변환 작업이 비어있습니다.");
+        }
+
+        boolean palette = "PALETTE COLOR".equals(source.getPhotometricInterpretation());
+        if (palette) {
+            checkPaletteOperations(operations);
+        }
+        TransformPlan plan = TransformPlan.compile(operations, source);
+        if (palette) {
+            // 팔레트 인덱스는 보간하면 엉뚱한 색이 된다
+            plan.linear = false;
+        }
+        if (plan.shift > 0 && attributes.containsValue(Tag.ModalityLUTSequence)) {
+            // LUT 입력 범위가 저장 값 기준이라 기울기로 보정할 수 없다
+            throw new IllegalArgumentException("Modality LUT Sequence가 있는 이미지는 비트 깊이를 바꿀 수 없습니다.");
+        }
+        PixelLayout target = PixelLayout.builder()
+                .rows(plan.height)
+                .columns(plan.width)
+                .samplesPerPixel(source.getSamplesPerPixel())
+                .bitsAllocated(plan.bitsStored <= 8 ? 8 : 16)
+                .bitsStored(plan.bitsStored)
+                .pixelRepresentation(source.getPixelRepresentation())
+                .planarConfiguration(source.getPlanarConfiguration())
+                .numberOfFrames(source.getNumberOfFrames())
+                .photometricInterpretation(source.getPhotometricInterpretation())
+                .build();
+
+        long outputLength = target.frameLength() * target.getNumberOfFrames();
+        if (outputLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("변환 결과가 너무 큽니다: " + outputLength + " bytes");
+        }
+        byte[] output = new byte[(int) (outputLength + (outputLength & 1))];
+
+        long startedAt = System.currentTimeMillis();
+        runParallel(() -> IntStream.range(0, source.getNumberOfFrames()).parallel().forEach(frame -> {
+            try {
+                byte[] frameBytes = readFrame(header, source, frame);
+                transformFrame(frameBytes, source, output, (int) (frame * target.frameLength()), target, plan);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+
+        updatePixelModule(attributes, source, target, plan);
+        updateGeometry(attributes, plan);
+        updateIdentity(header.getFileMetaInformation(), attributes, operations);
+        attributes.setBytes(Tag.PixelData, target.getBitsAllocated() == 8 ? VR.OB : VR.OW, output);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(output.length + 64 * 1024);
+        try (DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+        log.info("픽셀 변환 완료: {}x{} -> {}x{}, {} 프레임, {}ms", source.getColumns(), source.getRows(),
+                target.getColumns(), target.getRows(), source.getNumberOfFrames(), System.currentTimeMillis() - startedAt);
+        return out.toByteArray();
+    }
+
+    /**
+     * 팔레트 인덱스는 값이 바뀌면 다른 색을 가리키므로 위치만 옮기는 작업만 허용한다.
+     */
+    private static void checkPaletteOperations(List<DicomPixelOperation> operations) {
+        for (DicomPixelOperation operation : operations) {
+            String type = operation.getType() == null ? "" : operation.getType().toUpperCase();
+            if ("BIT_DEPTH".equals(type)) {
+                throw new IllegalArgumentException("PALETTE COLOR 이미지는 비트 깊이를 바꿀 수 없습니다.");
+            }
+            if ("RESAMPLE".equals(type) && "LINEAR".equalsIgnoreCase(operation.getInterpolation())) {
+                throw new IllegalArgumentException("PALETTE COLOR 이미지는 NEAREST 보간으로만 리샘플할 수 있습니다.");
+            }
+        }
+    }
+
+    private byte[] readFrame(DicomHeader header, PixelLayout layout, int frame) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) layout.frameLength());
+        try (FileChannel channel = FileChannel.open(header.getPath(), StandardOpenOption.READ)) {
+            long position = header.getPixelDataOffset() + frame * layout.frameLength();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("픽셀 데이터가 예상보다 짧습니다: 프레임 " + (frame + 1));
+                }
+                position += read;
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 출력 픽셀마다 합성된 역변환으로 원본 좌표를 구해 샘플링하고, 비트 깊이 변환까지 한 번에 적용한다.
+     */
+    private void transformFrame(byte[] input, PixelLayout source, byte[] output, int outputOffset,
+                                PixelLayout target, TransformPlan plan) {
+        int sourceWidth = source.getColumns();
+        int sourceHeight = source.getRows();
+        int samples = source.getSamplesPerPixel();
+        int targetBytesPerSample = target.bytesPerSample();
+        int outputBase = outputOffset / targetBytesPerSample;
+        double[] m = plan.inverse;
+
+        for (int y = 0; y < plan.height; y++) {
+            for (int x = 0; x < plan.width; x++) {
+                // 리샘플 가장자리에서는 반 픽셀 정도 밖을 가리킬 수 있으므로 경계로 붙인다
+                double sx = clamp(m[0] * x + m[1] * y + m[2], sourceWidth - 1);
+                double sy = clamp(m[3] * x + m[4] * y + m[5], sourceHeight - 1);
+                for (int sample = 0; sample < samples; sample++) {
+                    int value = plan.linear
+                            ? sampleLinear(input, source, sx, sy, sample)
+                            : source.readStoredValue(input, sampleIndex(source, sourceWidth, sourceHeight,
+                                    (int) Math.round(sx), (int) Math.round(sy), sample));
+                    value = plan.shift > 0 ? value >> plan.shift : value;
+                    target.writeSample(output, outputBase + sampleIndex(target, plan.width, plan.height, x, y, sample), value);
+                }
+            }
+        }
+    }
+
+    private int sampleLinear(byte[] input, PixelLayout layout, double sx, double sy, int sample) {
+        int width = layout.getColumns();
+        int height = layout.getRows();
+        int x0 = (int) sx;
+        int y0 = (int) sy;
+        int x1 = Math.min(x0 + 1, width - 1);
+        int y1 = Math.min(y0 + 1, height - 1);
+        double fx = sx - x0;
+        double fy = sy - y0;
+        double top = lerp(layout.readStoredValue(input, sampleIndex(layout, width, height, x0, y0, sample)),
+                layout.readStoredValue(input, sampleIndex(layout, width, height, x1, y0, sample)), fx);
+        double bottom = lerp(layout.readStoredValue(input, sampleIndex(layout, width, height, x0, y1, sample)),
+                layout.readStoredValue(input, sampleIndex(layout, width, height, x1, y1, sample)), fx);
+        return (int) Math.round(lerp(top, bottom, fy));
+    }
+
+    // 색상 픽셀은 PlanarConfiguration에 따라 픽셀 단위(RGBRGB) 또는 평면 단위(RR..GG..BB..)로 놓인다
+    private static int sampleIndex(PixelLayout layout, int width, int height, int x, int y, int sample) {
+        int pixel = y * width + x;
+        if (layout.getSamplesPerPixel() == 1) {
+            return pixel;
+        }
+        return layout.getPlanarConfiguration() == 1
+                ? sample * width * height + pixel
+                : pixel * layout.getSamplesPerPixel() + sample;
+    }
+
+    private void updatePixelModule(Attributes attributes, PixelLayout source, PixelLayout target, TransformPlan plan) {
+        attributes.setInt(Tag.Rows, VR.US, target.getRows());
+        attributes.setInt(Tag.Columns, VR.US, target.getColumns());
+        attributes.setInt(Tag.BitsAllocated, VR.US, target.getBitsAllocated());
+        attributes.setInt(Tag.BitsStored, VR.US, target.getBitsStored());
+        attributes.setInt(Tag.HighBit, VR.US, target.getBitsStored() - 1);
+        // 최소/최대 픽셀 값은 자르기/리샘플 후에 더 이상 맞지 않는다
+        attributes.remove(Tag.SmallestImagePixelValue);
+        attributes.remove(Tag.LargestImagePixelValue);
+        attributes.remove(Tag.IconImageSequence);
+
+        if (plan.shift > 0) {
+            // 저장 값이 2^shift 배 작아졌으므로 모달리티 값이 유지되도록 기울기를 키운다.
+            // 윈도우는 모달리티 값 기준이므로 그대로 둔다
+            double factor = 1 << plan.shift;
+            if (attributes.containsValue(Tag.RescaleSlope)) {
+                attributes.setDouble(Tag.RescaleSlope, VR.DS, attributes.getDouble(Tag.RescaleSlope, 1.0) * factor);
+            } else {
+                // Modality LUT 모듈을 새로 추가한다 (Rescale Type은 필수, 단위를 모르는 값은 US)
+                attributes.setDouble(Tag.RescaleSlope, VR.DS, factor);
+                attributes.setDouble(Tag.RescaleIntercept, VR.DS, attributes.getDouble(Tag.RescaleIntercept, 0.0));
+                if (!attributes.containsValue(Tag.RescaleType)) {
+                    attributes.setString(Tag.RescaleType, VR.LO, "US");
+                }
+            }
+            if (attributes.containsValue(Tag.PixelPaddingValue)) {
+                VR vr = source.isSigned() ? VR.SS : VR.US;
+                attributes.setInt(Tag.PixelPaddingValue, vr, attributes.getInt(Tag.PixelPaddingValue, 0) >> plan.shift);
+            }
+        }
+    }
+
+    /**
+     * 최상위 태그와 Enhanced 멀티프레임의 기능 그룹(Shared/Per-frame) 안의 기하 태그를 갱신한다.
+     * 새 값은 모두 원래 값에서 계산한 뒤 한꺼번에 반영한다.
+     */
+    private void updateGeometry(Attributes attributes, TransformPlan plan) {
+        List<Attributes[]> contexts = new ArrayList<>();
+        Sequence perFrame = attributes.getSequence(Tag.PerFrameFunctionalGroupsSequence);
+        if (perFrame != null && !perFrame.isEmpty()) {
+            Sequence shared = attributes.getSequence(Tag.SharedFunctionalGroupsSequence);
+            Attributes sharedItem = shared != null && !shared.isEmpty() ? shared.get(0) : null;
+            for (Attributes frameItem : perFrame) {
+                contexts.add(new Attributes[]{
+                        functionalGroup(frameItem, sharedItem, Tag.PlanePositionSequence),
+                        functionalGroup(frameItem, sharedItem, Tag.PlaneOrientationSequence),
+                        functionalGroup(frameItem, sharedItem, Tag.PixelMeasuresSequence)});
+            }
+        } else {
+            contexts.add(new Attributes[]{attributes, attributes, attributes});
+        }
+
+        Map<Attributes, double[]> positions = new IdentityHashMap<>();
+        Map<Attributes, double[]> orientations = new IdentityHashMap<>();
+        Map<Attributes, double[]> spacings = new IdentityHashMap<>();
+        for (Attributes[] context : contexts) {
+            double[] position = doubles(context[0], Tag.ImagePositionPatient, 3);
+            double[] orientation = doubles(context[1], Tag.ImageOrientationPatient, 6);
+            double[] spacing = doubles(context[2], Tag.PixelSpacing, 2);
+            double[] effectiveSpacing = spacing != null ? spacing : new double[]{1, 1};
+            if (spacing != null) {
+                spacings.putIfAbsent(context[2], plan.transformSpacing(spacing));
+            }
+            if (orientation != null) {
+                orientations.putIfAbsent(context[1], plan.transformOrientation(orientation, effectiveSpacing));
+                if (position != null) {
+                    positions.putIfAbsent(context[0], plan.transformPosition(position, orientation, effectiveSpacing));
+                }
+            }
+        }
+        positions.forEach((item, value) -> item.setDouble(Tag.ImagePositionPatient, VR.DS, value));
+        orientations.forEach((item, value) -> item.setDouble(Tag.ImageOrientationPatient, VR.DS, value));
+        spacings.forEach((item, value) -> item.setDouble(Tag.PixelSpacing, VR.DS, value));
+
+        double[] imagerSpacing = doubles(attributes, Tag.ImagerPixelSpacing, 2);
+        if (imagerSpacing != null) {
+            attributes.setDouble(Tag.ImagerPixelSpacing, VR.DS, plan.transformSpacing(imagerSpacing));
+        }
+        if (plan.swapsAxes()) {
+            int[] aspect = attributes.getInts(Tag.PixelAspectRatio);
+            if (aspect != null && aspect.length == 2) {
+                attributes.setInt(Tag.PixelAspectRatio, VR.IS, aspect[1], aspect[0]);
+            }
+        }
+        String[] patientOrientation = attributes.getStrings(Tag.PatientOrientation);
+        if (patientOrientation != null && patientOrientation.length == 2) {
+            attributes.setString(Tag.PatientOrientation, VR.CS, plan.transformPatientOrientation(patientOrientation));
+        }
+    }
+
+    // 픽셀이 바뀌었으므로 새 인스턴스로 저장하고 파생 이력을 남긴다
+    private void updateIdentity(Attributes fmi, Attributes attributes, List<DicomPixelOperation> operations) {
+        String sopInstanceUID = "1.2.826.0.1.3680043.8.498." + System.currentTimeMillis() + "." + uidSequence.incrementAndGet();
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, sopInstanceUID);
+        if (!attributes.containsValue(Tag.SOPClassUID) && fmi != null) {
+            attributes.setString(Tag.SOPClassUID, VR.UI, fmi.getString(Tag.MediaStorageSOPClassUID));
+        }
+
+        StringBuilder description = new StringBuilder();
+        String previous = attributes.getString(Tag.DerivationDescription);
+        if (previous != null && !previous.isBlank()) {
+            description.append(previous).append("; ");
+        }
+        description.append("Pixel transform:");
+        for (DicomPixelOperation operation : operations) {
+            description.append(' ').append(operation.getType().toUpperCase());
+        }
+        // ST는 최대 1024자
+        String value = description.length() > 1024 ? description.substring(0, 1024) : description.toString();
+        attributes.setString(Tag.DerivationDescription, VR.ST, value);
+    }
+
+    private static Attributes functionalGroup(Attributes frameItem, Attributes sharedItem, int sequenceTag) {
+        Attributes item = frameItem.getNestedDataset(sequenceTag);
+        if (item == null && sharedItem != null) {
+            item = sharedItem.getNestedDataset(sequenceTag);
+        }
+        return item;
+    }
+
+    private static double[] doubles(Attributes item, int tag, int expectedLength) {
+        if (item == null) {
+            return null;
+        }
+        double[] values = item.getDoubles(tag);
+        return values != null && values.length == expectedLength ? values : null;
+    }
+
+    private void runParallel(Runnable task) throws IOException {
+        try {
+            transformPool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("픽셀 변환이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("픽셀 변환 실패: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static String transformedFileName(String originalFileName) {
+        if (originalFileName == null || originalFileName.isBlank()) {
+            return "transformed.dcm";
+        }
+        String baseName = originalFileName.toLowerCase().endsWith(".dcm")
+                ? originalFileName.substring(0, originalFileName.length() - 4)
+                : originalFileName;
+        return baseName + "_transformed.dcm";
+    }
+
+    private static double clamp(double value, int max) {
+        return value < 0 ? 0 : Math.min(value, max);
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+
+    /**
+     * 연속된 작업을 출력 좌표 -> 원본 좌표 아핀 역변환 하나와 출력 크기, 비트 깊이로 합성한 결과.
+     * inverse = {a, b, c, d, e, f}: 원본 x = a*x + b*y + c, 원본 y = d*x + e*y + f (픽셀 중심 기준)
+     */
+    static class TransformPlan {
+        double[] inverse = {1, 0, 0, 0, 1, 0};
+        int width;
+        int height;
+        int bitsStored;
+        int shift;
+        boolean linear;
+
+        static TransformPlan compile(List<DicomPixelOperation> operations, PixelLayout source) {
+            TransformPlan plan = new TransformPlan();
+            plan.width = source.getColumns();
+            plan.height = source.getRows();
+            plan.bitsStored = source.getBitsStored();
+            for (DicomPixelOperation operation : operations) {
+                String type = operation.getType() == null ? "" : operation.getType().toUpperCase();
+                switch (type) {
+                    case "CROP" -> plan.crop(operation);
+                    case "RESAMPLE" -> plan.resample(operation);
+                    case "ROTATE" -> plan.rotate(operation);
+                    case "FLIP" -> plan.flip(operation);
+                    case "BIT_DEPTH" -> plan.bitDepth(operation);
+                    default -> throw new IllegalArgumentException("지원하지 않는 변환 작업입니다: " + operation.getType());
+                }
+            }
+            plan.shift = Math.max(0, source.getBitsStored() - plan.bitsStored);
+            return plan;
+        }
+
+        private void crop(DicomPixelOperation operation) {
+            int x = valueOf(operation.getX(), 0);
+            int y = valueOf(operation.getY(), 0);
+            int cropWidth = valueOf(operation.getWidth(), width - x);
+            int cropHeight = valueOf(operation.getHeight(), height - y);
+            if (x < 0 || y < 0 || cropWidth <= 0 || cropHeight <= 0 || x + cropWidth > width || y + cropHeight > height) {
+                throw new IllegalArgumentException(String.format(
+                        "자르기 영역이 이미지(%dx%d)를 벗어납니다: x=%d, y=%d, %dx%d", width, height, x, y, cropWidth, cropHeight));
+            }
+            then(1, 0, x, 0, 1, y);
+            width = cropWidth;
+            height = cropHeight;
+        }
+
+        private void resample(DicomPixelOperation operation) {
+            int newWidth;
+            int newHeight;
+            if (operation.getScale() != null) {
+                if (operation.getScale() <= 0) {
+                    throw new IllegalArgumentException("리샘플 배율은 0보다 커야 합니다: " + operation.getScale());
+                }
+                newWidth = (int) Math.max(1, Math.round(width * operation.getScale()));
+                newHeight = (int) Math.max(1, Math.round(height * operation.getScale()));
+            } else {
+                if (operation.getWidth() == null && operation.getHeight() == null) {
+                    throw new IllegalArgumentException("리샘플에는 width/height 또는 scale이 필요합니다.");
+                }
+                // 한쪽만 주면 가로세로 비율을 유지한다
+                newWidth = operation.getWidth() != null ? operation.getWidth()
+                        : (int) Math.max(1, Math.round((double) width * operation.getHeight() / height));
+                newHeight = operation.getHeight() != null ? operation.getHeight()
+                        : (int) Math.max(1, Math.round((double) height * operation.getWidth() / width));
+            }
+            if (newWidth <= 0 || newHeight <= 0 || newWidth > 65535 || newHeight > 65535) {
+                throw new IllegalArgumentException(String.format("리샘플 크기가 올바르지 않습니다: %dx%d", newWidth, newHeight));
+            }
+            String interpolation = operation.getInterpolation();
+            if (interpolation == null || "LINEAR".equalsIgnoreCase(interpolation)) {
+                linear = true;
+            } else if (!"NEAREST".equalsIgnoreCase(interpolation)) {
+                throw new IllegalArgumentException("지원하지 않는 보간 방식입니다: " + interpolation);
+            }
+            double scaleX = (double) width / newWidth;
+            double scaleY = (double) height / newHeight;
+            // 픽셀 중심끼리 대응: 원본 = (출력 + 0.5) * 배율 - 0.5
+            then(scaleX, 0, 0.5 * scaleX - 0.5, 0, scaleY, 0.5 * scaleY - 0.5);
+            width = newWidth;
+            height = newHeight;
+        }
+
+        private void rotate(DicomPixelOperation operation) {
+            int angle = Math.floorMod(valueOf(operation.getAngle(), 90), 360);
+            switch (angle) {
+                case 0 -> {
+                }
+                case 90 -> {
+                    // 원본 (x, y) -> 출력 (h-1-y, x)
+                    then(0, 1, 0, -1, 0, height - 1);
+                    swapSize();
+                }
+                case 180 -> then(-1, 0, width - 1, 0, -1, height - 1);
+                case 270 -> {
+                    // 원본 (x, y) -> 출력 (y, w-1-x)
+                    then(0, -1, width - 1, 1, 0, 0);
+                    swapSize();
+                }
+                default -> throw new IllegalArgumentException("회전은 90도 단위만 지원합니다: " + operation.getAngle());
+            }
+        }
+
+        private void flip(DicomPixelOperation operation) {
+            String axis = operation.getAxis() == null ? "HORIZONTAL" : operation.getAxis().toUpperCase();
+            switch (axis) {
+                case "HORIZONTAL" -> then(-1, 0, width - 1, 0, 1, 0);
+                case "VERTICAL" -> then(1, 0, 0, 0, -1, height - 1);
+                default -> throw new IllegalArgumentException("지원하지 않는 뒤집기 축입니다: " + operation.getAxis());
+            }
+        }
+
+        private void bitDepth(DicomPixelOperation operation) {
+            Integer target = operation.getBitsStored();
+            if (target == null || target < 1 || target > 16) {
+                throw new IllegalArgumentException("BitsStored는 1~16 사이여야 합니다: " + target);
+            }
+            bitsStored = target;
+        }
+
+        // 현재까지의 역변환 T 뒤에 이번 작업의 역변환 M을 붙인다: T'(p) = T(M(p))
+        private void then(double a, double b, double c, double d, double e, double f) {
+            double[] t = inverse;
+            inverse = new double[]{
+                    t[0] * a + t[1] * d, t[0] * b + t[1] * e, t[0] * c + t[1] * f + t[2],
+                    t[3] * a + t[4] * d, t[3] * b + t[4] * e, t[3] * c + t[4] * f + t[5]
+            };
+        }
+
+        private void swapSize() {
+            int previousWidth = width;
+            width = height;
+            height = previousWidth;
+        }
+
+        // 출력 가로 방향이 원본 세로 방향에 더 가까우면 축이 바뀐 것
+        boolean swapsAxes() {
+            return Math.abs(inverse[0]) < Math.abs(inverse[3]);
+        }
+
+        // PixelSpacing = [행 간격, 열 간격]
+        double[] transformSpacing(double[] spacing) {
+            double rowSpacing = spacing[0];
+            double columnSpacing = spacing[1];
+            return new double[]{
+                    Math.hypot(inverse[1] * columnSpacing, inverse[4] * rowSpacing),
+                    Math.hypot(inverse[0] * columnSpacing, inverse[3] * rowSpacing)
+            };
+        }
+
+        double[] transformOrientation(double[] orientation, double[] spacing) {
+            double[] row = direction(inverse[0], inverse[3], orientation, spacing);
+            double[] column = direction(inverse[1], inverse[4], orientation, spacing);
+            return new double[]{row[0], row[1], row[2], column[0], column[1], column[2]};
+        }
+
+        // 출력 (0, 0) 픽셀 중심의 환자 좌표
+        double[] transformPosition(double[] position, double[] orientation, double[] spacing) {
+            double[] result = new double[3];
+            for (int axis = 0; axis < 3; axis++) {
+                result[axis] = position[axis]
+                        + inverse[2] * spacing[1] * orientation[axis]
+                        + inverse[5] * spacing[0] * orientation[3 + axis];
+            }
+            return result;
+        }
+
+        // 90도 단위 회전/뒤집기만 적용된 경우에만 의미가 있다 (리샘플/자르기는 방향을 바꾸지 않는다)
+        String[] transformPatientOrientation(String[] orientation) {
+            return new String[]{
+                    orientationOf(inverse[0], inverse[3], orientation),
+                    orientationOf(inverse[1], inverse[4], orientation)
+            };
+        }
+
+        private static String orientationOf(double alongRow, double alongColumn, String[] orientation) {
+            return Math.abs(alongRow) >= Math.abs(alongColumn)
+                    ? (alongRow >= 0 ? orientation[0] : opposite(orientation[0]))
+                    : (alongColumn >= 0 ? orientation[1] : opposite(orientation[1]));
+        }
+
+        private static String opposite(String direction) {
+            StringBuilder result = new StringBuilder(direction.length());
+            for (char c : direction.toCharArray()) {
+                result.append(switch (c) {
+                    case 'L' -> 'R';
+                    case 'R' -> 'L';
+                    case 'A' -> 'P';
+                    case 'P' -> 'A';
+                    case 'H' -> 'F';
+                    case 'F' -> 'H';
+                    default -> c;
+                });
+            }
+            return result.toString();
+        }
+
+        // 원본 픽셀 증분 (dx, dy)를 환자 좌표계 단위 벡터로 변환
+        private static double[] direction(double dx, double dy, double[] orientation, double[] spacing) {
+            double[] vector = new double[3];
+            for (int axis = 0; axis < 3; axis++) {
+                vector[axis] = dx * spacing[1] * orientation[axis] + dy * spacing[0] * orientation[3 + axis];
+            }
+            double length = Math.sqrt(vector[0] * vector[0] + vector[1] * vector[1] + vector[2] * vector[2]);
+            if (length == 0) {
+                return vector;
+            }
+            for (int axis = 0; axis < 3; axis++) {
+                vector[axis] /= length;
+            }
+            return vector;
+        }
+
+        private static int valueOf(Integer value, int defaultValue) {
+            return value != null ? value : defaultValue;
+        }
+    }
+}
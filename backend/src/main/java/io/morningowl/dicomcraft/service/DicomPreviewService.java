@@ -0,0 +1,448 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 스터디 브라우저용 미리보기(PNG) 서비스.
+ * Icon Image Sequence (0088,0200)가 있으면 데이터셋을 그 시퀀스까지만 읽어 아이콘을 그대로 쓰고,
+ * 없으면 첫 프레임의 N번째 행만 위치 기반으로 읽어 N번째 열만 골라 축소한다. 본 PixelData 전체는 읽지 않는다.
+ * 저장소/인덱스 인스턴스의 미리보기는 SOP Instance UID 키의 LRU 캐시에 두어 다시 볼 때는 파일을 열지 않는다.
+ * 인덱스와 DICOMweb 저장소 양쪽의 파일 변경 알림으로 캐시를 비운다.
+ */
+@Slf4j
+@Service
+public class DicomPreviewService implements DicomIndexListener {
+
+    public static final String SOURCE_ICON = "ICON";
+    public static final String SOURCE_SUBSAMPLED = "SUBSAMPLED";
+
+    private final DicomHeaderReader headerReader;
+    private final DicomIndexService dicomIndexService;
+    private final DicomStoreService dicomStoreService;
+    private final int previewSize;
+    private final long maxCacheBytes;
+    private final Path workDirectory;
+
+    private final LinkedHashMap<String, Preview> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private long cacheBytes;
+    // 캐시를 비울 때마다 증가. 잠금 밖에서 만드는 동안 무효화가 있었으면 만든 결과를 캐시에 넣지 않는다
+    private long generation;
+
+    public DicomPreviewService(DicomHeaderReader headerReader,
+                               DicomIndexService dicomIndexService,
+                               DicomStoreService dicomStoreService,
+                               @Value("${dicomcraft.preview.size:128}") int previewSize,
+                               @Value("${dicomcraft.preview.cache-bytes:33554432}") long maxCacheBytes,
+                               @Value("${dicomcraft.preview.work-dir:${java.io.tmpdir}/dicomcraft/preview}") String workDirectory) throws IOException {
+        this.headerReader = headerReader;
+        this.dicomIndexService = dicomIndexService;
+        this.dicomStoreService = dicomStoreService;
+        this.previewSize = previewSize;
+        this.maxCacheBytes = maxCacheBytes;
+        this.workDirectory = Files.createDirectories(Paths.get(workDirectory));
+    }
+
+    @PostConstruct
+    public void start() {
+        dicomIndexService.addListener(this);
+        dicomStoreService.addListener(this);
+    }
+
+    /**
+     * 업로드한 파일의 미리보기. 같은 UID라도 편집된 파일일 수 있으므로 캐시하지 않는다.
+     */
+    public Preview preview(MultipartFile file) throws IOException {
+        Path path = Files.createTempFile(workDirectory, "preview-", ".dcm");
+        try {
+            file.transferTo(path);
+            return render(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * 로컬 인덱스 또는 DICOMweb 저장소에 있는 인스턴스의 미리보기, 없으면 null.
+     */
+    public Preview previewStored(String sopInstanceUID) throws IOException {
+        long renderedGeneration;
+        synchronized (cache) {
+            Preview cached = cache.get(sopInstanceUID);
+            if (cached != null) {
+                return cached;
+            }
+            renderedGeneration = generation;
+        }
+
+        Path path = findInstancePath(sopInstanceUID);
+        if (path == null) {
+            return null;
+        }
+        Preview preview = render(path);
+        putCached(sopInstanceUID, preview, renderedGeneration);
+        return preview;
+    }
+
+    @Override
+    public void onIndexed(Path path, Attributes attributes) {
+        // 파일이 바뀌었으므로 이전 UID와 새 UID 모두 다시 만든다
+        String sopInstanceUID = attributes.getString(Tag.SOPInstanceUID);
+        synchronized (cache) {
+            removeCached(entry -> entry.getKey().equals(sopInstanceUID) || path.equals(entry.getValue().path));
+        }
+    }
+
+    @Override
+    public void onRemoved(Path path) {
+        synchronized (cache) {
+            removeCached(entry -> path.equals(entry.getValue().path));
+        }
+    }
+
+    Preview render(Path path) throws IOException {
+        long startedAt = System.nanoTime();
+        Attributes attributes = readUntilIcon(path);
+        BufferedImage image = null;
+        String source = SOURCE_ICON;
+
+        Attributes icon = attributes.getNestedDataset(Tag.IconImageSequence);
+        if (icon != null) {
+            try {
+                image = decodeIcon(icon);
+            } catch (IllegalArgumentException e) {
+                log.debug("아이콘 이미지를 쓸 수 없어 축소 디코딩으로 대체: {}, 오류: {}", path, e.getMessage());
+            }
+        }
+        if (image == null) {
+            image = decodeSubsampled(headerReader.read(path));
+            source = SOURCE_SUBSAMPLED;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        log.debug("미리보기 생성: {} ({}, {}x{}, {} us)", path.getFileName(), source, image.getWidth(), image.getHeight(),
+                (System.nanoTime() - startedAt) / 1000);
+        return new Preview(attributes.getString(Tag.SOPInstanceUID), path, image.getWidth(), image.getHeight(),
+                source, out.toByteArray());
+    }
+
+    // Icon Image Sequence 다음의 최상위 태그에서 멈추므로 본 PixelData와 그 뒤는 읽지 않는다
+    private Attributes readUntilIcon(Path path) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(path.toFile())) {
+            dis.setIncludeBulkData(IncludeBulkData.YES);
+            dis.readFileMetaInformation();
+            return dis.readDataset(input -> input.level() == 0
+                    && Integer.compareUnsigned(input.tag(), Tag.IconImageSequence) > 0);
+        }
+    }
+
+    private BufferedImage decodeIcon(Attributes icon) {
+        if (!(icon.getValue(Tag.PixelData) instanceof byte[] bytes)) {
+            throw new IllegalArgumentException("아이콘 픽셀 데이터가 없거나 압축되어 있습니다.");
+        }
+        PixelLayout layout = PixelLayout.of(icon);
+        if (!layout.isSupported() || bytes.length < layout.frameLength()) {
+            throw new IllegalArgumentException("지원하지 않는 아이콘 픽셀 형식입니다.");
+        }
+        if (icon.bigEndian() && layout.getBitsAllocated() == 16) {
+            bytes = swapBytes(bytes);
+        }
+
+        int pixels = layout.getRows() * layout.getColumns();
+        int samples = layout.getSamplesPerPixel();
+        boolean planar = samples > 1 && layout.getPlanarConfiguration() == 1;
+        int[] values = new int[pixels * samples];
+        for (int pixel = 0; pixel < pixels; pixel++) {
+            for (int s = 0; s < samples; s++) {
+                int sampleIndex = planar ? s * pixels + pixel : pixel * samples + s;
+                values[pixel * samples + s] = layout.readStoredValue(bytes, sampleIndex);
+            }
+        }
+        return toImage(values, layout.getColumns(), layout.getRows(), layout, icon);
+    }
+
+    private BufferedImage decodeSubsampled(DicomHeader header) throws IOException {
+        if (!header.isOffsetAddressable() || header.isBigEndian()) {
+            throw new IllegalArgumentException("아이콘이 없는 압축/Deflate/Big Endian 픽셀 데이터는 미리보기를 만들 수 없습니다.");
+        }
+        PixelLayout layout = PixelLayout.of(header.getAttributes());
+        if (!layout.isSupported()) {
+            throw new IllegalArgumentException("8/16비트 할당 픽셀 데이터만 미리보기를 만들 수 있습니다.");
+        }
+        if (header.getPixelDataLength() < layout.frameLength()) {
+            throw new IllegalArgumentException("픽셀 데이터가 이미지 크기보다 짧습니다.");
+        }
+
+        int rows = layout.getRows();
+        int columns = layout.getColumns();
+        int samples = layout.getSamplesPerPixel();
+        int step = Math.max(1, (int) Math.ceil(Math.max(rows, columns) / (double) previewSize));
+        int width = (columns + step - 1) / step;
+        int height = (rows + step - 1) / step;
+
+        // 색상 평면이 나뉘어 있으면 평면마다 같은 행을 따로 읽는다
+        boolean planar = samples > 1 && layout.getPlanarConfiguration() == 1;
+        int planes = planar ? samples : 1;
+        int rowBytes = columns * (planar ? layout.bytesPerSample() : layout.bytesPerPixel());
+        long planeLength = (long) rowBytes * rows;
+        byte[] row = new byte[rowBytes];
+        int[] values = new int[width * height * samples];
+
+        try (FileChannel channel = FileChannel.open(header.getPath(), StandardOpenOption.READ)) {
+            for (int y = 0; y < height; y++) {
+                for (int plane = 0; plane < planes; plane++) {
+                    readFully(channel, row, header.getPixelDataOffset() + plane * planeLength + (long) y * step * rowBytes);
+                    for (int x = 0; x < width; x++) {
+                        int target = (y * width + x) * samples;
+                        if (planar) {
+                            values[target + plane] = layout.readStoredValue(row, x * step);
+                        } else {
+                            for (int s = 0; s < samples; s++) {
+                                values[target + s] = layout.readStoredValue(row, x * step * samples + s);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return toImage(values, width, height, layout, header.getAttributes());
+    }
+
+    private BufferedImage toImage(int[] values, int width, int height, PixelLayout layout, Attributes attributes) {
+        String photometric = layout.getPhotometricInterpretation();
+        if (layout.getSamplesPerPixel() == 3 && "RGB".equals(photometric)) {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            int shift = Math.max(0, layout.getBitsStored() - 8);
+            for (int pixel = 0; pixel < width * height; pixel++) {
+                int rgb = (clamp(values[pixel * 3] >> shift) << 16)
+                        | (clamp(values[pixel * 3 + 1] >> shift) << 8)
+                        | clamp(values[pixel * 3 + 2] >> shift);
+                image.setRGB(pixel % width, pixel / width, rgb);
+            }
+            return image;
+        }
+        if (layout.getSamplesPerPixel() == 1 && "PALETTE COLOR".equals(photometric)) {
+            return toPaletteImage(values, width, height, attributes);
+        }
+        if (layout.getSamplesPerPixel() == 1 && photometric.startsWith("MONOCHROME")) {
+            return toGrayImage(values, width, height, attributes, "MONOCHROME1".equals(photometric));
+        }
+        throw new IllegalArgumentException("미리보기를 지원하지 않는 Photometric Interpretation: " + photometric);
+    }
+
+    // 윈도우 값이 있으면 적용하고, 없으면 읽은 값의 최소/최대로 펼친다
+    private BufferedImage toGrayImage(int[] values, int width, int height, Attributes attributes, boolean inverted) {
+        double slope = attributes.getDouble(Tag.RescaleSlope, 1);
+        double intercept = attributes.getDouble(Tag.RescaleIntercept, 0);
+        double center = attributes.getDouble(Tag.WindowCenter, Double.NaN);
+        double windowWidth = attributes.getDouble(Tag.WindowWidth, Double.NaN);
+
+        double low;
+        double high;
+        if (!Double.isNaN(center) && windowWidth > 0) {
+            low = center - windowWidth / 2;
+            high = center + windowWidth / 2;
+        } else {
+            low = Double.MAX_VALUE;
+            high = -Double.MAX_VALUE;
+            for (int value : values) {
+                double rescaled = value * slope + intercept;
+                low = Math.min(low, rescaled);
+                high = Math.max(high, rescaled);
+            }
+        }
+        double range = Math.max(1, high - low);
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] target = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        for (int index = 0; index < values.length; index++) {
+            double normalized = Math.max(0, Math.min(1, (values[index] * slope + intercept - low) / range));
+            int gray = (int) Math.round(normalized * 255);
+            target[index] = (byte) (inverted ? 255 - gray : gray);
+        }
+        return image;
+    }
+
+    private BufferedImage toPaletteImage(int[] values, int width, int height, Attributes attributes) {
+        int[] red = readPalette(attributes, Tag.RedPaletteColorLookupTableDescriptor, Tag.RedPaletteColorLookupTableData);
+        int[] green = readPalette(attributes, Tag.GreenPaletteColorLookupTableDescriptor, Tag.GreenPaletteColorLookupTableData);
+        int[] blue = readPalette(attributes, Tag.BluePaletteColorLookupTableDescriptor, Tag.BluePaletteColorLookupTableData);
+        int firstMapped = attributes.getInts(Tag.RedPaletteColorLookupTableDescriptor)[1];
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int pixel = 0; pixel < width * height; pixel++) {
+            int index = values[pixel] - firstMapped;
+            int rgb = (lookup(red, index) << 16) | (lookup(green, index) << 8) | lookup(blue, index);
+            image.setRGB(pixel % width, pixel / width, rgb);
+        }
+        return image;
+    }
+
+    // 팔레트 항목을 8비트로 줄인 값. 세그먼트 팔레트는 지원하지 않는다
+    private static int[] readPalette(Attributes attributes, int descriptorTag, int dataTag) {
+        int[] descriptor = attributes.getInts(descriptorTag);
+        Object value = attributes.getValue(dataTag);
+        if (descriptor == null || descriptor.length != 3 || !(value instanceof byte[] data)) {
+            throw new IllegalArgumentException("팔레트 색상표가 없습니다.");
+        }
+        int entries = descriptor[0] == 0 ? 65536 : descriptor[0];
+        int bits = descriptor[2];
+        int[] palette = new int[entries];
+        if (data.length >= entries * 2) {
+            for (int i = 0; i < entries; i++) {
+                int word = attributes.bigEndian()
+                        ? ((data[i * 2] & 0xFF) << 8) | (data[i * 2 + 1] & 0xFF)
+                        : (data[i * 2] & 0xFF) | ((data[i * 2 + 1] & 0xFF) << 8);
+                palette[i] = bits > 8 ? word >> 8 : word & 0xFF;
+            }
+        } else if (data.length >= entries) {
+            for (int i = 0; i < entries; i++) {
+                palette[i] = data[i] & 0xFF;
+            }
+        } else {
+            throw new IllegalArgumentException("팔레트 색상표 길이가 올바르지 않습니다.");
+        }
+        return palette;
+    }
+
+    private static int lookup(int[] palette, int index) {
+        return palette[Math.max(0, Math.min(palette.length - 1, index))];
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static byte[] swapBytes(byte[] bytes) {
+        byte[] swapped = new byte[bytes.length];
+        for (int i = 0; i + 1 < bytes.length; i += 2) {
+            swapped[i] = bytes[i + 1];
+            swapped[i + 1] = bytes[i];
+        }
+        return swapped;
+    }
+
+    private static void readFully(FileChannel channel, byte[] target, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(target);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("픽셀 데이터가 예상보다 짧습니다.");
+            }
+            position += read;
+        }
+    }
+
+    private Path findInstancePath(String sopInstanceUID) {
+        DicomIndexEntry entry = dicomIndexService.findInstance(sopInstanceUID);
+        if (entry == null) {
+            try {
+                entry = dicomStoreService.findInstance(sopInstanceUID);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return Paths.get(entry.getPath());
+    }
+
+    private void putCached(String sopInstanceUID, Preview preview, long renderedGeneration) {
+        synchronized (cache) {
+            if (renderedGeneration != generation) {
+                // 만드는 동안 파일이 바뀌었을 수 있으므로 이번 결과는 돌려주기만 하고 다음 요청에서 다시 만든다
+                return;
+            }
+            Preview previous = cache.put(sopInstanceUID, preview);
+            if (previous != null) {
+                cacheBytes -= previous.png.length;
+            }
+            cacheBytes += preview.png.length;
+
+            Iterator<Map.Entry<String, Preview>> iterator = cache.entrySet().iterator();
+            while (cacheBytes > maxCacheBytes && iterator.hasNext()) {
+                Map.Entry<String, Preview> eldest = iterator.next();
+                if (eldest.getKey().equals(sopInstanceUID)) {
+                    continue;
+                }
+                cacheBytes -= eldest.getValue().png.length;
+                iterator.remove();
+            }
+        }
+    }
+
+    // cache 잠금 안에서 호출
+    private void removeCached(Predicate<Map.Entry<String, Preview>> condition) {
+        generation++;
+        Iterator<Map.Entry<String, Preview>> iterator = cache.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Preview> entry = iterator.next();
+            if (condition.test(entry)) {
+                cacheBytes -= entry.getValue().png.length;
+                iterator.remove();
+            }
+        }
+    }
+
+    public static final class Preview {
+        private final String sopInstanceUID;
+        private final Path path;
+        private final int width;
+        private final int height;
+        private final String source;
+        private final byte[] png;
+
+        private Preview(String sopInstanceUID, Path path, int width, int height, String source, byte[] png) {
+            this.sopInstanceUID = sopInstanceUID;
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.source = source;
+            this.png = png;
+        }
+
+        public String getSopInstanceUID() {
+            return sopInstanceUID;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public byte[] getPng() {
+            return png;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.morningowl.dicomcraft.service;
+
+/**
+ * 오래 걸리는 분석/생성 작업의 진행 상황 알림.
+ */
+public interface DicomProgressListener {
+
+    DicomProgressListener NONE = new DicomProgressListener() {
+    };
+
+    default void onBytesRead(long bytesRead) {
+    }
+
+    default void onTagsProcessed(int tagsProcessed) {
+    }
+}
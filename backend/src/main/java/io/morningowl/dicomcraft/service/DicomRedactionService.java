@@ -0,0 +1,626 @@
+package io.morningowl.dicomcraft.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomRedactionBatchRequest;
+import io.morningowl.dicomcraft.dto.DicomRedactionBatchResponse;
+import io.morningowl.dicomcraft.dto.DicomRedactionRegion;
+import io.morningowl.dicomcraft.dto.DicomRedactionResult;
+import io.morningowl.dicomcraft.dto.DicomRedactionRule;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputHandler;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.dcm4che3.io.DicomOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 초음파/2차 캡처 영상에 새겨진 환자 정보를 지우는 픽셀 영역 가림 엔진.
+ * 모달리티/제조사 등 태그로 고른 규칙의 사각형 또는 요청마다 지정한 사각형을 모든 프레임에서 채우고
+ * BurnedInAnnotation을 "NO"로 바꾼다. 파일은 제자리에서 수정하며, 사각형이 걸친 행 구간만 위치 지정 쓰기로
+ * 덮어쓰므로 나머지 픽셀은 읽지도 쓰지도 않는다.
+ */
+@Slf4j
+@Service
+public class DicomRedactionService {
+
+    // "YES "와 같은 길이라 제자리에 덮어쓸 수 있다 (CS 뒤쪽 공백은 값에 포함되지 않음)
+    private static final byte[] BURNED_IN_NO = "NO  ".getBytes(StandardCharsets.US_ASCII);
+    // 일괄 응답에 담는 파일별 결과(건너뜀/실패) 최대 개수. 나머지는 개수만 센다
+    static final int MAX_REPORTED_RESULTS = 1000;
+
+    private final List<CompiledRule> rules;
+    private final List<Path> batchRoots;
+    private final Path workDirectory;
+    private final ExecutorService batchExecutor;
+    private final ExecutorService batchCoordinator;
+    private final int maxInFlight;
+
+    public DicomRedactionService(ObjectMapper objectMapper,
+                                 @Value("${dicomcraft.redaction.rules-file:}") String rulesFile,
+                                 @Value("${dicomcraft.redaction.batch-roots:${dicomcraft.index.root:}}") String batchRoots,
+                                 @Value("${dicomcraft.redaction.threads:4}") int threads,
+                                 @Value("${dicomcraft.redaction.work-dir:${java.io.tmpdir}/dicomcraft/redaction}") String workDirectory) throws IOException {
+        this.rules = loadRules(objectMapper, rulesFile);
+        this.workDirectory = Files.createDirectories(Paths.get(workDirectory));
+        this.batchRoots = Arrays.stream(batchRoots.split(","))
+                .map(String::trim)
+                .filter(root -> !root.isEmpty())
+                .map(DicomRedactionService::realPathOf)
+                .collect(Collectors.toList());
+        this.maxInFlight = Math.max(1, threads) * 2;
+        AtomicInteger counter = new AtomicInteger();
+        this.batchExecutor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "dicom-redaction-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 디렉토리 순회와 결과 집계는 요청 스레드가 아닌 여기서 한 번에 하나씩 처리한다
+        this.batchCoordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dicom-redaction-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchCoordinator.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+
+    public List<DicomRedactionRule> getRules() {
+        return rules.stream().map(rule -> rule.rule).collect(Collectors.toList());
+    }
+
+    /**
+     * 업로드 파일을 작업 디렉토리에서 가린 뒤 결과 파일을 돌려준다.
+     */
+    public DicomGenerationResponse redactUpload(MultipartFile file, List<DicomRedactionRegion> regions) {
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "redacted.dcm";
+        Path path = workDirectory.resolve(UUID.randomUUID() + ".dcm");
+        try {
+            file.transferTo(path);
+            DicomRedactionResult result = redact(path, regions);
+            if (!"REDACTED".equals(result.getStatus())) {
+                String message = "NO_MATCH".equals(result.getStatus())
+                        ? "일치하는 가림 규칙이 없습니다."
+                        : result.getErrorMessage();
+                return DicomGenerationResponse.builder()
+                        .fileName(fileName)
+                        .generationStatus("ERROR")
+                        .errorMessage(message)
+                        .build();
+            }
+            byte[] dicomBytes = Files.readAllBytes(path);
+            return DicomGenerationResponse.builder()
+                    .fileName(fileName)
+                    .generatedDicom(dicomBytes)
+                    .generationStatus("SUCCESS")
+                    .fileSize(dicomBytes.length)
+                    .build();
+        } catch (IOException e) {
+            log.error("픽셀 가림 중 오류 발생: {}", e.getMessage(), e);
+            return DicomGenerationResponse.builder()
+                    .fileName(fileName)
+                    .generationStatus("ERROR")
+                    .errorMessage("픽셀 가림 실패: " + e.getMessage())
+                    .build();
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("가림 작업 파일 삭제 실패: {}", path);
+            }
+        }
+    }
+
+    /**
+     * 파일 하나를 제자리에서 가린다. regions가 비어 있으면 설정된 규칙 중 일치하는 것의 영역을 쓴다.
+     */
+    public DicomRedactionResult redact(Path path, List<DicomRedactionRegion> regions) {
+        DicomRedactionResult.DicomRedactionResultBuilder result = DicomRedactionResult.builder()
+                .path(path.toString());
+        try {
+            ParsedHeader header;
+            try {
+                header = parseHeader(path);
+            } catch (IOException e) {
+                // DICOM이 아니거나 헤더가 깨진 파일은 건드리지 않는다
+                return result.status("SKIPPED").errorMessage("DICOM 헤더를 읽을 수 없습니다: " + e.getMessage()).build();
+            }
+            Attributes attributes = header.attributes;
+
+            List<String> matchedRules = new ArrayList<>();
+            List<DicomRedactionRegion> targetRegions = new ArrayList<>();
+            if (regions != null && !regions.isEmpty()) {
+                targetRegions.addAll(regions);
+            } else {
+                for (CompiledRule rule : rules) {
+                    if (rule.matches(attributes)) {
+                        matchedRules.add(rule.rule.getName());
+                        targetRegions.addAll(rule.rule.getRegions());
+                    }
+                }
+            }
+            result.matchedRules(matchedRules);
+            if (targetRegions.isEmpty()) {
+                return result.status("NO_MATCH").build();
+            }
+
+            PixelLayout layout = PixelLayout.of(attributes);
+            String unsupportedReason = checkSupported(header, layout);
+            if (unsupportedReason != null) {
+                return result.status("SKIPPED").errorMessage(unsupportedReason).build();
+            }
+
+            List<int[]> rectangles = clip(targetRegions, layout);
+            if (rectangles.isEmpty()) {
+                // 가린 것이 없으므로 BurnedInAnnotation도 그대로 둔다
+                return result.status("OUTSIDE_IMAGE")
+                        .errorMessage(String.format("가림 영역이 모두 이미지(%dx%d) 밖에 있습니다.",
+                                layout.getColumns(), layout.getRows()))
+                        .build();
+            }
+            blankRegions(path, header.pixelDataOffset, layout, rectangles,
+                    UID.ExplicitVRBigEndian.equals(header.transferSyntaxUID));
+
+            String burnedIn = updateBurnedInAnnotation(path, header, layout);
+            return result.status("REDACTED")
+                    .regions(rectangles.size())
+                    .frames(layout.getNumberOfFrames())
+                    .burnedInAnnotation(burnedIn)
+                    .build();
+
+        } catch (Exception e) {
+            log.warn("픽셀 가림 실패: {}, 오류: {}", path, e.getMessage());
+            return result.status("ERROR").errorMessage(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * 디렉토리 아래의 파일을 병렬로 가린다. 허용된 루트(dicomcraft.redaction.batch-roots) 아래만 처리한다.
+     * 경로 검사는 호출한 스레드에서 바로 하고(잘못되면 IllegalArgumentException), 순회와 가림은 백그라운드에서 진행한다.
+     */
+    public CompletableFuture<DicomRedactionBatchResponse> redactDirectory(DicomRedactionBatchRequest request) {
+        Path directory = resolveBatchDirectory(request.getDirectory());
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return redactFiles(directory, request);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, batchCoordinator);
+    }
+
+    private DicomRedactionBatchResponse redactFiles(Path directory, DicomRedactionBatchRequest request)
+            throws IOException, InterruptedException {
+        long startedAt = System.currentTimeMillis();
+
+        // 순회하면서 바로 제출하되, 동시에 대기/실행 중인 파일 수를 제한해 큰 디렉토리도 메모리를 일정하게 쓴다
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        BatchTally tally = new BatchTally();
+        int scanned = 0;
+        // 심볼릭 링크는 따라가지 않는다 (루트 밖 파일을 제자리에서 수정하지 않도록)
+        try (Stream<Path> walk = request.isRecursive() ? Files.walk(directory) : Files.list(directory)) {
+            Iterator<Path> files = walk.filter(file -> Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)).iterator();
+            while (files.hasNext()) {
+                Path file = files.next();
+                inFlight.acquire();
+                try {
+                    batchExecutor.execute(() -> {
+                        try {
+                            tally.add(redact(file, request.getRegions()));
+                        } catch (RuntimeException e) {
+                            tally.add(DicomRedactionResult.builder()
+                                    .path(file.toString()).status("ERROR").errorMessage(e.getMessage()).build());
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                scanned++;
+            }
+        }
+        // 제출한 작업이 모두 끝날 때까지 기다린다
+        inFlight.acquire(maxInFlight);
+
+        long tookMillis = System.currentTimeMillis() - startedAt;
+        log.info("일괄 픽셀 가림 완료: {} (파일 {}개, 가림 {}, 건너뜀 {}, 실패 {}, {}ms)",
+                directory, scanned, tally.redacted, tally.skipped, tally.failed, tookMillis);
+        return DicomRedactionBatchResponse.builder()
+                .directory(directory.toString())
+                .filesScanned(scanned)
+                .filesRedacted(tally.redacted)
+                .filesSkipped(tally.skipped)
+                .filesFailed(tally.failed)
+                .tookMillis(tookMillis)
+                .results(tally.reported)
+                .resultsOmitted(tally.omitted)
+                .status("SUCCESS")
+                .build();
+    }
+
+    private Path resolveBatchDirectory(String directory) {
+        if (batchRoots.isEmpty()) {
+            throw new IllegalArgumentException("일괄 처리 루트가 설정되지 않았습니다. (dicomcraft.redaction.batch-roots)");
+        }
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalArgumentException("디렉토리가 지정되지 않았습니다.");
+        }
+        // 심볼릭 링크를 모두 푼 실제 경로로 루트 안인지 확인한다
+        Path path;
+        try {
+            path = Paths.get(directory).toRealPath();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("디렉토리를 찾을 수 없습니다: " + directory);
+        }
+        if (batchRoots.stream().noneMatch(path::startsWith)) {
+            throw new IllegalArgumentException("허용된 루트 밖의 디렉토리입니다: " + directory);
+        }
+        if (!Files.isDirectory(path)) {
+            throw new IllegalArgumentException("디렉토리가 아닙니다: " + directory);
+        }
+        return path;
+    }
+
+    // 아직 없는 루트는 정규화한 절대 경로로 둔다 (그 아래 경로는 실제 경로와 비교되므로 생긴 뒤에도 안전)
+    private static Path realPathOf(String root) {
+        Path path = Paths.get(root).toAbsolutePath().normalize();
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path;
+        }
+    }
+
+    private String checkSupported(ParsedHeader header, PixelLayout layout) {
+        if (header.pixelDataOffset < 0) {
+            return "픽셀 데이터가 없습니다.";
+        }
+        if (header.pixelDataLength < 0) {
+            return "압축된 픽셀 데이터는 제자리에서 가릴 수 없습니다: " + header.transferSyntaxUID;
+        }
+        if (UID.DeflatedExplicitVRLittleEndian.equals(header.transferSyntaxUID)) {
+            return "Deflate 전송 구문은 제자리에서 가릴 수 없습니다.";
+        }
+        if (!layout.isSupported()) {
+            return "8/16비트 할당 픽셀 데이터만 지원합니다.";
+        }
+        if (layout.frameLength() * layout.getNumberOfFrames() > header.pixelDataLength) {
+            return "픽셀 데이터 길이가 이미지 크기보다 짧습니다.";
+        }
+        return null;
+    }
+
+    // 이미지 밖으로 나간 부분은 잘라내고 {x, y, width, height}로 반환
+    private List<int[]> clip(List<DicomRedactionRegion> regions, PixelLayout layout) {
+        List<int[]> rectangles = new ArrayList<>();
+        for (DicomRedactionRegion region : regions) {
+            int x0 = Math.max(0, region.getX());
+            int y0 = Math.max(0, region.getY());
+            int x1 = Math.min(layout.getColumns(), region.getX() + region.getWidth());
+            int y1 = Math.min(layout.getRows(), region.getY() + region.getHeight());
+            if (x1 > x0 && y1 > y0) {
+                rectangles.add(new int[]{x0, y0, x1 - x0, y1 - y0});
+            }
+        }
+        return rectangles;
+    }
+
+    /**
+     * 프레임(색상 평면 단위 배치면 평면)마다 사각형이 걸친 행 구간을 위치 지정 쓰기로 채우고, 마지막에 한 번만 디스크에 반영한다.
+     */
+    private void blankRegions(Path path, long pixelDataOffset, PixelLayout layout, List<int[]> rectangles,
+                              boolean bigEndian) throws IOException {
+        boolean planar = layout.getSamplesPerPixel() > 1 && layout.getPlanarConfiguration() == 1;
+        int planes = planar ? layout.getSamplesPerPixel() : 1;
+        int samplesPerPixelInPlane = planar ? 1 : layout.getSamplesPerPixel();
+        int bytesPerSample = layout.bytesPerSample();
+        long rowBytes = (long) layout.getColumns() * samplesPerPixelInPlane * bytesPerSample;
+        long planeBytes = rowBytes * layout.getRows();
+        byte[][] fill = fillPatterns(layout, planes, samplesPerPixelInPlane, bigEndian);
+
+        // 사각형 한 행을 채울 바이트열은 프레임마다 같으므로 미리 만들어 둔다
+        ByteBuffer[][] runs = new ByteBuffer[planes][rectangles.size()];
+        for (int plane = 0; plane < planes; plane++) {
+            for (int r = 0; r < rectangles.size(); r++) {
+                runs[plane][r] = ByteBuffer.wrap(repeat(fill[plane], rectangles.get(r)[2]));
+            }
+        }
+        int pixelBytes = samplesPerPixelInPlane * bytesPerSample;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            for (int frame = 0; frame < layout.getNumberOfFrames(); frame++) {
+                for (int plane = 0; plane < planes; plane++) {
+                    long planeStart = pixelDataOffset + frame * layout.frameLength() + plane * planeBytes;
+                    for (int r = 0; r < rectangles.size(); r++) {
+                        int[] rectangle = rectangles.get(r);
+                        ByteBuffer run = runs[plane][r];
+                        for (int row = rectangle[1]; row < rectangle[1] + rectangle[3]; row++) {
+                            long position = planeStart + row * rowBytes + (long) rectangle[0] * pixelBytes;
+                            run.rewind();
+                            while (run.hasRemaining()) {
+                                position += channel.write(run, position);
+                            }
+                        }
+                    }
+                }
+            }
+            channel.force(false);
+        }
+    }
+
+    // 평면별 픽셀 하나의 채움 바이트: 흑백은 가장 어두운 값, YBR은 Y=0, Cb=Cr=중간값
+    private byte[][] fillPatterns(PixelLayout layout, int planes, int samplesPerPixelInPlane, boolean bigEndian) {
+        int bytesPerSample = layout.bytesPerSample();
+        int[] sampleValues = new int[layout.getSamplesPerPixel()];
+        String photometric = layout.getPhotometricInterpretation();
+        if ("MONOCHROME1".equals(photometric)) {
+            sampleValues[0] = layout.maxValue();
+        } else if ("MONOCHROME2".equals(photometric)) {
+            sampleValues[0] = layout.minValue();
+        } else if (photometric.startsWith("YBR") && sampleValues.length == 3) {
+            sampleValues[1] = 1 << (layout.getBitsStored() - 1);
+            sampleValues[2] = 1 << (layout.getBitsStored() - 1);
+        }
+
+        byte[][] patterns = new byte[planes][];
+        for (int plane = 0; plane < planes; plane++) {
+            byte[] pattern = new byte[samplesPerPixelInPlane * bytesPerSample];
+            for (int sample = 0; sample < samplesPerPixelInPlane; sample++) {
+                layout.writeSample(pattern, sample, sampleValues[plane + sample]);
+                if (bigEndian && bytesPerSample == 2) {
+                    byte low = pattern[sample * 2];
+                    pattern[sample * 2] = pattern[sample * 2 + 1];
+                    pattern[sample * 2 + 1] = low;
+                }
+            }
+            patterns[plane] = pattern;
+        }
+        return patterns;
+    }
+
+    private static byte[] repeat(byte[] pixel, int count) {
+        byte[] run = new byte[pixel.length * count];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(pixel, 0, run, i * pixel.length, pixel.length);
+        }
+        return run;
+    }
+
+    /**
+     * BurnedInAnnotation 값이 4바이트면 제자리에서 "NO  "로 덮어쓰고, 없거나 길이가 다르면
+     * 헤더만 다시 쓰고 픽셀 데이터 이후는 transferTo로 그대로 복사한 파일로 교체한다.
+     */
+    private String updateBurnedInAnnotation(Path path, ParsedHeader header, PixelLayout layout) throws IOException {
+        String current = header.attributes.getString(Tag.BurnedInAnnotation);
+        if ("NO".equals(current)) {
+            return "UNCHANGED";
+        }
+        if (header.burnedInOffset >= 0 && header.burnedInLength == BURNED_IN_NO.length) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(BURNED_IN_NO), header.burnedInOffset);
+            }
+            return "IN_PLACE";
+        }
+
+        Attributes fmi;
+        Attributes attributes;
+        try (DicomInputStream dis = new DicomInputStream(path.toFile())) {
+            dis.setIncludeBulkData(IncludeBulkData.YES);
+            fmi = dis.readFileMetaInformation();
+            attributes = dis.readDatasetUntilPixelData();
+        }
+        if (fmi == null) {
+            fmi = attributes.createFileMetaInformation(header.transferSyntaxUID);
+        }
+        attributes.setString(Tag.BurnedInAnnotation, VR.CS, "NO");
+
+        Path temp = Files.createTempFile(path.getParent(), ".redact-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp));
+                 DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
+                dos.writeDataset(fmi, attributes);
+                dos.writeHeader(Tag.PixelData, layout.getBitsAllocated() > 8 ? VR.OW : VR.OB, (int) header.pixelDataLength);
+                dos.flush();
+            }
+            // 픽셀 값과 그 뒤의 요소들은 같은 전송 구문이므로 바이트 그대로 옮긴다
+            try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                long position = header.pixelDataOffset;
+                long size = source.size();
+                while (position < size) {
+                    position += source.transferTo(position, size - position, target);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return "REWRITTEN";
+    }
+
+    private ParsedHeader parseHeader(Path path) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(path.toFile())) {
+            dis.setIncludeBulkData(IncludeBulkData.NO);
+            BurnedInAnnotationLocator locator = new BurnedInAnnotationLocator();
+            dis.setDicomInputHandler(locator);
+            dis.readFileMetaInformation();
+            Attributes attributes = dis.readDatasetUntilPixelData();
+
+            ParsedHeader header = new ParsedHeader();
+            header.attributes = attributes;
+            header.transferSyntaxUID = dis.getTransferSyntax();
+            header.burnedInOffset = locator.offset;
+            header.burnedInLength = locator.length;
+            header.pixelDataOffset = -1;
+            header.pixelDataLength = -1;
+            if (dis.tag() == Tag.PixelData) {
+                header.pixelDataOffset = dis.getPosition();
+                header.pixelDataLength = dis.length() == -1 ? -1 : dis.length() & 0xFFFFFFFFL;
+            }
+            return header;
+        }
+    }
+
+    private static List<CompiledRule> loadRules(ObjectMapper objectMapper, String rulesFile) throws IOException {
+        if (rulesFile == null || rulesFile.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<DicomRedactionRule> loaded;
+        try (InputStream in = Files.newInputStream(Paths.get(rulesFile))) {
+            loaded = objectMapper.readValue(in, new TypeReference<List<DicomRedactionRule>>() {});
+        }
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (DicomRedactionRule rule : loaded) {
+            if (rule.getRegions() == null || rule.getRegions().isEmpty()) {
+                throw new IllegalArgumentException("가림 규칙에 영역이 없습니다: " + rule.getName());
+            }
+            compiled.add(new CompiledRule(rule));
+        }
+        log.info("픽셀 가림 규칙 {}개 로드: {}", compiled.size(), rulesFile);
+        return compiled;
+    }
+
+    private static class CompiledRule {
+        private final DicomRedactionRule rule;
+        private final Map<Integer, Pattern> conditions = new LinkedHashMap<>();
+
+        private CompiledRule(DicomRedactionRule rule) {
+            this.rule = rule;
+            if (rule.getMatch() != null) {
+                rule.getMatch().forEach((tag, regex) ->
+                        conditions.put(DicomSearchService.resolveTag(tag), Pattern.compile(regex)));
+            }
+        }
+
+        private boolean matches(Attributes attributes) {
+            for (Map.Entry<Integer, Pattern> condition : conditions.entrySet()) {
+                String value = attributes.getString(condition.getKey());
+                if (value == null || !condition.getValue().matcher(value.trim()).matches()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // 일괄 처리 작업 스레드들이 결과를 모으는 곳. 가림/NO_MATCH는 개수만, 건너뜀/실패는 상한까지 결과도 남긴다
+    private static class BatchTally {
+        private final List<DicomRedactionResult> reported = new ArrayList<>();
+        private int redacted;
+        private int skipped;
+        private int failed;
+        private int omitted;
+
+        private synchronized void add(DicomRedactionResult result) {
+            switch (result.getStatus()) {
+                case "REDACTED" -> redacted++;
+                case "NO_MATCH", "SKIPPED", "OUTSIDE_IMAGE" -> skipped++;
+                default -> failed++;
+            }
+            if ("REDACTED".equals(result.getStatus()) || "NO_MATCH".equals(result.getStatus())) {
+                return;
+            }
+            if (reported.size() < MAX_REPORTED_RESULTS) {
+                reported.add(result);
+            } else {
+                omitted++;
+            }
+        }
+    }
+
+    private static class ParsedHeader {
+        private Attributes attributes;
+        private String transferSyntaxUID;
+        private long pixelDataOffset;
+        private long pixelDataLength;
+        private long burnedInOffset;
+        private int burnedInLength;
+    }
+
+    // 최상위 BurnedInAnnotation 값의 파일 내 위치를 기록한다
+    private static class BurnedInAnnotationLocator implements DicomInputHandler {
+        private long offset = -1;
+        private int length;
+
+        @Override
+        public void readValue(DicomInputStream dis, Attributes attrs) throws IOException {
+            if (dis.tag() == Tag.BurnedInAnnotation && dis.level() == 0) {
+                // 헤더를 읽은 직후이므로 현재 위치가 값의 시작점
+                offset = dis.getPosition();
+                length = dis.length();
+            }
+            dis.readValue(dis, attrs);
+        }
+
+        @Override
+        public void readValue(DicomInputStream dis, Sequence seq) throws IOException {
+            dis.readValue(dis, seq);
+        }
+
+        @Override
+        public void readValue(DicomInputStream dis, Fragments frags) throws IOException {
+            dis.readValue(dis, frags);
+        }
+
+        @Override
+        public void startDataset(DicomInputStream dis) throws IOException {
+            dis.startDataset(dis);
+        }
+
+        @Override
+        public void endDataset(DicomInputStream dis) throws IOException {
+            dis.endDataset(dis);
+        }
+    }
+}
@@ -0,0 +1,922 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.dto.DicomSearchQuery;
+import io.morningowl.dicomcraft.dto.DicomSearchResponse;
+import io.morningowl.dicomcraft.dto.DicomSearchStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 로컬 인덱스 파일들의 태그 값 검색 엔진.
+ * 문자열 VR은 태그별 역색인(term -> 문서 ID 목록), 숫자 VR은 태그별 정렬된 숫자 컬럼으로 보관한다.
+ * 인덱스 변경 알림을 받아 바뀐 파일만 반영하며, 삭제/갱신된 문서는 liveDocs에서 제외하는 방식으로 처리한다.
+ * 제외된 문서 비율이 기준을 넘으면 문서 ID를 다시 매겨 압축하고, 색인은 파일로 저장해 재시작 시 바뀐 파일만 다시 파싱한다.
+ */
+@Slf4j
+@Service
+public class DicomSearchService implements DicomIndexListener {
+
+    private static final int MAX_TERM_LENGTH = 256;
+    // 문서가 적을 때는 압축 비용이 이득보다 크다
+    private static final int MIN_COMPACT_DOCUMENTS = 64;
+    private static final int SEARCH_MAGIC = 0x44435358; // "DCSX"
+    private static final int SEARCH_VERSION = 1;
+
+    private final DicomIndexService dicomIndexService;
+    private final DicomHeaderReader headerReader;
+    private final int buildThreads;
+    private final double compactDeletedRatio;
+    private final Path searchStorePath;
+    private final ScheduledExecutorService maintenanceExecutor;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Path, Integer> docIds = new HashMap<>();
+    private final List<Path> docPaths = new ArrayList<>();
+    // 문서를 색인할 때 로컬 인덱스에 기록된 파일 크기/수정 시각. 재시작 시 바뀐 파일을 가려내는 데 쓴다
+    private final List<long[]> docStamps = new ArrayList<>();
+    private final BitSet liveDocs = new BitSet();
+    private final Map<Integer, TreeMap<String, Postings>> termIndex = new HashMap<>();
+    private final Map<Integer, NumericColumn> numericIndex = new HashMap<>();
+
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile long lastBuildDurationMillis;
+
+    public DicomSearchService(DicomIndexService dicomIndexService,
+                              DicomHeaderReader headerReader,
+                              @Value("${dicomcraft.search.build-threads:4}") int buildThreads,
+                              @Value("${dicomcraft.search.compact-deleted-ratio:0.3}") double compactDeletedRatio,
+                              @Value("${dicomcraft.search.file:${user.home}/.dicomcraft/search.bin}") String searchFile) {
+        this.dicomIndexService = dicomIndexService;
+        this.headerReader = headerReader;
+        this.buildThreads = buildThreads;
+        this.compactDeletedRatio = compactDeletedRatio;
+        this.searchStorePath = searchFile == null || searchFile.isBlank() ? null : Paths.get(searchFile);
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dicom-search-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        dicomIndexService.addListener(this);
+        if (dicomIndexService.isEnabled()) {
+            maintenanceExecutor.execute(this::restore);
+            if (searchStorePath != null) {
+                maintenanceExecutor.scheduleWithFixedDelay(this::saveIfDirty, 60, 60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        maintenanceExecutor.shutdownNow();
+        try {
+            maintenanceExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dicomIndexService.isEnabled()) {
+            saveIfDirty();
+        }
+    }
+
+    /**
+     * 검색 전용 스레드에서 재생성한다. 이미 생성 중이면 무시된다.
+     */
+    public void requestRebuild() {
+        maintenanceExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * 저장된 검색 색인을 읽고 로컬 인덱스와 비교해 바뀐 파일만 다시 파싱한다. 저장본이 없으면 새로 만든다.
+     */
+    void restore() {
+        if (!load()) {
+            rebuild();
+            return;
+        }
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(buildThreads);
+        try {
+            Set<Path> instancePaths = new HashSet<>(dicomIndexService.getInstancePaths());
+            List<Path> stale = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (Path path : docIds.keySet()) {
+                    if (!instancePaths.contains(path)) {
+                        stale.add(path);
+                    }
+                }
+                instancePaths.removeIf(path -> {
+                    Integer docId = docIds.get(path);
+                    return docId != null && Arrays.equals(docStamps.get(docId), stampOf(path));
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            stale.forEach(this::onRemoved);
+            List<Future<?>> pending = new ArrayList<>();
+            for (Path path : instancePaths) {
+                pending.add(executor.submit(() -> indexPath(path)));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+            lastBuildDurationMillis = System.currentTimeMillis() - started;
+            log.info("태그 검색 인덱스 복원 완료: 다시 파싱 {}개, 제거 {}개, {}ms",
+                    pending.size(), stale.size(), lastBuildDurationMillis);
+        } catch (Exception e) {
+            log.error("태그 검색 인덱스 복원 중 오류 발생: {}", e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+            building.set(false);
+        }
+    }
+
+    /**
+     * 로컬 인덱스의 모든 인스턴스로 검색 인덱스를 새로 만든다. 헤더 파싱은 병렬로 수행한다.
+     */
+    public void rebuild() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(buildThreads);
+        try {
+            clear();
+            List<Future<?>> pending = new ArrayList<>();
+            for (Path path : dicomIndexService.getInstancePaths()) {
+                pending.add(executor.submit(() -> indexPath(path)));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+            lastBuildDurationMillis = System.currentTimeMillis() - started;
+            dirty.set(true);
+            log.info("태그 검색 인덱스 생성 완료: 문서 {}개, {}ms", pending.size(), lastBuildDurationMillis);
+        } catch (Exception e) {
+            log.error("태그 검색 인덱스 생성 중 오류 발생: {}", e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+            building.set(false);
+        }
+    }
+
+    @Override
+    public void onIndexed(Path path, Attributes attributes) {
+        addDocument(path, attributes);
+    }
+
+    @Override
+    public void onRemoved(Path path) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIds.remove(path);
+            if (docId != null) {
+                liveDocs.clear(docId);
+                dirty.set(true);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public DicomSearchStatus getStatus() {
+        lock.readLock().lock();
+        try {
+            Set<Integer> tags = new HashSet<>(termIndex.keySet());
+            tags.addAll(numericIndex.keySet());
+            return DicomSearchStatus.builder()
+                    .building(building.get())
+                    .documentCount(liveDocs.cardinality())
+                    .deletedDocumentCount(docPaths.size() - liveDocs.cardinality())
+                    .indexedTagCount(tags.size())
+                    .lastBuildDurationMillis(lastBuildDurationMillis)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public DicomSearchResponse search(DicomSearchQuery query, int limit) {
+        long started = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            BitSet hits = evaluate(query);
+            hits.and(liveDocs);
+
+            List<DicomIndexEntry> results = new ArrayList<>();
+            for (int docId = hits.nextSetBit(0); docId >= 0 && results.size() < limit; docId = hits.nextSetBit(docId + 1)) {
+                Path path = docPaths.get(docId);
+                DicomIndexEntry entry = dicomIndexService.getEntry(path);
+                results.add(entry != null ? entry : DicomIndexEntry.builder().path(path.toString()).build());
+            }
+
+            return DicomSearchResponse.builder()
+                    .totalHits(hits.cardinality())
+                    .results(results)
+                    .tookMillis((System.nanoTime() - started) / 1_000_000)
+                    .searchStatus("SUCCESS")
+                    .build();
+
+        } catch (IllegalArgumentException e) {
+            return DicomSearchResponse.builder()
+                    .searchStatus("ERROR")
+                    .errorMessage("잘못된 검색 조건: " + e.getMessage())
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void addDocument(Path path, Attributes attributes) {
+        // 값 추출은 잠금 밖에서 수행
+        Map<Integer, List<String>> terms = new HashMap<>();
+        Map<Integer, List<Double>> numbers = new HashMap<>();
+        collectValues(attributes, terms, numbers);
+        long[] stamp = stampOf(path);
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docIds.get(path);
+            if (previous != null) {
+                liveDocs.clear(previous);
+            }
+
+            int docId = docPaths.size();
+            docPaths.add(path);
+            docStamps.add(stamp);
+            docIds.put(path, docId);
+            liveDocs.set(docId);
+            dirty.set(true);
+
+            terms.forEach((tag, values) -> {
+                TreeMap<String, Postings> dictionary = termIndex.computeIfAbsent(tag, key -> new TreeMap<>());
+                for (String term : values) {
+                    dictionary.computeIfAbsent(term, key -> new Postings()).add(docId);
+                }
+            });
+            numbers.forEach((tag, values) -> {
+                NumericColumn column = numericIndex.computeIfAbsent(tag, key -> new NumericColumn());
+                for (double value : values) {
+                    column.add(value, docId);
+                }
+            });
+            if (previous != null) {
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 제외된 문서를 버리고 남은 문서에 0부터 ID를 다시 매긴다. 순서가 유지되므로 Postings와 숫자 컬럼의 정렬도 유지된다.
+     */
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            if (liveDocs.cardinality() == docPaths.size()) {
+                return;
+            }
+            int[] mapping = new int[docPaths.size()];
+            List<Path> paths = new ArrayList<>();
+            List<long[]> stamps = new ArrayList<>();
+            for (int docId = 0; docId < mapping.length; docId++) {
+                if (liveDocs.get(docId)) {
+                    mapping[docId] = paths.size();
+                    paths.add(docPaths.get(docId));
+                    stamps.add(docStamps.get(docId));
+                } else {
+                    mapping[docId] = -1;
+                }
+            }
+
+            docPaths.clear();
+            docPaths.addAll(paths);
+            docStamps.clear();
+            docStamps.addAll(stamps);
+            docIds.clear();
+            liveDocs.clear();
+            for (int docId = 0; docId < docPaths.size(); docId++) {
+                docIds.put(docPaths.get(docId), docId);
+                liveDocs.set(docId);
+            }
+
+            for (Iterator<TreeMap<String, Postings>> dictionaries = termIndex.values().iterator(); dictionaries.hasNext(); ) {
+                TreeMap<String, Postings> dictionary = dictionaries.next();
+                dictionary.values().removeIf(postings -> postings.remap(mapping) == 0);
+                if (dictionary.isEmpty()) {
+                    dictionaries.remove();
+                }
+            }
+            numericIndex.values().removeIf(column -> column.remap(mapping) == 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 쓰기 잠금을 잡은 상태에서 호출
+    private void compactIfNeeded() {
+        int total = docPaths.size();
+        int deleted = total - liveDocs.cardinality();
+        if (total >= MIN_COMPACT_DOCUMENTS && deleted > total * compactDeletedRatio) {
+            log.debug("태그 검색 인덱스 압축: 문서 {}개 중 {}개 제외", total, deleted);
+            compact();
+        }
+    }
+
+    private long[] stampOf(Path path) {
+        DicomIndexEntry entry = dicomIndexService.getEntry(path);
+        return entry != null ? new long[]{entry.getFileSize(), entry.getLastModified()} : new long[]{-1, -1};
+    }
+
+    private void indexPath(Path path) {
+        try {
+            addDocument(path, headerReader.read(path, IncludeBulkData.NO).getAttributes());
+        } catch (Exception e) {
+            log.warn("검색 인덱스 추가 실패: {}, 오류: {}", path, e.getMessage());
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            docIds.clear();
+            docPaths.clear();
+            docStamps.clear();
+            liveDocs.clear();
+            termIndex.clear();
+            numericIndex.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---------- 색인 파일 저장/로드 ----------
+
+    /**
+     * 변경된 경우에만 압축한 뒤 저장한다. 문서 ID가 0부터 연속이므로 ID를 따로 기록하지 않는다.
+     */
+    synchronized void saveIfDirty() {
+        if (searchStorePath == null || building.get() || !dirty.getAndSet(false)) {
+            return;
+        }
+        compact();
+
+        lock.readLock().lock();
+        try {
+            Files.createDirectories(searchStorePath.toAbsolutePath().getParent());
+            Path tempFile = searchStorePath.resolveSibling(searchStorePath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+                out.writeInt(SEARCH_MAGIC);
+                out.writeInt(SEARCH_VERSION);
+                out.writeInt(docPaths.size());
+                for (int docId = 0; docId < docPaths.size(); docId++) {
+                    out.writeUTF(docPaths.get(docId).toString());
+                    out.writeLong(docStamps.get(docId)[0]);
+                    out.writeLong(docStamps.get(docId)[1]);
+                }
+
+                out.writeInt(termIndex.size());
+                for (Map.Entry<Integer, TreeMap<String, Postings>> dictionary : termIndex.entrySet()) {
+                    out.writeInt(dictionary.getKey());
+                    out.writeInt(dictionary.getValue().size());
+                    for (Map.Entry<String, Postings> term : dictionary.getValue().entrySet()) {
+                        out.writeUTF(term.getKey());
+                        term.getValue().write(out);
+                    }
+                }
+
+                out.writeInt(numericIndex.size());
+                for (Map.Entry<Integer, NumericColumn> column : numericIndex.entrySet()) {
+                    out.writeInt(column.getKey());
+                    column.getValue().write(out);
+                }
+            }
+            Files.move(tempFile, searchStorePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("태그 검색 인덱스 저장: 문서 {}개", docPaths.size());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("태그 검색 인덱스 저장 실패: {}", e.getMessage(), e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 저장본을 읽어 현재 색인을 대체한다. 없거나 읽을 수 없으면 false
+    private boolean load() {
+        if (searchStorePath == null || !Files.exists(searchStorePath)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(searchStorePath))))) {
+            if (in.readInt() != SEARCH_MAGIC || in.readInt() != SEARCH_VERSION) {
+                log.warn("검색 인덱스 파일 형식이 맞지 않아 새로 생성합니다: {}", searchStorePath);
+                return false;
+            }
+            clear();
+            int documentCount = in.readInt();
+            for (int docId = 0; docId < documentCount; docId++) {
+                Path path = Paths.get(in.readUTF());
+                docPaths.add(path);
+                docStamps.add(new long[]{in.readLong(), in.readLong()});
+                docIds.put(path, docId);
+                liveDocs.set(docId);
+            }
+
+            int dictionaryCount = in.readInt();
+            for (int i = 0; i < dictionaryCount; i++) {
+                TreeMap<String, Postings> dictionary = new TreeMap<>();
+                termIndex.put(in.readInt(), dictionary);
+                int termCount = in.readInt();
+                for (int j = 0; j < termCount; j++) {
+                    dictionary.put(in.readUTF(), Postings.read(in));
+                }
+            }
+
+            int columnCount = in.readInt();
+            for (int i = 0; i < columnCount; i++) {
+                numericIndex.put(in.readInt(), NumericColumn.read(in));
+            }
+            log.info("태그 검색 인덱스 로드: 문서 {}개", documentCount);
+            return true;
+        } catch (IOException e) {
+            clear();
+            log.warn("검색 인덱스 파일 로드 실패, 새로 생성합니다: {}", e.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---------- 질의 평가 ----------
+
+    private BitSet evaluate(DicomSearchQuery query) {
+        if (query == null || query.getOp() == null) {
+            throw new IllegalArgumentException("검색 조건(op)이 없습니다.");
+        }
+
+        switch (query.getOp().toUpperCase(Locale.ROOT)) {
+            case "AND": {
+                BitSet result = (BitSet) liveDocs.clone();
+                for (DicomSearchQuery clause : clauses(query)) {
+                    result.and(evaluate(clause));
+                }
+                return result;
+            }
+            case "OR": {
+                BitSet result = new BitSet();
+                for (DicomSearchQuery clause : clauses(query)) {
+                    result.or(evaluate(clause));
+                }
+                return result;
+            }
+            case "NOT": {
+                BitSet result = (BitSet) liveDocs.clone();
+                for (DicomSearchQuery clause : clauses(query)) {
+                    result.andNot(evaluate(clause));
+                }
+                return result;
+            }
+            case "TERM":
+                return termQuery(resolveTag(query.getTag()), requireValue(query));
+            case "PREFIX":
+                return prefixQuery(resolveTag(query.getTag()), requireValue(query));
+            case "CONTAINS":
+                return containsQuery(resolveTag(query.getTag()), requireValue(query));
+            case "RANGE":
+                if (query.getMin() == null && query.getMax() == null) {
+                    throw new IllegalArgumentException("RANGE 조건에는 min 또는 max가 필요합니다.");
+                }
+                return rangeQuery(resolveTag(query.getTag()),
+                        query.getMin(), query.isMinInclusive(), query.getMax(), query.isMaxInclusive());
+            default:
+                throw new IllegalArgumentException("지원하지 않는 연산: " + query.getOp());
+        }
+    }
+
+    private BitSet termQuery(int tag, String value) {
+        BitSet result = new BitSet();
+        Postings postings = dictionary(tag).get(normalize(value));
+        if (postings != null) {
+            postings.addTo(result);
+        }
+
+        // 숫자 태그는 같은 값의 범위 검색으로도 찾는다 (예: Rows = 512)
+        Double number = parseNumber(value);
+        if (number != null && numericIndex.containsKey(tag)) {
+            result.or(rangeQuery(tag, number, true, number, true));
+        }
+        return result;
+    }
+
+    private BitSet prefixQuery(int tag, String prefix) {
+        String normalized = normalize(prefix);
+        BitSet result = new BitSet();
+        dictionary(tag)
+                .subMap(normalized, true, normalized + Character.MAX_VALUE, true)
+                .values()
+                .forEach(postings -> postings.addTo(result));
+        return result;
+    }
+
+    private BitSet containsQuery(int tag, String value) {
+        // 문서 수가 아닌 태그의 고유 값 수에 비례
+        String normalized = normalize(value);
+        BitSet result = new BitSet();
+        dictionary(tag).forEach((term, postings) -> {
+            if (term.contains(normalized)) {
+                postings.addTo(result);
+            }
+        });
+        return result;
+    }
+
+    private BitSet rangeQuery(int tag, Double min, boolean minInclusive, Double max, boolean maxInclusive) {
+        NumericColumn column = numericIndex.get(tag);
+        return column != null ? column.range(min, minInclusive, max, maxInclusive) : new BitSet();
+    }
+
+    private static List<DicomSearchQuery> clauses(DicomSearchQuery query) {
+        return query.getClauses() != null ? query.getClauses() : Collections.emptyList();
+    }
+
+    private static String requireValue(DicomSearchQuery query) {
+        if (query.getValue() == null) {
+            throw new IllegalArgumentException(query.getOp() + " 조건에는 value가 필요합니다.");
+        }
+        return query.getValue();
+    }
+
+    private NavigableMap<String, Postings> dictionary(int tag) {
+        NavigableMap<String, Postings> dictionary = termIndex.get(tag);
+        return dictionary != null ? dictionary : Collections.emptyNavigableMap();
+    }
+
+    public static int resolveTag(String tag) {
+        if (tag == null || tag.isBlank()) {
+            throw new IllegalArgumentException("태그가 지정되지 않았습니다.");
+        }
+
+        String trimmed = tag.trim();
+        try {
+            if (trimmed.startsWith("(")) {
+                String[] parts = trimmed.substring(1, trimmed.length() - 1).split(",");
+                if (parts.length == 2) {
+                    return (Integer.parseInt(parts[0].trim(), 16) << 16) | Integer.parseInt(parts[1].trim(), 16);
+                }
+            } else if (trimmed.length() == 8 && trimmed.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+                return Integer.parseUnsignedInt(trimmed, 16);
+            } else {
+                int resolved = ElementDictionary.tagForKeyword(trimmed, null);
+                if (resolved != -1) {
+                    return resolved;
+                }
+            }
+        } catch (NumberFormatException e) {
+            // 아래에서 처리
+        }
+        throw new IllegalArgumentException("알 수 없는 태그: " + tag);
+    }
+
+    // ---------- 값 추출 ----------
+
+    private static void collectValues(Attributes attributes, Map<Integer, List<String>> terms, Map<Integer, List<Double>> numbers) {
+        for (int tag : attributes.tags()) {
+            try {
+                VR vr = attributes.getVR(tag);
+                switch (vr) {
+                    case DS:
+                    case IS:
+                        for (String value : nonNull(attributes.getStrings(tag))) {
+                            addTerm(terms, tag, value);
+                            Double number = parseNumber(value);
+                            if (number != null) {
+                                numbers.computeIfAbsent(tag, key -> new ArrayList<>()).add(number);
+                            }
+                        }
+                        break;
+                    case AE:
+                    case AS:
+                    case CS:
+                    case DA:
+                    case DT:
+                    case LO:
+                    case LT:
+                    case PN:
+                    case SH:
+                    case ST:
+                    case TM:
+                    case UC:
+                    case UI:
+                    case UR:
+                    case UT:
+                        for (String value : nonNull(attributes.getStrings(tag))) {
+                            addTerm(terms, tag, value);
+                        }
+                        break;
+                    case FL:
+                    case FD:
+                        double[] doubles = attributes.getDoubles(tag);
+                        for (double value : doubles != null ? doubles : new double[0]) {
+                            numbers.computeIfAbsent(tag, key -> new ArrayList<>()).add(value);
+                        }
+                        break;
+                    case SL:
+                    case SS:
+                    case US:
+                        int[] ints = attributes.getInts(tag);
+                        for (int value : ints != null ? ints : new int[0]) {
+                            numbers.computeIfAbsent(tag, key -> new ArrayList<>()).add((double) value);
+                        }
+                        break;
+                    case UL:
+                        long[] longs = attributes.getLongs(tag);
+                        for (long value : longs != null ? longs : new long[0]) {
+                            numbers.computeIfAbsent(tag, key -> new ArrayList<>()).add((double) value);
+                        }
+                        break;
+                    default:
+                        // 바이너리, 시퀀스 등은 색인하지 않음
+                        break;
+                }
+            } catch (Exception e) {
+                log.debug("태그 값 색인 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void addTerm(Map<Integer, List<String>> terms, int tag, String value) {
+        String normalized = normalize(value);
+        if (!normalized.isEmpty() && normalized.length() <= MAX_TERM_LENGTH) {
+            terms.computeIfAbsent(tag, key -> new ArrayList<>()).add(normalized);
+        }
+    }
+
+    private static String[] nonNull(String[] values) {
+        return values != null ? values : new String[0];
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Double parseNumber(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ---------- 색인 자료구조 ----------
+
+    /**
+     * 문서 ID 목록. 문서 ID는 증가하는 순서로만 추가되므로 항상 정렬되어 있다.
+     */
+    private static class Postings {
+        private int[] docIds = new int[4];
+        private int size;
+
+        void add(int docId) {
+            if (size > 0 && docIds[size - 1] == docId) {
+                return;
+            }
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            docIds[size++] = docId;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(docIds[i]);
+            }
+        }
+
+        // 압축 매핑을 적용하고 남은 문서 수를 반환
+        int remap(int[] mapping) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = mapping[docIds[i]];
+                if (mapped >= 0) {
+                    docIds[kept++] = mapped;
+                }
+            }
+            size = kept;
+            return size;
+        }
+
+        // 정렬되어 있으므로 차이값으로 저장
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(size);
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                out.writeInt(docIds[i] - previous);
+                previous = docIds[i];
+            }
+        }
+
+        static Postings read(DataInputStream in) throws IOException {
+            Postings postings = new Postings();
+            int size = in.readInt();
+            postings.docIds = new int[Math.max(size, 4)];
+            int docId = 0;
+            for (int i = 0; i < size; i++) {
+                docId += in.readInt();
+                postings.docIds[i] = docId;
+            }
+            postings.size = size;
+            return postings;
+        }
+    }
+
+    /**
+     * 값 기준으로 정렬된 (값, 문서 ID) 컬럼. 새 값은 뒤에 쌓아 두고 다음 범위 검색 때 병합 정렬한다.
+     */
+    private static class NumericColumn {
+        private double[] values = new double[16];
+        private int[] docIds = new int[16];
+        private int size;
+        private int sortedSize;
+
+        synchronized void add(double value, int docId) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            values[size] = value;
+            docIds[size] = docId;
+            size++;
+        }
+
+        synchronized BitSet range(Double min, boolean minInclusive, Double max, boolean maxInclusive) {
+            sortPending();
+
+            int from = min == null ? 0 : lowerBound(min, minInclusive);
+            int to = max == null ? size : upperBound(max, maxInclusive);
+            BitSet result = new BitSet();
+            for (int i = from; i < to; i++) {
+                result.set(docIds[i]);
+            }
+            return result;
+        }
+
+        // 압축 매핑을 적용하고 남은 항목 수를 반환. 값 순서는 그대로 유지된다
+        synchronized int remap(int[] mapping) {
+            sortPending();
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = mapping[docIds[i]];
+                if (mapped >= 0) {
+                    values[kept] = values[i];
+                    docIds[kept] = mapped;
+                    kept++;
+                }
+            }
+            size = kept;
+            sortedSize = kept;
+            return size;
+        }
+
+        synchronized void write(DataOutputStream out) throws IOException {
+            sortPending();
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeDouble(values[i]);
+                out.writeInt(docIds[i]);
+            }
+        }
+
+        static NumericColumn read(DataInputStream in) throws IOException {
+            NumericColumn column = new NumericColumn();
+            int size = in.readInt();
+            column.values = new double[Math.max(size, 16)];
+            column.docIds = new int[Math.max(size, 16)];
+            for (int i = 0; i < size; i++) {
+                column.values[i] = in.readDouble();
+                column.docIds[i] = in.readInt();
+            }
+            column.size = size;
+            column.sortedSize = size;
+            return column;
+        }
+
+        private void sortPending() {
+            if (sortedSize == size) {
+                return;
+            }
+
+            // 새로 추가된 구간만 정렬한 뒤 기존 정렬 구간과 병합
+            Integer[] order = new Integer[size - sortedSize];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = sortedSize + i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+            double[] mergedValues = new double[values.length];
+            int[] mergedDocIds = new int[docIds.length];
+            int left = 0;
+            int right = 0;
+            int target = 0;
+            while (left < sortedSize || right < order.length) {
+                boolean takeLeft = right >= order.length
+                        || (left < sortedSize && values[left] <= values[order[right]]);
+                int source = takeLeft ? left++ : order[right++];
+                mergedValues[target] = values[source];
+                mergedDocIds[target] = docIds[source];
+                target++;
+            }
+
+            values = mergedValues;
+            docIds = mergedDocIds;
+            sortedSize = size;
+        }
+
+        // min 이상(또는 초과)인 첫 위치
+        private int lowerBound(double min, boolean inclusive) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                boolean before = inclusive ? values[mid] < min : values[mid] <= min;
+                if (before) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // max 이하(또는 미만)인 마지막 위치 다음
+        private int upperBound(double max, boolean inclusive) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                boolean within = inclusive ? values[mid] <= max : values[mid] < max;
+                if (within) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
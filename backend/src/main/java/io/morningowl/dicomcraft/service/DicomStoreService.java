@@ -0,0 +1,606 @@
+package io.morningowl.dicomcraft.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 디스크 기반 DICOMweb 저장소 (STOW-RS / WADO-RS / QIDO-RS).
+ * 파일은 {root}/{StudyUID}/{SeriesUID}/{SOPInstanceUID}.dcm 에 저장되고, 검색은 메모리의 인스턴스 목록으로 처리한다.
+ * 수신과 전송 모두 multipart 본문을 파일과 소켓 사이에서 스트리밍하며 인스턴스 전체를 메모리에 올리지 않는다.
+ */
+@Slf4j
+@Service
+public class DicomStoreService {
+
+    // STOW-RS FailureReason 코드 (PS3.18 / PS3.7)
+    private static final int FAILURE_PROCESSING = 0x0110;
+    private static final int FAILURE_STUDY_MISMATCH = 0xA900;
+    private static final int FAILURE_CANNOT_UNDERSTAND = 0xC000;
+
+    private static final Pattern UID_PATTERN = Pattern.compile("[0-9]+(\\.[0-9]+)*");
+    private static final Set<String> RESERVED_QUERY_KEYS = Set.of("limit", "offset", "includefield", "fuzzymatching");
+    private static final byte[] CRLF = {'\r', '\n'};
+    // 범위로 요청할 수 있는 프레임 수 상한 (목록을 풀기 전에 검사해 큰 범위로 메모리를 쓰지 않게 한다)
+    private static final int MAX_FRAMES_PER_REQUEST = 100_000;
+
+    private static final Comparator<DicomIndexEntry> INSTANCE_ORDER = Comparator
+            .comparing((DicomIndexEntry entry) -> nullToEmpty(entry.getSeriesInstanceUID()))
+            .thenComparingInt(entry -> parseNumber(entry.getInstanceNumber()))
+            .thenComparing(entry -> nullToEmpty(entry.getSopInstanceUID()));
+
+    private final DicomHeaderReader headerReader;
+    private final Path rootDirectory;
+    private final Path incomingDirectory;
+    private final Map<String, DicomIndexEntry> instances = new ConcurrentHashMap<>();
+    private final List<DicomIndexListener> listeners = new CopyOnWriteArrayList<>();
+
+    public DicomStoreService(DicomHeaderReader headerReader,
+                             @Value("${dicomcraft.store.root:${user.home}/.dicomcraft/store}") String rootDirectory) {
+        this.headerReader = headerReader;
+        this.rootDirectory = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        this.incomingDirectory = this.rootDirectory.resolve(".incoming");
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(incomingDirectory);
+        long startTime = System.currentTimeMillis();
+        try (Stream<Path> files = Files.walk(rootDirectory)) {
+            files.filter(path -> !path.startsWith(incomingDirectory))
+                    .filter(path -> path.getFileName().toString().endsWith(".dcm"))
+                    .forEach(path -> {
+                        try {
+                            register(path, headerReader.read(path, IncludeBulkData.NO).getAttributes());
+                        } catch (Exception e) {
+                            log.warn("저장소 파일 읽기 실패 (제외): {}, 오류: {}", path, e.getMessage());
+                        }
+                    });
+        }
+        log.info("DICOMweb 저장소 로드 완료: {}, 인스턴스 {}개, {} ms",
+                rootDirectory, instances.size(), System.currentTimeMillis() - startTime);
+    }
+
+    public void addListener(DicomIndexListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * multipart/related 본문의 각 파트를 저장한다. 결과는 STOW-RS 응답 데이터셋
+     * (ReferencedSOPSequence / FailedSOPSequence)으로 반환한다.
+     */
+    public Attributes storeInstances(InputStream body, String boundary, String studyInstanceUID, String baseUrl) throws IOException {
+        Attributes response = new Attributes();
+        Sequence referenced = null;
+        Sequence failed = null;
+
+        MultipartRelatedReader reader = new MultipartRelatedReader(body, boundary);
+        while (reader.nextPart()) {
+            String contentType = reader.headers().getOrDefault("content-type", "application/dicom")
+                    .toLowerCase(Locale.ROOT);
+            if (!contentType.startsWith("application/dicom") || contentType.startsWith("application/dicom+")) {
+                log.warn("지원하지 않는 STOW 파트 형식: {}", contentType);
+                if (failed == null) {
+                    failed = response.newSequence(Tag.FailedSOPSequence, 4);
+                }
+                failed.add(failure(null, null, FAILURE_CANNOT_UNDERSTAND));
+                continue;
+            }
+
+            Path incoming = Files.createTempFile(incomingDirectory, "stow-", ".dcm");
+            try {
+                try (OutputStream out = Files.newOutputStream(incoming)) {
+                    reader.partStream().transferTo(out);
+                }
+
+                Attributes attributes;
+                try {
+                    attributes = headerReader.read(incoming, IncludeBulkData.NO).getAttributes();
+                } catch (Exception e) {
+                    log.warn("STOW 파트 파싱 실패: {}", e.getMessage());
+                    if (failed == null) {
+                        failed = response.newSequence(Tag.FailedSOPSequence, 4);
+                    }
+                    failed.add(failure(null, null, FAILURE_CANNOT_UNDERSTAND));
+                    continue;
+                }
+
+                String sopClassUID = attributes.getString(Tag.SOPClassUID);
+                String sopInstanceUID = attributes.getString(Tag.SOPInstanceUID);
+                String study = attributes.getString(Tag.StudyInstanceUID);
+                String series = attributes.getString(Tag.SeriesInstanceUID);
+
+                int failureReason = 0;
+                if (!isValidUid(sopInstanceUID) || !isValidUid(study) || !isValidUid(series)) {
+                    failureReason = FAILURE_CANNOT_UNDERSTAND;
+                } else if (studyInstanceUID != null && !studyInstanceUID.equals(study)) {
+                    failureReason = FAILURE_STUDY_MISMATCH;
+                }
+                if (failureReason != 0) {
+                    if (failed == null) {
+                        failed = response.newSequence(Tag.FailedSOPSequence, 4);
+                    }
+                    failed.add(failure(sopClassUID, sopInstanceUID, failureReason));
+                    continue;
+                }
+
+                Path target = rootDirectory.resolve(study).resolve(series).resolve(sopInstanceUID + ".dcm");
+                try {
+                    replaceInstance(incoming, target, attributes);
+                } catch (IOException e) {
+                    log.error("STOW 인스턴스 저장 실패: {}, 오류: {}", sopInstanceUID, e.getMessage(), e);
+                    if (failed == null) {
+                        failed = response.newSequence(Tag.FailedSOPSequence, 4);
+                    }
+                    failed.add(failure(sopClassUID, sopInstanceUID, FAILURE_PROCESSING));
+                    continue;
+                }
+
+                if (referenced == null) {
+                    referenced = response.newSequence(Tag.ReferencedSOPSequence, 16);
+                }
+                Attributes item = new Attributes(3);
+                item.setString(Tag.ReferencedSOPClassUID, VR.UI, sopClassUID);
+                item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, sopInstanceUID);
+                item.setString(Tag.RetrieveURL, VR.UR, instanceUrl(baseUrl, study, series, sopInstanceUID));
+                referenced.add(item);
+            } finally {
+                Files.deleteIfExists(incoming);
+            }
+        }
+
+        if (studyInstanceUID != null) {
+            response.setString(Tag.RetrieveURL, VR.UR, baseUrl + "/studies/" + studyInstanceUID);
+        }
+        log.info("STOW-RS 처리 완료: 저장 {}건, 실패 {}건",
+                referenced == null ? 0 : referenced.size(), failed == null ? 0 : failed.size());
+        return response;
+    }
+
+    /**
+     * 수신 파일을 저장 위치로 옮기고 등록한다. 같은 SOP Instance UID가 다른 스터디/시리즈 경로에 있었으면
+     * 이전 파일을 지워 검색되지 않는 파일이 남지 않게 한다.
+     */
+    private synchronized void replaceInstance(Path incoming, Path target, Attributes attributes) throws IOException {
+        DicomIndexEntry previous = instances.get(attributes.getString(Tag.SOPInstanceUID));
+        Files.createDirectories(target.getParent());
+        Files.move(incoming, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        register(target, attributes);
+        listeners.forEach(listener -> listener.onIndexed(target, attributes));
+
+        if (previous != null && !Paths.get(previous.getPath()).equals(target)) {
+            Path previousPath = Paths.get(previous.getPath());
+            Files.deleteIfExists(previousPath);
+            deleteEmptyDirectories(previousPath.getParent());
+            listeners.forEach(listener -> listener.onRemoved(previousPath));
+            log.info("다른 스터디/시리즈로 다시 저장된 인스턴스의 이전 파일 삭제: {}", previousPath);
+        }
+    }
+
+    // 루트 아래의 빈 시리즈/스터디 디렉토리 정리
+    private void deleteEmptyDirectories(Path directory) throws IOException {
+        while (directory != null && directory.startsWith(rootDirectory) && !directory.equals(rootDirectory)) {
+            try (Stream<Path> children = Files.list(directory)) {
+                if (children.findAny().isPresent()) {
+                    return;
+                }
+            }
+            Files.delete(directory);
+            directory = directory.getParent();
+        }
+    }
+
+    /**
+     * 스터디/시리즈/인스턴스 단위로 저장된 인스턴스를 찾는다. 없으면 IllegalArgumentException.
+     */
+    public List<DicomIndexEntry> findInstances(String studyInstanceUID, String seriesInstanceUID, String sopInstanceUID) {
+        List<DicomIndexEntry> result = instances.values().stream()
+                .filter(entry -> studyInstanceUID.equals(entry.getStudyInstanceUID()))
+                .filter(entry -> seriesInstanceUID == null || seriesInstanceUID.equals(entry.getSeriesInstanceUID()))
+                .filter(entry -> sopInstanceUID == null || sopInstanceUID.equals(entry.getSopInstanceUID()))
+                .sorted(INSTANCE_ORDER)
+                .collect(Collectors.toList());
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("저장된 인스턴스가 없습니다: " + studyInstanceUID);
+        }
+        return result;
+    }
+
+    // 스터디를 모르는 호출자용 시리즈 조회, 없으면 빈 목록
+    public List<DicomIndexEntry> findSeriesInstances(String seriesInstanceUID) {
+        return instances.values().stream()
+                .filter(entry -> seriesInstanceUID.equals(entry.getSeriesInstanceUID()))
+                .sorted(INSTANCE_ORDER)
+                .collect(Collectors.toList());
+    }
+
+    public DicomIndexEntry findInstance(String sopInstanceUID) {
+        DicomIndexEntry entry = instances.get(sopInstanceUID);
+        if (entry == null) {
+            throw new IllegalArgumentException("저장된 인스턴스가 없습니다: " + sopInstanceUID);
+        }
+        return entry;
+    }
+
+    /**
+     * 인스턴스 파일들을 multipart/related 파트로 그대로 복사한다.
+     */
+    public void writeInstances(List<DicomIndexEntry> entries, OutputStream out, String boundary) throws IOException {
+        for (DicomIndexEntry entry : entries) {
+            Path path = Paths.get(entry.getPath());
+            writePartHeader(out, boundary, "application/dicom", Files.size(path));
+            Files.copy(path, out);
+            out.write(CRLF);
+        }
+        out.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 인스턴스들의 메타데이터를 DICOM JSON 배열로 쓴다. 픽셀 데이터는 frames 리소스를 가리키는 BulkDataURI로 대체한다.
+     */
+    public void writeMetadata(List<DicomIndexEntry> entries, String baseUrl, JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        for (DicomIndexEntry entry : entries) {
+            DicomHeader header = headerReader.read(Paths.get(entry.getPath()), IncludeBulkData.NO);
+            generator.writeStartObject();
+            DicomJsonWriter.writeElements(generator, header.getAttributes());
+            if (header.hasPixelData()) {
+                // 프레임 수와 관계없이 URI 길이가 일정하도록 전체 프레임을 범위로 가리킨다
+                int frames = PixelLayout.of(header.getAttributes()).getNumberOfFrames();
+                String frameList = frames > 1 ? "1-" + frames : "1";
+                DicomJsonWriter.writeBulkDataElement(generator, Tag.PixelData,
+                        header.getAttributes().getInt(Tag.BitsAllocated, 16) > 8 ? VR.OW : VR.OB,
+                        instanceUrl(baseUrl, entry.getStudyInstanceUID(), entry.getSeriesInstanceUID(),
+                                entry.getSopInstanceUID()) + "/frames/" + frameList);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    /**
+     * WADO-RS 프레임 목록("1,3,5" 또는 "1-10" 범위 포함)을 프레임 번호 배열로 푼다. 형식이 잘못되면 NumberFormatException.
+     */
+    public static int[] parseFrameList(String frameList) {
+        List<Integer> frames = new ArrayList<>();
+        for (String item : frameList.split(",")) {
+            String trimmed = item.trim();
+            int dash = trimmed.indexOf('-', 1);
+            int first = Integer.parseInt(dash < 0 ? trimmed : trimmed.substring(0, dash).trim());
+            int last = dash < 0 ? first : Integer.parseInt(trimmed.substring(dash + 1).trim());
+            if (first < 1 || last < first || (long) frames.size() + last - first + 1 > MAX_FRAMES_PER_REQUEST) {
+                throw new NumberFormatException("잘못된 프레임 목록: " + frameList);
+            }
+            for (int frame = first; frame <= last; frame++) {
+                frames.add(frame);
+            }
+        }
+        return frames.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 프레임 조회가 가능한지 확인하고 헤더를 반환한다. 비압축 Little Endian 8/16비트 픽셀 데이터만 지원하며,
+     * 그 밖의 형식은 UnsupportedPixelDataException.
+     */
+    public DicomHeader prepareFrames(DicomIndexEntry entry, int[] frameNumbers) throws IOException {
+        DicomHeader header = headerReader.read(Paths.get(entry.getPath()), IncludeBulkData.NO);
+        if (!header.hasPixelData()) {
+            throw new IllegalArgumentException("픽셀 데이터가 없는 인스턴스입니다: " + entry.getSopInstanceUID());
+        }
+        if (!header.isOffsetAddressable() || header.isBigEndian()) {
+            throw new UnsupportedPixelDataException("압축되었거나 Deflate/Big Endian인 픽셀 데이터의 프레임 조회는 지원하지 않습니다.");
+        }
+        PixelLayout layout = PixelLayout.of(header.getAttributes());
+        if (!layout.isSupported()) {
+            // BitsAllocated 1은 프레임이 바이트 경계에 맞지 않아 위치 기반으로 자를 수 없다
+            throw new UnsupportedPixelDataException("지원하지 않는 픽셀 형식의 프레임 조회입니다. (BitsAllocated: "
+                    + layout.getBitsAllocated() + ")");
+        }
+        int numberOfFrames = layout.getNumberOfFrames();
+        for (int frame : frameNumbers) {
+            if (frame < 1 || frame > numberOfFrames) {
+                throw new IllegalArgumentException("존재하지 않는 프레임: " + frame);
+            }
+        }
+        return header;
+    }
+
+    /**
+     * 요청한 프레임들을 파일에서 위치 기반으로 잘라 multipart/related 파트로 전송한다.
+     */
+    public void writeFrames(DicomHeader header, int[] frameNumbers, OutputStream out, String boundary) throws IOException {
+        long frameLength = PixelLayout.of(header.getAttributes()).frameLength();
+        try (FileChannel channel = FileChannel.open(header.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            for (int frame : frameNumbers) {
+                writePartHeader(out, boundary, "application/octet-stream; transfer-syntax=1.2.840.10008.1.2.1", frameLength);
+                long position = header.getPixelDataOffset() + (frame - 1) * frameLength;
+                long remaining = frameLength;
+                while (remaining > 0) {
+                    long transferred = channel.transferTo(position, remaining, target);
+                    if (transferred <= 0) {
+                        throw new IOException("프레임 데이터가 파일 끝을 넘어섭니다: " + frame);
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+                out.write(CRLF);
+            }
+        }
+        out.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public List<Attributes> searchStudies(Map<String, String> params, String baseUrl) {
+        Map<String, List<DicomIndexEntry>> studies = group(instances.values().stream(), DicomIndexEntry::getStudyInstanceUID);
+
+        List<Attributes> results = new ArrayList<>();
+        for (List<DicomIndexEntry> study : studies.values()) {
+            DicomIndexEntry first = study.get(0);
+            Attributes attributes = patientStudyAttributes(first);
+            Set<String> modalities = new TreeSet<>();
+            study.forEach(entry -> {
+                if (entry.getModality() != null) {
+                    modalities.add(entry.getModality());
+                }
+            });
+            if (!modalities.isEmpty()) {
+                attributes.setString(Tag.ModalitiesInStudy, VR.CS, modalities.toArray(new String[0]));
+            }
+            attributes.setInt(Tag.NumberOfStudyRelatedSeries, VR.IS,
+                    (int) study.stream().map(DicomIndexEntry::getSeriesInstanceUID).distinct().count());
+            attributes.setInt(Tag.NumberOfStudyRelatedInstances, VR.IS, study.size());
+            attributes.setString(Tag.RetrieveURL, VR.UR, baseUrl + "/studies/" + first.getStudyInstanceUID());
+            results.add(attributes);
+        }
+        return page(filter(results, params), params);
+    }
+
+    public List<Attributes> searchSeries(String studyInstanceUID, Map<String, String> params, String baseUrl) {
+        Stream<DicomIndexEntry> candidates = instances.values().stream()
+                .filter(entry -> studyInstanceUID == null || studyInstanceUID.equals(entry.getStudyInstanceUID()));
+        Map<String, List<DicomIndexEntry>> series = group(candidates, DicomIndexEntry::getSeriesInstanceUID);
+
+        List<Attributes> results = new ArrayList<>();
+        for (List<DicomIndexEntry> group : series.values()) {
+            DicomIndexEntry first = group.get(0);
+            Attributes attributes = seriesAttributes(first);
+            attributes.setInt(Tag.NumberOfSeriesRelatedInstances, VR.IS, group.size());
+            attributes.setString(Tag.RetrieveURL, VR.UR,
+                    baseUrl + "/studies/" + first.getStudyInstanceUID() + "/series/" + first.getSeriesInstanceUID());
+            results.add(attributes);
+        }
+        return page(filter(results, params), params);
+    }
+
+    public List<Attributes> searchInstances(String studyInstanceUID, String seriesInstanceUID,
+                                            Map<String, String> params, String baseUrl) {
+        List<Attributes> results = instances.values().stream()
+                .filter(entry -> studyInstanceUID == null || studyInstanceUID.equals(entry.getStudyInstanceUID()))
+                .filter(entry -> seriesInstanceUID == null || seriesInstanceUID.equals(entry.getSeriesInstanceUID()))
+                .sorted(INSTANCE_ORDER)
+                .map(entry -> {
+                    Attributes attributes = seriesAttributes(entry);
+                    setIfPresent(attributes, Tag.SOPClassUID, VR.UI, entry.getSopClassUID());
+                    setIfPresent(attributes, Tag.SOPInstanceUID, VR.UI, entry.getSopInstanceUID());
+                    setIfPresent(attributes, Tag.InstanceNumber, VR.IS, entry.getInstanceNumber());
+                    attributes.setString(Tag.RetrieveURL, VR.UR, instanceUrl(baseUrl, entry.getStudyInstanceUID(),
+                            entry.getSeriesInstanceUID(), entry.getSopInstanceUID()));
+                    return attributes;
+                })
+                .collect(Collectors.toList());
+        return page(filter(results, params), params);
+    }
+
+    public int getInstanceCount() {
+        return instances.size();
+    }
+
+    private void register(Path path, Attributes attributes) throws IOException {
+        DicomIndexEntry entry = DicomIndexEntry.builder()
+                .path(path.toString())
+                .fileSize(Files.size(path))
+                .lastModified(Files.getLastModifiedTime(path).toMillis())
+                .patientId(attributes.getString(Tag.PatientID))
+                .patientName(attributes.getString(Tag.PatientName))
+                .studyInstanceUID(attributes.getString(Tag.StudyInstanceUID))
+                .studyDate(attributes.getString(Tag.StudyDate))
+                .studyDescription(attributes.getString(Tag.StudyDescription))
+                .accessionNumber(attributes.getString(Tag.AccessionNumber))
+                .seriesInstanceUID(attributes.getString(Tag.SeriesInstanceUID))
+                .seriesNumber(attributes.getString(Tag.SeriesNumber))
+                .modality(attributes.getString(Tag.Modality))
+                .seriesDescription(attributes.getString(Tag.SeriesDescription))
+                .sopInstanceUID(attributes.getString(Tag.SOPInstanceUID))
+                .sopClassUID(attributes.getString(Tag.SOPClassUID))
+                .instanceNumber(attributes.getString(Tag.InstanceNumber))
+                .build();
+        if (entry.getSopInstanceUID() != null && entry.getStudyInstanceUID() != null) {
+            instances.put(entry.getSopInstanceUID(), entry);
+        }
+    }
+
+    private static Map<String, List<DicomIndexEntry>> group(Stream<DicomIndexEntry> entries,
+                                                            Function<DicomIndexEntry, String> key) {
+        return entries.sorted(INSTANCE_ORDER)
+                .filter(entry -> key.apply(entry) != null)
+                .collect(Collectors.groupingBy(key, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    private static Attributes patientStudyAttributes(DicomIndexEntry entry) {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 192");
+        setIfPresent(attributes, Tag.StudyDate, VR.DA, entry.getStudyDate());
+        setIfPresent(attributes, Tag.AccessionNumber, VR.SH, entry.getAccessionNumber());
+        setIfPresent(attributes, Tag.StudyDescription, VR.LO, entry.getStudyDescription());
+        setIfPresent(attributes, Tag.PatientName, VR.PN, entry.getPatientName());
+        setIfPresent(attributes, Tag.PatientID, VR.LO, entry.getPatientId());
+        setIfPresent(attributes, Tag.StudyInstanceUID, VR.UI, entry.getStudyInstanceUID());
+        return attributes;
+    }
+
+    private static Attributes seriesAttributes(DicomIndexEntry entry) {
+        Attributes attributes = patientStudyAttributes(entry);
+        setIfPresent(attributes, Tag.Modality, VR.CS, entry.getModality());
+        setIfPresent(attributes, Tag.SeriesDescription, VR.LO, entry.getSeriesDescription());
+        setIfPresent(attributes, Tag.SeriesInstanceUID, VR.UI, entry.getSeriesInstanceUID());
+        setIfPresent(attributes, Tag.SeriesNumber, VR.IS, entry.getSeriesNumber());
+        return attributes;
+    }
+
+    private static void setIfPresent(Attributes attributes, int tag, VR vr, String value) {
+        if (value != null && !value.isEmpty()) {
+            attributes.setString(tag, vr, value);
+        }
+    }
+
+    /**
+     * QIDO-RS 매칭: 단일 값, UID 목록(콤마 구분), 와일드카드(*, ?), 날짜/시간 범위(a-b)를 지원한다.
+     * 알 수 없는 속성 이름은 IllegalArgumentException.
+     */
+    private static List<Attributes> filter(List<Attributes> candidates, Map<String, String> params) {
+        Map<Integer, String> criteria = new LinkedHashMap<>();
+        params.forEach((key, value) -> {
+            if (!RESERVED_QUERY_KEYS.contains(key.toLowerCase(Locale.ROOT)) && value != null && !value.isEmpty()) {
+                criteria.put(DicomSearchService.resolveTag(key), value);
+            }
+        });
+        if (criteria.isEmpty()) {
+            return candidates;
+        }
+        return candidates.stream()
+                .filter(attributes -> criteria.entrySet().stream()
+                        .allMatch(criterion -> matches(attributes, criterion.getKey(), criterion.getValue())))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean matches(Attributes attributes, int tag, String expected) {
+        String[] values = attributes.getStrings(tag);
+        if (values == null) {
+            return false;
+        }
+        VR vr = attributes.getVR(tag);
+        for (String value : values) {
+            if (value != null && matchesValue(vr, value, expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesValue(VR vr, String value, String expected) {
+        if (vr == VR.UI) {
+            for (String uid : expected.split("[,\\\\]")) {
+                if (uid.trim().equals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if ((vr == VR.DA || vr == VR.TM || vr == VR.DT) && expected.contains("-")) {
+            int dash = expected.indexOf('-');
+            String from = expected.substring(0, dash);
+            String to = expected.substring(dash + 1);
+            return (from.isEmpty() || value.compareTo(from) >= 0)
+                    && (to.isEmpty() || value.compareTo(to) <= 0 || value.startsWith(to));
+        }
+        if (expected.indexOf('*') >= 0 || expected.indexOf('?') >= 0) {
+            StringBuilder regex = new StringBuilder();
+            for (char c : expected.toCharArray()) {
+                if (c == '*') {
+                    regex.append(".*");
+                } else if (c == '?') {
+                    regex.append('.');
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            int flags = vr == VR.PN ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0;
+            return Pattern.compile(regex.toString(), flags).matcher(value).matches();
+        }
+        return vr == VR.PN ? value.equalsIgnoreCase(expected) : value.equals(expected);
+    }
+
+    private static List<Attributes> page(List<Attributes> results, Map<String, String> params) {
+        int offset = Math.max(0, parseNumber(params.get("offset")));
+        int limit = params.containsKey("limit") ? parseNumber(params.get("limit")) : Integer.MAX_VALUE;
+        if (offset >= results.size()) {
+            return List.of();
+        }
+        return results.subList(offset, (int) Math.min(results.size(), (long) offset + Math.max(0, limit)));
+    }
+
+    private static Attributes failure(String sopClassUID, String sopInstanceUID, int reason) {
+        Attributes item = new Attributes(3);
+        if (sopClassUID != null) {
+            item.setString(Tag.ReferencedSOPClassUID, VR.UI, sopClassUID);
+        }
+        if (sopInstanceUID != null) {
+            item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, sopInstanceUID);
+        }
+        item.setInt(Tag.FailureReason, VR.US, reason);
+        return item;
+    }
+
+    private static void writePartHeader(OutputStream out, String boundary, String contentType, long length) throws IOException {
+        out.write(("--" + boundary + "\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "Content-Length: " + length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String instanceUrl(String baseUrl, String study, String series, String sopInstanceUID) {
+        return baseUrl + "/studies/" + study + "/series/" + series + "/instances/" + sopInstanceUID;
+    }
+
+    // UID는 경로로 쓰이므로 숫자와 점만 허용 (경로 조작 방지)
+    private static boolean isValidUid(String uid) {
+        return uid != null && uid.length() <= 64 && UID_PATTERN.matcher(uid).matches();
+    }
+
+    private static int parseNumber(String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
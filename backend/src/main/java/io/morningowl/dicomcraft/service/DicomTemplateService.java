@@ -0,0 +1,101 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomTemplateInfo;
+import io.morningowl.dicomcraft.dto.DicomTemplateInstanceRequest;
+import io.morningowl.dicomcraft.dto.DicomTemplateRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 생성 템플릿 레지스트리. 등록된 태그 목록은 프로토타입 Attributes로 한 번만 변환해 두고,
+ * 인스턴스 생성 시에는 복제 후 변경 태그와 픽셀 데이터만 적용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DicomTemplateService {
+
+    private final DicomGenerationService dicomGenerationService;
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    public DicomTemplateInfo registerTemplate(DicomTemplateRequest request) {
+        Attributes prototype = dicomGenerationService.compileTemplate(request.getTags());
+        Template template = new Template(UUID.randomUUID().toString(), request.getName(), prototype,
+                request.getTags() != null ? request.getTags().size() : 0);
+        templates.put(template.id, template);
+        log.info("생성 템플릿 등록: {} ({}), 태그 {}개", template.name, template.id, template.tagCount);
+        return template.toInfo();
+    }
+
+    public List<DicomTemplateInfo> getTemplates() {
+        return templates.values().stream()
+                .sorted(Comparator.comparingLong(template -> template.createdAt))
+                .map(Template::toInfo)
+                .collect(Collectors.toList());
+    }
+
+    public DicomTemplateInfo getTemplate(String templateId) {
+        return getRequired(templateId).toInfo();
+    }
+
+    public boolean removeTemplate(String templateId) {
+        return templates.remove(templateId) != null;
+    }
+
+    public DicomGenerationResponse generate(String templateId, DicomTemplateInstanceRequest request) {
+        Template template = getRequired(templateId);
+        DicomGenerationResponse response = dicomGenerationService.generateFromTemplate(template.prototype,
+                request != null ? request.getOverrides() : null,
+                request != null ? request.getPixelData() : null);
+        if ("SUCCESS".equals(response.getGenerationStatus())) {
+            template.instanceCount.incrementAndGet();
+        }
+        return response;
+    }
+
+    private Template getRequired(String templateId) {
+        Template template = templates.get(templateId);
+        if (template == null) {
+            throw new IllegalArgumentException("존재하지 않는 템플릿: " + templateId);
+        }
+        return template;
+    }
+
+    private static class Template {
+        private final String id;
+        private final String name;
+        private final Attributes prototype; // 복제 원본으로만 사용하며 직접 수정하지 않음
+        private final int tagCount;
+        private final long createdAt = System.currentTimeMillis();
+        private final AtomicLong instanceCount = new AtomicLong();
+
+        private Template(String id, String name, Attributes prototype, int tagCount) {
+            this.id = id;
+            this.name = name;
+            this.prototype = prototype;
+            this.tagCount = tagCount;
+        }
+
+        private DicomTemplateInfo toInfo() {
+            return DicomTemplateInfo.builder()
+                    .templateId(id)
+                    .name(name)
+                    .tagCount(tagCount)
+                    .createdAt(createdAt)
+                    .instanceCount(instanceCount.get())
+                    .status("SUCCESS")
+                    .build();
+        }
+    }
+}
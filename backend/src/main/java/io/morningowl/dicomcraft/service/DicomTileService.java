@@ -0,0 +1,374 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomTileInfo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 큰 이미지를 고정 크기 타일 피라미드로 제공하는 서비스.
+ * 레벨 0 타일은 파일에서 필요한 행만 위치 기반으로 읽고, 상위 레벨은 하위 레벨 타일 4개를 2x2 평균으로 축소해 만든다.
+ * 등록한 이미지는 일정 시간 동안 조회가 없거나 등록 수 한도를 넘으면 오래 쓰지 않은 것부터 해제한다.
+ */
+@Slf4j
+@Service
+public class DicomTileService {
+
+    private final DicomHeaderReader headerReader;
+    private final int tileSize;
+    private final Path imageDirectory;
+    private final TileCache tileCache;
+    private final long imageTtlMillis;
+    private final int maxImages;
+    private final ScheduledExecutorService cleanupExecutor;
+    private final Map<String, TiledImage> images = new ConcurrentHashMap<>();
+
+    public DicomTileService(DicomHeaderReader headerReader,
+                            @Value("${dicomcraft.tile.size:256}") int tileSize,
+                            @Value("${dicomcraft.tile.work-dir:${java.io.tmpdir}/dicomcraft/tiles}") String workDirectory,
+                            @Value("${dicomcraft.tile.cache.memory-bytes:268435456}") long maxMemoryBytes,
+                            @Value("${dicomcraft.tile.cache.disk-bytes:2147483648}") long maxDiskBytes,
+                            @Value("${dicomcraft.tile.image-ttl-seconds:3600}") long imageTtlSeconds,
+                            @Value("${dicomcraft.tile.max-images:100}") int maxImages) throws IOException {
+        this.headerReader = headerReader;
+        this.tileSize = tileSize;
+        this.imageDirectory = Files.createDirectories(Paths.get(workDirectory, "images"));
+        this.tileCache = new TileCache(maxMemoryBytes, maxDiskBytes, Paths.get(workDirectory, "spill"));
+        this.imageTtlMillis = TimeUnit.SECONDS.toMillis(imageTtlSeconds);
+        this.maxImages = maxImages;
+
+        // 이전 실행에서 해제되지 않은 업로드 파일은 다시 등록할 방법이 없으므로 지운다
+        try (Stream<Path> leftovers = Files.list(imageDirectory)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+
+        this.cleanupExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dicom-tile-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cleanupExecutor.scheduleWithFixedDelay(this::removeExpiredImages, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupExecutor.shutdownNow();
+    }
+
+    public DicomTileInfo registerImage(MultipartFile file) {
+        String imageId = UUID.randomUUID().toString();
+        Path path = imageDirectory.resolve(imageId + ".dcm");
+        try {
+            file.transferTo(path);
+            DicomHeader header = headerReader.read(path);
+            PixelLayout layout = PixelLayout.of(header.getAttributes());
+
+            String unsupportedReason = checkSupported(header, layout);
+            if (unsupportedReason != null) {
+                Files.deleteIfExists(path);
+                return DicomTileInfo.builder()
+                        .fileName(file.getOriginalFilename())
+                        .status("ERROR")
+                        .errorMessage(unsupportedReason)
+                        .build();
+            }
+
+            TiledImage image = new TiledImage(imageId, file.getOriginalFilename(), path, header.getPixelDataOffset(), layout);
+            images.put(imageId, image);
+            evictOverflow();
+            log.info("타일 이미지 등록: {} ({}x{}, {} 레벨)", imageId, layout.getColumns(), layout.getRows(), image.levels);
+            return toInfo(image);
+
+        } catch (Exception e) {
+            log.error("타일 이미지 등록 중 오류 발생: {}", e.getMessage(), e);
+            deleteQuietly(path);
+            return DicomTileInfo.builder()
+                    .fileName(file.getOriginalFilename())
+                    .status("ERROR")
+                    .errorMessage("타일 이미지 등록 실패: " + e.getMessage())
+                    .build();
+        }
+    }
+
+    public DicomTileInfo getImageInfo(String imageId) {
+        return toInfo(getImage(imageId));
+    }
+
+    /**
+     * 지정한 레벨의 타일을 반환한다. 타일은 항상 tileSize x tileSize 크기이며 이미지 경계 밖은 0으로 채워진다.
+     * 샘플은 Little Endian, 픽셀 단위 인터리브 순서이다.
+     */
+    public byte[] getTile(String imageId, int frame, int level, int tileX, int tileY) throws IOException {
+        TiledImage image = getImage(imageId);
+        if (frame < 0 || frame >= image.layout.getNumberOfFrames()) {
+            throw new IllegalArgumentException("잘못된 프레임 번호: " + frame);
+        }
+        if (level < 0 || level >= image.levels
+                || tileX < 0 || tileX >= image.tilesAcross(level)
+                || tileY < 0 || tileY >= image.tilesDown(level)) {
+            throw new IllegalArgumentException(String.format("잘못된 타일 좌표: level=%d, x=%d, y=%d", level, tileX, tileY));
+        }
+        return loadTile(image, frame, level, tileX, tileY);
+    }
+
+    /**
+     * 마지막 조회 후 TTL이 지난 이미지를 해제한다.
+     */
+    void removeExpiredImages() {
+        long expiredBefore = System.currentTimeMillis() - imageTtlMillis;
+        images.values().stream()
+                .filter(image -> image.lastAccessMillis < expiredBefore)
+                .map(image -> image.imageId)
+                .toList()
+                .forEach(imageId -> {
+                    log.info("조회가 없는 타일 이미지 해제: {}", imageId);
+                    releaseImage(imageId);
+                });
+    }
+
+    // 등록 수 한도를 넘으면 가장 오래 조회하지 않은 이미지부터 해제
+    private void evictOverflow() {
+        int overflow = images.size() - maxImages;
+        if (overflow <= 0) {
+            return;
+        }
+        images.values().stream()
+                .sorted(Comparator.comparingLong(image -> image.lastAccessMillis))
+                .limit(overflow)
+                .map(image -> image.imageId)
+                .toList()
+                .forEach(imageId -> {
+                    log.info("등록 한도 초과로 타일 이미지 해제: {}", imageId);
+                    releaseImage(imageId);
+                });
+    }
+
+    public void releaseImage(String imageId) {
+        TiledImage image = images.remove(imageId);
+        if (image != null) {
+            tileCache.invalidate(imageId + "/");
+            deleteQuietly(image.path);
+        }
+    }
+
+    private byte[] loadTile(TiledImage image, int frame, int level, int tileX, int tileY) throws IOException {
+        String key = image.imageId + "/" + frame + "/" + level + "/" + tileX + "/" + tileY;
+        byte[] tile = tileCache.get(key);
+        if (tile != null) {
+            return tile;
+        }
+
+        // 하위 레벨은 요청될 때만 계산한다
+        tile = level == 0
+                ? readBaseTile(image, frame, tileX, tileY)
+                : downsampleTile(image, frame, level, tileX, tileY);
+        tileCache.put(key, tile);
+        return tile;
+    }
+
+    private byte[] readBaseTile(TiledImage image, int frame, int tileX, int tileY) throws IOException {
+        PixelLayout layout = image.layout;
+        int bytesPerPixel = layout.bytesPerPixel();
+        byte[] tile = new byte[tileSize * tileSize * bytesPerPixel];
+
+        int x0 = tileX * tileSize;
+        int y0 = tileY * tileSize;
+        int x1 = Math.min(x0 + tileSize, layout.getColumns());
+        int y1 = Math.min(y0 + tileSize, layout.getRows());
+        int rowBytes = (x1 - x0) * bytesPerPixel;
+        long frameOffset = image.pixelDataOffset + frame * layout.frameLength();
+
+        // 타일에 걸친 행의 해당 구간만 읽는다
+        try (FileChannel channel = FileChannel.open(image.path, StandardOpenOption.READ)) {
+            for (int y = y0; y < y1; y++) {
+                long position = frameOffset + ((long) y * layout.getColumns() + x0) * bytesPerPixel;
+                ByteBuffer buffer = ByteBuffer.wrap(tile, (y - y0) * tileSize * bytesPerPixel, rowBytes);
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new EOFException("픽셀 데이터가 예상보다 짧습니다: " + image.path);
+                    }
+                    position += read;
+                }
+            }
+        }
+        return tile;
+    }
+
+    private byte[] downsampleTile(TiledImage image, int frame, int level, int tileX, int tileY) throws IOException {
+        PixelLayout layout = image.layout;
+        int samples = layout.getSamplesPerPixel();
+        byte[] tile = new byte[tileSize * tileSize * layout.bytesPerPixel()];
+
+        int sourceLevel = level - 1;
+        int sourceWidth = image.levelWidth(sourceLevel);
+        int sourceHeight = image.levelHeight(sourceLevel);
+        int targetWidth = image.levelWidth(level);
+        int targetHeight = image.levelHeight(level);
+
+        // 이 타일을 덮는 하위 레벨 타일 2x2 (그리드 밖은 null)
+        byte[][] children = new byte[4][];
+        for (int dy = 0; dy < 2; dy++) {
+            for (int dx = 0; dx < 2; dx++) {
+                int childX = tileX * 2 + dx;
+                int childY = tileY * 2 + dy;
+                if (childX < image.tilesAcross(sourceLevel) && childY < image.tilesDown(sourceLevel)) {
+                    children[dy * 2 + dx] = loadTile(image, frame, sourceLevel, childX, childY);
+                }
+            }
+        }
+
+        int sourceOriginX = tileX * 2 * tileSize;
+        int sourceOriginY = tileY * 2 * tileSize;
+        int[] sums = new int[samples];
+        for (int y = 0; y < tileSize; y++) {
+            int globalY = tileY * tileSize + y;
+            if (globalY >= targetHeight) {
+                break;
+            }
+            for (int x = 0; x < tileSize; x++) {
+                int globalX = tileX * tileSize + x;
+                if (globalX >= targetWidth) {
+                    break;
+                }
+
+                Arrays.fill(sums, 0);
+                int count = 0;
+                for (int sy = globalY * 2; sy < Math.min(globalY * 2 + 2, sourceHeight); sy++) {
+                    for (int sx = globalX * 2; sx < Math.min(globalX * 2 + 2, sourceWidth); sx++) {
+                        int localX = sx - sourceOriginX;
+                        int localY = sy - sourceOriginY;
+                        byte[] child = children[(localY / tileSize) * 2 + (localX / tileSize)];
+                        int pixelIndex = (localY % tileSize) * tileSize + (localX % tileSize);
+                        for (int s = 0; s < samples; s++) {
+                            sums[s] += layout.readSample(child, pixelIndex * samples + s);
+                        }
+                        count++;
+                    }
+                }
+
+                int targetIndex = y * tileSize + x;
+                for (int s = 0; s < samples; s++) {
+                    layout.writeSample(tile, targetIndex * samples + s, Math.round((float) sums[s] / count));
+                }
+            }
+        }
+        return tile;
+    }
+
+    private String checkSupported(DicomHeader header, PixelLayout layout) {
+        if (!header.hasPixelData()) {
+            return "픽셀 데이터가 없는 파일입니다.";
+        }
+        if (!header.isOffsetAddressable()) {
+            return "압축되었거나 Deflate 전송 구문인 픽셀 데이터는 타일 변환을 지원하지 않습니다.";
+        }
+        if (header.isBigEndian()) {
+            return "Big Endian 전송 구문은 타일 변환을 지원하지 않습니다.";
+        }
+        if (!layout.isSupported()) {
+            return "지원하지 않는 픽셀 형식입니다. (BitsAllocated: " + layout.getBitsAllocated() + ")";
+        }
+        if (layout.getSamplesPerPixel() > 1 && layout.getPlanarConfiguration() != 0) {
+            return "Planar Configuration 1 컬러 이미지는 타일 변환을 지원하지 않습니다.";
+        }
+        return null;
+    }
+
+    private TiledImage getImage(String imageId) {
+        TiledImage image = images.get(imageId);
+        if (image == null) {
+            throw new IllegalArgumentException("등록되지 않은 이미지: " + imageId);
+        }
+        image.lastAccessMillis = System.currentTimeMillis();
+        return image;
+    }
+
+    private DicomTileInfo toInfo(TiledImage image) {
+        PixelLayout layout = image.layout;
+        return DicomTileInfo.builder()
+                .imageId(image.imageId)
+                .fileName(image.fileName)
+                .width(layout.getColumns())
+                .height(layout.getRows())
+                .numberOfFrames(layout.getNumberOfFrames())
+                .tileSize(tileSize)
+                .levels(image.levels)
+                .bitsAllocated(layout.getBitsAllocated())
+                .bitsStored(layout.getBitsStored())
+                .samplesPerPixel(layout.getSamplesPerPixel())
+                .pixelRepresentation(layout.getPixelRepresentation())
+                .photometricInterpretation(layout.getPhotometricInterpretation())
+                .status("SUCCESS")
+                .build();
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패: {}", path);
+        }
+    }
+
+    private class TiledImage {
+        private final String imageId;
+        private final String fileName;
+        private final Path path;
+        private final long pixelDataOffset;
+        private final PixelLayout layout;
+        private final int levels;
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+
+        private TiledImage(String imageId, String fileName, Path path, long pixelDataOffset, PixelLayout layout) {
+            this.imageId = imageId;
+            this.fileName = fileName;
+            this.path = path;
+            this.pixelDataOffset = pixelDataOffset;
+            this.layout = layout;
+
+            // 이미지 전체가 타일 하나에 들어가는 레벨까지 생성
+            int level = 0;
+            while (Math.max(levelWidth(level), levelHeight(level)) > tileSize) {
+                level++;
+            }
+            this.levels = level + 1;
+        }
+
+        private int levelWidth(int level) {
+            return (int) Math.ceil(layout.getColumns() / (double) (1L << level));
+        }
+
+        private int levelHeight(int level) {
+            return (int) Math.ceil(layout.getRows() / (double) (1L << level));
+        }
+
+        private int tilesAcross(int level) {
+            return (levelWidth(level) + tileSize - 1) / tileSize;
+        }
+
+        private int tilesDown(int level) {
+            return (levelHeight(level) + tileSize - 1) / tileSize;
+        }
+    }
+}
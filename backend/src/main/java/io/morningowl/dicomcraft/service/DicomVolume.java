@@ -0,0 +1,202 @@
+package io.morningowl.dicomcraft.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 시리즈를 슬라이스 순서대로 쌓은 16비트 부호 있는 볼륨.
+ * 복셀 값은 Rescale Slope/Intercept를 적용한 모달리티 값이며, 슬라이스마다 메모리 맵 버퍼로 파일에 보관된다.
+ * 좌표는 환자 좌표계(LPS, mm)와 복셀 인덱스(i = 열, j = 행, k = 슬라이스) 사이를 아핀 변환으로 오간다.
+ * 캐시와 사용 중인 요청이 참조를 하나씩 잡고, 마지막 참조가 해제될 때 파일을 지운다.
+ */
+@Slf4j
+class DicomVolume {
+
+    // 볼륨 밖 샘플을 나타내는 값
+    static final short OUTSIDE = Short.MIN_VALUE;
+
+    final String seriesInstanceUID;
+    final int columns;
+    final int rows;
+    final int slices;
+    final double columnSpacing; // 열 사이 간격 (rowDirection 방향)
+    final double rowSpacing;    // 행 사이 간격 (columnDirection 방향)
+    final double sliceSpacing;  // 슬라이스 사이 간격 (normal 방향)
+    final double[] origin;      // 첫 슬라이스 첫 픽셀의 환자 좌표
+    final double[] rowDirection;
+    final double[] columnDirection;
+    final double[] normal;
+    final double windowCenter;
+    final double windowWidth;
+    final int minValue;
+    final int maxValue;
+
+    private final Path file;
+    private final ShortBuffer[] sliceBuffers;
+    // 처음 참조는 캐시가 가진다
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    DicomVolume(String seriesInstanceUID, int columns, int rows, double columnSpacing, double rowSpacing,
+                double sliceSpacing, double[] origin, double[] rowDirection, double[] columnDirection,
+                double windowCenter, double windowWidth, int minValue, int maxValue,
+                Path file, ShortBuffer[] sliceBuffers) {
+        this.seriesInstanceUID = seriesInstanceUID;
+        this.columns = columns;
+        this.rows = rows;
+        this.slices = sliceBuffers.length;
+        this.columnSpacing = columnSpacing;
+        this.rowSpacing = rowSpacing;
+        this.sliceSpacing = sliceSpacing;
+        this.origin = origin;
+        this.rowDirection = rowDirection;
+        this.columnDirection = columnDirection;
+        this.normal = cross(rowDirection, columnDirection);
+        this.windowCenter = windowCenter;
+        this.windowWidth = windowWidth;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.file = file;
+        this.sliceBuffers = sliceBuffers;
+    }
+
+    long sizeInBytes() {
+        return (long) columns * rows * slices * 2;
+    }
+
+    /**
+     * 환자 좌표를 복셀 인덱스 좌표(실수)로 변환한다.
+     */
+    double[] toVoxel(double[] point) {
+        double dx = point[0] - origin[0];
+        double dy = point[1] - origin[1];
+        double dz = point[2] - origin[2];
+        return new double[]{
+                (dx * rowDirection[0] + dy * rowDirection[1] + dz * rowDirection[2]) / columnSpacing,
+                (dx * columnDirection[0] + dy * columnDirection[1] + dz * columnDirection[2]) / rowSpacing,
+                (dx * normal[0] + dy * normal[1] + dz * normal[2]) / sliceSpacing
+        };
+    }
+
+    /**
+     * 환자 좌표계 방향 벡터를 복셀 인덱스 증분으로 변환한다.
+     */
+    double[] toVoxelDirection(double[] direction) {
+        return new double[]{
+                dot(direction, rowDirection) / columnSpacing,
+                dot(direction, columnDirection) / rowSpacing,
+                dot(direction, normal) / sliceSpacing
+        };
+    }
+
+    double[] toPatient(double i, double j, double k) {
+        double[] point = new double[3];
+        for (int axis = 0; axis < 3; axis++) {
+            point[axis] = origin[axis]
+                    + i * columnSpacing * rowDirection[axis]
+                    + j * rowSpacing * columnDirection[axis]
+                    + k * sliceSpacing * normal[axis];
+        }
+        return point;
+    }
+
+    double[] center() {
+        return toPatient((columns - 1) / 2.0, (rows - 1) / 2.0, (slices - 1) / 2.0);
+    }
+
+    int get(int i, int j, int k) {
+        return sliceBuffers[k].get(j * columns + i);
+    }
+
+    int sampleNearest(double i, double j, double k) {
+        int ii = (int) Math.round(i);
+        int jj = (int) Math.round(j);
+        int kk = (int) Math.round(k);
+        if (ii < 0 || jj < 0 || kk < 0 || ii >= columns || jj >= rows || kk >= slices) {
+            return OUTSIDE;
+        }
+        return get(ii, jj, kk);
+    }
+
+    int sampleLinear(double i, double j, double k) {
+        if (i < 0 || j < 0 || k < 0 || i > columns - 1 || j > rows - 1 || k > slices - 1) {
+            return OUTSIDE;
+        }
+        // 경계 위의 점은 마지막 셀 안쪽으로 붙여 이웃 인덱스가 범위를 벗어나지 않게 한다
+        int i0 = Math.min((int) i, Math.max(columns - 2, 0));
+        int j0 = Math.min((int) j, Math.max(rows - 2, 0));
+        int k0 = Math.min((int) k, Math.max(slices - 2, 0));
+        int i1 = Math.min(i0 + 1, columns - 1);
+        int j1 = Math.min(j0 + 1, rows - 1);
+        int k1 = Math.min(k0 + 1, slices - 1);
+        double fi = i - i0;
+        double fj = j - j0;
+        double fk = k - k0;
+
+        double c00 = lerp(get(i0, j0, k0), get(i1, j0, k0), fi);
+        double c10 = lerp(get(i0, j1, k0), get(i1, j1, k0), fi);
+        double c01 = lerp(get(i0, j0, k1), get(i1, j0, k1), fi);
+        double c11 = lerp(get(i0, j1, k1), get(i1, j1, k1), fi);
+        double c0 = lerp(c00, c10, fj);
+        double c1 = lerp(c01, c11, fj);
+        return (int) Math.round(lerp(c0, c1, fk));
+    }
+
+    /**
+     * 참조를 하나 늘린다. 이미 마지막 참조가 해제되어 파일이 지워진 볼륨이면 false.
+     */
+    boolean retain() {
+        while (true) {
+            int count = references.get();
+            if (count <= 0) {
+                return false;
+            }
+            if (references.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        if (references.decrementAndGet() == 0) {
+            delete();
+        }
+    }
+
+    private void delete() {
+        try {
+            // 매핑은 GC 시점에 해제되지만 파일 항목은 바로 지워도 된다
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("볼륨 파일 삭제 실패: {}", file);
+        }
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+
+    static double dot(double[] a, double[] b) {
+        return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+    }
+
+    static double[] cross(double[] a, double[] b) {
+        return new double[]{
+                a[1] * b[2] - a[2] * b[1],
+                a[2] * b[0] - a[0] * b[2],
+                a[0] * b[1] - a[1] * b[0]
+        };
+    }
+
+    static double[] normalize(double[] v) {
+        double length = Math.sqrt(dot(v, v));
+        if (length < 1e-9) {
+            throw new IllegalArgumentException("방향 벡터의 길이가 0입니다.");
+        }
+        return new double[]{v[0] / length, v[1] / length, v[2] / length};
+    }
+}
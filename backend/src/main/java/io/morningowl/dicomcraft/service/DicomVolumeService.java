@@ -0,0 +1,578 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.dto.DicomMprRequest;
+import io.morningowl.dicomcraft.dto.DicomMprSlice;
+import io.morningowl.dicomcraft.dto.DicomVolumeInfo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 시리즈를 16비트 볼륨으로 쌓아 임의 평면(시상/관상/축/사선)으로 재구성(MPR)하는 서비스.
+ * 볼륨은 작업 디렉토리의 파일에 슬라이스 단위로 메모리 맵 되고, 원본 슬라이스는 한 장씩 위치 기반으로 읽어 옮긴다.
+ * 재구성은 출력 행 단위로 전용 ForkJoinPool에서 병렬 처리한다.
+ */
+@Slf4j
+@Service
+public class DicomVolumeService {
+
+    private static final int MAX_OUTPUT_SIZE = 4096;
+    private static final double[][] AXIAL = {{1, 0, 0}, {0, 1, 0}};
+    private static final double[][] CORONAL = {{1, 0, 0}, {0, 0, -1}};
+    private static final double[][] SAGITTAL = {{0, 1, 0}, {0, 0, -1}};
+
+    private final DicomHeaderReader headerReader;
+    private final DicomIndexService dicomIndexService;
+    private final DicomStoreService dicomStoreService;
+    private final Path workDirectory;
+    private final int maxCachedVolumes;
+    private final ForkJoinPool reslicePool;
+    // 접근 순서 LRU, 빌드 중인 볼륨은 future로 공유해 같은 시리즈를 두 번 만들지 않는다
+    private final Map<String, CompletableFuture<DicomVolume>> volumes = new LinkedHashMap<>(16, 0.75f, true);
+
+    public DicomVolumeService(DicomHeaderReader headerReader,
+                              DicomIndexService dicomIndexService,
+                              DicomStoreService dicomStoreService,
+                              @Value("${dicomcraft.volume.work-dir:${java.io.tmpdir}/dicomcraft/volumes}") String workDirectory,
+                              @Value("${dicomcraft.volume.max-cached:4}") int maxCachedVolumes,
+                              @Value("${dicomcraft.volume.threads:0}") int threads) throws IOException {
+        this.headerReader = headerReader;
+        this.dicomIndexService = dicomIndexService;
+        this.dicomStoreService = dicomStoreService;
+        this.workDirectory = Files.createDirectories(Paths.get(workDirectory));
+        this.maxCachedVolumes = Math.max(1, maxCachedVolumes);
+        this.reslicePool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reslicePool.shutdownNow();
+        synchronized (volumes) {
+            volumes.values().forEach(future -> future.thenAccept(DicomVolume::release));
+            volumes.clear();
+        }
+    }
+
+    public DicomVolumeInfo getVolumeInfo(String seriesInstanceUID) throws IOException {
+        DicomVolume volume = acquireVolume(seriesInstanceUID);
+        try {
+            return toInfo(volume);
+        } finally {
+            volume.release();
+        }
+    }
+
+    public void releaseVolume(String seriesInstanceUID) {
+        CompletableFuture<DicomVolume> future;
+        synchronized (volumes) {
+            future = volumes.remove(seriesInstanceUID);
+        }
+        if (future != null) {
+            // 재구성 중인 요청이 있으면 그 요청이 끝날 때 파일이 지워진다
+            future.thenAccept(DicomVolume::release);
+        }
+    }
+
+    /**
+     * 요청한 평면으로 볼륨을 재구성한다. 출력은 볼륨 전체를 덮도록 크기가 정해지며 픽셀은 정사각형이다.
+     * 평면 법선은 가로 방향 × 세로 방향이고, offset은 볼륨 중심에서 법선 방향으로의 거리다.
+     */
+    public DicomMprSlice reslice(String seriesInstanceUID, DicomMprRequest request) throws IOException {
+        boolean linear = parseInterpolation(request.getInterpolation());
+        double[][] axes = planeAxes(request);
+        double[] u = axes[0];
+        double[] v = axes[1];
+        double[] w = DicomVolume.cross(u, v);
+
+        DicomVolume volume = acquireVolume(seriesInstanceUID);
+        try {
+            return reslice(volume, request, linear, u, v, w);
+        } finally {
+            volume.release();
+        }
+    }
+
+    private DicomMprSlice reslice(DicomVolume volume, DicomMprRequest request, boolean linear,
+                                  double[] u, double[] v, double[] w) throws IOException {
+        double spacing = request.getSpacing() != null && request.getSpacing() > 0
+                ? request.getSpacing()
+                : Math.min(volume.sliceSpacing, Math.min(volume.columnSpacing, volume.rowSpacing));
+
+        double[] center = volume.center();
+        for (int axis = 0; axis < 3; axis++) {
+            center[axis] += request.getOffset() * w[axis];
+        }
+
+        // 볼륨 꼭짓점 8개를 평면에 투영해 출력 범위를 정한다
+        double minU = Double.MAX_VALUE, maxU = -Double.MAX_VALUE;
+        double minV = Double.MAX_VALUE, maxV = -Double.MAX_VALUE;
+        for (int corner = 0; corner < 8; corner++) {
+            double[] point = volume.toPatient(
+                    (corner & 1) == 0 ? 0 : volume.columns - 1,
+                    (corner & 2) == 0 ? 0 : volume.rows - 1,
+                    (corner & 4) == 0 ? 0 : volume.slices - 1);
+            double[] d = {point[0] - center[0], point[1] - center[1], point[2] - center[2]};
+            double pu = DicomVolume.dot(d, u);
+            double pv = DicomVolume.dot(d, v);
+            minU = Math.min(minU, pu);
+            maxU = Math.max(maxU, pu);
+            minV = Math.min(minV, pv);
+            maxV = Math.max(maxV, pv);
+        }
+        int width = (int) Math.floor((maxU - minU) / spacing) + 1;
+        int height = (int) Math.floor((maxV - minV) / spacing) + 1;
+        if (width > MAX_OUTPUT_SIZE || height > MAX_OUTPUT_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "출력 크기가 너무 큽니다: %dx%d (최대 %d), spacing을 늘려주세요.", width, height, MAX_OUTPUT_SIZE));
+        }
+
+        double[] start = new double[3];
+        for (int axis = 0; axis < 3; axis++) {
+            start[axis] = center[axis] + minU * u[axis] + minV * v[axis];
+        }
+
+        // 출력 좌표 (x, y, t) -> 복셀 좌표는 아핀이므로 시작점과 증분만 구해 두고 더해 나간다
+        double[] origin = volume.toVoxel(start);
+        double[] stepX = volume.toVoxelDirection(scale(u, spacing));
+        double[] stepY = volume.toVoxelDirection(scale(v, spacing));
+        double[] stepT = volume.toVoxelDirection(w);
+
+        double thickness = Math.max(0, request.getThickness());
+        int samples = 1;
+        double slabStep = 0;
+        if (thickness > 0) {
+            double voxelStep = Math.min(volume.sliceSpacing, Math.min(volume.columnSpacing, volume.rowSpacing));
+            int intervals = Math.max(1, (int) Math.ceil(thickness / voxelStep));
+            samples = intervals + 1;
+            slabStep = thickness / intervals;
+        }
+        double slabStart = -thickness / 2;
+        int slabSamples = samples;
+        double slabIncrement = slabStep;
+
+        short[] pixels = new short[width * height];
+        runParallel(() -> IntStream.range(0, height).parallel().forEach(y -> {
+            int rowOffset = y * width;
+            for (int x = 0; x < width; x++) {
+                double i = origin[0] + x * stepX[0] + y * stepY[0];
+                double j = origin[1] + x * stepX[1] + y * stepY[1];
+                double k = origin[2] + x * stepX[2] + y * stepY[2];
+                int value = DicomVolume.OUTSIDE;
+                for (int s = 0; s < slabSamples; s++) {
+                    double t = slabStart + s * slabIncrement;
+                    double si = i + t * stepT[0];
+                    double sj = j + t * stepT[1];
+                    double sk = k + t * stepT[2];
+                    // 볼륨 밖은 OUTSIDE(최솟값)이므로 최댓값 투영에 영향을 주지 않는다
+                    value = Math.max(value, linear ? volume.sampleLinear(si, sj, sk) : volume.sampleNearest(si, sj, sk));
+                }
+                pixels[rowOffset + x] = (short) value;
+            }
+        }));
+
+        return DicomMprSlice.builder()
+                .width(width)
+                .height(height)
+                .pixelSpacing(spacing)
+                .imagePosition(start)
+                .rowDirection(u)
+                .columnDirection(v)
+                .windowCenter(request.getWindowCenter() != null ? request.getWindowCenter() : volume.windowCenter)
+                .windowWidth(request.getWindowWidth() != null ? request.getWindowWidth() : volume.windowWidth)
+                .pixels(pixels)
+                .build();
+    }
+
+    /**
+     * 윈도우를 적용한 8비트 그레이스케일 PNG. 볼륨 밖 픽셀은 검은색.
+     */
+    public byte[] renderPng(DicomMprSlice slice) throws IOException {
+        BufferedImage image = new BufferedImage(slice.getWidth(), slice.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        byte[] target = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        double low = slice.getWindowCenter() - slice.getWindowWidth() / 2;
+        double range = Math.max(1, slice.getWindowWidth());
+        short[] pixels = slice.getPixels();
+        for (int index = 0; index < pixels.length; index++) {
+            if (pixels[index] == DicomVolume.OUTSIDE) {
+                continue;
+            }
+            double normalized = (pixels[index] - low) / range;
+            target[index] = (byte) Math.round(Math.max(0, Math.min(1, normalized)) * 255);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 16비트 부호 있는 Little Endian 원시 픽셀.
+     */
+    public byte[] toRawBytes(DicomMprSlice slice) {
+        ByteBuffer buffer = ByteBuffer.allocate(slice.getPixels().length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asShortBuffer().put(slice.getPixels());
+        return buffer.array();
+    }
+
+    /**
+     * 캐시의 볼륨을 참조를 잡은 채로 반환한다. 호출한 쪽은 사용이 끝나면 release() 해야 한다.
+     */
+    DicomVolume acquireVolume(String seriesInstanceUID) throws IOException {
+        while (true) {
+            DicomVolume volume = getVolume(seriesInstanceUID);
+            if (volume.retain()) {
+                return volume;
+            }
+            // 참조를 잡기 전에 캐시에서 제거되어 파일까지 지워진 볼륨이면 다시 만든다
+        }
+    }
+
+    private DicomVolume getVolume(String seriesInstanceUID) throws IOException {
+        CompletableFuture<DicomVolume> future;
+        boolean owner = false;
+        synchronized (volumes) {
+            future = volumes.get(seriesInstanceUID);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                volumes.put(seriesInstanceUID, future);
+                owner = true;
+                evictOverflow();
+            }
+        }
+
+        if (owner) {
+            try {
+                future.complete(buildVolume(seriesInstanceUID));
+            } catch (Exception e) {
+                synchronized (volumes) {
+                    volumes.remove(seriesInstanceUID, future);
+                }
+                future.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("볼륨 생성 실패: " + cause.getMessage(), cause);
+        }
+    }
+
+    // volumes 잠금 안에서 호출
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CompletableFuture<DicomVolume>>> iterator = volumes.entrySet().iterator();
+        while (volumes.size() > maxCachedVolumes && iterator.hasNext()) {
+            Map.Entry<String, CompletableFuture<DicomVolume>> eldest = iterator.next();
+            iterator.remove();
+            // 캐시의 참조만 놓는다. 재구성 중인 요청이 있으면 마지막 요청이 끝날 때 파일이 지워진다
+            eldest.getValue().thenAccept(DicomVolume::release);
+            log.info("볼륨 캐시에서 제거: {}", eldest.getKey());
+        }
+    }
+
+    private DicomVolume buildVolume(String seriesInstanceUID) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        List<SliceSource> sources = new ArrayList<>();
+        for (Path path : findSeriesFiles(seriesInstanceUID)) {
+            sources.add(readSource(path));
+        }
+        if (sources.size() < 2) {
+            throw new IllegalArgumentException("MPR에는 2장 이상의 슬라이스가 필요합니다: " + seriesInstanceUID);
+        }
+
+        SliceSource first = sources.get(0);
+        double[] rowDirection = DicomVolume.normalize(new double[]{first.orientation[0], first.orientation[1], first.orientation[2]});
+        double[] columnDirection = DicomVolume.normalize(new double[]{first.orientation[3], first.orientation[4], first.orientation[5]});
+        double[] normal = DicomVolume.cross(rowDirection, columnDirection);
+        for (SliceSource source : sources) {
+            checkCompatible(first, source, normal);
+            source.location = DicomVolume.dot(source.position, normal);
+        }
+        sources.sort(Comparator.comparingDouble(source -> source.location));
+
+        int count = sources.size();
+        double sliceSpacing = (sources.get(count - 1).location - sources.get(0).location) / (count - 1);
+        for (int k = 1; k < count; k++) {
+            double gap = sources.get(k).location - sources.get(k - 1).location;
+            if (gap < 1e-3) {
+                throw new IllegalArgumentException("같은 위치에 슬라이스가 두 장 이상 있습니다: " + sources.get(k).path.getFileName());
+            }
+            if (Math.abs(gap - sliceSpacing) > sliceSpacing * 0.1) {
+                log.warn("슬라이스 간격이 일정하지 않습니다: {} ({}mm, 평균 {}mm)", seriesInstanceUID, gap, sliceSpacing);
+            }
+        }
+
+        int columns = first.layout.getColumns();
+        int rows = first.layout.getRows();
+        long sliceBytes = (long) columns * rows * 2;
+        Path file = Files.createTempFile(workDirectory, "volume-", ".raw");
+        ShortBuffer[] sliceBuffers = new ShortBuffer[count];
+        int[] sliceMin = new int[count];
+        int[] sliceMax = new int[count];
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // 채널을 닫아도 매핑은 유효하다
+                for (int k = 0; k < count; k++) {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, k * sliceBytes, sliceBytes);
+                    sliceBuffers[k] = mapped.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+                }
+            }
+            runParallel(() -> IntStream.range(0, count).parallel().forEach(k -> {
+                try {
+                    int[] range = copySlice(sources.get(k), sliceBuffers[k]);
+                    sliceMin[k] = range[0];
+                    sliceMax[k] = range[1];
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        for (int k = 0; k < count; k++) {
+            sliceBuffers[k] = sliceBuffers[k].asReadOnlyBuffer();
+        }
+
+        int minValue = IntStream.of(sliceMin).min().orElse(0);
+        int maxValue = IntStream.of(sliceMax).max().orElse(0);
+        Attributes attributes = first.attributes;
+        double windowCenter = attributes.getDouble(Tag.WindowCenter, (minValue + maxValue) / 2.0);
+        double windowWidth = attributes.getDouble(Tag.WindowWidth, Math.max(1, maxValue - minValue));
+
+        DicomVolume volume = new DicomVolume(seriesInstanceUID, columns, rows,
+                first.pixelSpacing[1], first.pixelSpacing[0], sliceSpacing,
+                sources.get(0).position, rowDirection, columnDirection,
+                windowCenter, windowWidth, minValue, maxValue, file, sliceBuffers);
+        log.info("볼륨 생성 완료: {} ({}x{}x{}, {} bytes, {}ms)", seriesInstanceUID, columns, rows, count,
+                volume.sizeInBytes(), System.currentTimeMillis() - startedAt);
+        return volume;
+    }
+
+    private List<Path> findSeriesFiles(String seriesInstanceUID) {
+        List<DicomIndexEntry> entries = dicomIndexService.findInstances(seriesInstanceUID);
+        if (entries.isEmpty()) {
+            entries = dicomStoreService.findSeriesInstances(seriesInstanceUID);
+        }
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("시리즈를 찾을 수 없습니다: " + seriesInstanceUID);
+        }
+        return entries.stream().map(entry -> Paths.get(entry.getPath())).collect(Collectors.toList());
+    }
+
+    private SliceSource readSource(Path path) throws IOException {
+        DicomHeader header = headerReader.read(path, IncludeBulkData.NO);
+        Attributes attributes = header.getAttributes();
+        PixelLayout layout = PixelLayout.of(attributes);
+        String fileName = path.getFileName().toString();
+
+        if (!header.isOffsetAddressable() || header.isBigEndian()) {
+            throw new IllegalArgumentException("압축되지 않은 Little Endian 픽셀 데이터만 지원합니다: " + fileName);
+        }
+        if (!layout.isSupported() || layout.getSamplesPerPixel() != 1 || layout.getNumberOfFrames() != 1) {
+            throw new IllegalArgumentException("단일 프레임 흑백 8/16비트 이미지만 지원합니다: " + fileName);
+        }
+        double[] orientation = attributes.getDoubles(Tag.ImageOrientationPatient);
+        double[] position = attributes.getDoubles(Tag.ImagePositionPatient);
+        double[] pixelSpacing = attributes.getDoubles(Tag.PixelSpacing);
+        if (orientation == null || orientation.length != 6 || position == null || position.length != 3
+                || pixelSpacing == null || pixelSpacing.length != 2 || pixelSpacing[0] <= 0 || pixelSpacing[1] <= 0) {
+            throw new IllegalArgumentException("ImageOrientationPatient/ImagePositionPatient/PixelSpacing이 없습니다: " + fileName);
+        }
+
+        SliceSource source = new SliceSource();
+        source.path = path;
+        source.attributes = attributes;
+        source.layout = layout;
+        source.pixelDataOffset = header.getPixelDataOffset();
+        source.orientation = orientation;
+        source.position = position;
+        source.pixelSpacing = pixelSpacing;
+        source.slope = attributes.getDouble(Tag.RescaleSlope, 1.0);
+        source.intercept = attributes.getDouble(Tag.RescaleIntercept, 0.0);
+        return source;
+    }
+
+    private void checkCompatible(SliceSource first, SliceSource source, double[] normal) {
+        String fileName = source.path.getFileName().toString();
+        if (source.layout.getRows() != first.layout.getRows() || source.layout.getColumns() != first.layout.getColumns()) {
+            throw new IllegalArgumentException("슬라이스 크기가 다릅니다: " + fileName);
+        }
+        if (Math.abs(source.pixelSpacing[0] - first.pixelSpacing[0]) > 1e-3
+                || Math.abs(source.pixelSpacing[1] - first.pixelSpacing[1]) > 1e-3) {
+            throw new IllegalArgumentException("PixelSpacing이 다릅니다: " + fileName);
+        }
+        double[] sourceNormal = DicomVolume.normalize(DicomVolume.cross(
+                new double[]{source.orientation[0], source.orientation[1], source.orientation[2]},
+                new double[]{source.orientation[3], source.orientation[4], source.orientation[5]}));
+        if (DicomVolume.dot(sourceNormal, normal) < 0.999) {
+            throw new IllegalArgumentException("ImageOrientationPatient가 다른 슬라이스가 섞여 있습니다: " + fileName);
+        }
+    }
+
+    /**
+     * 원본 슬라이스 한 장을 읽어 모달리티 값으로 변환해 볼륨 버퍼에 쓰고 [최솟값, 최댓값]을 반환한다.
+     */
+    private int[] copySlice(SliceSource source, ShortBuffer target) throws IOException {
+        PixelLayout layout = source.layout;
+        ByteBuffer buffer = ByteBuffer.allocate((int) layout.frameLength());
+        try (FileChannel channel = FileChannel.open(source.path, StandardOpenOption.READ)) {
+            long position = source.pixelDataOffset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("픽셀 데이터가 예상보다 짧습니다: " + source.path.getFileName());
+                }
+                position += read;
+            }
+        }
+
+        byte[] bytes = buffer.array();
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int pixelCount = layout.getRows() * layout.getColumns();
+        for (int index = 0; index < pixelCount; index++) {
+            int stored = layout.readStoredValue(bytes, index);
+            // OUTSIDE(-32768)는 볼륨 밖 표시용으로 남겨 둔다
+            long value = Math.round(stored * source.slope + source.intercept);
+            int clamped = (int) Math.max(Short.MIN_VALUE + 1, Math.min(Short.MAX_VALUE, value));
+            target.put(index, (short) clamped);
+            min = Math.min(min, clamped);
+            max = Math.max(max, clamped);
+        }
+        return new int[]{min, max};
+    }
+
+    private void runParallel(Runnable task) throws IOException {
+        try {
+            reslicePool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("볼륨 작업이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("볼륨 작업 실패: " + cause.getMessage(), cause);
+        }
+    }
+
+    private double[][] planeAxes(DicomMprRequest request) {
+        String orientation = request.getOrientation() == null ? "AXIAL" : request.getOrientation().toUpperCase();
+        switch (orientation) {
+            case "AXIAL":
+                return AXIAL;
+            case "CORONAL":
+                return CORONAL;
+            case "SAGITTAL":
+                return SAGITTAL;
+            case "OBLIQUE":
+                double[] row = request.getRowDirection();
+                double[] column = request.getColumnDirection();
+                if (row == null || row.length != 3 || column == null || column.length != 3) {
+                    throw new IllegalArgumentException("OBLIQUE 평면에는 3차원 rowDirection, columnDirection이 필요합니다.");
+                }
+                double[] u = DicomVolume.normalize(row);
+                // 세로 방향은 가로 방향에 직교하도록 보정
+                double projection = DicomVolume.dot(column, u);
+                double[] v = DicomVolume.normalize(new double[]{
+                        column[0] - projection * u[0],
+                        column[1] - projection * u[1],
+                        column[2] - projection * u[2]});
+                return new double[][]{u, v};
+            default:
+                throw new IllegalArgumentException("지원하지 않는 평면입니다: " + request.getOrientation());
+        }
+    }
+
+    private boolean parseInterpolation(String interpolation) {
+        if (interpolation == null || "LINEAR".equalsIgnoreCase(interpolation)) {
+            return true;
+        }
+        if ("NEAREST".equalsIgnoreCase(interpolation)) {
+            return false;
+        }
+        throw new IllegalArgumentException("지원하지 않는 보간 방식입니다: " + interpolation);
+    }
+
+    private static double[] scale(double[] vector, double factor) {
+        return new double[]{vector[0] * factor, vector[1] * factor, vector[2] * factor};
+    }
+
+    private DicomVolumeInfo toInfo(DicomVolume volume) {
+        return DicomVolumeInfo.builder()
+                .seriesInstanceUID(volume.seriesInstanceUID)
+                .columns(volume.columns)
+                .rows(volume.rows)
+                .slices(volume.slices)
+                .voxelSpacing(new double[]{volume.columnSpacing, volume.rowSpacing, volume.sliceSpacing})
+                .origin(volume.origin)
+                .rowDirection(volume.rowDirection)
+                .columnDirection(volume.columnDirection)
+                .sliceDirection(volume.normal)
+                .minValue(volume.minValue)
+                .maxValue(volume.maxValue)
+                .windowCenter(volume.windowCenter)
+                .windowWidth(volume.windowWidth)
+                .volumeBytes(volume.sizeInBytes())
+                .status("SUCCESS")
+                .build();
+    }
+
+    private static class SliceSource {
+        private Path path;
+        private Attributes attributes;
+        private PixelLayout layout;
+        private long pixelDataOffset;
+        private double[] orientation;
+        private double[] position;
+        private double[] pixelSpacing;
+        private double slope;
+        private double intercept;
+        private double location; // 슬라이스 법선 방향 위치
+    }
+}
@@ -0,0 +1,204 @@
+package io.morningowl.dicomcraft.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * multipart/related 본문을 파트 단위로 읽는 스트리밍 파서.
+ * 본문 전체를 메모리에 올리지 않고 고정 크기 버퍼만 사용하며, 각 파트는 구분자 직전까지 읽히는 InputStream으로 제공된다.
+ */
+class MultipartRelatedReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter; // "\r\n--" + boundary
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfStream;
+    private boolean finished;
+    private PartInputStream currentPart;
+    private Map<String, String> headers = Map.of();
+
+    MultipartRelatedReader(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+        // 첫 구분자 앞에는 CRLF가 없을 수 있으므로 가상의 CRLF를 앞에 둔다
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        this.limit = 2;
+    }
+
+    /**
+     * 다음 파트로 이동한다. 이전 파트에서 읽지 않은 나머지는 버린다. 마지막 구분자에 도달하면 false.
+     */
+    boolean nextPart() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (currentPart != null) {
+            currentPart.skipRemaining();
+        } else {
+            // 프리앰블 건너뛰기
+            new PartInputStream().skipRemaining();
+        }
+
+        position += delimiter.length;
+        fill(2);
+        if (limit - position >= 2 && buffer[position] == '-' && buffer[position + 1] == '-') {
+            finished = true;
+            return false;
+        }
+
+        headers = readHeaders();
+        currentPart = new PartInputStream();
+        return true;
+    }
+
+    /**
+     * 현재 파트의 헤더. 이름은 소문자로 정규화되어 있다.
+     */
+    Map<String, String> headers() {
+        return headers;
+    }
+
+    InputStream partStream() {
+        return currentPart;
+    }
+
+    private Map<String, String> readHeaders() throws IOException {
+        // 구분자 뒤의 공백(transport padding)과 줄바꿈을 건너뛴 뒤 빈 줄까지 헤더를 읽는다
+        readLine();
+        Map<String, String> result = new HashMap<>();
+        String line;
+        int totalBytes = 0;
+        while (!(line = readLine()).isEmpty()) {
+            totalBytes += line.length();
+            if (totalBytes > MAX_HEADER_BYTES) {
+                throw new IOException("파트 헤더가 너무 큽니다.");
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                result.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        return result;
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            if (!fill(1)) {
+                throw new IOException("multipart 본문이 예상보다 일찍 끝났습니다.");
+            }
+            byte b = buffer[position++];
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+            if (line.size() > MAX_HEADER_BYTES) {
+                throw new IOException("파트 헤더가 너무 큽니다.");
+            }
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 버퍼에 최소 required 바이트가 남도록 채운다. 스트림 끝이라 채울 수 없으면 false.
+     */
+    private boolean fill(int required) throws IOException {
+        if (limit - position >= required) {
+            return true;
+        }
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        while (limit < required && !endOfStream) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfStream = true;
+            } else {
+                limit += read;
+            }
+        }
+        return limit - position >= required;
+    }
+
+    private int indexOfDelimiter() {
+        int last = limit - delimiter.length;
+        outer:
+        for (int i = position; i <= last; i++) {
+            if (buffer[i] != delimiter[0]) {
+                continue;
+            }
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private class PartInputStream extends InputStream {
+
+        private boolean partEnded;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (partEnded) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            fill(delimiter.length);
+            int found = indexOfDelimiter();
+            int available;
+            if (found >= 0) {
+                available = found - position;
+                if (available == 0) {
+                    partEnded = true;
+                    return -1;
+                }
+            } else {
+                if (endOfStream) {
+                    throw new IOException("multipart 구분자를 찾을 수 없습니다.");
+                }
+                // 구분자의 앞부분일 수 있는 꼬리는 남겨 둔다 (fill 이후 최소 1바이트는 내보낼 수 있음)
+                available = limit - position - (delimiter.length - 1);
+            }
+            int count = Math.min(len, available);
+            System.arraycopy(buffer, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        void skipRemaining() throws IOException {
+            byte[] discard = new byte[8192];
+            while (read(discard, 0, discard.length) >= 0) {
+                // 버림
+            }
+        }
+    }
+}
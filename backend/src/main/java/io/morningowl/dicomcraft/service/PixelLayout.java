@@ -0,0 +1,105 @@
+package io.morningowl.dicomcraft.service;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+
+/**
+ * 압축되지 않은(native) 픽셀 데이터의 메모리 배치 정보와 샘플 읽기/쓰기 헬퍼.
+ * 샘플은 Little Endian, 8비트 또는 16비트 할당만 지원한다.
+ */
+@Getter
+@Builder
+public class PixelLayout {
+    private final int rows;
+    private final int columns;
+    private final int samplesPerPixel;
+    private final int bitsAllocated;
+    private final int bitsStored;
+    private final int pixelRepresentation;
+    private final int planarConfiguration;
+    private final int numberOfFrames;
+    private final String photometricInterpretation;
+
+    public static PixelLayout of(Attributes attributes) {
+        int bitsAllocated = attributes.getInt(Tag.BitsAllocated, 0);
+        return PixelLayout.builder()
+                .rows(attributes.getInt(Tag.Rows, 0))
+                .columns(attributes.getInt(Tag.Columns, 0))
+                .samplesPerPixel(attributes.getInt(Tag.SamplesPerPixel, 1))
+                .bitsAllocated(bitsAllocated)
+                .bitsStored(attributes.getInt(Tag.BitsStored, bitsAllocated))
+                .pixelRepresentation(attributes.getInt(Tag.PixelRepresentation, 0))
+                .planarConfiguration(attributes.getInt(Tag.PlanarConfiguration, 0))
+                .numberOfFrames(Math.max(1, attributes.getInt(Tag.NumberOfFrames, 1)))
+                .photometricInterpretation(attributes.getString(Tag.PhotometricInterpretation, "MONOCHROME2"))
+                .build();
+    }
+
+    public boolean isSupported() {
+        return rows > 0 && columns > 0 && (bitsAllocated == 8 || bitsAllocated == 16);
+    }
+
+    public boolean isSigned() {
+        return pixelRepresentation == 1;
+    }
+
+    public int bytesPerSample() {
+        return bitsAllocated / 8;
+    }
+
+    public int bytesPerPixel() {
+        return samplesPerPixel * bytesPerSample();
+    }
+
+    public long frameLength() {
+        return (long) rows * columns * bytesPerPixel();
+    }
+
+    public int maxValue() {
+        return isSigned() ? (1 << (bitsStored - 1)) - 1 : (1 << bitsStored) - 1;
+    }
+
+    public int minValue() {
+        return isSigned() ? -(1 << (bitsStored - 1)) : 0;
+    }
+
+    /**
+     * 샘플 인덱스 위치의 값을 읽는다. (byte offset = sampleIndex * bytesPerSample)
+     */
+    public int readSample(byte[] buffer, int sampleIndex) {
+        if (bitsAllocated == 8) {
+            byte b = buffer[sampleIndex];
+            return isSigned() ? b : b & 0xFF;
+        }
+        int offset = sampleIndex << 1;
+        int value = (buffer[offset] & 0xFF) | ((buffer[offset + 1] & 0xFF) << 8);
+        return isSigned() ? (short) value : value;
+    }
+
+    /**
+     * readSample 값에서 BitsStored 밖의 상위 비트를 버리고, 부호 있는 경우 BitsStored 기준으로 부호 확장한다.
+     */
+    public int readStoredValue(byte[] buffer, int sampleIndex) {
+        int value = readSample(buffer, sampleIndex);
+        if (bitsStored >= bitsAllocated) {
+            return value;
+        }
+        value &= (1 << bitsStored) - 1;
+        if (isSigned() && (value & (1 << (bitsStored - 1))) != 0) {
+            value -= 1 << bitsStored;
+        }
+        return value;
+    }
+
+    public void writeSample(byte[] buffer, int sampleIndex, int value) {
+        if (bitsAllocated == 8) {
+            buffer[sampleIndex] = (byte) value;
+            return;
+        }
+        int offset = sampleIndex << 1;
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >> 8);
+    }
+}
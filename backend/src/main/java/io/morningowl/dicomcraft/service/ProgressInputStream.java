@@ -0,0 +1,65 @@
+package io.morningowl.dicomcraft.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 읽은 바이트 수를 일정 간격마다 DicomProgressListener에 알리는 스트림.
+ */
+class ProgressInputStream extends FilterInputStream {
+
+    private static final long REPORT_INTERVAL_BYTES = 1024 * 1024;
+
+    private final DicomProgressListener listener;
+    private long bytesRead;
+    private long nextReport = REPORT_INTERVAL_BYTES;
+
+    ProgressInputStream(InputStream in, DicomProgressListener listener) {
+        super(in);
+        this.listener = listener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        } else {
+            listener.onBytesRead(bytesRead);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            advance(read);
+        } else if (read < 0) {
+            listener.onBytesRead(bytesRead);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        // mark/reset으로 되돌아가면 바이트 수가 맞지 않으므로 지원하지 않음
+        return false;
+    }
+
+    private void advance(long count) {
+        bytesRead += count;
+        if (bytesRead >= nextReport) {
+            nextReport = bytesRead + REPORT_INTERVAL_BYTES;
+            listener.onBytesRead(bytesRead);
+        }
+    }
+}
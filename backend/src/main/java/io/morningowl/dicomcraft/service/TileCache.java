@@ -0,0 +1,142 @@
+package io.morningowl.dicomcraft.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 한도를 넘으면 가장 오래 사용되지 않은 타일을 디스크로 내보내는 LRU 캐시.
+ * 디스크 영역도 한도를 넘으면 오래된 타일부터 삭제한다.
+ */
+@Slf4j
+class TileCache {
+
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private final Path spillDirectory;
+
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    TileCache(long maxMemoryBytes, long maxDiskBytes, Path spillDirectory) throws IOException {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        this.spillDirectory = Files.createDirectories(spillDirectory);
+        // 이전 실행의 스필 파일은 키 정보가 없어 다시 쓸 수 없다
+        try (Stream<Path> leftovers = Files.list(this.spillDirectory)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+    }
+
+    synchronized byte[] get(String key) {
+        byte[] tile = memory.get(key);
+        if (tile != null) {
+            return tile;
+        }
+
+        Long size = disk.remove(key);
+        if (size == null) {
+            return null;
+        }
+        diskBytes -= size;
+
+        // 디스크에서 읽은 타일은 다시 메모리로 올린다
+        Path file = spillFile(key);
+        try {
+            tile = Files.readAllBytes(file);
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("스필된 타일 읽기 실패: {}, 오류: {}", key, e.getMessage());
+            return null;
+        }
+        putInMemory(key, tile);
+        return tile;
+    }
+
+    synchronized void put(String key, byte[] tile) {
+        putInMemory(key, tile);
+    }
+
+    // 주어진 접두어(이미지 ID)로 시작하는 타일을 모두 제거
+    synchronized void invalidate(String keyPrefix) {
+        Iterator<Map.Entry<String, byte[]>> memoryIterator = memory.entrySet().iterator();
+        while (memoryIterator.hasNext()) {
+            Map.Entry<String, byte[]> entry = memoryIterator.next();
+            if (entry.getKey().startsWith(keyPrefix)) {
+                memoryBytes -= entry.getValue().length;
+                memoryIterator.remove();
+            }
+        }
+
+        Iterator<Map.Entry<String, Long>> diskIterator = disk.entrySet().iterator();
+        while (diskIterator.hasNext()) {
+            Map.Entry<String, Long> entry = diskIterator.next();
+            if (entry.getKey().startsWith(keyPrefix)) {
+                diskBytes -= entry.getValue();
+                deleteQuietly(spillFile(entry.getKey()));
+                diskIterator.remove();
+            }
+        }
+    }
+
+    private void putInMemory(String key, byte[] tile) {
+        byte[] previous = memory.put(key, tile);
+        if (previous != null) {
+            memoryBytes -= previous.length;
+        }
+        memoryBytes += tile.length;
+
+        Iterator<Map.Entry<String, byte[]>> iterator = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+            Map.Entry<String, byte[]> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            memoryBytes -= eldest.getValue().length;
+            iterator.remove();
+            spill(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void spill(String key, byte[] tile) {
+        if (tile.length > maxDiskBytes) {
+            return;
+        }
+        try {
+            Files.write(spillFile(key), tile);
+            disk.put(key, (long) tile.length);
+            diskBytes += tile.length;
+        } catch (IOException e) {
+            log.warn("타일 디스크 스필 실패: {}, 오류: {}", key, e.getMessage());
+            return;
+        }
+
+        Iterator<Map.Entry<String, Long>> iterator = disk.entrySet().iterator();
+        while (diskBytes > maxDiskBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            diskBytes -= eldest.getValue();
+            deleteQuietly(spillFile(eldest.getKey()));
+            iterator.remove();
+        }
+    }
+
+    private Path spillFile(String key) {
+        return spillDirectory.resolve(key.replace('/', '_') + ".tile");
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("스필 파일 삭제 실패: {}", file);
+        }
+    }
+}
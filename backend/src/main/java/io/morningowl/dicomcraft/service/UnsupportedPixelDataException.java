@@ -0,0 +1,12 @@
+package io.morningowl.dicomcraft.service;
+
+/**
+ * 픽셀 데이터가 있지만 요청한 방식으로 내보낼 수 없는 형식일 때 (압축, Big Endian, 1비트 등).
+ * DICOMweb 프레임 조회에서는 406 Not Acceptable로 응답한다.
+ */
+public class UnsupportedPixelDataException extends RuntimeException {
+
+    public UnsupportedPixelDataException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,105 @@
+package io.morningowl.dicomcraft;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomTagExtractorTest {
+
+    private static final String LOGBACK_PROPERTY = "logback.configurationFile";
+
+    @TempDir
+    Path tempDir;
+
+    private Path input;
+    private String previousLogbackConfiguration;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // main()이 콘솔용 로그 설정을 시스템 속성으로 지정하므로 테스트 뒤에 되돌린다
+        previousLogbackConfiguration = System.getProperty(LOGBACK_PROPERTY);
+
+        input = Files.createDirectories(tempDir.resolve("input"));
+        write(input.resolve("a/1.dcm"), "CT", "P1", "1.2.3.1", "1.2.3.2");
+        write(input.resolve("a/b/2.dcm"), "MR", "P2");
+        write(input.resolve("c/3.dcm"), "CT", "P3", "1.2.3.3");
+        write(input.resolve("c/4.dcm"), "US", "P4");
+        Files.writeString(input.resolve("a/notes.txt"), "not dicom");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousLogbackConfiguration == null) {
+            System.clearProperty(LOGBACK_PROPERTY);
+        } else {
+            System.setProperty(LOGBACK_PROPERTY, previousLogbackConfiguration);
+        }
+    }
+
+    // 큐 용량 1에 워커 3개: 워커마다 종료 표시를 받지 못하면 쓰기 루프가 끝나지 않는다
+    @Test
+    @Timeout(30)
+    void extractsTagsAndPathQueriesAndDecodesBackToCsv() throws Exception {
+        Path encoded = tempDir.resolve("out/tags.csv.gz");
+        Path decoded = tempDir.resolve("tags.csv");
+
+        DicomTagExtractor.main(new String[]{
+                "--input=" + input,
+                "--output=" + encoded,
+                "--tags=Modality,ReferencedSeriesSequence.SeriesInstanceUID,(0010,0020)",
+                "--threads=3",
+                "--queue-capacity=1"});
+        DicomTagExtractor.main(new String[]{"--decode=" + encoded, "--output=" + decoded});
+
+        List<String> lines = Files.readAllLines(decoded, StandardCharsets.UTF_8);
+        assertThat(lines.get(0)).isEqualTo("path,Modality,ReferencedSeriesSequence.SeriesInstanceUID,\"(0010,0020)\"");
+        // 행 순서는 워커 처리 순서를 따르므로 순서 없이 비교하고, DICOM이 아닌 파일은 빠진다
+        assertThat(lines.subList(1, lines.size())).containsExactlyInAnyOrder(
+                input.resolve("a/1.dcm") + ",CT,1.2.3.1\\1.2.3.2,P1",
+                input.resolve("a/b/2.dcm") + ",MR,,P2",
+                input.resolve("c/3.dcm") + ",CT,1.2.3.3,P3",
+                input.resolve("c/4.dcm") + ",US,,P4");
+    }
+
+    @Test
+    void splitsTagsOutsideParenthesesAndSelectors() {
+        assertThat(DicomTagExtractor.splitTags("Modality, (0010,0020),ContentSequence[ValueType=NUM,x].CodeValue,"))
+                .containsExactly("Modality", "(0010,0020)", "ContentSequence[ValueType=NUM,x].CodeValue");
+    }
+
+    private static void write(Path path, String modality, String patientId, String... referencedSeries) throws IOException {
+        Files.createDirectories(path.getParent());
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.9." + Math.abs(path.hashCode()));
+        attributes.setString(Tag.Modality, VR.CS, modality);
+        attributes.setString(Tag.PatientID, VR.LO, patientId);
+        if (referencedSeries.length > 0) {
+            Sequence sequence = attributes.newSequence(Tag.ReferencedSeriesSequence, referencedSeries.length);
+            for (String seriesInstanceUID : referencedSeries) {
+                Attributes item = new Attributes();
+                item.setString(Tag.SeriesInstanceUID, VR.UI, seriesInstanceUID);
+                sequence.add(item);
+            }
+        }
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+    }
+}
@@ -3,7 +3,12 @@ package io.morningowl.dicomcraft;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// 저장소/인덱스 파일이 사용자 홈이 아닌 임시 디렉토리에 만들어지도록 경로를 바꾼다
+@SpringBootTest(properties = {
+	"dicomcraft.store.root=${java.io.tmpdir}/dicomcraft-test/${random.uuid}/store",
+	"dicomcraft.index.file=${java.io.tmpdir}/dicomcraft-test/${random.uuid}/index.bin",
+	"dicomcraft.search.file=${java.io.tmpdir}/dicomcraft-test/${random.uuid}/search.bin"
+})
 class DicomcraftApplicationTests {
 
 	@Test
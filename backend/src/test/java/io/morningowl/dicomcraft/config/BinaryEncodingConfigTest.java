@@ -0,0 +1,158 @@
+package io.morningowl.dicomcraft.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.dto.DicomAnalysisResponse;
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomTag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BinaryEncodingConfigTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryEncodingConfigTest.class);
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int TIMED_ROUNDS = 50;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = BinaryEncodingConfig.cborObjectMapper();
+    private final ObjectMapper smileMapper = BinaryEncodingConfig.smileObjectMapper();
+
+    // =================== 분석 응답 ===================
+
+    @Test
+    void binary_encodings_should_be_smaller_than_json_for_analysis_response() throws Exception {
+        // Given: 태그 5000개짜리 분석 응답
+        DicomAnalysisResponse response = createAnalysisResponse(5000);
+
+        // When
+        byte[] json = encode(jsonMapper, response);
+        byte[] cbor = encode(cborMapper, response);
+        byte[] smile = encode(smileMapper, response);
+
+        // Then: 반복되는 필드 이름/값을 공유하는 Smile이 가장 작다
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(smile.length).isLessThan(cbor.length);
+        assertThat(smile.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void binary_encodings_should_round_trip_analysis_response() throws Exception {
+        // Given
+        DicomAnalysisResponse response = createAnalysisResponse(100);
+
+        // When
+        DicomAnalysisResponse fromCbor = cborMapper.readValue(cborMapper.writeValueAsBytes(response), DicomAnalysisResponse.class);
+        DicomAnalysisResponse fromSmile = smileMapper.readValue(smileMapper.writeValueAsBytes(response), DicomAnalysisResponse.class);
+
+        // Then
+        assertThat(fromCbor).isEqualTo(response);
+        assertThat(fromSmile).isEqualTo(response);
+    }
+
+    @Test
+    void binary_encodings_should_not_be_slower_than_json_for_analysis_response() throws Exception {
+        // Given
+        DicomAnalysisResponse response = createAnalysisResponse(5000);
+
+        // When: JIT 워밍업 뒤 직렬화/역직렬화 시간 측정
+        long[] json = measure(jsonMapper, response);
+        long[] cbor = measure(cborMapper, response);
+        long[] smile = measure(smileMapper, response);
+        log.info("분석 응답(태그 5000개) {}회 평균 - 직렬화/역직렬화 µs: JSON {}/{}, CBOR {}/{}, Smile {}/{}",
+            TIMED_ROUNDS, json[0], json[1], cbor[0], cbor[1], smile[0], smile[1]);
+
+        // Then: 측정 잡음을 감안해 느슨하게, 바이너리 형식이 JSON보다 크게 느리지 않아야 한다
+        assertThat(cbor[0] + cbor[1]).isLessThan((json[0] + json[1]) * 3);
+        assertThat(smile[0] + smile[1]).isLessThan((json[0] + json[1]) * 3);
+    }
+
+    // =================== 생성 응답 ===================
+
+    @Test
+    void binary_encodings_should_write_generated_dicom_as_raw_bytes() throws Exception {
+        // Given: 1MB 생성 결과
+        byte[] dicom = new byte[1024 * 1024];
+        new Random(42).nextBytes(dicom);
+        DicomGenerationResponse response = DicomGenerationResponse.builder()
+            .fileName("generated.dcm")
+            .generatedDicom(dicom)
+            .generationStatus("SUCCESS")
+            .fileSize(dicom.length)
+            .build();
+
+        // When
+        byte[] json = encode(jsonMapper, response);
+        byte[] cbor = encode(cborMapper, response);
+        byte[] smile = encode(smileMapper, response);
+
+        // Then: JSON은 Base64 문자열(약 4/3배), CBOR는 원본 크기에 가깝다
+        assertThat(jsonMapper.readTree(json).get("generatedDicomBase64").isTextual()).isTrue();
+        assertThat(cbor.length).isLessThan(dicom.length + 1024);
+        assertThat(json.length).isGreaterThan(dicom.length * 4 / 3);
+        assertThat(smileMapper.readValue(smile, DicomGenerationResponse.class).getGeneratedDicom()).isEqualTo(dicom);
+    }
+
+    // =================== Helper Methods ===================
+
+    // 평균 직렬화/역직렬화 시간(µs)을 반환
+    private long[] measure(ObjectMapper mapper, DicomAnalysisResponse response) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(response);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(response), DicomAnalysisResponse.class);
+        }
+
+        long writeNanos = 0;
+        long readNanos = 0;
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            long started = System.nanoTime();
+            bytes = mapper.writeValueAsBytes(response);
+            long written = System.nanoTime();
+            mapper.readValue(bytes, DicomAnalysisResponse.class);
+            writeNanos += written - started;
+            readNanos += System.nanoTime() - written;
+        }
+        return new long[]{writeNanos / TIMED_ROUNDS / 1000, readNanos / TIMED_ROUNDS / 1000};
+    }
+
+    // 직렬화 결과가 같은 형식으로 다시 읽히는지 확인하고 바이트를 반환
+    private byte[] encode(ObjectMapper mapper, Object value) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(value);
+        assertThat(mapper.readValue(bytes, value.getClass())).isEqualTo(value);
+        return bytes;
+    }
+
+    private DicomAnalysisResponse createAnalysisResponse(int tagCount) {
+        String[][] samples = {
+            {"PN", "Person Name - 사람 이름 (형식: Last^First^Middle^Prefix^Suffix)", "PatientName", "Doe^John"},
+            {"DA", "Date - 날짜 (형식: YYYYMMDD)", "StudyDate", "20240101"},
+            {"CS", "Code String - 코드 문자열 (대문자, 공백, 밑줄만 허용)", "Modality", "CT"},
+            {"UI", "Unique Identifier - 고유 식별자 (UID)", "SOPInstanceUID", "1.2.826.0.1.3680043.8.498.1"},
+            {"DS", "Decimal String - 십진수 문자열 (부동소수점)", "SliceThickness", "5.0"},
+        };
+
+        List<DicomTag> tags = new ArrayList<>();
+        for (int i = 0; i < tagCount; i++) {
+            String[] sample = samples[i % samples.length];
+            tags.add(DicomTag.builder()
+                .id(String.format("(%04X,%04X)", 0x0008 + (i / 256), i % 256))
+                .name(sample[2])
+                .vr(sample[0])
+                .vrDescription(sample[1])
+                .value(sample[3])
+                .build());
+        }
+
+        return DicomAnalysisResponse.builder()
+            .fileName("large.dcm")
+            .tags(tags)
+            .analysisStatus("SUCCESS")
+            .build();
+    }
+}
@@ -0,0 +1,114 @@
+package io.morningowl.dicomcraft.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.controller.DicomController;
+import io.morningowl.dicomcraft.dto.DicomAnalysisResponse;
+import io.morningowl.dicomcraft.dto.DicomTag;
+import io.morningowl.dicomcraft.service.DicomAnalysisService;
+import io.morningowl.dicomcraft.service.DicomDictionaryService;
+import io.morningowl.dicomcraft.service.DicomGenerationService;
+import io.morningowl.dicomcraft.service.DicomPixelTransformService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DicomController.class)
+class BinaryEncodingWebTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DicomAnalysisService dicomAnalysisService;
+
+    @MockitoBean
+    private DicomDictionaryService dicomDictionaryService;
+
+    @MockitoBean
+    private DicomGenerationService dicomGenerationService;
+
+    @MockitoBean
+    private DicomPixelTransformService dicomPixelTransformService;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "test.dcm", "application/dicom", new byte[]{1});
+    private DicomAnalysisResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<DicomTag> tags = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tags.add(DicomTag.builder()
+                .id(String.format("(0008,%04X)", i))
+                .vr("CS")
+                .vrDescription("Code String - 코드 문자열 (대문자, 공백, 밑줄만 허용)")
+                .value("CT")
+                .build());
+        }
+        response = DicomAnalysisResponse.builder().fileName("test.dcm").tags(tags).analysisStatus("SUCCESS").build();
+
+        when(dicomAnalysisService.analyzeDicomFile(any(), eq(false))).thenReturn(response);
+        when(dicomDictionaryService.getVersion()).thenReturn("v1");
+    }
+
+    @Test
+    void smile_response_should_use_configured_mapper_with_shared_values() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(multipart("/api/dicom/analyze").file(file).accept(SMILE))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Then: 공유 문자열 값이 켜진 매퍼의 출력과 같고, 기본 Smile 매퍼보다 작다
+        byte[] body = result.getResponse().getContentAsByteArray();
+        ObjectMapper configured = BinaryEncodingConfig.smileObjectMapper();
+        assertThat(result.getResponse().getContentType()).startsWith(SMILE.toString());
+        assertThat(body).isEqualTo(configured.writeValueAsBytes(response));
+        assertThat(body.length).isLessThan(Jackson2ObjectMapperBuilder.smile().build().writeValueAsBytes(response).length);
+        assertThat(configured.readValue(body, DicomAnalysisResponse.class)).isEqualTo(response);
+    }
+
+    @Test
+    void cbor_response_should_decode_to_the_same_dto() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(multipart("/api/dicom/analyze").file(file).accept(CBOR))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentType()).startsWith(CBOR.toString());
+        assertThat(BinaryEncodingConfig.cborObjectMapper()
+            .readValue(result.getResponse().getContentAsByteArray(), DicomAnalysisResponse.class)).isEqualTo(response);
+    }
+
+    @Test
+    void request_without_accept_should_still_get_json() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(multipart("/api/dicom/analyze").file(file))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(new ObjectMapper().readTree(result.getResponse().getContentAsString()).get("fileName").asText())
+            .isEqualTo("test.dcm");
+    }
+}
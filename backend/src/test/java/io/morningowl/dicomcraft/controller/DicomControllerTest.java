@@ -0,0 +1,178 @@
+package io.morningowl.dicomcraft.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.dto.DicomTag;
+import io.morningowl.dicomcraft.service.DicomAnalysisService;
+import io.morningowl.dicomcraft.service.DicomDictionaryService;
+import io.morningowl.dicomcraft.service.DicomGenerationService;
+import io.morningowl.dicomcraft.service.DicomPixelTransformService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DicomController.class)
+class DicomControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DicomAnalysisService dicomAnalysisService;
+
+    @MockitoBean
+    private DicomDictionaryService dicomDictionaryService;
+
+    @MockitoBean
+    private DicomGenerationService dicomGenerationService;
+
+    @MockitoBean
+    private DicomPixelTransformService dicomPixelTransformService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockMultipartFile file = new MockMultipartFile("file", "test.dcm", "application/dicom", new byte[]{1});
+
+    // =================== 태그 스트리밍 ===================
+
+    @Test
+    void streamDicomTags_should_write_one_typed_line_per_tag() throws Exception {
+        // Given
+        when(dicomDictionaryService.getVersion()).thenReturn("v1");
+        emitTagsThenFail(null,
+            DicomTag.builder().id("(0010,0010)").vr("PN").value("John^Doe").children(null).build(),
+            DicomTag.builder().id("(7FE0,0010)").vr("OW").value("Binary data (12 bytes)").children(null).build());
+
+        // When
+        List<JsonNode> lines = stream();
+
+        // Then: TAG 줄에는 DicomTag 필드가 그대로 펼쳐짐
+        assertThat(lines).hasSize(2);
+        assertThat(lines).allSatisfy(line -> assertThat(line.get("type").asText()).isEqualTo("TAG"));
+        assertThat(lines.get(0).get("id").asText()).isEqualTo("(0010,0010)");
+        assertThat(lines.get(0).get("value").asText()).isEqualTo("John^Doe");
+        assertThat(lines.get(1).get("value").asText()).isEqualTo("Binary data (12 bytes)");
+    }
+
+    @Test
+    void streamDicomTags_should_end_with_error_line_when_parsing_fails() throws Exception {
+        // Given: 태그 하나를 보낸 뒤 파일이 잘림
+        when(dicomDictionaryService.getVersion()).thenReturn("v1");
+        emitTagsThenFail(new IOException("Unexpected EOF"),
+            DicomTag.builder().id("(0010,0010)").vr("PN").value("John^Doe").children(null).build());
+
+        // When
+        List<JsonNode> lines = stream();
+
+        // Then
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("type").asText()).isEqualTo("TAG");
+        JsonNode error = lines.get(1);
+        assertThat(error.get("type").asText()).isEqualTo("ERROR");
+        assertThat(error.get("fileName").asText()).isEqualTo("test.dcm");
+        assertThat(error.get("errorMessage").asText()).contains("Unexpected EOF");
+        assertThat(error.has("id")).isFalse();
+    }
+
+    // =================== 스트리밍 생성 ===================
+
+    @Test
+    void generateDicomStream_should_stream_dicom_file_asynchronously() throws Exception {
+        // Given: 헤더는 실제 생성 서비스로 만든다
+        when(dicomGenerationService.prepareStreamedDicom(any(), anyLong())).thenAnswer(invocation ->
+            new DicomGenerationService().prepareStreamedDicom(invocation.getArgument(0), invocation.getArgument(1)));
+        byte[] pixels = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        // When
+        MvcResult started = mockMvc.perform(multipart("/api/dicom/generate")
+                .file(new MockMultipartFile("pixelData", "pixels.raw", "application/octet-stream", pixels))
+                .param("metadata", metadata(4, 2)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Then: 프리앰블 뒤 DICM, 마지막에 픽셀 바이트 그대로
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertThat(result.getResponse().getContentType()).isEqualTo("application/dicom");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo(String.valueOf(body.length));
+        assertThat(new String(body, 128, 4, StandardCharsets.US_ASCII)).isEqualTo("DICM");
+        assertThat(Arrays.copyOfRange(body, body.length - pixels.length, body.length)).isEqualTo(pixels);
+    }
+
+    @Test
+    void generateDicomStream_should_answer_json_error_without_starting_stream() throws Exception {
+        // When & Then
+        mockMvc.perform(multipart("/api/dicom/generate")
+                .file(new MockMultipartFile("pixelData", "pixels.raw", "application/octet-stream", new byte[8]))
+                .param("metadata", "{not json"))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.generationStatus").value("ERROR"))
+            .andExpect(jsonPath("$.fileName").value("generated.dcm"));
+    }
+
+    // =================== Helper Methods ===================
+
+    private static String metadata(int width, int height) {
+        return String.format("""
+            {"pixelData": {"width": %d, "height": %d, "bitsAllocated": 8, "bitsStored": 8, "samplesPerPixel": 1,
+                           "photometricInterpretation": "MONOCHROME2", "pixelRepresentation": "0"}}
+            """, width, height);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emitTagsThenFail(IOException failure, DicomTag... tags) throws IOException {
+        doAnswer(invocation -> {
+            Consumer<DicomTag> consumer = invocation.getArgument(2);
+            for (DicomTag tag : tags) {
+                consumer.accept(tag);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return null;
+        }).when(dicomAnalysisService).streamDicomTags(any(), eq(false), any(Consumer.class));
+    }
+
+    private List<JsonNode> stream() throws Exception {
+        MvcResult started = mockMvc.perform(multipart("/api/dicom/analyze/stream").file(file))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
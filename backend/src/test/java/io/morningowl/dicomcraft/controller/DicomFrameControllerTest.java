@@ -0,0 +1,128 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.service.DicomFrameService;
+import io.morningowl.dicomcraft.service.DicomHeader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DicomFrameController.class)
+class DicomFrameControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DicomFrameService dicomFrameService;
+
+    @TempDir
+    Path tempDir;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "enhanced.dcm", "application/dicom", new byte[]{1});
+
+    // =================== 나누기 ===================
+
+    @Test
+    void split_should_stream_zip_asynchronously_and_delete_work_files() throws Exception {
+        // Given
+        DicomHeader source = DicomHeader.builder().path(tempDir.resolve("source.dcm")).build();
+        when(dicomFrameService.prepareSplit(any())).thenReturn(source);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(new byte[]{'P', 'K', 3, 4});
+            return null;
+        }).when(dicomFrameService).writeSplitZip(eq(source), any());
+
+        // When
+        MvcResult started = mockMvc.perform(multipart("/api/dicom/frames/split").file(file))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"enhanced_frames.zip\""))
+            .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentType()).isEqualTo("application/zip");
+        assertThat(result.getResponse().getContentAsByteArray()).containsExactly('P', 'K', 3, 4);
+        verify(dicomFrameService).deleteSplit(source);
+    }
+
+    @Test
+    void split_should_answer_json_error_without_starting_stream() throws Exception {
+        // Given
+        when(dicomFrameService.prepareSplit(any())).thenThrow(new IllegalArgumentException("픽셀 데이터가 프레임 수보다 짧습니다"));
+
+        // When & Then
+        mockMvc.perform(multipart("/api/dicom/frames/split").file(file))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.fileName").value("enhanced.dcm"))
+            .andExpect(jsonPath("$.generationStatus").value("ERROR"));
+        verify(dicomFrameService, never()).writeSplitZip(any(), any());
+    }
+
+    // =================== 합치기 ===================
+
+    @Test
+    void merge_should_stream_merged_file_asynchronously_and_delete_it() throws Exception {
+        // Given
+        Path merged = Files.write(tempDir.resolve("merged.dcm"), new byte[]{9, 8, 7});
+        when(dicomFrameService.merge(anyList())).thenReturn(merged);
+
+        // When
+        MvcResult started = mockMvc.perform(multipart("/api/dicom/frames/merge")
+                .file(new MockMultipartFile("files", "1.dcm", "application/dicom", new byte[]{1}))
+                .file(new MockMultipartFile("files", "2.dcm", "application/dicom", new byte[]{2})))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().longValue("Content-Length", 3))
+            .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentType()).isEqualTo("application/dicom");
+        assertThat(result.getResponse().getContentAsByteArray()).containsExactly(9, 8, 7);
+        verify(dicomFrameService).delete(merged);
+    }
+
+    @Test
+    void merge_should_answer_server_error_for_unexpected_failures() throws Exception {
+        // Given
+        when(dicomFrameService.merge(anyList())).thenThrow(new IOException("디스크 부족"));
+
+        // When & Then
+        mockMvc.perform(multipart("/api/dicom/frames/merge")
+                .file(new MockMultipartFile("files", "1.dcm", "application/dicom", new byte[]{1})))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isInternalServerError())
+            .andExpect(jsonPath("$.fileName").value("merged.dcm"))
+            .andExpect(jsonPath("$.errorMessage").value("서버 내부 오류: 디스크 부족"));
+    }
+}
@@ -0,0 +1,156 @@
+package io.morningowl.dicomcraft.controller;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.service.DicomStoreService;
+import io.morningowl.dicomcraft.service.UnsupportedPixelDataException;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DicomWebController.class)
+class DicomWebControllerTest {
+
+    private static final String STOW_CONTENT_TYPE = "multipart/related; type=\"application/dicom\"; boundary=XYZ";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DicomStoreService dicomStoreService;
+
+    // =================== STOW-RS ===================
+
+    @Test
+    void store_should_return_ok_when_all_parts_stored() throws Exception {
+        // Given
+        Attributes response = new Attributes();
+        Attributes item = new Attributes();
+        item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3");
+        response.newSequence(Tag.ReferencedSOPSequence, 1).add(item);
+        when(dicomStoreService.storeInstances(any(), eq("XYZ"), isNull(), anyString())).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/dicomweb/studies").contentType(STOW_CONTENT_TYPE).content(new byte[]{1}))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/dicom+json"))
+            .andExpect(jsonPath("$['00081199'].Value[0]['00081155'].Value[0]").value("1.2.3"));
+    }
+
+    @Test
+    void store_should_return_conflict_when_every_part_failed() throws Exception {
+        // Given
+        Attributes response = new Attributes();
+        Attributes item = new Attributes();
+        item.setInt(Tag.FailureReason, VR.US, 0xA900);
+        response.newSequence(Tag.FailedSOPSequence, 1).add(item);
+        when(dicomStoreService.storeInstances(any(), eq("XYZ"), eq("1.2.9"), anyString())).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/dicomweb/studies/1.2.9").contentType(STOW_CONTENT_TYPE).content(new byte[]{1}))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void store_should_reject_request_without_boundary() throws Exception {
+        mockMvc.perform(post("/dicomweb/studies").contentType("multipart/related").content(new byte[]{1}))
+            .andExpect(status().isBadRequest());
+    }
+
+    // =================== WADO-RS ===================
+
+    @Test
+    void retrieve_should_stream_multipart_related_instances() throws Exception {
+        // Given
+        List<DicomIndexEntry> entries = List.of(DicomIndexEntry.builder().sopInstanceUID("1.2.3").build());
+        when(dicomStoreService.findInstances("1.2.1", null, null)).thenReturn(entries);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("parts".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }).when(dicomStoreService).writeInstances(eq(entries), any(), anyString());
+
+        // When
+        MvcResult started = mockMvc.perform(get("/dicomweb/studies/1.2.1"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+        assertThat(result.getResponse().getContentType()).startsWith("multipart/related").contains("boundary=");
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("parts");
+    }
+
+    @Test
+    void retrieve_should_return_not_found_for_unknown_study() throws Exception {
+        when(dicomStoreService.findInstances("1.2.404", null, null)).thenThrow(new IllegalArgumentException("없음"));
+
+        mockMvc.perform(get("/dicomweb/studies/1.2.404")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void frames_should_return_not_acceptable_for_unsupported_pixel_data() throws Exception {
+        // Given
+        DicomIndexEntry entry = DicomIndexEntry.builder().sopInstanceUID("1.2.1.1.1").build();
+        when(dicomStoreService.findInstances("1.2.1", "1.2.1.1", "1.2.1.1.1")).thenReturn(List.of(entry));
+        when(dicomStoreService.prepareFrames(eq(entry), any())).thenThrow(new UnsupportedPixelDataException("1비트"));
+
+        // When & Then
+        mockMvc.perform(get("/dicomweb/studies/1.2.1/series/1.2.1.1/instances/1.2.1.1.1/frames/1"))
+            .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/dicomweb/studies/1.2.1/series/1.2.1.1/instances/1.2.1.1.1/frames/x"))
+            .andExpect(status().isBadRequest());
+    }
+
+    // =================== QIDO-RS ===================
+
+    @Test
+    void search_should_return_dicom_json_array() throws Exception {
+        // Given
+        Attributes study = new Attributes();
+        study.setString(Tag.StudyInstanceUID, VR.UI, "1.2.1");
+        when(dicomStoreService.searchStudies(anyMap(), anyString())).thenReturn(List.of(study));
+
+        // When & Then
+        mockMvc.perform(get("/dicomweb/studies").param("PatientName", "doe*"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0]['0020000D'].Value[0]").value("1.2.1"));
+    }
+
+    @Test
+    void search_should_return_no_content_or_bad_request() throws Exception {
+        // Given
+        when(dicomStoreService.searchSeries(isNull(), anyMap(), anyString())).thenReturn(List.of());
+        when(dicomStoreService.searchInstances(isNull(), isNull(), anyMap(), anyString()))
+            .thenThrow(new IllegalArgumentException("알 수 없는 태그"));
+
+        // When & Then
+        mockMvc.perform(get("/dicomweb/series")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/dicomweb/instances").param("NoSuchKeyword", "x")).andExpect(status().isBadRequest());
+    }
+}
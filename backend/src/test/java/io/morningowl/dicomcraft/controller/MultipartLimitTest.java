@@ -0,0 +1,102 @@
+package io.morningowl.dicomcraft.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 실제 서블릿 컨테이너로 multipart 크기 제한 경계에서 스트리밍 생성이 동작하는지,
+ * 업로드를 메모리에 읽는 엔드포인트는 더 작은 상한에서 거절되는지 확인한다.
+ * 제한 값만 작게 줄이고 저장소/인덱스 파일은 임시 디렉토리로 옮기며, 나머지 설정은 application.properties 그대로 쓴다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.servlet.multipart.max-file-size=32KB",
+    "spring.servlet.multipart.max-request-size=64KB",
+    "dicomcraft.upload.max-buffered-size=16KB",
+    "dicomcraft.store.root=${java.io.tmpdir}/dicomcraft-test/${random.uuid}/store",
+    "dicomcraft.index.file=${java.io.tmpdir}/dicomcraft-test/${random.uuid}/index.bin",
+    "dicomcraft.search.file=${java.io.tmpdir}/dicomcraft-test/${random.uuid}/search.bin"
+})
+class MultipartLimitTest {
+
+    private static final int LIMIT = 32 * 1024;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void generate_should_accept_pixel_part_exactly_at_the_limit() {
+        // When: 256x128 8비트 = 32KB
+        ResponseEntity<byte[]> response = generate(256, 128);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("application/dicom"));
+        assertThat(response.getBody()).hasSizeGreaterThan(LIMIT);
+        assertThat((long) response.getBody().length).isEqualTo(response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void generate_should_reject_pixel_part_above_the_limit() {
+        // When: 256x129 8비트 = 32KB + 256 bytes
+        ResponseEntity<byte[]> response = generate(256, 129);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @Test
+    void analyze_should_reject_upload_above_the_buffered_limit() {
+        // When: /generate는 받는 크기지만 /analyze의 상한(16KB)은 넘음
+        ResponseEntity<String> rejected = analyze(16 * 1024 + 1);
+        ResponseEntity<String> accepted = analyze(16 * 1024);
+
+        // Then: 상한 이내는 분석까지 진행됨 (빈 바이트라 분석 오류)
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(accepted.getStatusCode()).isNotEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    private ResponseEntity<String> analyze(int size) {
+        MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        parts.add("file", new ByteArrayResource(new byte[size]) {
+            @Override
+            public String getFilename() {
+                return "test.dcm";
+            }
+        });
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return restTemplate.postForEntity("/api/dicom/analyze", new HttpEntity<>(parts, headers), String.class);
+    }
+
+    private ResponseEntity<byte[]> generate(int width, int height) {
+        String metadata = String.format("""
+            {"pixelData": {"width": %d, "height": %d, "bitsAllocated": 8, "bitsStored": 8, "samplesPerPixel": 1,
+                           "photometricInterpretation": "MONOCHROME2", "pixelRepresentation": "0"}}
+            """, width, height);
+        MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        parts.add("metadata", metadata);
+        parts.add("pixelData", new ByteArrayResource(new byte[width * height]) {
+            @Override
+            public String getFilename() {
+                return "pixels.raw";
+            }
+        });
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return restTemplate.postForEntity("/api/dicom/generate", new HttpEntity<>(parts, headers), byte[].class);
+    }
+}
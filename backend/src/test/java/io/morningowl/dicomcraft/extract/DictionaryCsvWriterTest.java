@@ -0,0 +1,86 @@
+package io.morningowl.dicomcraft.extract;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DictionaryCsvWriterTest {
+
+    private static final List<String> COLUMNS = List.of("path", "Modality", "Manufacturer");
+
+    @Test
+    void writesEachDictionaryValueOnceAndRoundTrips() throws IOException {
+        List<String[]> rows = List.of(
+                new String[]{"/a.dcm", "CT", "ACME, Inc."},
+                new String[]{"/b.dcm", "CT", "ACME, Inc."},
+                new String[]{"/c.dcm", "MR", "@home \"lab\""},
+                new String[]{"/d.dcm", null, "ACME, Inc."});
+
+        byte[] encoded = write(rows, 100);
+        String text = new String(encoded, StandardCharsets.UTF_8);
+
+        assertThat(text).startsWith(DictionaryCsvWriter.MAGIC + "\nH,path,Modality,Manufacturer\n");
+        assertThat(text.split("\n")).filteredOn(line -> line.startsWith("D,2,")).hasSize(2);
+        // 두 글자 이하 값은 사전에 넣지 않는다
+        assertThat(text).doesNotContain("D,1,");
+        assertThat(text).contains("R,/d.dcm,,@0\n");
+
+        List<String[]> decoded = read(encoded);
+        assertThat(decoded).hasSize(4);
+        assertThat(decoded.get(0)).containsExactly("/a.dcm", "CT", "ACME, Inc.");
+        assertThat(decoded.get(2)).containsExactly("/c.dcm", "MR", "@home \"lab\"");
+        assertThat(decoded.get(3)).containsExactly("/d.dcm", "", "ACME, Inc.");
+    }
+
+    @Test
+    void dropsDictionaryForMostlyUniqueColumnsAndRespectsMaxSize() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < DictionaryCsvWriter.SAMPLE_ROWS + 10; i++) {
+            rows.add(new String[]{"/" + i, "UID-" + i, "VENDOR-" + (i % 5)});
+        }
+
+        byte[] encoded = write(rows, 3);
+        String text = new String(encoded, StandardCharsets.UTF_8);
+
+        // 고유한 열은 사전을 버린 뒤 그대로 쓰고, 반복 열은 상한(3)까지만 사전에 넣는다
+        assertThat(text).contains("R,/" + (DictionaryCsvWriter.SAMPLE_ROWS + 5) + ",UID-"
+                + (DictionaryCsvWriter.SAMPLE_ROWS + 5) + ",");
+        assertThat(text.split("\n")).filteredOn(line -> line.startsWith("D,2,")).hasSize(3);
+
+        List<String[]> decoded = read(encoded);
+        assertThat(decoded).hasSize(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(decoded.get(i)).containsExactly(rows.get(i));
+        }
+    }
+
+    private byte[] write(List<String[]> rows, int maxDictionarySize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DictionaryCsvWriter writer = new DictionaryCsvWriter(out, COLUMNS,
+                new boolean[]{false, true, true}, maxDictionarySize)) {
+            for (String[] row : rows) {
+                writer.writeRow(row);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private List<String[]> read(byte[] encoded) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (DictionaryCsvReader reader = new DictionaryCsvReader(new ByteArrayInputStream(encoded))) {
+            assertThat(reader.getColumns()).isEqualTo(COLUMNS);
+            String[] row;
+            while ((row = reader.readRow()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
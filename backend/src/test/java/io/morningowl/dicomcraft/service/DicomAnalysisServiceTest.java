@@ -1,8 +1,14 @@
 package io.morningowl.dicomcraft.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.morningowl.dicomcraft.dto.DicomAnalysisResponse;
 import io.morningowl.dicomcraft.dto.DicomTag;
 import io.morningowl.dicomcraft.dto.DicomPixelData;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +17,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -99,6 +110,78 @@ class DicomAnalysisServiceTest {
         assertThat(sequenceTag.get().getChildren()).isNotEmpty();
     }
 
+    @Test
+    void analyzeDicomFile_should_return_only_id_vr_value_in_slim_mode() throws IOException {
+        // Given: Sequence 태그가 포함된 실제 DICOM 바이트
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.PatientName, VR.PN, "John^Doe");
+        Attributes item = new Attributes();
+        item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3");
+        attributes.newSequence(Tag.ReferencedImageSequence, 1).add(item);
+        MultipartFile dicomFile = new MockMultipartFile(
+            "dicom", "slim.dcm", "application/dicom", writeDicom(attributes));
+
+        // When
+        DicomAnalysisResponse response = dicomAnalysisService.analyzeDicomFile(dicomFile, true);
+
+        // Then: 이름/VR 설명 없이 id, vr, value만 남고 Sequence 태그에만 children이 있음
+        DicomTag patientName = response.getTags().stream()
+            .filter(tag -> tag.getId().equals("(0010,0010)"))
+            .findFirst().orElseThrow();
+        assertThat(patientName.getName()).isNull();
+        assertThat(patientName.getVrDescription()).isNull();
+        assertThat(patientName.getChildren()).isNull();
+        assertThat(patientName.getValue()).isEqualTo("John^Doe");
+
+        DicomTag sequence = response.getTags().stream()
+            .filter(tag -> tag.getId().equals("(0008,1140)"))
+            .findFirst().orElseThrow();
+        assertThat(sequence.getChildren()).hasSize(1);
+        assertThat(sequence.getChildren().get(0).getTags().get(0).getName()).isNull();
+
+        String json = new ObjectMapper().writeValueAsString(patientName);
+        assertThat(json).doesNotContain("name", "vrDescription", "children");
+    }
+
+    @Test
+    void streamDicomTags_should_emit_top_level_tags_in_order_with_bulk_data_size() throws IOException {
+        // Given: 픽셀 데이터 2x3 16비트 (12 bytes)
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.PatientName, VR.PN, "John^Doe");
+        attributes.setInt(Tag.Rows, VR.US, 2);
+        attributes.setInt(Tag.Columns, VR.US, 3);
+        attributes.setBytes(Tag.PixelData, VR.OW, new byte[12]);
+        byte[] bytes = writeDicom(attributes);
+
+        // When
+        List<DicomTag> tags = new ArrayList<>();
+        dicomAnalysisService.streamDicomTags(new ByteArrayInputStream(bytes), tags::add);
+
+        // Then: 파일 메타 정보 없이 태그 순서대로, 픽셀 데이터는 크기 표시만
+        assertThat(tags).extracting(DicomTag::getId).containsExactly(
+            "(0008,0016)", "(0008,0018)", "(0010,0010)", "(0028,0010)", "(0028,0011)", "(7FE0,0010)");
+        assertThat(tags.get(2).getValue()).isEqualTo("John^Doe");
+        assertThat(tags.get(5).getValue()).isEqualTo("Binary data (12 bytes)");
+    }
+
+    @Test
+    void streamDicomTags_should_deliver_tags_read_before_a_truncation() throws IOException {
+        // Given: 픽셀 데이터 중간에서 잘린 파일
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.PatientName, VR.PN, "John^Doe");
+        attributes.setBytes(Tag.PixelData, VR.OW, new byte[1024]);
+        byte[] bytes = writeDicom(attributes);
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 512);
+
+        // When
+        List<DicomTag> tags = new ArrayList<>();
+        assertThatThrownBy(() -> dicomAnalysisService.streamDicomTags(new ByteArrayInputStream(truncated), tags::add))
+            .isInstanceOf(IOException.class);
+
+        // Then: 오류 전까지의 태그는 이미 전달됨
+        assertThat(tags).extracting(DicomTag::getId).contains("(0010,0010)");
+    }
+
     // =================== 에러 케이스 테스트 ===================
     
     @Test
@@ -188,6 +271,16 @@ class DicomAnalysisServiceTest {
     }
 
     // =================== Helper Methods ===================
+
+    private byte[] writeDicom(Attributes attributes) throws IOException {
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+        return out.toByteArray();
+    }
     
     private byte[] createValidDicomBytes() {
         // 실제 DICOM 파일 생성 로직
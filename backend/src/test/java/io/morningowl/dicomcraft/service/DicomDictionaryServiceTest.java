@@ -0,0 +1,42 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomDictionary;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomDictionaryServiceTest {
+
+    private final DicomDictionaryService dicomDictionaryService = new DicomDictionaryService();
+
+    @Test
+    void dictionaryContainsStandardTagsAndVrDescriptions() {
+        DicomDictionary dictionary = dicomDictionaryService.getDictionary();
+
+        assertThat(dictionary.getTags().get("(0010,0010)").getKeyword()).isEqualTo("PatientName");
+        assertThat(dictionary.getTags().get("(0010,0010)").getVr()).isEqualTo("PN");
+        assertThat(dictionary.getTags().get("(0008,1140)").getVr()).isEqualTo("SQ");
+        assertThat(dictionary.getVrs()).containsKeys("PN", "SQ", "UI");
+        assertThat(dictionary.getVrs().get("PN")).startsWith("Person Name");
+    }
+
+    @Test
+    void dictionaryContainsPrivateTagsKeyedByCreator() {
+        DicomDictionary dictionary = dicomDictionaryService.getDictionary();
+
+        assertThat(dictionary.getPrivateCreators()).contains("GEMS_ACQU_01");
+        assertThat(dictionary.getPrivateTags()).containsOnlyKeys(dictionary.getPrivateCreators());
+        assertThat(dictionary.getPrivateTags().get("GEMS_ACQU_01"))
+                .isNotEmpty()
+                .allSatisfy((id, entry) -> {
+                    assertThat(id).matches("\\(0019,xx[0-9A-F]{2}\\)");
+                    assertThat(entry.getKeyword()).isNotBlank();
+                });
+    }
+
+    @Test
+    void versionIsContentHashAndStableAcrossInstances() {
+        assertThat(dicomDictionaryService.getVersion()).matches("[0-9a-f]{16}");
+        assertThat(new DicomDictionaryService().getVersion()).isEqualTo(dicomDictionaryService.getVersion());
+    }
+}
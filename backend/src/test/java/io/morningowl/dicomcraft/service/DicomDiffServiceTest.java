@@ -0,0 +1,124 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomDiffEntry;
+import io.morningowl.dicomcraft.dto.DicomDiffResponse;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomDiffServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final DicomDiffService dicomDiffService = new DicomDiffService(100);
+
+    @Test
+    void reportsChangesWithSequencePaths() throws IOException {
+        Attributes original = createDataset("ORIGINAL^NAME", "CODE-A", new byte[64 * 1024]);
+        Attributes modified = createDataset("ANON", "CODE-B", new byte[64 * 1024]);
+        modified.remove(Tag.PatientID);
+        modified.setString(Tag.PatientIdentityRemoved, VR.CS, "YES");
+
+        DicomDiffResponse response = diff(original, modified);
+
+        assertThat(response.getDiffStatus()).isEqualTo("SUCCESS");
+        assertThat(response.isIdentical()).isFalse();
+        assertThat(response.getDifferences())
+                .extracting(DicomDiffEntry::getPath, DicomDiffEntry::getChangeType)
+                .containsExactlyInAnyOrder(
+                        tuple("(0010,0010)", "CHANGED"),
+                        tuple("(0010,0020)", "REMOVED"),
+                        tuple("(0012,0062)", "ADDED"),
+                        tuple("(0040,A043)[1].(0008,0100)", "CHANGED"));
+        // 같은 픽셀 데이터는 해시만 비교하고 건너뜀
+        assertThat(response.getSkippedByHash()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void identicalFilesHaveNoDifferences() throws IOException {
+        DicomDiffResponse response = diff(
+                createDataset("SAME", "CODE", new byte[1024]),
+                createDataset("SAME", "CODE", new byte[1024]));
+
+        assertThat(response.isIdentical()).isTrue();
+        assertThat(response.getDifferences()).isEmpty();
+    }
+
+    @Test
+    void differentPixelLengthIsChangedWithoutHashing() throws IOException {
+        DicomDiffResponse response = diff(
+                createDataset("SAME", "CODE", new byte[1024]),
+                createDataset("SAME", "CODE", new byte[2048]));
+
+        assertThat(response.getDifferences())
+                .extracting(DicomDiffEntry::getPath)
+                .containsExactly("(7FE0,0010)");
+        assertThat(response.getHashedBytes()).isZero();
+    }
+
+    @Test
+    void endiannessAndStringPaddingAreNotDifferences() throws IOException {
+        byte[] pixelData = new byte[4096];
+        for (int i = 0; i < pixelData.length; i++) {
+            pixelData[i] = (byte) i;
+        }
+        Attributes original = createDataset("SAME", "CODE", pixelData);
+        original.setInt(Tag.WindowWidth, VR.US, 400);
+        Attributes modified = createDataset("SAME", "CODE", pixelData);
+        modified.setInt(Tag.WindowWidth, VR.US, 400);
+        modified.setString(Tag.PatientID, VR.LO, "P-1   ");
+
+        Path originalFile = write(original, "original.dcm", UID.ExplicitVRLittleEndian);
+        Path modifiedFile = write(modified, "modified.dcm", UID.ExplicitVRBigEndian);
+        DicomDiffResponse response = dicomDiffService.diff(originalFile, "original.dcm", modifiedFile, "modified.dcm");
+
+        assertThat(response.getModifiedTransferSyntax()).isEqualTo(UID.ExplicitVRBigEndian);
+        assertThat(response.getDifferences()).isEmpty();
+        assertThat(response.isIdentical()).isTrue();
+    }
+
+    private DicomDiffResponse diff(Attributes original, Attributes modified) throws IOException {
+        Path originalFile = write(original, "original.dcm", UID.ExplicitVRLittleEndian);
+        Path modifiedFile = write(modified, "modified.dcm", UID.ExplicitVRLittleEndian);
+        return dicomDiffService.diff(originalFile, "original.dcm", modifiedFile, "modified.dcm");
+    }
+
+    private Attributes createDataset(String patientName, String codeValue, byte[] pixelData) {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.826.0.1.3680043.8.498.1");
+        attributes.setString(Tag.PatientName, VR.PN, patientName);
+        attributes.setString(Tag.PatientID, VR.LO, "P-1");
+
+        Sequence concepts = attributes.newSequence(Tag.ConceptNameCodeSequence, 1);
+        Attributes item = new Attributes();
+        item.setString(Tag.CodeValue, VR.SH, codeValue);
+        item.setString(Tag.CodingSchemeDesignator, VR.SH, "DCM");
+        concepts.add(item);
+
+        attributes.setInt(Tag.Rows, VR.US, 1);
+        attributes.setInt(Tag.Columns, VR.US, pixelData.length / 2);
+        attributes.setInt(Tag.BitsAllocated, VR.US, 16);
+        attributes.setBytes(Tag.PixelData, VR.OW, pixelData);
+        return attributes;
+    }
+
+    private Path write(Attributes attributes, String name, String transferSyntax) throws IOException {
+        Path path = tempDir.resolve(name);
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(attributes.createFileMetaInformation(transferSyntax), attributes);
+        }
+        return path;
+    }
+}
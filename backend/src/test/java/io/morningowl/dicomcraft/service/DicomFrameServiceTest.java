@@ -0,0 +1,258 @@
+package io.morningowl.dicomcraft.service;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomFrameServiceTest {
+
+    private static final int ROWS = 3;
+    private static final int COLUMNS = 5;
+    private static final int FRAMES = 4;
+
+    @TempDir
+    Path tempDir;
+
+    private DicomFrameService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new DicomFrameService(new DicomHeaderReader(), new DicomGenerationService(), null,
+                tempDir.resolve("work").toString(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void splitFlattensFunctionalGroupsAndCopiesFrameBytes() throws IOException {
+        byte[] pixels = pixels();
+        Path source = writeEnhancedCt(pixels);
+
+        List<Path> frames = split(source);
+
+        assertThat(frames).extracting(path -> path.getFileName().toString())
+                .containsExactly("frame-00001.dcm", "frame-00002.dcm", "frame-00003.dcm", "frame-00004.dcm");
+        int frameLength = ROWS * COLUMNS * 2;
+        for (int frame = 0; frame < FRAMES; frame++) {
+            Attributes attributes = read(frames.get(frame));
+            assertThat(attributes.getString(Tag.SOPClassUID)).isEqualTo(UID.CTImageStorage);
+            assertThat(attributes.getInt(Tag.NumberOfFrames, 1)).isEqualTo(1);
+            assertThat(attributes.getInt(Tag.InstanceNumber, 0)).isEqualTo(frame + 1);
+            assertThat(attributes.contains(Tag.PerFrameFunctionalGroupsSequence)).isFalse();
+            assertThat(attributes.getDoubles(Tag.PixelSpacing)).containsExactly(0.5, 0.5);
+            assertThat(attributes.getDoubles(Tag.ImagePositionPatient)).containsExactly(0, 0, 2.5 * frame);
+            assertThat(attributes.getNestedDataset(Tag.SourceImageSequence).getInt(Tag.ReferencedFrameNumber, 0))
+                    .isEqualTo(frame + 1);
+            assertThat(attributes.getBytes(Tag.PixelData))
+                    .isEqualTo(Arrays.copyOfRange(pixels, frame * frameLength, (frame + 1) * frameLength));
+        }
+        assertThat(frames.stream().map(path -> {
+            try {
+                return read(path).getString(Tag.SOPInstanceUID);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }).distinct()).hasSize(FRAMES);
+    }
+
+    @Test
+    void mergeRebuildsFramesInSliceOrderWithSharedAndPerFrameGroups() throws IOException {
+        byte[] pixels = pixels();
+        List<Path> frames = new ArrayList<>(split(writeEnhancedCt(pixels)));
+        Collections.reverse(frames);
+        Path merged = tempDir.resolve("merged.dcm");
+
+        service.merge(frames, merged);
+
+        Attributes attributes = read(merged);
+        assertThat(attributes.getString(Tag.SOPClassUID)).isEqualTo(UID.LegacyConvertedEnhancedCTImageStorage);
+        assertThat(attributes.getInt(Tag.NumberOfFrames, 0)).isEqualTo(FRAMES);
+        assertThat(attributes.getBytes(Tag.PixelData)).isEqualTo(pixels);
+        assertThat(attributes.contains(Tag.ImagePositionPatient)).isFalse();
+
+        Attributes shared = attributes.getNestedDataset(Tag.SharedFunctionalGroupsSequence);
+        assertThat(shared.getNestedDataset(Tag.PixelMeasuresSequence).getDoubles(Tag.PixelSpacing))
+                .containsExactly(0.5, 0.5);
+        assertThat(shared.contains(Tag.PlanePositionSequence)).isFalse();
+        Sequence perFrame = attributes.getSequence(Tag.PerFrameFunctionalGroupsSequence);
+        assertThat(perFrame).hasSize(FRAMES);
+        for (int frame = 0; frame < FRAMES; frame++) {
+            Attributes item = perFrame.get(frame);
+            assertThat(item.getNestedDataset(Tag.PlanePositionSequence).getDoubles(Tag.ImagePositionPatient))
+                    .containsExactly(0, 0, 2.5 * frame);
+            assertThat(item.getNestedDataset(Tag.ConversionSourceAttributesSequence)
+                    .getString(Tag.ReferencedSOPInstanceUID)).isNotNull();
+            assertThat(item.getNestedDataset(Tag.FrameContentSequence).getInts(Tag.DimensionIndexValues))
+                    .containsExactly(frame + 1);
+        }
+    }
+
+    @Test
+    void mergeAddsAttributesRequiredByLegacyConvertedEnhancedIod() throws IOException {
+        List<Path> frames = split(writeEnhancedCt(pixels()));
+        Path merged = tempDir.resolve("merged.dcm");
+
+        service.merge(frames, merged);
+
+        Attributes attributes = read(merged);
+        assertThat(attributes.getStrings(Tag.ImageType)).hasSize(4);
+        assertThat(attributes.getString(Tag.ContentDate)).isNotNull();
+        assertThat(attributes.getString(Tag.ContentTime)).isNotNull();
+        assertThat(attributes.getString(Tag.FrameOfReferenceUID)).isNotNull();
+        assertThat(attributes.getString(Tag.Manufacturer)).isEqualTo("UNKNOWN");
+        assertThat(attributes.getString(Tag.DeviceSerialNumber)).isEqualTo("UNKNOWN");
+        assertThat(attributes.contains(Tag.AcquisitionContextSequence)).isTrue();
+
+        Attributes index = attributes.getNestedDataset(Tag.DimensionIndexSequence);
+        assertThat(index.getInt(Tag.DimensionIndexPointer, 0)).isEqualTo(Tag.InStackPositionNumber);
+        assertThat(index.getString(Tag.DimensionOrganizationUID)).isEqualTo(
+                attributes.getNestedDataset(Tag.DimensionOrganizationSequence).getString(Tag.DimensionOrganizationUID));
+
+        Attributes shared = attributes.getNestedDataset(Tag.SharedFunctionalGroupsSequence);
+        Attributes rescale = shared.getNestedDataset(Tag.PixelValueTransformationSequence);
+        assertThat(rescale.getDouble(Tag.RescaleSlope, 0)).isEqualTo(1);
+        assertThat(rescale.getDouble(Tag.RescaleIntercept, -1)).isZero();
+        assertThat(shared.contains(Tag.UnassignedSharedConvertedAttributesSequence)).isTrue();
+    }
+
+    @Test
+    void splitUploadLeavesNoWorkFilesAfterStreamingOrRejection() throws IOException {
+        Path work = tempDir.resolve("work");
+        MockMultipartFile upload = new MockMultipartFile("file", Files.readAllBytes(writeEnhancedCt(pixels())));
+
+        DicomHeader source = service.prepareSplit(upload);
+        service.writeSplitZip(source, new ByteArrayOutputStream());
+        service.deleteSplit(source);
+        assertThat(listFiles(work)).isEmpty();
+
+        // 픽셀 데이터가 프레임 수보다 짧으면 거부하고 받은 파일도 지운다
+        byte[] truncated = Files.readAllBytes(writeEnhancedCt(Arrays.copyOf(pixels(), ROWS * COLUMNS * 2)));
+        assertThatThrownBy(() -> service.prepareSplit(new MockMultipartFile("file", truncated)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(listFiles(work)).isEmpty();
+    }
+
+    @Test
+    void rejectsMergeOfDifferentImageSizes() throws IOException {
+        List<Path> frames = split(writeEnhancedCt(pixels()));
+        Attributes other = read(frames.get(1));
+        other.setInt(Tag.Columns, VR.US, COLUMNS - 1);
+        write(frames.get(1), other);
+
+        assertThatThrownBy(() -> service.merge(frames, tempDir.resolve("merged.dcm")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // 프레임 zip을 풀어 frames 디렉토리에 쓴다
+    private List<Path> split(Path source) throws IOException {
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        service.writeSplitZip(service.readSplitSource(source), zip);
+
+        Path directory = Files.createDirectories(tempDir.resolve("frames"));
+        List<Path> frames = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                Path frame = directory.resolve(entry.getName());
+                Files.copy(in, frame);
+                frames.add(frame);
+            }
+        }
+        return frames;
+    }
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    private byte[] pixels() {
+        byte[] pixels = new byte[ROWS * COLUMNS * 2 * FRAMES];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (byte) (i * 7);
+        }
+        return pixels;
+    }
+
+    private Path writeEnhancedCt(byte[] pixels) throws IOException {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.EnhancedCTImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        attributes.setString(Tag.SeriesInstanceUID, VR.UI, "1.2.3");
+        attributes.setString(Tag.Modality, VR.CS, "CT");
+        attributes.setInt(Tag.Rows, VR.US, ROWS);
+        attributes.setInt(Tag.Columns, VR.US, COLUMNS);
+        attributes.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attributes.setInt(Tag.BitsAllocated, VR.US, 16);
+        attributes.setInt(Tag.BitsStored, VR.US, 12);
+        attributes.setInt(Tag.HighBit, VR.US, 11);
+        attributes.setInt(Tag.PixelRepresentation, VR.US, 0);
+        attributes.setInt(Tag.NumberOfFrames, VR.IS, FRAMES);
+
+        Attributes shared = new Attributes();
+        Attributes measures = new Attributes();
+        measures.setDouble(Tag.PixelSpacing, VR.DS, 0.5, 0.5);
+        shared.newSequence(Tag.PixelMeasuresSequence, 1).add(measures);
+        Attributes orientation = new Attributes();
+        orientation.setDouble(Tag.ImageOrientationPatient, VR.DS, 1, 0, 0, 0, 1, 0);
+        shared.newSequence(Tag.PlaneOrientationSequence, 1).add(orientation);
+        attributes.newSequence(Tag.SharedFunctionalGroupsSequence, 1).add(shared);
+
+        Sequence perFrame = attributes.newSequence(Tag.PerFrameFunctionalGroupsSequence, FRAMES);
+        for (int frame = 0; frame < FRAMES; frame++) {
+            Attributes item = new Attributes();
+            Attributes position = new Attributes();
+            position.setDouble(Tag.ImagePositionPatient, VR.DS, 0, 0, 2.5 * frame);
+            item.newSequence(Tag.PlanePositionSequence, 1).add(position);
+            Attributes content = new Attributes();
+            content.setInt(Tag.InStackPositionNumber, VR.UL, frame + 1);
+            item.newSequence(Tag.FrameContentSequence, 1).add(content);
+            perFrame.add(item);
+        }
+        attributes.setBytes(Tag.PixelData, VR.OW, pixels);
+
+        Path path = tempDir.resolve("enhanced.dcm");
+        write(path, attributes);
+        return path;
+    }
+
+    private void write(Path path, Attributes attributes) throws IOException {
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+    }
+
+    private Attributes read(Path path) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(path.toFile())) {
+            return dis.readDataset();
+        }
+    }
+}
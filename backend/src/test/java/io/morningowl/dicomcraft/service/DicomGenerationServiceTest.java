@@ -0,0 +1,94 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomGenerationRequest;
+import io.morningowl.dicomcraft.dto.DicomPixelDataRequest;
+import io.morningowl.dicomcraft.dto.DicomTagRequest;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.io.DicomInputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomGenerationServiceTest {
+
+    private final DicomGenerationService dicomGenerationService = new DicomGenerationService();
+
+    @Test
+    void streamedGenerationCopiesPixelPartAfterEncodedHeader() throws IOException {
+        byte[] pixels = new byte[3 * 5 * 2];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (byte) i;
+        }
+
+        DicomGenerationService.StreamedDicom dicom = dicomGenerationService.prepareStreamedDicom(
+                metadata(5, 3, 8, "2"), pixels.length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dicom.writeTo(new ByteArrayInputStream(pixels), out);
+
+        // 15 bytes x 2 frames = 30 bytes, 짝수이므로 패딩 없음
+        assertThat(out.size()).isEqualTo(dicom.getContentLength());
+        Attributes attributes = parse(out.toByteArray());
+        assertThat(attributes.getString(Tag.PatientID)).isEqualTo("STREAM-1");
+        assertThat(attributes.getInt(Tag.Rows, 0)).isEqualTo(3);
+        assertThat(attributes.getBytes(Tag.PixelData)).isEqualTo(pixels);
+    }
+
+    @Test
+    void oddPixelLengthIsPaddedToEvenElementLength() throws IOException {
+        byte[] pixels = {1, 2, 3};
+
+        DicomGenerationService.StreamedDicom dicom = dicomGenerationService.prepareStreamedDicom(
+                metadata(3, 1, 8, null), pixels.length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dicom.writeTo(new ByteArrayInputStream(pixels), out);
+
+        assertThat(out.size()).isEqualTo(dicom.getContentLength());
+        assertThat(parse(out.toByteArray()).getBytes(Tag.PixelData)).containsExactly(1, 2, 3, 0);
+    }
+
+    @Test
+    void rejectsPixelPartThatDoesNotMatchImageSize() throws IOException {
+        assertThatThrownBy(() -> dicomGenerationService.prepareStreamedDicom(metadata(4, 4, 16, null), 31))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        DicomGenerationService.StreamedDicom dicom = dicomGenerationService.prepareStreamedDicom(
+                metadata(4, 4, 16, null), 32);
+        assertThatThrownBy(() -> dicom.writeTo(new ByteArrayInputStream(new byte[10]), new ByteArrayOutputStream()))
+                .isInstanceOf(EOFException.class);
+    }
+
+    private DicomGenerationRequest metadata(int width, int height, int bitsAllocated, String frames) {
+        List<DicomTagRequest> tags = frames != null
+                ? List.of(tag("(0010,0020)", "LO", "STREAM-1"), tag("(0028,0008)", "IS", frames))
+                : List.of(tag("(0010,0020)", "LO", "STREAM-1"));
+        return DicomGenerationRequest.builder()
+                .tags(tags)
+                .pixelData(DicomPixelDataRequest.builder()
+                        .width(width)
+                        .height(height)
+                        .bitsAllocated(bitsAllocated)
+                        .bitsStored(bitsAllocated)
+                        .samplesPerPixel(1)
+                        .photometricInterpretation("MONOCHROME2")
+                        .pixelRepresentation("0")
+                        .build())
+                .build();
+    }
+
+    private DicomTagRequest tag(String tagNumber, String vr, Object value) {
+        return DicomTagRequest.builder().tagNumber(tagNumber).vr(vr).value(value).build();
+    }
+
+    private Attributes parse(byte[] bytes) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(bytes))) {
+            return dis.readDataset();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomIndexStatus;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static org.assertj.core.api.Assertions.*;
+
+class DicomIndexServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path root;
+    private DicomIndexService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createDirectories(tempDir.resolve("root"));
+        write(root.resolve("a/1.dcm"), "1.2.3.1", "P1");
+        write(root.resolve("a/2.dcm"), "1.2.3.2", "P1");
+        Files.writeString(root.resolve("notes.txt"), "not dicom");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void rescanParsesOnlyChangedFiles() throws Exception {
+        service = startService();
+
+        assertThat(service.getStatus().getInstanceCount()).isEqualTo(2);
+        assertThat(service.findPatients()).singleElement()
+                .satisfies(patient -> assertThat(patient.getInstanceCount()).isEqualTo(2));
+
+        service.rescan();
+        assertThat(service.getStatus().getLastScanParsedFiles()).isZero();
+
+        write(root.resolve("a/3.dcm"), "1.2.3.3", "P2");
+        service.rescan();
+        assertThat(service.getStatus().getLastScanParsedFiles()).isEqualTo(1);
+        assertThat(service.findInstance("1.2.3.3")).isNotNull();
+    }
+
+    @Test
+    void rescanRemovesDeletedFiles() throws Exception {
+        service = startService();
+
+        Files.delete(root.resolve("a/2.dcm"));
+        service.rescan();
+
+        assertThat(service.findInstance("1.2.3.2")).isNull();
+        assertThat(service.getStatus().getFileCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deletedDirectoryRemovesOnlyItsEntries() throws Exception {
+        write(root.resolve("a-b/4.dcm"), "1.2.3.4", "P1");
+        service = startService(4);
+
+        // 감시 이벤트와 같은 순서로: 파일이 먼저 지워진 뒤 디렉토리 삭제가 온다
+        Files.delete(root.resolve("a/1.dcm"));
+        service.handleEvent(ENTRY_DELETE, root.resolve("a/1.dcm"));
+        service.handleEvent(ENTRY_DELETE, root.resolve("a"));
+
+        assertThat(service.findInstance("1.2.3.1")).isNull();
+        assertThat(service.findInstance("1.2.3.2")).isNull();
+        assertThat(service.findInstance("1.2.3.4")).isNotNull();
+        assertThat(service.findInstances("1.2.3.0")).extracting(entry -> entry.getSopInstanceUID())
+                .containsExactly("1.2.3.4");
+        assertThat(service.getStatus().getFileCount()).isEqualTo(2);
+    }
+
+    @Test
+    void reindexedFileMovesBetweenSeries() throws Exception {
+        service = startService();
+
+        write(root.resolve("a/2.dcm"), "1.2.3.5", "P1", "1.2.3.7");
+        service.indexChangedFile(root.resolve("a/2.dcm"));
+
+        assertThat(service.findInstance("1.2.3.2")).isNull();
+        assertThat(service.findInstance("1.2.3.5").getPath()).isEqualTo(root.resolve("a/2.dcm").toString());
+        assertThat(service.findInstances("1.2.3.0")).extracting(entry -> entry.getSopInstanceUID())
+                .containsExactly("1.2.3.1");
+        assertThat(service.findInstances("1.2.3.7")).extracting(entry -> entry.getSopInstanceUID())
+                .containsExactly("1.2.3.5");
+    }
+
+    @Test
+    void filesIndexedDuringRescanAreKept() throws Exception {
+        service = startService();
+        write(root.resolve("a/1.dcm"), "1.2.3.1", "P1-changed");
+
+        // 트리 순회가 보지 못하는 파일을 재스캔 도중 감시 이벤트처럼 인덱싱
+        Path late = tempDir.resolve("late.dcm");
+        write(late, "1.2.3.9", "P9");
+        AtomicBoolean injected = new AtomicBoolean();
+        service.addListener(new DicomIndexListener() {
+            @Override
+            public void onIndexed(Path path, Attributes attributes) {
+                if (injected.compareAndSet(false, true)) {
+                    try {
+                        service.indexChangedFile(late);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+
+            @Override
+            public void onRemoved(Path path) {
+            }
+        });
+        service.rescan();
+
+        assertThat(injected).isTrue();
+        assertThat(service.findInstance("1.2.3.9")).isNotNull();
+    }
+
+    @Test
+    void stopSavesIndexSoRestartParsesNothing() throws Exception {
+        service = startService();
+        service.stop();
+
+        service = startService();
+        service.rescan();
+
+        assertThat(service.getStatus().getInstanceCount()).isEqualTo(2);
+        assertThat(service.getStatus().getLastScanParsedFiles()).isZero();
+    }
+
+    // 시작 시 백그라운드 재스캔이 끝날 때까지 기다린다
+    private DicomIndexService startService() throws InterruptedException {
+        return startService(3);
+    }
+
+    private DicomIndexService startService(int expectedFiles) throws InterruptedException {
+        DicomIndexService started = new DicomIndexService(new DicomHeaderReader(), root.toString(),
+                tempDir.resolve("index.bin").toString(), false, 2, 3600);
+        started.start();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            DicomIndexStatus status = started.getStatus();
+            if (status.getFileCount() == expectedFiles && !status.isScanning()) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        return started;
+    }
+
+    private static void write(Path path, String sopInstanceUID, String patientId) throws IOException {
+        write(path, sopInstanceUID, patientId, "1.2.3.0");
+    }
+
+    private static void write(Path path, String sopInstanceUID, String patientId, String seriesInstanceUID) throws IOException {
+        Files.createDirectories(path.getParent());
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, sopInstanceUID);
+        attributes.setString(Tag.PatientID, VR.LO, patientId);
+        attributes.setString(Tag.StudyInstanceUID, VR.UI, "1.2.3");
+        attributes.setString(Tag.SeriesInstanceUID, VR.UI, seriesInstanceUID);
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+    }
+}
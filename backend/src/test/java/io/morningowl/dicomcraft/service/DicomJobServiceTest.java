@@ -0,0 +1,214 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomAnalysisResponse;
+import io.morningowl.dicomcraft.dto.DicomGenerationRequest;
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomJobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DicomJobServiceTest {
+
+    private static final int LARGE_THRESHOLD = 100;
+
+    @Mock
+    private DicomAnalysisService dicomAnalysisService;
+
+    @Mock
+    private DicomGenerationService dicomGenerationService;
+
+    @TempDir
+    Path tempDir;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private DicomJobService dicomJobService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (dicomJobService != null) {
+            dicomJobService.shutdown();
+        }
+    }
+
+    // =================== 취소 ===================
+
+    @Test
+    void cancel_should_delete_input_file_of_queued_job() throws Exception {
+        // Given: 작은 작업 스레드를 생성 작업이 점유하고, 분석 작업은 큐에서 대기
+        dicomJobService = createService(1);
+        blockGeneration();
+        dicomJobService.submitGeneration(new DicomGenerationRequest());
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        DicomJobStatus queued = dicomJobService.submitAnalysis(file(10));
+        assertThat(inputFiles()).hasSize(1);
+
+        // When
+        DicomJobStatus cancelled = dicomJobService.cancel(queued.getJobId());
+
+        // Then
+        assertThat(cancelled.getJobStatus()).isEqualTo("CANCELLED");
+        assertThat(inputFiles()).isEmpty();
+    }
+
+    @Test
+    void cancel_should_interrupt_running_job_and_keep_cancelled_status() throws Exception {
+        // Given: 분석 작업이 실행 중
+        dicomJobService = createService(1);
+        when(dicomAnalysisService.analyzeDicomStream(anyString(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return DicomAnalysisResponse.builder().analysisStatus("SUCCESS").build();
+        });
+        DicomJobStatus running = dicomJobService.submitAnalysis(file(10));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dicomJobService.getStatus(running.getJobId()).getJobStatus()).isEqualTo("RUNNING");
+
+        // When
+        dicomJobService.cancel(running.getJobId());
+
+        // Then: 인터럽트된 작업의 오류가 취소 상태를 덮어쓰지 않고, 입력 파일은 정리됨
+        awaitTrue(() -> inputFiles().isEmpty());
+        assertThat(dicomJobService.getStatus(running.getJobId()).getJobStatus()).isEqualTo("CANCELLED");
+    }
+
+    // =================== 스레드 풀 선택 ===================
+
+    @Test
+    void submit_should_route_jobs_by_size() throws Exception {
+        // Given
+        dicomJobService = createService(1);
+        when(dicomAnalysisService.analyzeDicomStream(anyString(), any(), any())).thenAnswer(invocation ->
+            DicomAnalysisResponse.builder().analysisStatus("SUCCESS").fileName(Thread.currentThread().getName()).build());
+
+        // When
+        String small = dicomJobService.submitAnalysis(file(LARGE_THRESHOLD - 1)).getJobId();
+        String large = dicomJobService.submitAnalysis(file(LARGE_THRESHOLD)).getJobId();
+
+        // Then
+        assertThat(threadOf(small)).startsWith("dicom-job-small");
+        assertThat(threadOf(large)).startsWith("dicom-job-large");
+    }
+
+    @Test
+    void submit_should_reject_when_queue_is_full_and_remove_upload() throws Exception {
+        // Given: 스레드 1개 점유, 큐 1칸 사용 중
+        dicomJobService = createService(1);
+        blockGeneration();
+        dicomJobService.submitGeneration(new DicomGenerationRequest());
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        dicomJobService.submitAnalysis(file(10));
+
+        // When & Then
+        assertThatThrownBy(() -> dicomJobService.submitAnalysis(file(10)))
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(inputFiles()).hasSize(1);
+    }
+
+    // =================== 결과 ===================
+
+    @Test
+    void takeResult_should_hand_result_to_exactly_one_concurrent_caller() throws Exception {
+        // Given
+        dicomJobService = createService(1);
+        when(dicomAnalysisService.analyzeDicomStream(anyString(), any(), any())).thenReturn(
+            DicomAnalysisResponse.builder().analysisStatus("SUCCESS").build());
+        String jobId = dicomJobService.submitAnalysis(file(10)).getJobId();
+        awaitTrue(() -> dicomJobService.getStatus(jobId).getFinishedAt() != null);
+
+        // When: 여러 스레드가 동시에 결과를 가져간다
+        int callers = 8;
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger missing = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    go.await();
+                    if (dicomJobService.takeResult(jobId) != null) {
+                        taken.incrementAndGet();
+                    }
+                } catch (IllegalArgumentException e) {
+                    missing.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        // Then
+        assertThat(taken).hasValue(1);
+        assertThat(missing).hasValue(callers - 1);
+    }
+
+    // =================== Helper Methods ===================
+
+    private DicomJobService createService(int queueCapacity) throws IOException {
+        return new DicomJobService(dicomAnalysisService, dicomGenerationService,
+            1, 1, queueCapacity, LARGE_THRESHOLD, 600, 60, tempDir.resolve("jobs").toString());
+    }
+
+    private void blockGeneration() {
+        when(dicomGenerationService.generateDicomFile(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return DicomGenerationResponse.builder().generationStatus("SUCCESS").build();
+        });
+    }
+
+    private MockMultipartFile file(int size) {
+        return new MockMultipartFile("file", "test.dcm", "application/dicom", new byte[size]);
+    }
+
+    private List<Path> inputFiles() {
+        try (Stream<Path> files = Files.list(tempDir.resolve("jobs"))) {
+            return files.toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String threadOf(String jobId) throws InterruptedException {
+        awaitTrue(() -> dicomJobService.getStatus(jobId).getFinishedAt() != null);
+        return ((DicomAnalysisResponse) dicomJobService.takeResult(jobId)).getFileName();
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,110 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomPathMatch;
+import io.morningowl.dicomcraft.dto.DicomPathQueryResult;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomPathQueryTest {
+
+    private final Attributes report = createReport();
+
+    @Test
+    void wildcardAndIndexSelectItems() {
+        assertThat(values("ContentSequence.ConceptNameCodeSequence.CodeValue"))
+                .containsExactly("121071", "G-D705", "121206");
+        assertThat(values("ContentSequence[*].ConceptNameCodeSequence[*].CodeValue"))
+                .containsExactly("121071", "G-D705", "121206");
+        assertThat(values("ContentSequence[2].ConceptNameCodeSequence.CodeValue")).containsExactly("G-D705");
+        assertThat(values("ContentSequence[4].ValueType")).isEmpty();
+    }
+
+    @Test
+    void predicatesFilterItemsByRelativePath() {
+        assertThat(values("ContentSequence[ValueType=NUM].MeasuredValueSequence.NumericValue"))
+                .containsExactly("12.5", "3");
+        assertThat(values("ContentSequence[ConceptNameCodeSequence.CodeValue='121071'].TextValue"))
+                .containsExactly("no finding");
+        assertThat(values("ContentSequence[MeasuredValueSequence].ValueType")).containsExactly("NUM", "NUM");
+        assertThat(values("ContentSequence[!MeasuredValueSequence].ValueType")).containsExactly("TEXT");
+    }
+
+    @Test
+    void descendantStepSearchesEveryDepthAndReportsConcretePaths() {
+        List<DicomPathQuery.Match> matches = DicomPathQuery.compile("**.NumericValue").evaluate(report);
+
+        assertThat(matches).extracting(DicomPathQuery.Match::getPath).containsExactly(
+                "(0040,A730)[2].(0040,A300)[1].(0040,A30A)",
+                "(0040,A730)[3].(0040,A300)[1].(0040,A30A)");
+        assertThat(values("(0040,A730)[*].0040A043.(0008,0100)")).containsExactly("121071", "G-D705", "121206");
+    }
+
+    @Test
+    void rejectsMalformedPaths() {
+        assertThatThrownBy(() -> DicomPathQuery.compile("ContentSequence[ValueType=NUM"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DicomPathQuery.compile("ContentSequence[1]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DicomPathQuery.compile("ContentSequence.**"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DicomPathQuery.compile("NoSuchKeyword.CodeValue"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void serviceFormatsMatchesAndTruncates() {
+        DicomPathQueryService service = new DicomPathQueryService(new DicomAnalysisService(), 1);
+
+        List<DicomPathQueryResult> results = service.evaluate(report,
+                DicomPathQueryService.compile(List.of("ContentSequence.ValueType", "PatientID")));
+
+        assertThat(results.get(0).isTruncated()).isTrue();
+        assertThat(results.get(0).getMatches()).extracting(DicomPathMatch::getPath, DicomPathMatch::getValue)
+                .containsExactly(tuple("(0040,A730)[1].(0040,A040)", "TEXT"));
+        assertThat(results.get(1).isTruncated()).isFalse();
+        assertThat(results.get(1).getMatches()).extracting(DicomPathMatch::getName, DicomPathMatch::getVr,
+                        DicomPathMatch::getValue)
+                .containsExactly(tuple("PatientID", "LO", "P001"));
+    }
+
+    private List<String> values(String expression) {
+        return DicomPathQuery.compile(expression).evaluate(report).stream()
+                .map(match -> match.getAttributes().getString(match.getTag()))
+                .toList();
+    }
+
+    private static Attributes createReport() {
+        Attributes report = new Attributes();
+        report.setString(Tag.PatientID, VR.LO, "P001");
+        report.setString(Tag.ValueType, VR.CS, "CONTAINER");
+        Sequence content = report.newSequence(Tag.ContentSequence, 3);
+        content.add(contentItem("TEXT", "121071", null));
+        content.add(contentItem("NUM", "G-D705", "12.5"));
+        content.add(contentItem("NUM", "121206", "3"));
+        return report;
+    }
+
+    private static Attributes contentItem(String valueType, String codeValue, String numericValue) {
+        Attributes item = new Attributes();
+        item.setString(Tag.ValueType, VR.CS, valueType);
+        Attributes conceptName = new Attributes();
+        conceptName.setString(Tag.CodeValue, VR.SH, codeValue);
+        conceptName.setString(Tag.CodingSchemeDesignator, VR.SH, "DCM");
+        item.newSequence(Tag.ConceptNameCodeSequence, 1).add(conceptName);
+        if (numericValue != null) {
+            Attributes measured = new Attributes();
+            measured.setString(Tag.NumericValue, VR.DS, numericValue);
+            item.newSequence(Tag.MeasuredValueSequence, 1).add(measured);
+        } else {
+            item.setString(Tag.TextValue, VR.UT, "no finding");
+        }
+        return item;
+    }
+}
@@ -0,0 +1,191 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomPixelOperation;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomPixelTransformServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DicomPixelTransformService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new DicomPixelTransformService(new DicomHeaderReader(), tempDir.resolve("work").toString(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void cropsAndRotatesAllFramesAndUpdatesGeometry() throws IOException {
+        // 4x3, 2프레임, 값 = 1000*frame + 10*y + x
+        Path input = writeImage(4, 3, 2, 16, (frame, x, y) -> 1000 * frame + 10 * y + x);
+
+        Attributes result = read(service.transform(input, List.of(
+                DicomPixelOperation.builder().type("CROP").x(1).y(1).width(3).height(2).build(),
+                DicomPixelOperation.builder().type("ROTATE").angle(90).build())));
+
+        assertThat(result.getInt(Tag.Rows, 0)).isEqualTo(3);
+        assertThat(result.getInt(Tag.Columns, 0)).isEqualTo(2);
+        // 자른 영역 (1,1)~(3,2)를 시계 방향으로 돌리면 첫 행은 (1,2), (1,1)
+        short[] pixels = toShorts(result.getSafeBytes(Tag.PixelData));
+        assertThat(pixels).startsWith((short) 21, (short) 11, (short) 22, (short) 12, (short) 23, (short) 13);
+        assertThat(pixels[6]).isEqualTo((short) 1021);
+
+        assertThat(result.getDoubles(Tag.PixelSpacing)).containsExactly(new double[]{0.5, 0.8}, within(1e-6));
+        assertThat(result.getDoubles(Tag.ImageOrientationPatient))
+                .containsExactly(new double[]{0, -1, 0, 1, 0, 0}, within(1e-6));
+        // 출력 (0,0) = 원본 (1,2) -> 원점 + 1*0.5 (x) + 2*0.8 (y)
+        assertThat(result.getDoubles(Tag.ImagePositionPatient))
+                .containsExactly(new double[]{0.5, 1.6, 0}, within(1e-6));
+        assertThat(result.getString(Tag.SOPInstanceUID)).isNotEqualTo("1.2.3.4");
+    }
+
+    @Test
+    void reducesBitDepthAndKeepsModalityValues() throws IOException {
+        Path input = writeImage(2, 2, 1, 16, (frame, x, y) -> 16384 * (2 * y + x));
+
+        Attributes result = read(service.transform(input, List.of(
+                DicomPixelOperation.builder().type("BIT_DEPTH").bitsStored(8).build())));
+
+        assertThat(result.getInt(Tag.BitsAllocated, 0)).isEqualTo(8);
+        assertThat(result.getInt(Tag.HighBit, 0)).isEqualTo(7);
+        assertThat(result.getSafeBytes(Tag.PixelData)).containsExactly(0, 64, 128, 192);
+        assertThat(result.getDouble(Tag.RescaleSlope, 0)).isEqualTo(256.0);
+    }
+
+    @Test
+    void addsRescaleWhenReducingBitDepthWithoutSlope() throws IOException {
+        Path input = writeImage(2, 2, 1, 16, (frame, x, y) -> 16384 * (2 * y + x), attributes -> {
+            attributes.remove(Tag.RescaleSlope);
+            attributes.remove(Tag.RescaleIntercept);
+            attributes.setDouble(Tag.WindowCenter, VR.DS, 32768);
+            attributes.setDouble(Tag.WindowWidth, VR.DS, 65536);
+        });
+
+        Attributes result = read(service.transform(input, List.of(
+                DicomPixelOperation.builder().type("BIT_DEPTH").bitsStored(8).build())));
+
+        // 저장 값 * 256 = 원래 값, 윈도우는 모달리티 값 기준 그대로
+        assertThat(result.getDouble(Tag.RescaleSlope, 0)).isEqualTo(256.0);
+        assertThat(result.getDouble(Tag.RescaleIntercept, 1)).isEqualTo(0.0);
+        assertThat(result.getString(Tag.RescaleType)).isEqualTo("US");
+        assertThat(result.getDouble(Tag.WindowCenter, 0)).isEqualTo(32768.0);
+        assertThat(result.getDouble(Tag.WindowWidth, 0)).isEqualTo(65536.0);
+    }
+
+    @Test
+    void rejectsValueChangingOperationsOnPaletteColor() throws IOException {
+        Path input = writeImage(4, 4, 1, 8, (frame, x, y) -> x, attributes ->
+                attributes.setString(Tag.PhotometricInterpretation, VR.CS, "PALETTE COLOR"));
+
+        assertThatThrownBy(() -> service.transform(input, List.of(
+                DicomPixelOperation.builder().type("BIT_DEPTH").bitsStored(4).build())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.transform(input, List.of(
+                DicomPixelOperation.builder().type("RESAMPLE").scale(0.5).interpolation("LINEAR").build())))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // 보간 방식을 지정하지 않으면 인덱스를 그대로 옮기는 NEAREST로 리샘플
+        Attributes result = read(service.transform(input, List.of(
+                DicomPixelOperation.builder().type("RESAMPLE").width(8).height(4).build())));
+        assertThat(result.getSafeBytes(Tag.PixelData)).startsWith(0, 0, 1, 1, 2, 2, 3, 3);
+    }
+
+    @Test
+    void rejectsCropOutsideImage() throws IOException {
+        Path input = writeImage(4, 4, 1, 8, (frame, x, y) -> x);
+
+        assertThatThrownBy(() -> service.transform(input, List.of(
+                DicomPixelOperation.builder().type("CROP").x(2).y(0).width(4).height(2).build())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private interface PixelValue {
+        int at(int frame, int x, int y);
+    }
+
+    private Path writeImage(int columns, int rows, int frames, int bitsAllocated, PixelValue value) throws IOException {
+        return writeImage(columns, rows, frames, bitsAllocated, value, attributes -> {
+        });
+    }
+
+    private Path writeImage(int columns, int rows, int frames, int bitsAllocated, PixelValue value,
+                            Consumer<Attributes> customizer) throws IOException {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        attributes.setInt(Tag.Rows, VR.US, rows);
+        attributes.setInt(Tag.Columns, VR.US, columns);
+        attributes.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attributes.setInt(Tag.BitsAllocated, VR.US, bitsAllocated);
+        attributes.setInt(Tag.BitsStored, VR.US, bitsAllocated);
+        attributes.setInt(Tag.HighBit, VR.US, bitsAllocated - 1);
+        attributes.setInt(Tag.PixelRepresentation, VR.US, 0);
+        attributes.setString(Tag.NumberOfFrames, VR.IS, String.valueOf(frames));
+        attributes.setDouble(Tag.PixelSpacing, VR.DS, 0.8, 0.5);
+        attributes.setDouble(Tag.ImageOrientationPatient, VR.DS, 1, 0, 0, 0, 1, 0);
+        attributes.setDouble(Tag.ImagePositionPatient, VR.DS, 0, 0, 0);
+        attributes.setDouble(Tag.RescaleSlope, VR.DS, 1);
+        attributes.setDouble(Tag.RescaleIntercept, VR.DS, 0);
+
+        int bytesPerSample = bitsAllocated / 8;
+        byte[] pixels = new byte[columns * rows * frames * bytesPerSample];
+        int index = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < columns; x++) {
+                    int sample = value.at(frame, x, y);
+                    pixels[index++] = (byte) sample;
+                    if (bytesPerSample == 2) {
+                        pixels[index++] = (byte) (sample >> 8);
+                    }
+                }
+            }
+        }
+        attributes.setBytes(Tag.PixelData, bitsAllocated == 8 ? VR.OB : VR.OW, pixels);
+        customizer.accept(attributes);
+
+        Path path = tempDir.resolve("input-" + System.nanoTime() + ".dcm");
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+        return path;
+    }
+
+    private Attributes read(byte[] dicomBytes) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(dicomBytes))) {
+            return dis.readDataset();
+        }
+    }
+
+    private short[] toShorts(byte[] bytes) {
+        short[] values = new short[bytes.length / 2];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+        }
+        return values;
+    }
+}
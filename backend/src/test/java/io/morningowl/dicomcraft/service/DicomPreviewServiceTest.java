@@ -0,0 +1,233 @@
+package io.morningowl.dicomcraft.service;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class DicomPreviewServiceTest {
+
+    private static final String BOUNDARY = "XYZ";
+
+    @TempDir
+    Path tempDir;
+
+    private DicomStoreService store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new DicomStoreService(new DicomHeaderReader(), tempDir.resolve("store").toString());
+        store.start();
+    }
+
+    @Test
+    void embeddedIconIsUsedWithoutDecodingPixelData() throws IOException {
+        Attributes attributes = image(64, 64, 16);
+        Attributes icon = new Attributes();
+        icon.setInt(Tag.Rows, VR.US, 2);
+        icon.setInt(Tag.Columns, VR.US, 3);
+        icon.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        icon.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        icon.setInt(Tag.BitsAllocated, VR.US, 8);
+        icon.setInt(Tag.BitsStored, VR.US, 8);
+        icon.setInt(Tag.HighBit, VR.US, 7);
+        icon.setInt(Tag.PixelRepresentation, VR.US, 0);
+        icon.setBytes(Tag.PixelData, VR.OB, new byte[]{0, 50, 100, (byte) 150, (byte) 200, (byte) 255});
+        attributes.newSequence(Tag.IconImageSequence, 1).add(icon);
+
+        Path path = write(attributes);
+        // 본 PixelData 값을 절반 잘라 둔다. 조금이라도 읽으면 EOF나 길이 오류로 실패한다
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 64 * 64);
+        }
+
+        DicomPreviewService.Preview preview = service(128).render(path);
+
+        assertThat(preview.getSource()).isEqualTo(DicomPreviewService.SOURCE_ICON);
+        assertThat(preview.getSopInstanceUID()).isEqualTo("1.2.3.4");
+        BufferedImage image = read(preview);
+        assertThat(image.getWidth()).isEqualTo(3);
+        assertThat(image.getHeight()).isEqualTo(2);
+        assertThat(image.getRaster().getSample(1, 0, 0)).isEqualTo(50);
+        assertThat(image.getRaster().getSample(2, 1, 0)).isEqualTo(255);
+    }
+
+    @Test
+    void missingIconFallsBackToSubsampledRows() throws IOException {
+        Attributes attributes = image(300, 200, 16);
+        attributes.setDouble(Tag.WindowCenter, VR.DS, 150);
+        attributes.setDouble(Tag.WindowWidth, VR.DS, 300);
+
+        DicomPreviewService.Preview preview = service(128).render(write(attributes));
+
+        // 300 / 128 -> 3칸마다 한 픽셀
+        assertThat(preview.getSource()).isEqualTo(DicomPreviewService.SOURCE_SUBSAMPLED);
+        BufferedImage image = read(preview);
+        assertThat(image.getWidth()).isEqualTo(100);
+        assertThat(image.getHeight()).isEqualTo(67);
+        assertThat(image.getRaster().getSample(20, 10, 0)).isEqualTo(51);
+        assertThat(image.getRaster().getSample(20, 66, 0)).isEqualTo(51);
+    }
+
+    @Test
+    void monochrome1IsInverted() throws IOException {
+        Attributes attributes = image(4, 2, 8);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME1");
+
+        BufferedImage image = read(service(128).render(write(attributes)));
+
+        // 값 = 열 번호, 최소/최대 0..3으로 펼친 뒤 반전
+        assertThat(image.getRaster().getSample(0, 0, 0)).isEqualTo(255);
+        assertThat(image.getRaster().getSample(3, 1, 0)).isEqualTo(0);
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyUsedPreviewsOverByteBudget() throws IOException {
+        // 같은 이미지라 PNG 크기가 같다. 두 개 반만 담을 수 있는 예산
+        long pngLength = service(128).render(write(image(16, 16, 8))).getPng().length;
+        DicomPreviewService service = storedService(pngLength * 5 / 2);
+        stow(stored("1.2.1.1.1", "MONOCHROME2"));
+        stow(stored("1.2.1.1.2", "MONOCHROME2"));
+        stow(stored("1.2.1.1.3", "MONOCHROME2"));
+
+        DicomPreviewService.Preview first = service.previewStored("1.2.1.1.1");
+        DicomPreviewService.Preview second = service.previewStored("1.2.1.1.2");
+        assertThat(service.previewStored("1.2.1.1.1")).isSameAs(first);
+        service.previewStored("1.2.1.1.3");
+
+        // 최근에 본 첫 번째는 남고, 가장 오래 안 본 두 번째가 밀려남
+        assertThat(service.previewStored("1.2.1.1.1")).isSameAs(first);
+        assertThat(service.previewStored("1.2.1.1.2")).isNotSameAs(second);
+    }
+
+    @Test
+    void stowOfSameInstanceInvalidatesCachedPreview() throws IOException {
+        DicomPreviewService service = storedService(1 << 20);
+        stow(stored("1.2.1.1.1", "MONOCHROME2"));
+        DicomPreviewService.Preview before = service.previewStored("1.2.1.1.1");
+        assertThat(service.previewStored("1.2.1.1.1")).isSameAs(before);
+
+        stow(stored("1.2.1.1.1", "MONOCHROME1"));
+        DicomPreviewService.Preview after = service.previewStored("1.2.1.1.1");
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(read(before).getRaster().getSample(0, 0, 0)).isZero();
+        assertThat(read(after).getRaster().getSample(0, 0, 0)).isEqualTo(255);
+    }
+
+    @Test
+    void previewRenderedDuringInvalidationIsNotCached() throws IOException {
+        AtomicBoolean changed = new AtomicBoolean();
+        DicomPreviewService service = new DicomPreviewService(new DicomHeaderReader(), mock(DicomIndexService.class),
+                store, 128, 1 << 20, tempDir.resolve("work").toString()) {
+            @Override
+            Preview render(Path path) throws IOException {
+                Preview rendered = super.render(path);
+                // 첫 미리보기를 만드는 도중 파일이 바뀐 것처럼 알림
+                if (changed.compareAndSet(false, true)) {
+                    onRemoved(path);
+                }
+                return rendered;
+            }
+        };
+        stow(stored("1.2.1.1.1", "MONOCHROME2"));
+
+        DicomPreviewService.Preview stale = service.previewStored("1.2.1.1.1");
+        DicomPreviewService.Preview rendered = service.previewStored("1.2.1.1.1");
+
+        assertThat(rendered).isNotSameAs(stale);
+        assertThat(service.previewStored("1.2.1.1.1")).isSameAs(rendered);
+    }
+
+    private DicomPreviewService service(int size) throws IOException {
+        return new DicomPreviewService(new DicomHeaderReader(), null, null, size, 1 << 20, tempDir.resolve("work").toString());
+    }
+
+    private DicomPreviewService storedService(long maxCacheBytes) throws IOException {
+        DicomPreviewService service = new DicomPreviewService(new DicomHeaderReader(), mock(DicomIndexService.class),
+                store, 128, maxCacheBytes, tempDir.resolve("work").toString());
+        service.start();
+        return service;
+    }
+
+    // 저장소에 넣을 16x16 이미지
+    private Attributes stored(String sopInstanceUID, String photometricInterpretation) {
+        Attributes attributes = image(16, 16, 8);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, sopInstanceUID);
+        attributes.setString(Tag.StudyInstanceUID, VR.UI, "1.2.1");
+        attributes.setString(Tag.SeriesInstanceUID, VR.UI, "1.2.1.1");
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, photometricInterpretation);
+        return attributes;
+    }
+
+    private void stow(Attributes attributes) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\nContent-Type: application/dicom\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        try (DicomOutputStream dos = new DicomOutputStream(body, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        Attributes response = store.storeInstances(new ByteArrayInputStream(body.toByteArray()), BOUNDARY, null,
+                "http://localhost/dicomweb");
+        assertThat(response.contains(Tag.FailedSOPSequence)).isFalse();
+    }
+
+    // 픽셀 값이 열 번호인 단일 프레임 이미지
+    private Attributes image(int columns, int rows, int bitsAllocated) {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        attributes.setInt(Tag.Rows, VR.US, rows);
+        attributes.setInt(Tag.Columns, VR.US, columns);
+        attributes.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attributes.setInt(Tag.BitsAllocated, VR.US, bitsAllocated);
+        attributes.setInt(Tag.BitsStored, VR.US, bitsAllocated);
+        attributes.setInt(Tag.HighBit, VR.US, bitsAllocated - 1);
+        attributes.setInt(Tag.PixelRepresentation, VR.US, 0);
+
+        int bytesPerSample = bitsAllocated / 8;
+        byte[] pixels = new byte[columns * rows * bytesPerSample];
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                int offset = (y * columns + x) * bytesPerSample;
+                pixels[offset] = (byte) x;
+                if (bytesPerSample == 2) {
+                    pixels[offset + 1] = (byte) (x >> 8);
+                }
+            }
+        }
+        attributes.setBytes(Tag.PixelData, bitsAllocated == 8 ? VR.OB : VR.OW, pixels);
+        return attributes;
+    }
+
+    private Path write(Attributes attributes) throws IOException {
+        Path path = tempDir.resolve("image.dcm");
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+        return path;
+    }
+
+    private BufferedImage read(DicomPreviewService.Preview preview) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(preview.getPng()));
+    }
+}
@@ -0,0 +1,218 @@
+package io.morningowl.dicomcraft.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.dto.DicomRedactionBatchRequest;
+import io.morningowl.dicomcraft.dto.DicomRedactionBatchResponse;
+import io.morningowl.dicomcraft.dto.DicomRedactionRegion;
+import io.morningowl.dicomcraft.dto.DicomRedactionResult;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomRedactionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DicomRedactionService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path rules = tempDir.resolve("rules.json");
+        Files.writeString(rules, """
+                [{"name": "us-header", "match": {"Modality": "US", "Manufacturer": "(?i)acme.*"},
+                  "regions": [{"x": 0, "y": 0, "width": 100, "height": 1}]}]
+                """);
+        service = new DicomRedactionService(new ObjectMapper(), rules.toString(), tempDir.toString(), 2,
+                tempDir.resolve("work").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void blanksRegionInEveryFrameAndOverwritesBurnedInAnnotationInPlace() throws IOException {
+        Path file = writeImage(tempDir.resolve("a.dcm"), "YES", "OT", "OTHER");
+        long sizeBefore = Files.size(file);
+
+        DicomRedactionResult result = service.redact(file, List.of(
+                DicomRedactionRegion.builder().x(1).y(1).width(2).height(10).build()));
+
+        assertThat(result.getStatus()).isEqualTo("REDACTED");
+        assertThat(result.getBurnedInAnnotation()).isEqualTo("IN_PLACE");
+        assertThat(Files.size(file)).isEqualTo(sizeBefore);
+
+        Attributes attributes = read(file);
+        assertThat(attributes.getString(Tag.BurnedInAnnotation)).isEqualTo("NO");
+        byte[] pixels = attributes.getSafeBytes(Tag.PixelData);
+        // 4x3 프레임 2장, 영역은 이미지 안쪽 (1,1)~(2,2)로 잘린다
+        for (int frame = 0; frame < 2; frame++) {
+            for (int y = 0; y < 3; y++) {
+                for (int x = 0; x < 4; x++) {
+                    int expected = x >= 1 && x <= 2 && y >= 1 ? 0 : 100 + 10 * y + x;
+                    assertThat(pixels[frame * 12 + y * 4 + x] & 0xFF).as("frame %d (%d,%d)", frame, x, y).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void appliesMatchingRulesAndRewritesWhenBurnedInAnnotationIsMissing() throws IOException {
+        Path file = writeImage(tempDir.resolve("b.dcm"), null, "US", "ACME Medical");
+
+        DicomRedactionResult result = service.redact(file, null);
+
+        assertThat(result.getMatchedRules()).containsExactly("us-header");
+        assertThat(result.getBurnedInAnnotation()).isEqualTo("REWRITTEN");
+        Attributes attributes = read(file);
+        assertThat(attributes.getString(Tag.BurnedInAnnotation)).isEqualTo("NO");
+        byte[] pixels = attributes.getSafeBytes(Tag.PixelData);
+        assertThat(Arrays.copyOfRange(pixels, 0, 4)).containsOnly(0);
+        assertThat(pixels[4] & 0xFF).isEqualTo(110);
+    }
+
+    @Test
+    void leavesFileUntouchedWhenRegionsAreOutsideImage() throws IOException {
+        Path file = writeImage(tempDir.resolve("c.dcm"), "YES", "OT", "OTHER");
+        byte[] before = Files.readAllBytes(file);
+
+        DicomRedactionResult result = service.redact(file, List.of(
+                DicomRedactionRegion.builder().x(10).y(0).width(5).height(5).build()));
+
+        assertThat(result.getStatus()).isEqualTo("OUTSIDE_IMAGE");
+        assertThat(result.getErrorMessage()).contains("4x3");
+        assertThat(Files.readAllBytes(file)).isEqualTo(before);
+    }
+
+    @Test
+    void batchSkipsNonMatchingAndNonDicomFiles() throws Exception {
+        Path directory = Files.createDirectories(tempDir.resolve("batch"));
+        writeImage(directory.resolve("match.dcm"), "YES", "US", "Acme");
+        writeImage(directory.resolve("other.dcm"), "YES", "CT", "Acme");
+        Files.writeString(directory.resolve("README.txt"), "not dicom");
+
+        DicomRedactionBatchResponse response = service.redactDirectory(DicomRedactionBatchRequest.builder()
+                .directory(directory.toString())
+                .recursive(true)
+                .build()).get(10, TimeUnit.SECONDS);
+
+        assertThat(response.getFilesScanned()).isEqualTo(3);
+        assertThat(response.getFilesRedacted()).isEqualTo(1);
+        assertThat(response.getFilesSkipped()).isEqualTo(2);
+        assertThat(response.getFilesFailed()).isZero();
+        // 가린 파일과 규칙이 없는 파일은 개수만 센다
+        assertThat(response.getResults()).singleElement()
+                .satisfies(result -> assertThat(result.getPath()).endsWith("README.txt"))
+                .satisfies(result -> assertThat(result.getStatus()).isEqualTo("SKIPPED"));
+    }
+
+    @Test
+    void batchCapsReportedResults() throws Exception {
+        Path directory = Files.createDirectories(tempDir.resolve("many"));
+        for (int i = 0; i < DicomRedactionService.MAX_REPORTED_RESULTS + 5; i++) {
+            Files.writeString(directory.resolve(i + ".txt"), "not dicom");
+        }
+
+        DicomRedactionBatchResponse response = service.redactDirectory(DicomRedactionBatchRequest.builder()
+                .directory(directory.toString())
+                .build()).get(30, TimeUnit.SECONDS);
+
+        assertThat(response.getFilesScanned()).isEqualTo(DicomRedactionService.MAX_REPORTED_RESULTS + 5);
+        assertThat(response.getFilesSkipped()).isEqualTo(DicomRedactionService.MAX_REPORTED_RESULTS + 5);
+        assertThat(response.getResults()).hasSize(DicomRedactionService.MAX_REPORTED_RESULTS);
+        assertThat(response.getResultsOmitted()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsBatchOutsideAllowedRoots() {
+        assertThatThrownBy(() -> service.redactDirectory(DicomRedactionBatchRequest.builder()
+                .directory(tempDir.getParent().toString())
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void batchDoesNotFollowSymbolicLinksOutOfRoot() throws Exception {
+        // 루트는 tempDir/root, 그 밖에 있는 outside를 링크로 가리킨다
+        Path root = Files.createDirectories(tempDir.resolve("root"));
+        Path outside = Files.createDirectories(tempDir.resolve("outside"));
+        Path target = writeImage(outside.resolve("target.dcm"), "YES", "US", "Acme");
+        byte[] before = Files.readAllBytes(target);
+        Files.createSymbolicLink(root.resolve("linked-dir"), outside);
+        Path inside = Files.createDirectories(root.resolve("inside"));
+        Files.createSymbolicLink(inside.resolve("linked.dcm"), target);
+        service.shutdown();
+        service = new DicomRedactionService(new ObjectMapper(), tempDir.resolve("rules.json").toString(),
+                root.toString(), 2, tempDir.resolve("work").toString());
+
+        assertThatThrownBy(() -> service.redactDirectory(DicomRedactionBatchRequest.builder()
+                .directory(root.resolve("linked-dir").toString())
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        DicomRedactionBatchResponse response = service.redactDirectory(DicomRedactionBatchRequest.builder()
+                .directory(inside.toString())
+                .build()).get(10, TimeUnit.SECONDS);
+
+        assertThat(response.getFilesScanned()).isZero();
+        assertThat(Files.readAllBytes(target)).isEqualTo(before);
+    }
+
+    private Path writeImage(Path path, String burnedInAnnotation, String modality, String manufacturer) throws IOException {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.UltrasoundMultiFrameImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3." + System.nanoTime());
+        attributes.setString(Tag.Modality, VR.CS, modality);
+        attributes.setString(Tag.Manufacturer, VR.LO, manufacturer);
+        if (burnedInAnnotation != null) {
+            attributes.setString(Tag.BurnedInAnnotation, VR.CS, burnedInAnnotation);
+        }
+        attributes.setInt(Tag.Rows, VR.US, 3);
+        attributes.setInt(Tag.Columns, VR.US, 4);
+        attributes.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attributes.setInt(Tag.BitsAllocated, VR.US, 8);
+        attributes.setInt(Tag.BitsStored, VR.US, 8);
+        attributes.setInt(Tag.HighBit, VR.US, 7);
+        attributes.setInt(Tag.PixelRepresentation, VR.US, 0);
+        attributes.setString(Tag.NumberOfFrames, VR.IS, "2");
+
+        byte[] pixels = new byte[24];
+        for (int frame = 0; frame < 2; frame++) {
+            for (int y = 0; y < 3; y++) {
+                for (int x = 0; x < 4; x++) {
+                    pixels[frame * 12 + y * 4 + x] = (byte) (100 + 10 * y + x);
+                }
+            }
+        }
+        attributes.setBytes(Tag.PixelData, VR.OB, pixels);
+
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+        return path;
+    }
+
+    private Attributes read(Path path) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(path.toFile())) {
+            return dis.readDataset();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.dto.DicomSearchQuery;
+import io.morningowl.dicomcraft.dto.DicomSearchResponse;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DicomSearchServiceTest {
+
+    @Mock
+    private DicomIndexService dicomIndexService;
+
+    @Mock
+    private DicomHeaderReader headerReader;
+
+    private DicomSearchService dicomSearchService;
+
+    @BeforeEach
+    void setUp() {
+        dicomSearchService = new DicomSearchService(dicomIndexService, headerReader, 1, 0.3, "");
+
+        dicomSearchService.addDocument(Paths.get("/data/a.dcm"), createAttributes("CT_ROOM_1", "5.0", 512));
+        dicomSearchService.addDocument(Paths.get("/data/b.dcm"), createAttributes("CT_ROOM_2", "1.25", 512));
+        dicomSearchService.addDocument(Paths.get("/data/c.dcm"), createAttributes("MR_SCANNER", "7.5", 256));
+    }
+
+    // =================== 단일 조건 ===================
+
+    @Test
+    void search_should_find_numeric_range_on_decimal_string_tag() {
+        // Given: SliceThickness > 5
+        DicomSearchQuery query = DicomSearchQuery.builder()
+            .op("RANGE").tag("(0018,0050)").min(5.0).minInclusive(false)
+            .build();
+
+        // When
+        DicomSearchResponse response = dicomSearchService.search(query, 100);
+
+        // Then
+        assertThat(response.getSearchStatus()).isEqualTo("SUCCESS");
+        assertThat(paths(response)).containsExactly("/data/c.dcm");
+    }
+
+    @Test
+    void search_should_match_prefix_and_contains_case_insensitively() {
+        // Given
+        DicomSearchQuery prefix = DicomSearchQuery.builder().op("PREFIX").tag("StationName").value("ct_").build();
+        DicomSearchQuery contains = DicomSearchQuery.builder().op("CONTAINS").tag("StationName").value("scan").build();
+
+        // When & Then
+        assertThat(paths(dicomSearchService.search(prefix, 100))).containsExactlyInAnyOrder("/data/a.dcm", "/data/b.dcm");
+        assertThat(paths(dicomSearchService.search(contains, 100))).containsExactly("/data/c.dcm");
+    }
+
+    @Test
+    void search_should_match_numeric_term_on_binary_tag() {
+        // Given: Rows = 512
+        DicomSearchQuery query = DicomSearchQuery.builder().op("TERM").tag("Rows").value("512").build();
+
+        // When & Then
+        assertThat(paths(dicomSearchService.search(query, 100))).containsExactlyInAnyOrder("/data/a.dcm", "/data/b.dcm");
+    }
+
+    // =================== 불리언 조건 ===================
+
+    @Test
+    void search_should_combine_boolean_clauses() {
+        // Given: SliceThickness > 5 OR StationName contains "ROOM_2"
+        DicomSearchQuery query = DicomSearchQuery.builder()
+            .op("OR")
+            .clauses(List.of(
+                DicomSearchQuery.builder().op("RANGE").tag("SliceThickness").min(5.0).minInclusive(false).build(),
+                DicomSearchQuery.builder().op("CONTAINS").tag("StationName").value("ROOM_2").build()))
+            .build();
+
+        // When & Then
+        assertThat(paths(dicomSearchService.search(query, 100))).containsExactlyInAnyOrder("/data/b.dcm", "/data/c.dcm");
+
+        // NOT 조건
+        DicomSearchQuery not = DicomSearchQuery.builder().op("NOT").clauses(List.of(query)).build();
+        assertThat(paths(dicomSearchService.search(not, 100))).containsExactly("/data/a.dcm");
+    }
+
+    // =================== 증분 갱신 ===================
+
+    @Test
+    void search_should_reflect_updated_and_removed_documents() {
+        // Given: a.dcm 값 변경, b.dcm 삭제
+        dicomSearchService.onIndexed(Paths.get("/data/a.dcm"), createAttributes("MR_ROOM_9", "3.0", 512));
+        dicomSearchService.onRemoved(Paths.get("/data/b.dcm"));
+
+        // When
+        DicomSearchQuery query = DicomSearchQuery.builder().op("PREFIX").tag("StationName").value("CT").build();
+        DicomSearchQuery rows = DicomSearchQuery.builder().op("TERM").tag("Rows").value("512").build();
+
+        // Then
+        assertThat(paths(dicomSearchService.search(query, 100))).isEmpty();
+        assertThat(paths(dicomSearchService.search(rows, 100))).containsExactly("/data/a.dcm");
+    }
+
+    @Test
+    void search_should_compact_when_deleted_documents_pile_up() {
+        // Given: 100개 추가 후 60개 삭제
+        for (int i = 0; i < 100; i++) {
+            dicomSearchService.addDocument(Paths.get("/bulk/" + i + ".dcm"), createAttributes("BULK_" + i, "2.0", 128));
+        }
+        for (int i = 0; i < 60; i++) {
+            dicomSearchService.onRemoved(Paths.get("/bulk/" + i + ".dcm"));
+        }
+
+        // Then: 삭제 비율이 30%를 넘을 때 자동 압축되어 제외 문서가 모두 남아 있지 않음
+        assertThat(dicomSearchService.getStatus().getDocumentCount()).isEqualTo(43);
+        assertThat(dicomSearchService.getStatus().getDeletedDocumentCount()).isLessThan(60);
+
+        dicomSearchService.compact();
+        DicomSearchQuery bulk = DicomSearchQuery.builder().op("PREFIX").tag("StationName").value("bulk_").build();
+        DicomSearchQuery rows = DicomSearchQuery.builder().op("RANGE").tag("Rows").min(128.0).max(128.0).build();
+        DicomSearchQuery ct = DicomSearchQuery.builder().op("PREFIX").tag("StationName").value("ct").build();
+        assertThat(dicomSearchService.getStatus().getDeletedDocumentCount()).isZero();
+        assertThat(dicomSearchService.search(bulk, 100).getTotalHits()).isEqualTo(40);
+        assertThat(dicomSearchService.search(rows, 100).getTotalHits()).isEqualTo(40);
+        assertThat(paths(dicomSearchService.search(ct, 100))).containsExactlyInAnyOrder("/data/a.dcm", "/data/b.dcm");
+    }
+
+    @Test
+    void restore_should_reuse_saved_index_and_reparse_nothing_unchanged(@TempDir Path tempDir) throws Exception {
+        // Given: 로컬 인덱스의 파일 속성이 저장 시점과 같음
+        when(dicomIndexService.getEntry(any())).thenReturn(DicomIndexEntry.builder().fileSize(10).lastModified(20).build());
+        String searchFile = tempDir.resolve("search.bin").toString();
+        DicomSearchService saved = new DicomSearchService(dicomIndexService, headerReader, 1, 0.3, searchFile);
+        saved.addDocument(Paths.get("/data/a.dcm"), createAttributes("CT_ROOM_1", "5.0", 512));
+        saved.addDocument(Paths.get("/data/b.dcm"), createAttributes("CT_ROOM_2", "1.25", 512));
+        saved.addDocument(Paths.get("/data/c.dcm"), createAttributes("MR_SCANNER", "7.5", 256));
+        saved.saveIfDirty();
+
+        // When: 재시작 사이에 b.dcm이 사라짐
+        when(dicomIndexService.getInstancePaths()).thenReturn(List.of(Paths.get("/data/a.dcm"), Paths.get("/data/c.dcm")));
+        DicomSearchService restored = new DicomSearchService(dicomIndexService, headerReader, 1, 0.3, searchFile);
+        restored.restore();
+
+        // Then
+        DicomSearchQuery rows = DicomSearchQuery.builder().op("TERM").tag("Rows").value("512").build();
+        DicomSearchQuery station = DicomSearchQuery.builder().op("CONTAINS").tag("StationName").value("scan").build();
+        assertThat(paths(restored.search(rows, 100))).containsExactly("/data/a.dcm");
+        assertThat(paths(restored.search(station, 100))).containsExactly("/data/c.dcm");
+        assertThat(restored.getStatus().getDocumentCount()).isEqualTo(2);
+        verify(headerReader, never()).read(any(), any());
+    }
+
+    @Test
+    void search_should_return_error_for_unknown_tag() {
+        // Given
+        DicomSearchQuery query = DicomSearchQuery.builder().op("TERM").tag("NoSuchKeyword").value("x").build();
+
+        // When
+        DicomSearchResponse response = dicomSearchService.search(query, 100);
+
+        // Then
+        assertThat(response.getSearchStatus()).isEqualTo("ERROR");
+        assertThat(response.getErrorMessage()).contains("알 수 없는 태그");
+    }
+
+    // =================== Helper Methods ===================
+
+    private Attributes createAttributes(String stationName, String sliceThickness, int rows) {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.StationName, VR.SH, stationName);
+        attributes.setString(Tag.SliceThickness, VR.DS, sliceThickness);
+        attributes.setInt(Tag.Rows, VR.US, rows);
+        return attributes;
+    }
+
+    private List<String> paths(DicomSearchResponse response) {
+        return response.getResults().stream().map(DicomIndexEntry::getPath).map(this::normalizePath).toList();
+    }
+
+    private String normalizePath(String path) {
+        return Path.of(path).toString().replace('\\', '/');
+    }
+}
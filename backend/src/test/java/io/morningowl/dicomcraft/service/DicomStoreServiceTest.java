@@ -0,0 +1,249 @@
+package io.morningowl.dicomcraft.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomStoreServiceTest {
+
+    private static final String BASE_URL = "http://localhost/dicomweb";
+    private static final String BOUNDARY = "XYZ";
+
+    @TempDir
+    Path tempDir;
+
+    private DicomStoreService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new DicomStoreService(new DicomHeaderReader(), tempDir.resolve("store").toString());
+        service.start();
+    }
+
+    // =================== STOW-RS ===================
+
+    @Test
+    void storesPartsAndReportsRetrieveUrls() throws IOException {
+        Attributes response = store(null,
+                part("application/dicom", dicom("1.2.1", "1.2.1.1", "1.2.1.1.1", "Doe^John", 8)),
+                part("application/dicom", dicom("1.2.1", "1.2.1.1", "1.2.1.1.2", "Doe^John", 8)));
+
+        Sequence referenced = response.getSequence(Tag.ReferencedSOPSequence);
+        assertThat(referenced).hasSize(2);
+        assertThat(referenced.get(0).getString(Tag.RetrieveURL))
+                .isEqualTo(BASE_URL + "/studies/1.2.1/series/1.2.1.1/instances/1.2.1.1.1");
+        assertThat(response.contains(Tag.FailedSOPSequence)).isFalse();
+        assertThat(service.getInstanceCount()).isEqualTo(2);
+        assertThat(tempDir.resolve("store/1.2.1/1.2.1.1/1.2.1.1.2.dcm")).exists();
+    }
+
+    @Test
+    void reportsStudyMismatchAndUnreadablePartsAsFailures() throws IOException {
+        Attributes response = store("1.2.9",
+                part("application/dicom", dicom("1.2.1", "1.2.1.1", "1.2.1.1.1", "Doe^John", 8)),
+                part("application/dicom", "not dicom".getBytes(StandardCharsets.US_ASCII)),
+                part("application/dicom+json", "{}".getBytes(StandardCharsets.US_ASCII)));
+
+        Sequence failed = response.getSequence(Tag.FailedSOPSequence);
+        assertThat(failed).extracting(item -> item.getInt(Tag.FailureReason, 0))
+                .containsExactly(0xA900, 0xC000, 0xC000);
+        assertThat(response.contains(Tag.ReferencedSOPSequence)).isFalse();
+        assertThat(service.getInstanceCount()).isZero();
+        try (var incoming = Files.list(tempDir.resolve("store/.incoming"))) {
+            assertThat(incoming).isEmpty();
+        }
+    }
+
+    @Test
+    void restoringInstanceUnderAnotherSeriesRemovesOldFile() throws IOException {
+        store(null, part("application/dicom", dicom("1.2.1", "1.2.1.1", "1.2.1.1.1", "Doe^John", 8)));
+        store(null, part("application/dicom", dicom("1.2.2", "1.2.2.1", "1.2.1.1.1", "Doe^John", 8)));
+
+        assertThat(service.getInstanceCount()).isEqualTo(1);
+        assertThat(service.findInstance("1.2.1.1.1").getStudyInstanceUID()).isEqualTo("1.2.2");
+        assertThat(tempDir.resolve("store/1.2.1")).doesNotExist();
+        assertThat(tempDir.resolve("store/1.2.2/1.2.2.1/1.2.1.1.1.dcm")).exists();
+
+        // 재시작해도 이전 스터디로 다시 나타나지 않음
+        DicomStoreService restarted = new DicomStoreService(new DicomHeaderReader(), tempDir.resolve("store").toString());
+        restarted.start();
+        assertThat(restarted.findInstance("1.2.1.1.1").getStudyInstanceUID()).isEqualTo("1.2.2");
+    }
+
+    // =================== WADO-RS ===================
+
+    @Test
+    void writesInstancesAndFramesAsMultipartParts() throws IOException {
+        byte[] instance = dicom("1.2.1", "1.2.1.1", "1.2.1.1.1", "Doe^John", 8);
+        store(null, part("application/dicom", instance));
+        List<DicomIndexEntry> entries = service.findInstances("1.2.1", null, null);
+
+        ByteArrayOutputStream instances = new ByteArrayOutputStream();
+        service.writeInstances(entries, instances, BOUNDARY);
+        assertThat(readParts(instances.toByteArray())).containsExactly(instance);
+
+        // 2x2 8비트 2프레임, 픽셀 값 1..8
+        int[] frames = {2};
+        DicomHeader header = service.prepareFrames(entries.get(0), frames);
+        ByteArrayOutputStream frameOut = new ByteArrayOutputStream();
+        service.writeFrames(header, frames, frameOut, BOUNDARY);
+        assertThat(readParts(frameOut.toByteArray())).containsExactly(new byte[]{5, 6, 7, 8});
+
+        assertThatThrownBy(() -> service.prepareFrames(entries.get(0), new int[]{3}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findInstances("1.2.404", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void metadataPointsPixelDataAtFrameRange() throws IOException {
+        store(null, part("application/dicom", dicom("1.2.1", "1.2.1.1", "1.2.1.1.1", "Doe^John", 8)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(out)) {
+            service.writeMetadata(service.findInstances("1.2.1", null, null), BASE_URL, generator);
+        }
+
+        JsonNode pixelData = new ObjectMapper().readTree(out.toByteArray()).get(0).get("7FE00010");
+        assertThat(pixelData.get("BulkDataURI").asText())
+                .isEqualTo(BASE_URL + "/studies/1.2.1/series/1.2.1.1/instances/1.2.1.1.1/frames/1-2");
+    }
+
+    @Test
+    void parsesFrameListsWithRanges() {
+        assertThat(DicomStoreService.parseFrameList("1-3,5")).containsExactly(1, 2, 3, 5);
+        assertThat(DicomStoreService.parseFrameList(" 2 ")).containsExactly(2);
+        assertThatThrownBy(() -> DicomStoreService.parseFrameList("3-1")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> DicomStoreService.parseFrameList("0")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> DicomStoreService.parseFrameList("1-2000000000")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void rejectsFramesOfOneBitPixelData() throws IOException {
+        store(null, part("application/dicom", dicom("1.2.1", "1.2.1.1", "1.2.1.1.1", "Doe^John", 1)));
+        DicomIndexEntry entry = service.findInstance("1.2.1.1.1");
+
+        assertThatThrownBy(() -> service.prepareFrames(entry, new int[]{1}))
+                .isInstanceOf(UnsupportedPixelDataException.class);
+    }
+
+    @Test
+    void rejectsFramesOfDeflatedInstance() throws IOException {
+        // Deflate는 PixelData 위치가 inflate한 스트림 기준이라 파일에서 바로 자를 수 없다
+        store(null, part("application/dicom",
+                dicom("1.2.1", "1.2.1.1", "1.2.1.1.1", "Doe^John", 8, UID.DeflatedExplicitVRLittleEndian)));
+        DicomIndexEntry entry = service.findInstance("1.2.1.1.1");
+
+        assertThatThrownBy(() -> service.prepareFrames(entry, new int[]{1}))
+                .isInstanceOf(UnsupportedPixelDataException.class);
+    }
+
+    // =================== QIDO-RS ===================
+
+    @Test
+    void searchesStudiesAndPagesInstances() throws IOException {
+        store(null,
+                part("application/dicom", dicom("1.2.1", "1.2.1.1", "1.2.1.1.1", "Doe^John", 8)),
+                part("application/dicom", dicom("1.2.1", "1.2.1.1", "1.2.1.1.2", "Doe^John", 8)),
+                part("application/dicom", dicom("1.2.2", "1.2.2.1", "1.2.2.1.1", "Roe^Jane", 8)));
+
+        List<Attributes> studies = service.searchStudies(Map.of("PatientName", "doe*"), BASE_URL);
+        assertThat(studies).hasSize(1);
+        assertThat(studies.get(0).getString(Tag.StudyInstanceUID)).isEqualTo("1.2.1");
+        assertThat(studies.get(0).getInt(Tag.NumberOfStudyRelatedInstances, 0)).isEqualTo(2);
+
+        assertThat(service.searchSeries(null, Map.of("StudyInstanceUID", "1.2.1,1.2.2"), BASE_URL)).hasSize(2);
+
+        List<Attributes> page = service.searchInstances("1.2.1", null, Map.of("limit", "1", "offset", "1"), BASE_URL);
+        assertThat(page).extracting(attributes -> attributes.getString(Tag.SOPInstanceUID)).containsExactly("1.2.1.1.2");
+
+        assertThatThrownBy(() -> service.searchStudies(Map.of("NoSuchKeyword", "x"), BASE_URL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // =================== Helper Methods ===================
+
+    private Attributes store(String studyInstanceUID, byte[]... parts) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            body.write(("--" + BOUNDARY + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            body.write(part);
+            body.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return service.storeInstances(new ByteArrayInputStream(body.toByteArray()), BOUNDARY, studyInstanceUID, BASE_URL);
+    }
+
+    private static byte[] part(String contentType, byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(content);
+        return out.toByteArray();
+    }
+
+    private static List<byte[]> readParts(byte[] body) throws IOException {
+        MultipartRelatedReader reader = new MultipartRelatedReader(new ByteArrayInputStream(body), BOUNDARY);
+        List<byte[]> parts = new ArrayList<>();
+        while (reader.nextPart()) {
+            parts.add(reader.partStream().readAllBytes());
+        }
+        return parts;
+    }
+
+    // 2x2 2프레임 이미지. 8비트는 픽셀 값 1..8, 1비트는 바이트 하나
+    private static byte[] dicom(String study, String series, String sopInstanceUID, String patientName,
+                                int bitsAllocated) throws IOException {
+        return dicom(study, series, sopInstanceUID, patientName, bitsAllocated, UID.ExplicitVRLittleEndian);
+    }
+
+    private static byte[] dicom(String study, String series, String sopInstanceUID, String patientName,
+                                int bitsAllocated, String transferSyntaxUID) throws IOException {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, sopInstanceUID);
+        attributes.setString(Tag.StudyInstanceUID, VR.UI, study);
+        attributes.setString(Tag.SeriesInstanceUID, VR.UI, series);
+        attributes.setString(Tag.PatientName, VR.PN, patientName);
+        attributes.setString(Tag.Modality, VR.CS, "OT");
+        attributes.setInt(Tag.Rows, VR.US, 2);
+        attributes.setInt(Tag.Columns, VR.US, 2);
+        attributes.setString(Tag.NumberOfFrames, VR.IS, "2");
+        attributes.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attributes.setInt(Tag.BitsAllocated, VR.US, bitsAllocated);
+        attributes.setInt(Tag.BitsStored, VR.US, bitsAllocated);
+        attributes.setInt(Tag.HighBit, VR.US, bitsAllocated - 1);
+        attributes.setInt(Tag.PixelRepresentation, VR.US, 0);
+        attributes.setBytes(Tag.PixelData, VR.OB, bitsAllocated == 1
+                ? new byte[]{(byte) 0xA5, 0}
+                : new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(attributes.createFileMetaInformation(transferSyntaxUID), attributes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,72 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomGenerationResponse;
+import io.morningowl.dicomcraft.dto.DicomTagRequest;
+import io.morningowl.dicomcraft.dto.DicomTemplateInfo;
+import io.morningowl.dicomcraft.dto.DicomTemplateInstanceRequest;
+import io.morningowl.dicomcraft.dto.DicomTemplateRequest;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.io.DicomInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomTemplateServiceTest {
+
+    private DicomTemplateService dicomTemplateService;
+
+    @BeforeEach
+    void setUp() {
+        dicomTemplateService = new DicomTemplateService(new DicomGenerationService());
+    }
+
+    @Test
+    void generatesInstancesFromTemplateWithOverrides() throws IOException {
+        DicomTemplateInfo info = dicomTemplateService.registerTemplate(DicomTemplateRequest.builder()
+                .name("CT 기본")
+                .tags(List.of(
+                        tag("(0010,0010)", "PN", "TEMPLATE^PATIENT"),
+                        tag("(0010,0020)", "LO", "T-001"),
+                        tag(" ( 0008 , 0060 ) ", "CS", "CT")))
+                .build());
+
+        DicomGenerationResponse first = dicomTemplateService.generate(info.getTemplateId(),
+                DicomTemplateInstanceRequest.builder()
+                        .overrides(List.of(tag("(0010,0020)", "LO", "OVERRIDE-1")))
+                        .build());
+        DicomGenerationResponse second = dicomTemplateService.generate(info.getTemplateId(), null);
+
+        Attributes firstDataset = read(first);
+        Attributes secondDataset = read(second);
+        assertThat(firstDataset.getString(Tag.PatientName)).isEqualTo("TEMPLATE^PATIENT");
+        assertThat(firstDataset.getString(Tag.PatientID)).isEqualTo("OVERRIDE-1");
+        assertThat(firstDataset.getString(Tag.Modality)).isEqualTo("CT");
+        // 변경 태그는 템플릿 자체에 영향을 주지 않는다
+        assertThat(secondDataset.getString(Tag.PatientID)).isEqualTo("T-001");
+        assertThat(secondDataset.getString(Tag.SOPInstanceUID)).isNotEqualTo(firstDataset.getString(Tag.SOPInstanceUID));
+        assertThat(dicomTemplateService.getTemplate(info.getTemplateId()).getInstanceCount()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownTemplateIsRejected() {
+        assertThatThrownBy(() -> dicomTemplateService.generate("missing", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static DicomTagRequest tag(String tagNumber, String vr, Object value) {
+        return DicomTagRequest.builder().tagNumber(tagNumber).vr(vr).value(value).build();
+    }
+
+    private static Attributes read(DicomGenerationResponse response) throws IOException {
+        assertThat(response.getGenerationStatus()).isEqualTo("SUCCESS");
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(response.getGeneratedDicom()))) {
+            return dis.readDataset();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomTileInfo;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomTileServiceTest {
+
+    private static final int TILE = 4;
+
+    @TempDir
+    Path tempDir;
+
+    private DicomTileService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void levelsShrinkUntilImageFitsOneTile() throws IOException {
+        service = service(3600, 10);
+
+        DicomTileInfo info = service.registerImage(image(10, 6));
+
+        // 10x6 -> 5x3 -> 3x2
+        assertThat(info.getStatus()).isEqualTo("SUCCESS");
+        assertThat(info.getLevels()).isEqualTo(3);
+        assertThat(info.getTileSize()).isEqualTo(TILE);
+    }
+
+    @Test
+    void baseTilesReadOnlyTheirRegionAndPadEdgesWithZero() throws IOException {
+        service = service(3600, 10);
+        String imageId = service.registerImage(image(10, 6)).getImageId();
+
+        byte[] first = service.getTile(imageId, 0, 0, 0, 0);
+        assertThat(first).hasSize(TILE * TILE * 2);
+        assertThat(sample(first, 0, 0)).isEqualTo(0);
+        assertThat(sample(first, 3, 2)).isEqualTo(203);
+
+        // 오른쪽 아래 타일은 (8..9, 4..5)만 이미지 안
+        byte[] edge = service.getTile(imageId, 0, 0, 2, 1);
+        assertThat(sample(edge, 0, 0)).isEqualTo(408);
+        assertThat(sample(edge, 1, 1)).isEqualTo(509);
+        assertThat(sample(edge, 2, 0)).isZero();
+        assertThat(sample(edge, 0, 2)).isZero();
+    }
+
+    @Test
+    void upperLevelsAverageTwoByTwoBlocks() throws IOException {
+        service = service(3600, 10);
+        String imageId = service.registerImage(image(10, 6)).getImageId();
+
+        // (0+1+100+101)/4 = 50.5, (8+9+108+109)/4 = 58.5
+        assertThat(sample(service.getTile(imageId, 0, 1, 0, 0), 0, 0)).isEqualTo(51);
+        assertThat(sample(service.getTile(imageId, 0, 1, 1, 0), 0, 0)).isEqualTo(59);
+        // 레벨 2 (2,1)은 경계에 걸려 레벨 1 (4,2) 한 픽셀만 덮는다: (408+409+508+509)/4 = 458.5
+        assertThat(sample(service.getTile(imageId, 0, 2, 0, 0), 2, 1)).isEqualTo(459);
+    }
+
+    @Test
+    void rejectsCoordinatesOutsideTheGrid() throws IOException {
+        service = service(3600, 10);
+        String imageId = service.registerImage(image(10, 6)).getImageId();
+
+        assertThatThrownBy(() -> service.getTile(imageId, 0, 0, 3, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getTile(imageId, 0, 3, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getTile(imageId, 1, 0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void expiredAndOverflowingImagesAreReleasedWithTheirFiles() throws IOException, InterruptedException {
+        service = service(0, 1);
+        String first = service.registerImage(image(10, 6)).getImageId();
+        Thread.sleep(5);
+        String second = service.registerImage(image(10, 6)).getImageId();
+
+        // 한도 1개: 먼저 등록한 이미지가 해제됨
+        assertThatThrownBy(() -> service.getImageInfo(first)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.getImageInfo(second).getImageId()).isEqualTo(second);
+
+        Thread.sleep(5);
+        service.removeExpiredImages();
+
+        assertThatThrownBy(() -> service.getImageInfo(second)).isInstanceOf(IllegalArgumentException.class);
+        try (var files = Files.list(tempDir.resolve("work").resolve("images"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private DicomTileService service(long ttlSeconds, int maxImages) throws IOException {
+        return new DicomTileService(new DicomHeaderReader(), TILE, tempDir.resolve("work").toString(),
+                1 << 20, 1 << 20, ttlSeconds, maxImages);
+    }
+
+    private static int sample(byte[] tile, int x, int y) {
+        int offset = (y * TILE + x) * 2;
+        return (tile[offset] & 0xFF) | ((tile[offset + 1] & 0xFF) << 8);
+    }
+
+    // 16비트, 값 = 100*y + x
+    private static MockMultipartFile image(int columns, int rows) throws IOException {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        attributes.setInt(Tag.Rows, VR.US, rows);
+        attributes.setInt(Tag.Columns, VR.US, columns);
+        attributes.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attributes.setInt(Tag.BitsAllocated, VR.US, 16);
+        attributes.setInt(Tag.BitsStored, VR.US, 16);
+        attributes.setInt(Tag.HighBit, VR.US, 15);
+        attributes.setInt(Tag.PixelRepresentation, VR.US, 0);
+        byte[] pixels = new byte[columns * rows * 2];
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                int value = 100 * y + x;
+                pixels[(y * columns + x) * 2] = (byte) value;
+                pixels[(y * columns + x) * 2 + 1] = (byte) (value >> 8);
+            }
+        }
+        attributes.setBytes(Tag.PixelData, VR.OW, pixels);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+        return new MockMultipartFile("file", "image.dcm", "application/dicom", out.toByteArray());
+    }
+}
@@ -0,0 +1,273 @@
+package io.morningowl.dicomcraft.service;
+
+import io.morningowl.dicomcraft.dto.DicomIndexEntry;
+import io.morningowl.dicomcraft.dto.DicomMprRequest;
+import io.morningowl.dicomcraft.dto.DicomMprSlice;
+import io.morningowl.dicomcraft.dto.DicomVolumeInfo;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DicomVolumeServiceTest {
+
+    private static final int SIZE = 4;
+
+    @Mock
+    private DicomIndexService dicomIndexService;
+
+    @Mock
+    private DicomStoreService dicomStoreService;
+
+    @TempDir
+    Path tempDir;
+
+    private DicomVolumeService dicomVolumeService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dicomVolumeService = createService(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dicomVolumeService.shutdown();
+    }
+
+    // =================== 볼륨 생성 ===================
+
+    @Test
+    void getVolumeInfo_should_sort_slices_by_position_and_apply_rescale() throws Exception {
+        // Given: 인덱스가 위치 순서와 다르게 반환
+        series("1.2.1", 4, 0, 2);
+
+        // When
+        DicomVolumeInfo info = dicomVolumeService.getVolumeInfo("1.2.1");
+
+        // Then: 저장 값 = 10*z + 4*j + i, 모달리티 값 = 2 * 저장 값 - 10
+        assertThat(info.getSlices()).isEqualTo(3);
+        assertThat(info.getVoxelSpacing()).containsExactly(new double[]{1, 1, 2}, within(1e-9));
+        assertThat(info.getOrigin()).containsExactly(new double[]{0, 0, 0}, within(1e-9));
+        assertThat(info.getMinValue()).isEqualTo(-10);
+        assertThat(info.getMaxValue()).isEqualTo(100);
+        assertThat(info.getWindowCenter()).isEqualTo(45);
+    }
+
+    @Test
+    void getVolumeInfo_should_reject_incompatible_slices() throws Exception {
+        // Given
+        List<DicomIndexEntry> mixedSize = new ArrayList<>(entries("1.2.2", 0));
+        mixedSize.add(entry(writeSlice(tempDir.resolve("1.2.2-big.dcm"), 2, new double[]{1, 0, 0, 0, 1, 0}, SIZE + 1)));
+        when(dicomIndexService.findInstances("1.2.2")).thenReturn(mixedSize);
+
+        List<DicomIndexEntry> mixedOrientation = new ArrayList<>(entries("1.2.3", 0));
+        mixedOrientation.add(entry(writeSlice(tempDir.resolve("1.2.3-tilted.dcm"), 2, new double[]{1, 0, 0, 0, 0, 1}, SIZE)));
+        when(dicomIndexService.findInstances("1.2.3")).thenReturn(mixedOrientation);
+
+        series("1.2.4", 0, 0);
+        series("1.2.5", 0);
+
+        // When & Then
+        assertThatThrownBy(() -> dicomVolumeService.getVolumeInfo("1.2.2"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("슬라이스 크기");
+        assertThatThrownBy(() -> dicomVolumeService.getVolumeInfo("1.2.3"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("ImageOrientationPatient");
+        assertThatThrownBy(() -> dicomVolumeService.getVolumeInfo("1.2.4"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("같은 위치");
+        assertThatThrownBy(() -> dicomVolumeService.getVolumeInfo("1.2.5"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("2장 이상");
+        assertThat(volumeFiles()).isEmpty();
+    }
+
+    // =================== 재구성 ===================
+
+    @Test
+    void reslice_should_return_axial_slice_at_volume_center() throws Exception {
+        // Given
+        series("1.2.1", 4, 0, 2);
+
+        // When
+        DicomMprSlice slice = dicomVolumeService.reslice("1.2.1",
+            DicomMprRequest.builder().orientation("AXIAL").interpolation("NEAREST").build());
+
+        // Then: 중심(z = 2mm) 슬라이스 그대로
+        assertThat(slice.getWidth()).isEqualTo(SIZE);
+        assertThat(slice.getHeight()).isEqualTo(SIZE);
+        assertThat(slice.getImagePosition()).containsExactly(new double[]{0, 0, 2}, within(1e-9));
+        for (int index = 0; index < SIZE * SIZE; index++) {
+            assertThat(slice.getPixels()[index]).isEqualTo((short) (2 * (20 + index) - 10));
+        }
+    }
+
+    @Test
+    void reslice_should_sample_oblique_plane_with_linear_interpolation() throws Exception {
+        // Given: 볼륨 값이 좌표의 일차식이므로 삼선형 보간은 정확해야 한다
+        series("1.2.1", 0, 2, 4);
+        DicomMprRequest request = DicomMprRequest.builder()
+            .orientation("OBLIQUE")
+            .rowDirection(new double[]{1, 1, 0})
+            .columnDirection(new double[]{0, 0.2, 1})
+            .spacing(0.5)
+            .build();
+
+        // When
+        DicomMprSlice slice = dicomVolumeService.reslice("1.2.1", request);
+
+        // Then
+        double[] u = slice.getRowDirection();
+        double[] v = slice.getColumnDirection();
+        assertThat(DicomVolume.dot(u, v)).isCloseTo(0, within(1e-9));
+        int inside = 0;
+        for (int y = 0; y < slice.getHeight(); y++) {
+            for (int x = 0; x < slice.getWidth(); x++) {
+                short value = slice.getPixels()[y * slice.getWidth() + x];
+                if (value == DicomVolume.OUTSIDE) {
+                    continue;
+                }
+                double[] p = new double[3];
+                for (int axis = 0; axis < 3; axis++) {
+                    p[axis] = slice.getImagePosition()[axis] + (x * u[axis] + y * v[axis]) * slice.getPixelSpacing();
+                }
+                double expected = 2 * (10 * p[2] + 4 * p[1] + p[0]) - 10;
+                assertThat((double) value).isCloseTo(expected, within(1.0));
+                inside++;
+            }
+        }
+        assertThat(inside).isGreaterThan(10);
+    }
+
+    @Test
+    void reslice_should_project_maximum_over_slab() throws Exception {
+        // Given
+        series("1.2.1", 0, 2, 4);
+
+        // When: 두께 4mm 슬랩은 세 슬라이스를 모두 덮는다
+        DicomMprSlice slice = dicomVolumeService.reslice("1.2.1",
+            DicomMprRequest.builder().orientation("AXIAL").interpolation("NEAREST").thickness(4).build());
+
+        // Then: 값이 가장 큰 z = 4mm 슬라이스
+        assertThat(slice.getPixels()[5]).isEqualTo((short) (2 * (40 + 5) - 10));
+        assertThat(slice.getPixels()[0]).isEqualTo((short) 70);
+    }
+
+    // =================== 참조 카운트 ===================
+
+    @Test
+    void evicted_volume_file_should_be_deleted_after_last_user_releases_it() throws Exception {
+        // Given: 캐시 1개
+        dicomVolumeService.shutdown();
+        dicomVolumeService = createService(1);
+        series("1.2.1", 0, 2);
+        series("1.2.6", 0, 2);
+        DicomVolume inUse = dicomVolumeService.acquireVolume("1.2.1");
+
+        // When: 다른 시리즈가 캐시에서 밀어낸다
+        dicomVolumeService.getVolumeInfo("1.2.6");
+
+        // Then: 사용 중인 볼륨 파일은 남아 있다가 마지막 사용자가 놓으면 지워진다
+        assertThat(volumeFiles()).hasSize(2);
+        inUse.release();
+        assertThat(volumeFiles()).hasSize(1);
+
+        dicomVolumeService.releaseVolume("1.2.6");
+        assertThat(volumeFiles()).isEmpty();
+    }
+
+    @Test
+    void releaseVolume_should_keep_file_while_in_use() throws Exception {
+        // Given
+        series("1.2.1", 0, 2);
+        DicomVolume inUse = dicomVolumeService.acquireVolume("1.2.1");
+
+        // When
+        dicomVolumeService.releaseVolume("1.2.1");
+
+        // Then
+        assertThat(volumeFiles()).hasSize(1);
+        assertThat(inUse.get(1, 1, 1)).isEqualTo(2 * (20 + 5) - 10);
+        inUse.release();
+        assertThat(volumeFiles()).isEmpty();
+        assertThat(inUse.retain()).isFalse();
+    }
+
+    // =================== Helper Methods ===================
+
+    private DicomVolumeService createService(int maxCached) throws IOException {
+        return new DicomVolumeService(new DicomHeaderReader(), dicomIndexService, dicomStoreService,
+            tempDir.resolve("volumes").toString(), maxCached, 2);
+    }
+
+    private void series(String seriesInstanceUID, double... positions) throws IOException {
+        when(dicomIndexService.findInstances(seriesInstanceUID)).thenReturn(entries(seriesInstanceUID, positions));
+    }
+
+    private List<DicomIndexEntry> entries(String seriesInstanceUID, double... positions) throws IOException {
+        List<DicomIndexEntry> entries = new ArrayList<>();
+        for (int n = 0; n < positions.length; n++) {
+            Path path = tempDir.resolve(seriesInstanceUID + "-" + n + ".dcm");
+            entries.add(entry(writeSlice(path, positions[n], new double[]{1, 0, 0, 0, 1, 0}, SIZE)));
+        }
+        return entries;
+    }
+
+    private DicomIndexEntry entry(Path path) {
+        return DicomIndexEntry.builder().path(path.toString()).build();
+    }
+
+    // 1mm 정사각 픽셀, 저장 값 = 10*z + 4*j + i, RescaleSlope 2 / Intercept -10
+    private Path writeSlice(Path path, double z, double[] orientation, int size) throws IOException {
+        Attributes attributes = new Attributes();
+        attributes.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+        attributes.setString(Tag.SOPInstanceUID, VR.UI, "1.2.9." + (int) z);
+        attributes.setDouble(Tag.ImagePositionPatient, VR.DS, 0, 0, z);
+        attributes.setDouble(Tag.ImageOrientationPatient, VR.DS, orientation);
+        attributes.setDouble(Tag.PixelSpacing, VR.DS, 1, 1);
+        attributes.setString(Tag.RescaleSlope, VR.DS, "2");
+        attributes.setString(Tag.RescaleIntercept, VR.DS, "-10");
+        attributes.setInt(Tag.Rows, VR.US, size);
+        attributes.setInt(Tag.Columns, VR.US, size);
+        attributes.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attributes.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attributes.setInt(Tag.BitsAllocated, VR.US, 16);
+        attributes.setInt(Tag.BitsStored, VR.US, 16);
+        attributes.setInt(Tag.HighBit, VR.US, 15);
+        attributes.setInt(Tag.PixelRepresentation, VR.US, 0);
+        byte[] pixels = new byte[size * size * 2];
+        for (int index = 0; index < size * size; index++) {
+            int value = (int) (10 * z) + 4 * (index / size) + index % size;
+            pixels[index * 2] = (byte) value;
+            pixels[index * 2 + 1] = (byte) (value >> 8);
+        }
+        attributes.setBytes(Tag.PixelData, VR.OW, pixels);
+
+        try (DicomOutputStream dos = new DicomOutputStream(path.toFile())) {
+            dos.writeDataset(attributes.createFileMetaInformation(UID.ExplicitVRLittleEndian), attributes);
+        }
+        return path;
+    }
+
+    private List<Path> volumeFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir.resolve("volumes"))) {
+            return files.toList();
+        }
+    }
+}
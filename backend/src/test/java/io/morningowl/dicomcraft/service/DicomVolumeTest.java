@@ -0,0 +1,50 @@
+package io.morningowl.dicomcraft.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ShortBuffer;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DicomVolumeTest {
+
+    // 4x3x2 볼륨, 값 = 100*k + 10*j + i
+    private DicomVolume createVolume() {
+        int columns = 4;
+        int rows = 3;
+        ShortBuffer[] slices = new ShortBuffer[2];
+        for (int k = 0; k < slices.length; k++) {
+            slices[k] = ShortBuffer.allocate(columns * rows);
+            for (int j = 0; j < rows; j++) {
+                for (int i = 0; i < columns; i++) {
+                    slices[k].put(j * columns + i, (short) (100 * k + 10 * j + i));
+                }
+            }
+        }
+        return new DicomVolume("1.2.3", columns, rows, 0.5, 0.5, 2.0,
+                new double[]{-10, -20, 30}, new double[]{1, 0, 0}, new double[]{0, 1, 0},
+                40, 400, 0, 123, Paths.get("unused.raw"), slices);
+    }
+
+    @Test
+    void convertsBetweenPatientAndVoxelCoordinates() {
+        DicomVolume volume = createVolume();
+
+        double[] point = volume.toPatient(2, 1, 1);
+        assertThat(point).containsExactly(new double[]{-9, -19.5, 32}, within(1e-9));
+        assertThat(volume.toVoxel(point)).containsExactly(new double[]{2, 1, 1}, within(1e-9));
+        assertThat(volume.toVoxelDirection(new double[]{0, 0, 1})).containsExactly(new double[]{0, 0, 0.5}, within(1e-9));
+    }
+
+    @Test
+    void interpolatesTrilinearlyAndMarksOutsideSamples() {
+        DicomVolume volume = createVolume();
+
+        assertThat(volume.sampleLinear(1.5, 0.5, 0.5)).isEqualTo(Math.round(50 + 5 + 1.5f));
+        assertThat(volume.sampleLinear(3, 2, 1)).isEqualTo(123);
+        assertThat(volume.sampleNearest(0.6, 1.4, 0.2)).isEqualTo(11);
+        assertThat(volume.sampleLinear(3.01, 0, 0)).isEqualTo(DicomVolume.OUTSIDE);
+        assertThat(volume.sampleNearest(-0.6, 0, 0)).isEqualTo(DicomVolume.OUTSIDE);
+    }
+}
@@ -0,0 +1,73 @@
+package io.morningowl.dicomcraft.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MultipartRelatedReaderTest {
+
+    @Test
+    void readsPartsAcrossBufferBoundaries() throws IOException {
+        byte[] first = new byte[200_000];
+        new Random(7).nextBytes(first);
+        byte[] second = "value\r\n--not-the-boundary".getBytes(StandardCharsets.US_ASCII);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write("preamble\r\n--XYZ\r\nContent-Type: application/dicom\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        body.write(first);
+        body.write("\r\n--XYZ  \r\nContent-Type: text/plain\r\nContent-ID: <2>\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        body.write(second);
+        body.write("\r\n--XYZ--\r\nepilogue".getBytes(StandardCharsets.US_ASCII));
+
+        MultipartRelatedReader reader = new MultipartRelatedReader(new TrickleInputStream(body.toByteArray()), "XYZ");
+        List<byte[]> parts = new ArrayList<>();
+        List<String> contentTypes = new ArrayList<>();
+        while (reader.nextPart()) {
+            contentTypes.add(reader.headers().get("content-type"));
+            parts.add(reader.partStream().readAllBytes());
+        }
+
+        assertThat(contentTypes).containsExactly("application/dicom", "text/plain");
+        assertThat(parts.get(0)).isEqualTo(first);
+        assertThat(parts.get(1)).isEqualTo(second);
+    }
+
+    @Test
+    void skipsUnreadPartAndFailsOnTruncatedBody() throws IOException {
+        byte[] body = "--B\r\n\r\nfirst\r\n--B\r\n\r\ntrunc".getBytes(StandardCharsets.US_ASCII);
+        MultipartRelatedReader reader = new MultipartRelatedReader(new ByteArrayInputStream(body), "B");
+
+        assertThat(reader.nextPart()).isTrue();
+        assertThat(reader.nextPart()).isTrue();
+        assertThatThrownBy(() -> reader.partStream().readAllBytes()).isInstanceOf(IOException.class);
+    }
+
+    // 네트워크처럼 임의 크기로 잘라서 돌려주는 스트림
+    private static class TrickleInputStream extends InputStream {
+        private final ByteArrayInputStream delegate;
+        private final Random random = new Random(1);
+
+        TrickleInputStream(byte[] data) {
+            this.delegate = new ByteArrayInputStream(data);
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return delegate.read(b, off, Math.min(len, 1 + random.nextInt(97)));
+        }
+    }
+}